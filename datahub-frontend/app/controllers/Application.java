@@ -6,12 +6,16 @@ import static auth.AuthUtils.SESSION_COOKIE_GMS_TOKEN_NAME;
 import akka.actor.ActorSystem;
 import akka.stream.ActorMaterializer;
 import akka.stream.Materializer;
+import akka.stream.javadsl.Sink;
+import akka.stream.javadsl.Source;
 import akka.util.ByteString;
 import auth.Authenticator;
+import com.codahale.metrics.MetricRegistry;
 import com.datahub.authentication.AuthenticationConstants;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import com.linkedin.util.Pair;
 import com.typesafe.config.Config;
 import java.io.InputStream;
@@ -23,6 +27,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -31,10 +37,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import play.Environment;
 import play.http.HttpEntity;
+import play.libs.F;
 import play.libs.Json;
-import play.libs.ws.InMemoryBodyWritable;
+import play.libs.streams.Accumulator;
+import play.libs.ws.SourceBodyWritable;
 import play.libs.ws.StandaloneWSClient;
+import play.libs.ws.StandaloneWSRequest;
+import play.libs.ws.StandaloneWSResponse;
 import play.libs.ws.ahc.StandaloneAhcWSClient;
+import play.mvc.BodyParser;
 import play.mvc.Controller;
 import play.mvc.Http.Cookie;
 import play.mvc.Http;
@@ -50,16 +61,33 @@ import utils.ConfigUtil;
 public class Application extends Controller {
   private final Logger _logger = LoggerFactory.getLogger(Application.class.getName());
   private final Config _config;
+  private final Materializer _materializer;
   private final StandaloneWSClient _ws;
   private final Environment _environment;
 
+  // Upper bound of the request body kept for the slow GraphQL query log
+  private static final int MAX_LOGGED_REQUEST_BYTES = 1024 * 1024;
+
   @Inject
   public Application(Environment environment, @Nonnull Config config) {
     _config = config;
-    _ws = createWsClient();
+    _materializer = createMaterializer();
+    _ws = createWsClient(_materializer);
     _environment = environment;
   }
 
+  /**
+   * Provides the body of proxied requests as a stream, so that it is forwarded to the Metadata
+   * Service as it arrives instead of being buffered first.
+   */
+  public static class StreamingBodyParser implements BodyParser<Source<ByteString, ?>> {
+    @Override
+    public Accumulator<ByteString, F.Either<Result, Source<ByteString, ?>>> apply(
+        Http.RequestHeader request) {
+      return Accumulator.<ByteString>source().map(F.Either::Right, Runnable::run);
+    }
+  }
+
   /**
    * Serves the build output index.html for any given path
    *
@@ -94,15 +122,18 @@ public class Application extends Controller {
   }
 
   /**
-   * Proxies requests to the Metadata Service
+   * Proxies requests to the Metadata Service. Request and response bodies are streamed through
+   * without being held in memory, the latency and size of each proxied call is recorded per route.
    *
    * <p>TODO: Investigate using mutual SSL authentication to call Metadata Service.
    */
   @Security.Authenticated(Authenticator.class)
+  @BodyParser.Of(StreamingBodyParser.class)
   public CompletableFuture<Result> proxy(String path, Http.Request request)
       throws ExecutionException, InterruptedException {
     final String authorizationHeaderValue = getAuthorizationHeaderValueToProxy(request);
     final String resolvedUri = mapPath(request.uri());
+    final String route = proxyRoute(request.uri(), resolvedUri);
 
     final String metadataServiceHost =
         ConfigUtil.getString(
@@ -136,44 +167,61 @@ public class Application extends Controller {
       headers.put(Http.HeaderNames.X_FORWARDED_PROTO, List.of(schema));
     }
 
+    // The request body is streamed, keep its start if slow queries may have to be logged
+    final boolean verboseGraphQLLogging = _config.getBoolean("graphql.verbose.logging");
+    final RequestBodyCapture requestBodyCapture =
+        verboseGraphQLLogging ? new RequestBodyCapture(MAX_LOGGED_REQUEST_BYTES) : null;
+
     // Get the current time to measure the duration of the request
     Instant start = Instant.now();
 
-    return _ws.url(
-            String.format(
-                "%s://%s:%s%s", protocol, metadataServiceHost, metadataServicePort, resolvedUri))
-        .setMethod(request.method())
-        .setHeaders(
-            headers.entrySet().stream()
-                // Remove X-DataHub-Actor to prevent malicious delegation.
-                .filter(
-                    entry ->
-                        !AuthenticationConstants.LEGACY_X_DATAHUB_ACTOR_HEADER.equalsIgnoreCase(
-                            entry.getKey()))
-                .filter(entry -> !Http.HeaderNames.CONTENT_LENGTH.equalsIgnoreCase(entry.getKey()))
-                .filter(entry -> !Http.HeaderNames.CONTENT_TYPE.equalsIgnoreCase(entry.getKey()))
-                .filter(entry -> !Http.HeaderNames.AUTHORIZATION.equalsIgnoreCase(entry.getKey()))
-                // Remove Host s.th. service meshes do not route to wrong host
-                .filter(entry -> !Http.HeaderNames.HOST.equalsIgnoreCase(entry.getKey()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)))
-        .addHeader(Http.HeaderNames.AUTHORIZATION, authorizationHeaderValue)
-        .addHeader(
-            AuthenticationConstants.LEGACY_X_DATAHUB_ACTOR_HEADER, getDataHubActorHeader(request))
-        .setBody(
-            new InMemoryBodyWritable(
-                ByteString.fromByteBuffer(request.body().asBytes().asByteBuffer()),
-                request.contentType().orElse("application/json")))
-        .setRequestTimeout(Duration.ofSeconds(120))
-        .execute()
+    final StandaloneWSRequest proxyRequest =
+        _ws.url(
+                String.format(
+                    "%s://%s:%s%s",
+                    protocol, metadataServiceHost, metadataServicePort, resolvedUri))
+            .setMethod(request.method())
+            .setHeaders(
+                headers.entrySet().stream()
+                    // Remove X-DataHub-Actor to prevent malicious delegation.
+                    .filter(
+                        entry ->
+                            !AuthenticationConstants.LEGACY_X_DATAHUB_ACTOR_HEADER.equalsIgnoreCase(
+                                entry.getKey()))
+                    .filter(
+                        entry -> !Http.HeaderNames.CONTENT_LENGTH.equalsIgnoreCase(entry.getKey()))
+                    .filter(
+                        entry -> !Http.HeaderNames.CONTENT_TYPE.equalsIgnoreCase(entry.getKey()))
+                    .filter(
+                        entry -> !Http.HeaderNames.AUTHORIZATION.equalsIgnoreCase(entry.getKey()))
+                    // Remove Host s.th. service meshes do not route to wrong host
+                    .filter(entry -> !Http.HeaderNames.HOST.equalsIgnoreCase(entry.getKey()))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)))
+            .addHeader(Http.HeaderNames.AUTHORIZATION, authorizationHeaderValue)
+            .addHeader(
+                AuthenticationConstants.LEGACY_X_DATAHUB_ACTOR_HEADER,
+                getDataHubActorHeader(request))
+            .setRequestTimeout(Duration.ofSeconds(120));
+
+    if (request.hasBody()) {
+      proxyRequest
+          .setContentType(request.contentType().orElse("application/json"))
+          .setBody(new SourceBodyWritable(requestBody(request, route, requestBodyCapture)));
+    }
+
+    return proxyRequest
+        .stream()
         .thenApply(
             apiResponse -> {
-              // Log the query if it takes longer than the configured threshold and verbose logging is enabled
-              boolean verboseGraphQLLogging = _config.getBoolean("graphql.verbose.logging");
-              int verboseGraphQLLongQueryMillis = _config.getInt("graphql.verbose.slowQueryMillis");
               Instant finish = Instant.now();
               long timeElapsed = Duration.between(start, finish).toMillis();
+              MetricUtils.timer(MetricRegistry.name(Application.class, "proxy", route, "ttfb"))
+                  .update(timeElapsed, TimeUnit.MILLISECONDS);
+
+              // Log the query if it takes longer than the configured threshold and verbose logging is enabled
+              int verboseGraphQLLongQueryMillis = _config.getInt("graphql.verbose.slowQueryMillis");
               if (verboseGraphQLLogging && timeElapsed >= verboseGraphQLLongQueryMillis) {
-                logSlowQuery(request, resolvedUri, timeElapsed);
+                logSlowQuery(request, resolvedUri, timeElapsed, requestBodyCapture);
               }
 
               final ResponseHeader header =
@@ -188,15 +236,113 @@ public class Application extends Controller {
                                   !Http.HeaderNames.CONTENT_TYPE.equalsIgnoreCase(entry.getKey()))
                           .map(entry -> Pair.of(entry.getKey(), String.join(";", entry.getValue())))
                           .collect(Collectors.toMap(Pair::getFirst, Pair::getSecond)));
-              final HttpEntity body =
-                  new HttpEntity.Strict(
-                      apiResponse.getBodyAsBytes(),
-                      Optional.ofNullable(apiResponse.getContentType()));
-              return new Result(header, body);
+              return new Result(header, responseBody(request, apiResponse, route, start));
             })
         .toCompletableFuture();
   }
 
+  /** The streamed body of a proxied request, counting its size. */
+  @SuppressWarnings("unchecked")
+  private static Source<ByteString, ?> requestBody(
+      Http.Request request, String route, @Nullable RequestBodyCapture requestBodyCapture) {
+    final AtomicLong requestBytes = new AtomicLong();
+    return ((Source<ByteString, ?>) request.body().as(Source.class))
+        .map(
+            chunk -> {
+              requestBytes.addAndGet(chunk.size());
+              if (requestBodyCapture != null) {
+                requestBodyCapture.append(chunk);
+              }
+              return chunk;
+            })
+        .watchTermination(
+            (mat, done) -> {
+              done.thenRun(
+                  () ->
+                      MetricUtils.get()
+                          .histogram(
+                              MetricRegistry.name(
+                                  Application.class, "proxy", route, "requestBytes"))
+                          .update(requestBytes.get()));
+              return mat;
+            });
+  }
+
+  /**
+   * The body of a Metadata Service response, streamed to the client as it arrives. The latency of
+   * the proxied call is recorded once the whole body has been sent.
+   */
+  private HttpEntity responseBody(
+      Http.Request request, StandaloneWSResponse apiResponse, String route, Instant start) {
+    final int status = apiResponse.getStatus();
+    if ("HEAD".equalsIgnoreCase(request.method())
+        || status == Http.Status.NO_CONTENT
+        || status == Http.Status.NOT_MODIFIED) {
+      // Release the upstream connection, there is no body to forward
+      apiResponse.getBodyAsSource().runWith(Sink.ignore(), _materializer);
+      MetricUtils.timer(MetricRegistry.name(Application.class, "proxy", route, "latency"))
+          .update(Duration.between(start, Instant.now()).toMillis(), TimeUnit.MILLISECONDS);
+      return HttpEntity.NO_ENTITY;
+    }
+
+    final AtomicLong responseBytes = new AtomicLong();
+    final Source<ByteString, ?> body =
+        apiResponse
+            .getBodyAsSource()
+            .map(
+                chunk -> {
+                  responseBytes.addAndGet(chunk.size());
+                  return chunk;
+                })
+            .watchTermination(
+                (mat, done) -> {
+                  done.whenComplete(
+                      (ignored, throwable) -> {
+                        MetricUtils.timer(
+                                MetricRegistry.name(Application.class, "proxy", route, "latency"))
+                            .update(
+                                Duration.between(start, Instant.now()).toMillis(),
+                                TimeUnit.MILLISECONDS);
+                        MetricUtils.get()
+                            .histogram(
+                                MetricRegistry.name(
+                                    Application.class, "proxy", route, "responseBytes"))
+                            .update(responseBytes.get());
+                        if (throwable != null) {
+                          MetricUtils.counter(
+                                  MetricRegistry.name(
+                                      Application.class, "proxy", route, "streamFailures"))
+                              .inc();
+                          _logger.warn(
+                              "Proxied response of {} failed after {} bytes",
+                              route,
+                              responseBytes.get(),
+                              throwable);
+                        }
+                      });
+                  return mat;
+                });
+    return new HttpEntity.Streamed(
+        body, Optional.empty(), Optional.ofNullable(apiResponse.getContentType()));
+  }
+
+  /**
+   * Route of a proxied call used in metric names. It is one of a fixed set so that arbitrary paths
+   * cannot add metrics.
+   */
+  private static String proxyRoute(@Nonnull String uri, @Nonnull String resolvedUri) {
+    if (resolvedUri.startsWith("/api/graphql")) {
+      return "graphql";
+    }
+    if (resolvedUri.startsWith("/openapi")) {
+      return "openapi";
+    }
+    if (uri.startsWith("/api/gms")) {
+      return "gms";
+    }
+    return "other";
+  }
+
   /**
    * Creates a wrapping ObjectNode containing config information
    *
@@ -295,17 +441,47 @@ public class Application extends Controller {
     return trackingConfig;
   }
 
-  private StandaloneWSClient createWsClient() {
+  private static Materializer createMaterializer() {
     final String name = "proxyClient";
     ActorSystem system = ActorSystem.create(name);
     system.registerOnTermination(() -> System.exit(0));
-    Materializer materializer = ActorMaterializer.create(system);
+    return ActorMaterializer.create(system);
+  }
+
+  private StandaloneWSClient createWsClient(Materializer materializer) {
+    // Connections to the Metadata Service are pooled and kept alive across proxied requests
     AsyncHttpClientConfig asyncHttpClientConfig =
         new DefaultAsyncHttpClientConfig.Builder()
             .setDisableUrlEncodingForBoundRequests(true)
             .setMaxRequestRetry(0)
             .setShutdownQuietPeriod(0)
             .setShutdownTimeout(0)
+            .setKeepAlive(true)
+            .setMaxConnections(
+                ConfigUtil.getInt(
+                    _config,
+                    ConfigUtil.METADATA_SERVICE_PROXY_MAX_CONNECTIONS_CONFIG_PATH,
+                    ConfigUtil.DEFAULT_METADATA_SERVICE_PROXY_MAX_CONNECTIONS))
+            .setMaxConnectionsPerHost(
+                ConfigUtil.getInt(
+                    _config,
+                    ConfigUtil.METADATA_SERVICE_PROXY_MAX_CONNECTIONS_PER_HOST_CONFIG_PATH,
+                    ConfigUtil.DEFAULT_METADATA_SERVICE_PROXY_MAX_CONNECTIONS_PER_HOST))
+            .setConnectTimeout(
+                ConfigUtil.getInt(
+                    _config,
+                    ConfigUtil.METADATA_SERVICE_PROXY_CONNECT_TIMEOUT_CONFIG_PATH,
+                    ConfigUtil.DEFAULT_METADATA_SERVICE_PROXY_CONNECT_TIMEOUT))
+            .setPooledConnectionIdleTimeout(
+                ConfigUtil.getInt(
+                    _config,
+                    ConfigUtil.METADATA_SERVICE_PROXY_POOLED_CONNECTION_IDLE_TIMEOUT_CONFIG_PATH,
+                    ConfigUtil.DEFAULT_METADATA_SERVICE_PROXY_POOLED_CONNECTION_IDLE_TIMEOUT))
+            .setConnectionTtl(
+                ConfigUtil.getInt(
+                    _config,
+                    ConfigUtil.METADATA_SERVICE_PROXY_CONNECTION_TTL_CONFIG_PATH,
+                    ConfigUtil.DEFAULT_METADATA_SERVICE_PROXY_CONNECTION_TTL))
             .build();
     AsyncHttpClient asyncHttpClient = new DefaultAsyncHttpClient(asyncHttpClientConfig);
     return new StandaloneAhcWSClient(asyncHttpClient, materializer);
@@ -382,15 +558,20 @@ public class Application extends Controller {
    * @param request GraphQL request that was made
    * @param resolvedUri URI that was requested
    * @param duration How long the query took to complete
+   * @param requestBodyCapture Start of the request body which was streamed to the Metadata Service
    */
-  private void logSlowQuery(Http.Request request, String resolvedUri, float duration) {
+  private void logSlowQuery(
+      Http.Request request,
+      String resolvedUri,
+      float duration,
+      @Nullable RequestBodyCapture requestBodyCapture) {
     StringBuilder jsonBody = new StringBuilder();
     Optional<Cookie> actorCookie = request.getCookie("actor");
     String actorValue = actorCookie.isPresent() ? actorCookie.get().value() : "N/A";
 
     try {
       ObjectMapper mapper = new ObjectMapper();
-      JsonNode jsonNode = request.body().asJson();
+      JsonNode jsonNode = Json.parse(requestBodyCapture.getBody().utf8String());
       ((ObjectNode) jsonNode).remove("query");
       jsonBody.append(mapper.writerWithDefaultPrettyPrinter().writeValueAsString(jsonNode));
     }
@@ -405,4 +586,24 @@ public class Application extends Controller {
             jsonBodyStr,
             duration);
   }
+
+  /** Keeps the start of a streamed request body, bounded by a maximum size. */
+  private static class RequestBodyCapture {
+    private final int _maxBytes;
+    private ByteString _body = ByteString.emptyByteString();
+
+    RequestBodyCapture(int maxBytes) {
+      _maxBytes = maxBytes;
+    }
+
+    synchronized void append(ByteString chunk) {
+      if (_body.size() < _maxBytes) {
+        _body = _body.concat(chunk.take(_maxBytes - _body.size()));
+      }
+    }
+
+    synchronized ByteString getBody() {
+      return _body;
+    }
+  }
 }
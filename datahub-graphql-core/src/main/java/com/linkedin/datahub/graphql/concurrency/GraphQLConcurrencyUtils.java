@@ -1,14 +1,53 @@
 package com.linkedin.datahub.graphql.concurrency;
 
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.metadata.utils.metrics.TaggedMetrics;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 public class GraphQLConcurrencyUtils {
   private GraphQLConcurrencyUtils() {}
 
+  private static final String CLASS_NAME = GraphQLConcurrencyUtils.class.getSimpleName();
+
+  /** Metrics of the tasks of a resolver, tagged by caller and task, also under untagged names */
+  private static class TaskMetrics {
+    private final Counter supplyAsync;
+    private final Counter deadlineExceeded;
+    private final Counter budgetExhausted;
+    private final Counter inFlight;
+    private final Timer queueTime;
+
+    private TaskMetrics(String caller, String task) {
+      final String[] tags = {"caller", caller, "task", task};
+      supplyAsync = counter("supplyAsync", caller, task, tags);
+      deadlineExceeded = counter("deadlineExceeded", caller, task, tags);
+      budgetExhausted = counter("budgetExhausted", caller, task, tags);
+      inFlight = counter("inFlight", caller, task, tags);
+      queueTime =
+          MetricUtils.withLegacyName(
+              MetricUtils.taggedTimer(GraphQLConcurrencyUtils.class, "queueTime", tags),
+              MetricRegistry.name(CLASS_NAME, "queueTime", caller, task));
+    }
+
+    private static Counter counter(String name, String caller, String task, String[] tags) {
+      return MetricUtils.withLegacyName(
+          MetricUtils.taggedCounter(GraphQLConcurrencyUtils.class, name, tags),
+          MetricRegistry.name(CLASS_NAME, name, caller, task));
+    }
+  }
+
+  private static final TaggedMetrics<TaskMetrics> TASK_METRICS =
+      new TaggedMetrics<>(TaskMetrics::new);
+
   private static ExecutorService graphQLExecutorService = null;
 
   public static ExecutorService getExecutorService() {
@@ -19,17 +58,76 @@ public class GraphQLConcurrencyUtils {
     GraphQLConcurrencyUtils.graphQLExecutorService = executorService;
   }
 
+  /**
+   * Bounded fallback used when no executor has been configured, resolvers block on remote calls
+   * and must not run on the common ForkJoinPool.
+   */
+  private static class DefaultExecutorHolder {
+    private static final ExecutorService INSTANCE =
+        new ThreadPoolExecutor(
+            Runtime.getRuntime().availableProcessors() * 5,
+            Runtime.getRuntime().availableProcessors() * 100,
+            60,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            new GraphQLWorkerPoolThreadFactory(0),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  private static ExecutorService executor() {
+    return GraphQLConcurrencyUtils.graphQLExecutorService == null
+        ? DefaultExecutorHolder.INSTANCE
+        : GraphQLConcurrencyUtils.graphQLExecutorService;
+  }
+
   public static <T> CompletableFuture<T> supplyAsync(
       Supplier<T> supplier, String caller, String task) {
-    MetricUtils.counter(
-            MetricRegistry.name(
-                GraphQLConcurrencyUtils.class.getSimpleName(), "supplyAsync", caller, task))
-        .inc();
-    if (GraphQLConcurrencyUtils.graphQLExecutorService == null) {
-      return CompletableFuture.supplyAsync(supplier);
-    } else {
+    final TaskMetrics metrics = TASK_METRICS.get(caller, task);
+    metrics.supplyAsync.inc();
+
+    final GraphQLRequestBudget budget = GraphQLRequestBudget.current();
+    if (budget == null) {
+      return CompletableFuture.supplyAsync(supplier, executor());
+    }
+
+    if (budget.isExpired()) {
+      metrics.deadlineExceeded.inc();
       return CompletableFuture.supplyAsync(
-          supplier, GraphQLConcurrencyUtils.graphQLExecutorService);
+          () -> {
+            budget.checkDeadline();
+            return supplier.get();
+          },
+          Runnable::run);
+    }
+
+    if (!budget.tryAcquire()) {
+      // Request is at its concurrency budget, run on the calling thread
+      metrics.budgetExhausted.inc();
+      return CompletableFuture.supplyAsync(supplier, Runnable::run);
     }
+
+    final Counter inFlight = metrics.inFlight;
+    final Timer.Context queueTime = metrics.queueTime.time();
+    inFlight.inc();
+    return CompletableFuture.supplyAsync(
+        () -> {
+          queueTime.stop();
+          try {
+            budget.checkDeadline();
+            return supplier.get();
+          } finally {
+            inFlight.dec();
+          }
+        },
+        command -> {
+          try {
+            executor().execute(budget.wrap(command));
+          } catch (RejectedExecutionException e) {
+            // The task will never run, give back the slot it reserved
+            inFlight.dec();
+            budget.release();
+            throw e;
+          }
+        });
   }
 }
@@ -0,0 +1,105 @@
+package com.linkedin.datahub.graphql.concurrency;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * Per-request execution budget for GraphQL resolvers. Limits the number of resolver tasks a single
+ * request may have running on the shared executor and carries the request deadline, which is
+ * derived from the servlet's async request timeout.
+ *
+ * <p>The budget of the current request is bound to the executing thread and is propagated to every
+ * task submitted through {@link GraphQLConcurrencyUtils#supplyAsync(Supplier, String, String)},
+ * including the graphql-java continuations completed on the worker thread.
+ */
+public class GraphQLRequestBudget {
+
+  private static final ThreadLocal<GraphQLRequestBudget> CURRENT = new ThreadLocal<>();
+
+  @Nullable private final Semaphore permits;
+  private final long deadlineNanos;
+
+  /**
+   * @param maxConcurrency maximum concurrently executing resolver tasks, less than or equal to 0
+   *     for unlimited
+   * @param timeoutMillis time until the request deadline, less than or equal to 0 for none
+   */
+  public GraphQLRequestBudget(int maxConcurrency, long timeoutMillis) {
+    this.permits = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+    this.deadlineNanos =
+        timeoutMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis) : 0;
+  }
+
+  /** The budget bound to the current thread, if any */
+  @Nullable
+  public static GraphQLRequestBudget current() {
+    return CURRENT.get();
+  }
+
+  public boolean isExpired() {
+    return deadlineNanos != 0 && System.nanoTime() - deadlineNanos > 0;
+  }
+
+  /** Fail with a {@link TimeoutException} if the request deadline has passed. */
+  public void checkDeadline() {
+    if (isExpired()) {
+      throw new CompletionException(
+          new TimeoutException("GraphQL request deadline exceeded before resolver execution"));
+    }
+  }
+
+  /**
+   * Reserve a slot on the shared executor.
+   *
+   * @return false if the request has exhausted its concurrency budget
+   */
+  boolean tryAcquire() {
+    return permits == null || permits.tryAcquire();
+  }
+
+  void release() {
+    if (permits != null) {
+      permits.release();
+    }
+  }
+
+  /** Run the supplier with this budget bound to the current thread. */
+  public <T> T call(Supplier<T> supplier) {
+    GraphQLRequestBudget previous = CURRENT.get();
+    CURRENT.set(this);
+    try {
+      return supplier.get();
+    } finally {
+      restore(previous);
+    }
+  }
+
+  /**
+   * Wrap an executor command so it runs with this budget bound to the worker thread and releases
+   * the slot reserved by {@link #tryAcquire()} once complete.
+   */
+  Runnable wrap(Runnable command) {
+    return () -> {
+      GraphQLRequestBudget previous = CURRENT.get();
+      CURRENT.set(this);
+      try {
+        command.run();
+      } finally {
+        restore(previous);
+        release();
+      }
+    };
+  }
+
+  private static void restore(@Nullable GraphQLRequestBudget previous) {
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package com.linkedin.datahub.graphql.concurrency;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import org.testng.annotations.Test;
+
+public class GraphQLConcurrencyUtilsTest {
+
+  @Test
+  public void testBudgetPropagatesToNestedTasks() throws Exception {
+    GraphQLRequestBudget budget = new GraphQLRequestBudget(4, 0);
+
+    GraphQLRequestBudget nested =
+        budget
+            .call(
+                () ->
+                    GraphQLConcurrencyUtils.supplyAsync(
+                        () ->
+                            GraphQLConcurrencyUtils.supplyAsync(
+                                    GraphQLRequestBudget::current, "test", "inner")
+                                .join(),
+                        "test",
+                        "outer"))
+            .get();
+
+    assertSame(nested, budget);
+  }
+
+  @Test
+  public void testExhaustedBudgetRunsOnCallingThread() throws Exception {
+    GraphQLRequestBudget budget = new GraphQLRequestBudget(1, 0);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread caller = Thread.currentThread();
+
+    CompletableFuture<Thread> first =
+        budget.call(
+            () ->
+                GraphQLConcurrencyUtils.supplyAsync(
+                    () -> {
+                      try {
+                        release.await();
+                      } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                      }
+                      return Thread.currentThread();
+                    },
+                    "test",
+                    "first"));
+    CompletableFuture<Thread> second =
+        budget.call(
+            () -> GraphQLConcurrencyUtils.supplyAsync(Thread::currentThread, "test", "second"));
+
+    assertEquals(second.get(), caller);
+    release.countDown();
+    assertNotEquals(first.get(), caller);
+  }
+
+  @Test
+  public void testRejectedTaskReleasesItsSlot() {
+    GraphQLRequestBudget budget = new GraphQLRequestBudget(1, 0);
+    ExecutorService previous = GraphQLConcurrencyUtils.getExecutorService();
+    ExecutorService rejecting = Executors.newSingleThreadExecutor();
+    rejecting.shutdown();
+    GraphQLConcurrencyUtils.setExecutorService(rejecting);
+    try {
+      expectThrows(
+          RejectedExecutionException.class,
+          () ->
+              budget.call(
+                  () -> GraphQLConcurrencyUtils.supplyAsync(() -> "result", "test", "rejected")));
+    } finally {
+      GraphQLConcurrencyUtils.setExecutorService(previous);
+    }
+
+    assertTrue(budget.tryAcquire());
+  }
+
+  @Test
+  public void testExpiredDeadlineFailsTask() throws Exception {
+    GraphQLRequestBudget budget = new GraphQLRequestBudget(1, 1);
+    Thread.sleep(5);
+
+    CompletableFuture<String> future =
+        budget.call(() -> GraphQLConcurrencyUtils.supplyAsync(() -> "result", "test", "expired"));
+
+    ExecutionException e = expectThrows(ExecutionException.class, future::get);
+    assertTrue(e.getCause() instanceof TimeoutException);
+  }
+}
@@ -23,6 +23,15 @@ public class ClearAspectV2TableStep implements UpgradeStep {
     return "ClearAspectV2TableStep";
   }
 
+  @Override
+  public boolean skip(UpgradeContext context) {
+    if (RestoreStorageStep.isResume(context)) {
+      context.report().addLine("Resuming the restore, keeping the restored aspects.");
+      return true;
+    }
+    return false;
+  }
+
   @Override
   public Function<UpgradeContext, UpgradeStepResult> executable() {
     return (context) -> {
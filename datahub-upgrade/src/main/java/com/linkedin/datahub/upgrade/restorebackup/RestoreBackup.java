@@ -21,6 +21,9 @@ import java.util.List;
 import javax.annotation.Nullable;
 
 public class RestoreBackup implements Upgrade {
+  public static final String BATCH_SIZE_ARG_NAME = "BATCH_SIZE";
+  public static final String DIRECT_INSERT_ARG_NAME = "DIRECT_INSERT";
+  public static final String RESUME_ARG_NAME = "RESUME";
 
   private final List<UpgradeStep> _steps;
 
@@ -71,7 +74,8 @@ public class RestoreBackup implements Upgrade {
     steps.add(new ClearSearchServiceStep(entitySearchService, true));
     steps.add(new ClearGraphServiceStep(graphClient, true));
     steps.add(new ClearAspectV2TableStep(server));
-    steps.add(new RestoreStorageStep(entityService, entityRegistry));
+    steps.add(new RestoreStorageStep(server, entityService, entityRegistry));
+    steps.add(new SendRestoredMAEStep(server, entityService));
     steps.add(new GMSEnableWriteModeStep(systemEntityClient));
     return steps;
   }
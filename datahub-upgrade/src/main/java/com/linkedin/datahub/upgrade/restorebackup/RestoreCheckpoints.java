@@ -0,0 +1,84 @@
+package com.linkedin.datahub.upgrade.restorebackup;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.datahub.upgrade.UpgradeContext;
+import com.linkedin.metadata.boot.BootstrapStep;
+import com.linkedin.metadata.entity.EntityService;
+import com.linkedin.upgrade.DataHubUpgradeResult;
+import com.linkedin.upgrade.DataHubUpgradeState;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+
+/**
+ * Row groups of the backup files which were restored, with their number of rows. They are kept in
+ * the result of an upgrade so that a restore which failed part way can be resumed from the row
+ * groups which were not restored.
+ */
+class RestoreCheckpoints {
+  static final Urn UPGRADE_URN = BootstrapStep.getUpgradeUrn("restore-backup-checkpoints");
+
+  private final UpgradeContext context;
+  private final EntityService<?> entityService;
+  private final Map<String, String> restored = new ConcurrentHashMap<>();
+  private final Set<String> notRestored = ConcurrentHashMap.newKeySet();
+
+  /**
+   * @param resume true to resume from the checkpoints of the previous restore, false to start over
+   */
+  RestoreCheckpoints(
+      @Nonnull UpgradeContext context, @Nonnull EntityService<?> entityService, boolean resume) {
+    this.context = context;
+    this.entityService = entityService;
+    if (resume) {
+      context
+          .upgrade()
+          .getUpgradeResult(context.opContext(), UPGRADE_URN, entityService)
+          .map(DataHubUpgradeResult::getResult)
+          .ifPresent(restored::putAll);
+    }
+  }
+
+  boolean isRestored(@Nonnull String rowGroup) {
+    return restored.containsKey(rowGroup);
+  }
+
+  int size() {
+    return restored.size();
+  }
+
+  synchronized void restored(@Nonnull String rowGroup, int rows) {
+    restored.put(rowGroup, String.valueOf(rows));
+    save(DataHubUpgradeState.IN_PROGRESS);
+  }
+
+  /** Records a row group which was read but not restored, the restore then fails */
+  void notRestored(@Nonnull String rowGroup) {
+    notRestored.add(rowGroup);
+  }
+
+  int notRestoredSize() {
+    return notRestored.size();
+  }
+
+  /**
+   * Saves the final state of the restore, which succeeded only if all row groups were restored.
+   *
+   * @return the final state of the restore
+   */
+  synchronized DataHubUpgradeState finish() {
+    final DataHubUpgradeState state =
+        notRestored.isEmpty() ? DataHubUpgradeState.SUCCEEDED : DataHubUpgradeState.FAILED;
+    save(state);
+    return state;
+  }
+
+  private void save(@Nonnull DataHubUpgradeState state) {
+    context
+        .upgrade()
+        .setUpgradeResult(
+            context.opContext(), UPGRADE_URN, entityService, state, new HashMap<>(restored));
+  }
+}
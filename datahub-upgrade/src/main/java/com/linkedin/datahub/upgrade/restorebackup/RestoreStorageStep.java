@@ -1,8 +1,10 @@
 package com.linkedin.datahub.upgrade.restorebackup;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableBiMap;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.datahub.upgrade.UpgradeContext;
 import com.linkedin.datahub.upgrade.UpgradeStep;
@@ -14,16 +16,22 @@ import com.linkedin.datahub.upgrade.restorebackup.backupreader.EbeanAspectBackup
 import com.linkedin.datahub.upgrade.restorebackup.backupreader.LocalParquetReader;
 import com.linkedin.datahub.upgrade.restorebackup.backupreader.ReaderWrapper;
 import com.linkedin.datahub.upgrade.restoreindices.RestoreIndices;
+import com.linkedin.metadata.aspect.batch.MCPItem;
 import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.entity.EntityUtils;
 import com.linkedin.metadata.entity.ebean.EbeanAspectV2;
-import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.entity.ebean.batch.AspectsBatchImpl;
+import com.linkedin.metadata.entity.ebean.batch.ChangeItemImpl;
 import com.linkedin.metadata.models.EntitySpec;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.upgrade.DataHubUpgradeState;
-import com.linkedin.util.Pair;
+import io.ebean.Database;
+import io.ebean.SqlUpdate;
+import io.ebean.Transaction;
+import io.ebean.TxScope;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URISyntaxException;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -33,22 +41,54 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
+/**
+ * Restores the aspects of a backup, reading the row groups of the backup files in parallel.
+ *
+ * <p>Aspects are written in batches of BATCH_SIZE rows, the rows of an urn are kept in the same
+ * batch. By default the batches are ingested through the {@link EntityService}, which emits MCLs.
+ * With DIRECT_INSERT the rows are inserted into the aspect table with JDBC batches, a transaction
+ * per row group and no MCLs, and indexed by a separate pass afterwards.
+ *
+ * <p>Restored row groups are checkpointed, with RESUME a restore which failed part way skips them.
+ * The step fails if a row group could not be restored.
+ */
 public class RestoreStorageStep implements UpgradeStep {
 
-  private static final int REPORT_BATCH_SIZE = 1000;
   private static final int DEFAULT_THREAD_POOL = 4;
+  private static final int DEFAULT_BATCH_SIZE = 1000;
 
+  private static final String INSERT_SQL =
+      String.format(
+          "INSERT INTO metadata_aspect_v2 (%s, %s, %s, %s, %s, %s, %s, %s) "
+              + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+          EbeanAspectV2.URN_COLUMN,
+          EbeanAspectV2.ASPECT_COLUMN,
+          EbeanAspectV2.VERSION_COLUMN,
+          EbeanAspectV2.METADATA_COLUMN,
+          EbeanAspectV2.SYSTEM_METADATA_COLUMN,
+          EbeanAspectV2.CREATED_ON_COLUMN,
+          EbeanAspectV2.CREATED_BY_COLUMN,
+          EbeanAspectV2.CREATED_FOR_COLUMN);
+
+  private final Database _server;
   private final EntityService<?> _entityService;
   private final EntityRegistry _entityRegistry;
   private final Map<String, Class<? extends BackupReader<? extends ReaderWrapper<?>>>>
       _backupReaders;
   private final ExecutorService _fileReaderThreadPool;
   private final ExecutorService _gmsThreadPool;
+  private final int _gmsPoolSize;
 
   public RestoreStorageStep(
-      final EntityService<?> entityService, final EntityRegistry entityRegistry) {
+      final Database server,
+      final EntityService<?> entityService,
+      final EntityRegistry entityRegistry) {
+    _server = server;
     _entityService = entityService;
     _entityRegistry = entityRegistry;
     _backupReaders = ImmutableBiMap.of(LocalParquetReader.READER_NAME, LocalParquetReader.class);
@@ -68,6 +108,7 @@ public class RestoreStorageStep implements UpgradeStep {
     }
     _fileReaderThreadPool = Executors.newFixedThreadPool(filePoolSize);
     _gmsThreadPool = Executors.newFixedThreadPool(gmsPoolSize);
+    _gmsPoolSize = gmsPoolSize;
   }
 
   @Override
@@ -80,11 +121,18 @@ public class RestoreStorageStep implements UpgradeStep {
     return 0;
   }
 
+  static boolean isDirectInsert(UpgradeContext context) {
+    return getBoolean(context, RestoreBackup.DIRECT_INSERT_ARG_NAME);
+  }
+
+  static boolean isResume(UpgradeContext context) {
+    return getBoolean(context, RestoreBackup.RESUME_ARG_NAME);
+  }
+
   @Override
   public Function<UpgradeContext, UpgradeStepResult> executable() {
     return (context) -> {
       context.report().addLine("Starting backup restore...");
-      int numRows = 0;
       Optional<String> backupReaderName = context.parsedArgs().get("BACKUP_READER");
       context.report().addLine("Inputs!: " + context.parsedArgs());
       context.report().addLine("BACKUP_READER: " + backupReaderName.toString());
@@ -117,65 +165,136 @@ public class RestoreStorageStep implements UpgradeStep {
                 + clazz.getSimpleName()
                 + ", need to implement proper constructor.");
       }
+
+      final int batchSize = getBatchSize(context);
+      final boolean directInsert = isDirectInsert(context);
+      final RestoreCheckpoints checkpoints =
+          new RestoreCheckpoints(context, _entityService, isResume(context));
+      context
+          .report()
+          .addLine(
+              String.format(
+                  "Restoring in batches of %d rows, direct insert: %s, %d row groups restored",
+                  batchSize, directInsert, checkpoints.size()));
+
       EbeanAspectBackupIterator<? extends ReaderWrapper> iterator =
           backupReader.getBackupIterator(context);
       ReaderWrapper reader;
-      List<Future<?>> futureList = new ArrayList<>();
+      List<Future<Integer>> futureList = new ArrayList<>();
       while ((reader = iterator.getNextReader()) != null) {
         final ReaderWrapper readerRef = reader;
-        futureList.add(_fileReaderThreadPool.submit(() -> readerExecutable(readerRef, context)));
+        if (checkpoints.isRestored(readerRef.getFileName())) {
+          context.report().addLine(String.format("Skipping restored %s", readerRef.getFileName()));
+          closeQuietly(readerRef);
+          continue;
+        }
+        futureList.add(
+            _fileReaderThreadPool.submit(
+                () -> readerExecutable(readerRef, context, batchSize, directInsert, checkpoints)));
       }
-      for (Future<?> future : futureList) {
+      int numRows = 0;
+      for (Future<Integer> future : futureList) {
         try {
-          future.get();
+          numRows += future.get();
         } catch (InterruptedException | ExecutionException e) {
           context.report().addLine("Reading interrupted, not able to finish processing.");
           throw new RuntimeException(e);
         }
       }
+      final DataHubUpgradeState state = checkpoints.finish();
 
       context.report().addLine(String.format("Added %d rows to the aspect v2 table", numRows));
-      return new DefaultUpgradeStepResult(id(), DataHubUpgradeState.SUCCEEDED);
-    };
-  }
-
-  private void readerExecutable(ReaderWrapper reader, UpgradeContext context) {
-    EbeanAspectV2 aspect;
-    int numRows = 0;
-    final ArrayList<Future<RecordTemplate>> futureList = new ArrayList<>();
-    while ((aspect = reader.next()) != null) {
-      numRows++;
-
-      // 1. Extract an Entity type from the entity Urn
-      final Urn urn;
-      try {
-        urn = Urn.createFromString(aspect.getKey().getUrn());
-      } catch (Exception e) {
+      if (state != DataHubUpgradeState.SUCCEEDED) {
         context
             .report()
             .addLine(
                 String.format(
-                    "Failed to bind Urn with value %s into Urn object", aspect.getKey().getUrn()),
-                e);
-        continue;
+                    "%d row groups were not restored, run the restore again with %s=true",
+                    checkpoints.notRestoredSize(), RestoreBackup.RESUME_ARG_NAME));
+      }
+      return new DefaultUpgradeStepResult(id(), state);
+    };
+  }
+
+  /**
+   * Restores the rows of a reader and checkpoints it once all of them were written.
+   *
+   * @return number of rows read
+   */
+  private int readerExecutable(
+      ReaderWrapper reader,
+      UpgradeContext context,
+      int batchSize,
+      boolean directInsert,
+      RestoreCheckpoints checkpoints) {
+    final UrnBatches batches =
+        new UrnBatches(reader, aspect -> isValid(aspect, context), batchSize);
+    if (directInsert) {
+      insertBatches(batches, context, checkpoints);
+    } else {
+      ingestBatches(batches, context, checkpoints);
+    }
+    return batches.rows;
+  }
+
+  private void insertBatches(
+      UrnBatches batches, UpgradeContext context, RestoreCheckpoints checkpoints) {
+    try (Transaction transaction = _server.beginTransaction(TxScope.requiresNew())) {
+      final SqlUpdate insert = _server.sqlUpdate(INSERT_SQL);
+      List<EbeanAspectV2> batch;
+      while (!(batch = batches.next()).isEmpty()) {
+        for (EbeanAspectV2 aspect : batch) {
+          insert.setParameter(1, aspect.getKey().getUrn());
+          insert.setParameter(2, aspect.getKey().getAspect());
+          insert.setParameter(3, aspect.getKey().getVersion());
+          insert.setParameter(4, aspect.getMetadata());
+          setNullableParameter(insert, 5, aspect.getSystemMetadata());
+          insert.setParameter(6, aspect.getCreatedOn());
+          insert.setParameter(7, aspect.getCreatedBy());
+          setNullableParameter(insert, 8, aspect.getCreatedFor());
+          insert.addBatch();
+        }
+        insert.executeBatch();
+      }
+      // a row group is inserted entirely or not at all, so that it can be resumed
+      if (isFullyRead(batches, context)) {
+        transaction.commit();
+        checkpoints.restored(batches.reader.getFileName(), batches.rows);
+      } else {
+        checkpoints.notRestored(batches.reader.getFileName());
       }
+    }
+  }
 
-      // 2. Verify that the entity associated with the aspect is found in the registry.
-      final String entityName = urn.getEntityType();
-      final EntitySpec entitySpec;
-      try {
-        entitySpec = _entityRegistry.getEntitySpec(entityName);
-      } catch (Exception e) {
+  private void ingestBatches(
+      UrnBatches batches, UpgradeContext context, RestoreCheckpoints checkpoints) {
+    final List<Future<?>> futureList = new ArrayList<>();
+    List<EbeanAspectV2> batch;
+    while (!(batch = batches.next()).isEmpty()) {
+      final List<EbeanAspectV2> batchRef = batch;
+      futureList.add(_gmsThreadPool.submit(() -> ingestBatch(batchRef, context)));
+      if (futureList.size() >= _gmsPoolSize) {
+        waitForBatches(futureList, context);
         context
             .report()
             .addLine(
-                String.format("Failed to find Entity with name %s in Entity Registry", entityName),
-                e);
-        continue;
+                String.format(
+                    "Successfully inserted %d rows of %s",
+                    batches.rows, batches.reader.getFileName()));
       }
-      final String aspectName = aspect.getKey().getAspect();
+    }
+    waitForBatches(futureList, context);
+    if (isFullyRead(batches, context)) {
+      checkpoints.restored(batches.reader.getFileName(), batches.rows);
+    } else {
+      checkpoints.notRestored(batches.reader.getFileName());
+    }
+  }
 
-      // 3. Create record from json aspect
+  private void ingestBatch(List<EbeanAspectV2> batch, UpgradeContext context) {
+    final List<MCPItem> items = new ArrayList<>(batch.size());
+    for (EbeanAspectV2 aspect : batch) {
+      // Create record from json aspect
       final RecordTemplate aspectRecord;
       try {
         aspectRecord =
@@ -188,57 +307,189 @@ public class RestoreStorageStep implements UpgradeStep {
             .report()
             .addLine(
                 String.format(
-                    "Failed to create aspect record with name %s associated with entity named %s",
-                    aspectName, entityName),
+                    "Failed to create aspect record with name %s associated with urn %s",
+                    aspect.getKey().getAspect(), aspect.getKey().getUrn()),
                 e);
         continue;
       }
+      items.add(
+          ChangeItemImpl.builder()
+              .urn(UrnUtils.getUrn(aspect.getKey().getUrn()))
+              .aspectName(aspect.getKey().getAspect())
+              .recordTemplate(aspectRecord)
+              .auditStamp(toAuditStamp(aspect))
+              .build(context.opContext().getAspectRetrieverOpt().get()));
+    }
+    _entityService.ingestAspects(
+        context.opContext(),
+        AspectsBatchImpl.builder()
+            .retrieverContext(context.opContext().getRetrieverContext().get())
+            .items(items)
+            .build(),
+        true,
+        true);
+  }
 
-      // 4. Verify that the aspect is a valid aspect associated with the entity
-      final AspectSpec aspectSpec;
+  private static void waitForBatches(List<Future<?>> futureList, UpgradeContext context) {
+    for (Future<?> future : futureList) {
       try {
-        aspectSpec = entitySpec.getAspectSpec(aspectName);
-      } catch (Exception e) {
-        context
-            .report()
-            .addLine(
-                String.format(
-                    "Failed to find aspect spec with name %s associated with entity named %s",
-                    aspectName, entityName),
-                e);
-        continue;
+        future.get();
+      } catch (InterruptedException | ExecutionException e) {
+        context.report().addLine("Reading interrupted, not able to finish processing.");
+        throw new RuntimeException(e);
       }
+    }
+    futureList.clear();
+  }
+
+  private static boolean isFullyRead(UrnBatches batches, UpgradeContext context) {
+    if (batches.reader.getRecordsFailed() > 0) {
+      context
+          .report()
+          .addLine(
+              String.format(
+                  "Failed to read all rows of %s, it is not checkpointed",
+                  batches.reader.getFileName()));
+      return false;
+    }
+    context
+        .report()
+        .addLine(
+            String.format("Restored %d rows of %s", batches.rows, batches.reader.getFileName()));
+    return true;
+  }
+
+  /** Batches of valid rows of a reader, the rows of an urn are kept in the same batch. */
+  @VisibleForTesting
+  static class UrnBatches {
+    private final ReaderWrapper reader;
+    private final Predicate<EbeanAspectV2> isValid;
+    private final int batchSize;
+    @Nullable private EbeanAspectV2 pending;
+    private boolean done;
+    private int rows;
 
-      // 5. Write the row back using the EntityService
-      final long version = aspect.getKey().getVersion();
-      final AuditStamp auditStamp = toAuditStamp(aspect);
-      futureList.add(
-          _gmsThreadPool.submit(
-              () ->
-                  _entityService
-                      .ingestAspects(
-                          context.opContext(),
-                          urn,
-                          List.of(Pair.of(aspectName, aspectRecord)),
-                          auditStamp,
-                          null)
-                      .get(0)
-                      .getNewValue()));
-      if (numRows % REPORT_BATCH_SIZE == 0) {
-        for (Future<?> future : futureList) {
-          try {
-            future.get();
-          } catch (InterruptedException | ExecutionException e) {
-            context.report().addLine("Reading interrupted, not able to finish processing.");
-            throw new RuntimeException(e);
-          }
+    UrnBatches(ReaderWrapper reader, Predicate<EbeanAspectV2> isValid, int batchSize) {
+      this.reader = reader;
+      this.isValid = isValid;
+      this.batchSize = batchSize;
+    }
+
+    /**
+     * @return the next batch, empty once all rows were read
+     */
+    List<EbeanAspectV2> next() {
+      final List<EbeanAspectV2> batch = new ArrayList<>(batchSize);
+      if (pending != null) {
+        batch.add(pending);
+        pending = null;
+      }
+      while (!done) {
+        final EbeanAspectV2 aspect = reader.next();
+        if (aspect == null) {
+          // the reader is closed once it returned the last row
+          done = true;
+          break;
         }
-        futureList.clear();
-        context.report().addLine(String.format("Successfully inserted %d rows", numRows));
+        rows++;
+        if (!isValid.test(aspect)) {
+          continue;
+        }
+        if (batch.size() >= batchSize
+            && !batch.get(batch.size() - 1).getKey().getUrn().equals(aspect.getKey().getUrn())) {
+          pending = aspect;
+          break;
+        }
+        batch.add(aspect);
       }
+      return batch;
+    }
+  }
+
+  private boolean isValid(EbeanAspectV2 aspect, UpgradeContext context) {
+    // 1. Extract an Entity type from the entity Urn
+    final Urn urn;
+    try {
+      urn = Urn.createFromString(aspect.getKey().getUrn());
+    } catch (Exception e) {
+      context
+          .report()
+          .addLine(
+              String.format(
+                  "Failed to bind Urn with value %s into Urn object", aspect.getKey().getUrn()),
+              e);
+      return false;
+    }
+
+    // The checkpoints of the restore are not overwritten by the backup
+    if (RestoreCheckpoints.UPGRADE_URN.equals(urn)) {
+      return false;
+    }
+
+    // 2. Verify that the entity associated with the aspect is found in the registry.
+    final String entityName = urn.getEntityType();
+    final EntitySpec entitySpec;
+    try {
+      entitySpec = _entityRegistry.getEntitySpec(entityName);
+    } catch (Exception e) {
+      context
+          .report()
+          .addLine(
+              String.format("Failed to find Entity with name %s in Entity Registry", entityName),
+              e);
+      return false;
+    }
+
+    // 3. Verify that the aspect is a valid aspect associated with the entity
+    final String aspectName = aspect.getKey().getAspect();
+    try {
+      entitySpec.getAspectSpec(aspectName);
+    } catch (Exception e) {
+      context
+          .report()
+          .addLine(
+              String.format(
+                  "Failed to find aspect spec with name %s associated with entity named %s",
+                  aspectName, entityName),
+              e);
+      return false;
+    }
+    return true;
+  }
+
+  private static void setNullableParameter(
+      @Nonnull SqlUpdate insert, int position, @Nullable Object value) {
+    if (value == null) {
+      insert.setNull(position, Types.VARCHAR);
+    } else {
+      insert.setParameter(position, value);
+    }
+  }
+
+  private static void closeQuietly(ReaderWrapper reader) {
+    try {
+      reader.close();
+    } catch (Exception e) {
+      // nothing was read from the reader
     }
   }
 
+  private static int getBatchSize(UpgradeContext context) {
+    return context
+        .parsedArgs()
+        .getOrDefault(RestoreBackup.BATCH_SIZE_ARG_NAME, Optional.empty())
+        .map(Integer::parseInt)
+        .orElse(DEFAULT_BATCH_SIZE);
+  }
+
+  private static boolean getBoolean(UpgradeContext context, String argName) {
+    return context
+        .parsedArgs()
+        .getOrDefault(argName, Optional.empty())
+        .map(Boolean::parseBoolean)
+        .orElse(false);
+  }
+
   private AuditStamp toAuditStamp(final EbeanAspectV2 aspect) {
     final AuditStamp auditStamp = new AuditStamp();
     auditStamp.setTime(aspect.getCreatedOn().getTime());
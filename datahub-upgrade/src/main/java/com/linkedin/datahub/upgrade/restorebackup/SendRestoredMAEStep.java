@@ -0,0 +1,31 @@
+package com.linkedin.datahub.upgrade.restorebackup;
+
+import com.linkedin.datahub.upgrade.UpgradeContext;
+import com.linkedin.datahub.upgrade.restoreindices.SendMAEStep;
+import com.linkedin.metadata.entity.EntityService;
+import io.ebean.Database;
+
+/**
+ * Indexing pass over the restored aspects. Runs when the aspects were inserted directly, without
+ * MCLs, or when the restore was resumed after the indices were cleared again.
+ */
+public class SendRestoredMAEStep extends SendMAEStep {
+
+  public SendRestoredMAEStep(final Database server, final EntityService<?> entityService) {
+    super(server, entityService);
+  }
+
+  @Override
+  public String id() {
+    return "SendRestoredMAEStep";
+  }
+
+  @Override
+  public boolean skip(UpgradeContext context) {
+    if (RestoreStorageStep.isDirectInsert(context) || RestoreStorageStep.isResume(context)) {
+      return false;
+    }
+    context.report().addLine("MCLs were emitted while restoring, skipping the indexing pass.");
+    return true;
+  }
+}
@@ -1,20 +1,33 @@
 package com.linkedin.datahub.upgrade.restorebackup.backupreader;
 
-import com.google.common.collect.ImmutableList;
 import com.linkedin.datahub.upgrade.UpgradeContext;
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
 
-/** BackupReader for retrieving EbeanAspectV2 objects from a local parquet file */
+/**
+ * BackupReader for retrieving EbeanAspectV2 objects from local parquet files.
+ *
+ * <p>BACKUP_FILE_PATH is a parquet file, a directory of parquet files or a comma separated list of
+ * either. A reader is returned for each row group of the files so that they can be read in
+ * parallel, named {@code <file>#<row group>}.
+ */
 @Slf4j
 public class LocalParquetReader implements BackupReader<ParquetReaderWrapper> {
 
@@ -51,12 +64,58 @@ public class LocalParquetReader implements BackupReader<ParquetReaderWrapper> {
     }
 
     try {
-      ParquetReader<GenericRecord> reader =
-          AvroParquetReader.<GenericRecord>builder(new Path(path.get())).build();
-      return new EbeanAspectBackupIterator<>(
-          ImmutableList.of(new ParquetReaderWrapper(reader, path.get())));
+      List<ParquetReaderWrapper> readers = new ArrayList<>();
+      for (String file : listParquetFiles(path.get())) {
+        readers.addAll(buildRowGroupReaders(file));
+      }
+      return new EbeanAspectBackupIterator<>(readers);
     } catch (IOException e) {
       throw new RuntimeException(String.format("Failed to build ParquetReader: %s", e));
     }
   }
+
+  private static List<String> listParquetFiles(@Nonnull String paths) {
+    List<String> files = new ArrayList<>();
+    for (String path : paths.split(",")) {
+      File file = new File(path.trim());
+      if (file.isDirectory()) {
+        File[] parquetFiles = file.listFiles((dir, name) -> name.endsWith(".parquet"));
+        if (parquetFiles != null) {
+          files.addAll(
+              Arrays.stream(parquetFiles)
+                  .map(File::getPath)
+                  .sorted()
+                  .collect(Collectors.toList()));
+        }
+      } else {
+        files.add(file.getPath());
+      }
+    }
+    return files;
+  }
+
+  private static List<ParquetReaderWrapper> buildRowGroupReaders(@Nonnull String file)
+      throws IOException {
+    Configuration conf = new Configuration();
+    HadoopInputFile inputFile = HadoopInputFile.fromPath(new Path(file), conf);
+    List<BlockMetaData> rowGroups;
+    try (ParquetFileReader fileReader = ParquetFileReader.open(inputFile)) {
+      rowGroups = fileReader.getFooter().getBlocks();
+    }
+
+    List<ParquetReaderWrapper> readers = new ArrayList<>(rowGroups.size());
+    for (int i = 0; i < rowGroups.size(); i++) {
+      // a row group is read by a range which contains its midpoint
+      BlockMetaData rowGroup = rowGroups.get(i);
+      ParquetReader<GenericRecord> reader =
+          AvroParquetReader.<GenericRecord>builder(inputFile)
+              .withConf(conf)
+              .withFileRange(
+                  rowGroup.getStartingPos(),
+                  rowGroup.getStartingPos() + rowGroup.getCompressedSize())
+              .build();
+      readers.add(new ParquetReaderWrapper(reader, String.format("%s#%d", file, i)));
+    }
+    return readers;
+  }
 }
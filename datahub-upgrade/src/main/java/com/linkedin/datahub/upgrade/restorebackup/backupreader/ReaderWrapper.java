@@ -85,4 +85,9 @@ public abstract class ReaderWrapper<T> implements Closeable {
   public String getFileName() {
     return _fileName;
   }
+
+  /** Records which failed to be read or converted, the reader stops at the first one */
+  public int getRecordsFailed() {
+    return recordsFailed;
+  }
 }
@@ -0,0 +1,73 @@
+package com.linkedin.datahub.upgrade.restorebackup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.avro.AvroParquetWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.util.HadoopOutputFile;
+
+/** Writes backups of the aspect table in the format read by the LOCAL_PARQUET backup reader. */
+public class ParquetBackupTestUtils {
+
+  public static final Schema ASPECT_SCHEMA =
+      SchemaBuilder.record("metadata_aspect_v2")
+          .fields()
+          .requiredString("urn")
+          .requiredString("aspect")
+          .requiredLong("version")
+          .optionalString("metadata")
+          .optionalString("systemmetadata")
+          .requiredLong("createdon")
+          .requiredString("createdby")
+          .optionalString("createdfor")
+          .endRecord();
+
+  private ParquetBackupTestUtils() {}
+
+  /**
+   * @param metadata null makes the row unreadable by the backup reader
+   */
+  @Nonnull
+  public static GenericRecord aspectRow(@Nonnull String urn, @Nullable String metadata) {
+    GenericRecord record = new GenericData.Record(ASPECT_SCHEMA);
+    record.put("urn", urn);
+    record.put("aspect", "status");
+    record.put("version", 0L);
+    record.put("metadata", metadata);
+    // microseconds, as exported by the backup
+    record.put("createdon", 1700000000000000L);
+    record.put("createdby", "urn:li:corpuser:datahub");
+    return record;
+  }
+
+  /**
+   * Writes the rows to a parquet file.
+   *
+   * @param rowGroupSize size in bytes above which a row group is started, the size is checked every
+   *     hundred rows
+   */
+  public static void writeBackup(
+      @Nonnull File file, @Nonnull List<GenericRecord> rows, int rowGroupSize) throws IOException {
+    Configuration conf = new Configuration();
+    try (ParquetWriter<GenericRecord> writer =
+        AvroParquetWriter.<GenericRecord>builder(
+                HadoopOutputFile.fromPath(new Path(file.getPath()), conf))
+            .withConf(conf)
+            .withSchema(ASPECT_SCHEMA)
+            .withRowGroupSize(rowGroupSize)
+            .build()) {
+      for (GenericRecord row : rows) {
+        writer.write(row);
+      }
+    }
+  }
+}
@@ -0,0 +1,222 @@
+package com.linkedin.datahub.upgrade.restorebackup;
+
+import static com.linkedin.datahub.upgrade.restorebackup.ParquetBackupTestUtils.aspectRow;
+import static com.linkedin.datahub.upgrade.restorebackup.ParquetBackupTestUtils.writeBackup;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import com.linkedin.data.template.StringMap;
+import com.linkedin.datahub.upgrade.Upgrade;
+import com.linkedin.datahub.upgrade.UpgradeContext;
+import com.linkedin.datahub.upgrade.UpgradeReport;
+import com.linkedin.datahub.upgrade.UpgradeStepResult;
+import com.linkedin.datahub.upgrade.restorebackup.backupreader.LocalParquetReader;
+import com.linkedin.datahub.upgrade.restorebackup.backupreader.ReaderWrapper;
+import com.linkedin.metadata.entity.EntityService;
+import com.linkedin.metadata.entity.ebean.EbeanAspectV2;
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.upgrade.DataHubUpgradeResult;
+import com.linkedin.upgrade.DataHubUpgradeState;
+import io.datahubproject.metadata.context.OperationContext;
+import io.ebean.Database;
+import io.ebean.DatabaseFactory;
+import io.ebean.config.DatabaseConfig;
+import io.ebean.datasource.DataSourceConfig;
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class RestoreStorageStepTest {
+
+  private static final String CREATE_TABLE_SQL =
+      "CREATE TABLE metadata_aspect_v2 (\n"
+          + "  urn VARCHAR(500) NOT NULL,\n"
+          + "  aspect VARCHAR(200) NOT NULL,\n"
+          + "  version BIGINT NOT NULL,\n"
+          + "  metadata CLOB NOT NULL,\n"
+          + "  systemmetadata CLOB,\n"
+          + "  createdon TIMESTAMP NOT NULL,\n"
+          + "  createdby VARCHAR(255) NOT NULL,\n"
+          + "  createdfor VARCHAR(255),\n"
+          + "  PRIMARY KEY (urn, aspect, version)\n"
+          + ")";
+
+  private Database server;
+  private RestoreStorageStep step;
+  private Upgrade upgrade;
+  private File backupDirectory;
+
+  @BeforeMethod
+  public void setup() throws Exception {
+    // sets the hadoop login user used to read and write the backup files
+    new LocalParquetReader(List.of());
+    server = createTestServer(UUID.randomUUID().toString());
+    server.sqlUpdate(CREATE_TABLE_SQL).execute();
+
+    EntityRegistry entityRegistry = mock(EntityRegistry.class);
+    when(entityRegistry.getEntitySpec(anyString())).thenReturn(mock(EntitySpec.class));
+    step = new RestoreStorageStep(server, mock(EntityService.class), entityRegistry);
+    upgrade = mock(Upgrade.class);
+    backupDirectory = Files.createTempDirectory("backup").toFile();
+  }
+
+  @Test
+  public void testUrnBatchesKeepTheRowsOfAnUrnTogether() {
+    ReaderWrapper<?> reader = mock(ReaderWrapper.class);
+    EbeanAspectV2 a1 = aspect("urn:li:corpuser:a", "status");
+    EbeanAspectV2 a2 = aspect("urn:li:corpuser:a", "corpUserInfo");
+    EbeanAspectV2 a3 = aspect("urn:li:corpuser:a", "corpUserKey");
+    EbeanAspectV2 invalid = aspect("urn:li:corpuser:invalid", "status");
+    EbeanAspectV2 b1 = aspect("urn:li:corpuser:b", "status");
+    EbeanAspectV2 c1 = aspect("urn:li:corpuser:c", "status");
+    EbeanAspectV2 c2 = aspect("urn:li:corpuser:c", "corpUserInfo");
+    EbeanAspectV2 d1 = aspect("urn:li:corpuser:d", "status");
+    when(reader.next()).thenReturn(a1, a2, a3, invalid, b1, c1, c2, d1, null);
+
+    RestoreStorageStep.UrnBatches batches =
+        new RestoreStorageStep.UrnBatches(
+            reader, aspect -> !aspect.getKey().getUrn().equals("urn:li:corpuser:invalid"), 2);
+
+    // a batch is only cut between urns, so it can be larger than the batch size
+    assertEquals(batches.next(), List.of(a1, a2, a3));
+    assertEquals(batches.next(), List.of(b1, c1, c2));
+    assertEquals(batches.next(), List.of(d1));
+    assertEquals(batches.next(), List.of());
+  }
+
+  @Test
+  public void testDirectInsertFailsWhenARowGroupIsNotRestored() throws Exception {
+    File valid = new File(backupDirectory, "a.parquet");
+    File unreadable = new File(backupDirectory, "b.parquet");
+    writeBackup(
+        valid,
+        List.of(
+            aspectRow("urn:li:corpuser:a", "{}"),
+            aspectRow("urn:li:corpuser:b", "{}"),
+            aspectRow("urn:li:corpuser:c", "{}")),
+        1024 * 1024);
+    writeBackup(
+        unreadable,
+        List.of(
+            aspectRow("urn:li:corpuser:d", "{}"),
+            aspectRow("urn:li:corpuser:e", null),
+            aspectRow("urn:li:corpuser:f", "{}")),
+        1024 * 1024);
+
+    UpgradeStepResult result = step.executable().apply(createContext(false));
+
+    assertEquals(result.result(), DataHubUpgradeState.FAILED);
+    // the row group with an unreadable row is rolled back entirely
+    assertEquals(
+        restoredUrns(), List.of("urn:li:corpuser:a", "urn:li:corpuser:b", "urn:li:corpuser:c"));
+    assertEquals(lastSavedState(), DataHubUpgradeState.FAILED);
+    assertEquals(lastSavedCheckpoints(), Map.of(valid.getPath() + "#0", "3"));
+  }
+
+  @Test
+  public void testResumeSkipsRestoredRowGroups() throws Exception {
+    File restored = new File(backupDirectory, "a.parquet");
+    File remaining = new File(backupDirectory, "b.parquet");
+    writeBackup(
+        restored,
+        List.of(aspectRow("urn:li:corpuser:a", "{}"), aspectRow("urn:li:corpuser:b", "{}")),
+        1024 * 1024);
+    writeBackup(
+        remaining,
+        List.of(aspectRow("urn:li:corpuser:c", "{}"), aspectRow("urn:li:corpuser:d", "{}")),
+        1024 * 1024);
+    when(upgrade.getUpgradeResult(any(), any(), any()))
+        .thenReturn(
+            Optional.of(
+                new DataHubUpgradeResult()
+                    .setState(DataHubUpgradeState.FAILED)
+                    .setResult(new StringMap(Map.of(restored.getPath() + "#0", "2")))));
+
+    UpgradeStepResult result = step.executable().apply(createContext(true));
+
+    assertEquals(result.result(), DataHubUpgradeState.SUCCEEDED);
+    assertEquals(restoredUrns(), List.of("urn:li:corpuser:c", "urn:li:corpuser:d"));
+    assertEquals(lastSavedState(), DataHubUpgradeState.SUCCEEDED);
+    assertEquals(
+        lastSavedCheckpoints(),
+        Map.of(restored.getPath() + "#0", "2", remaining.getPath() + "#0", "2"));
+  }
+
+  private UpgradeContext createContext(boolean resume) {
+    Map<String, Optional<String>> args = new HashMap<>();
+    args.put("BACKUP_READER", Optional.of(LocalParquetReader.READER_NAME));
+    args.put("BACKUP_FILE_PATH", Optional.of(backupDirectory.getPath()));
+    args.put(RestoreBackup.DIRECT_INSERT_ARG_NAME, Optional.of("true"));
+    args.put(RestoreBackup.RESUME_ARG_NAME, Optional.of(String.valueOf(resume)));
+
+    UpgradeContext context = mock(UpgradeContext.class);
+    when(context.parsedArgs()).thenReturn(args);
+    when(context.report()).thenReturn(mock(UpgradeReport.class));
+    when(context.upgrade()).thenReturn(upgrade);
+    when(context.opContext()).thenReturn(mock(OperationContext.class));
+    return context;
+  }
+
+  private List<String> restoredUrns() {
+    return server.sqlQuery("SELECT urn FROM metadata_aspect_v2 ORDER BY urn").findList().stream()
+        .map(row -> row.getString("urn"))
+        .collect(Collectors.toList());
+  }
+
+  private DataHubUpgradeState lastSavedState() {
+    ArgumentCaptor<DataHubUpgradeState> state = ArgumentCaptor.forClass(DataHubUpgradeState.class);
+    verify(upgrade, atLeastOnce()).setUpgradeResult(any(), any(), any(), state.capture(), any());
+    return state.getValue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, String> lastSavedCheckpoints() {
+    ArgumentCaptor<Map<String, String>> checkpoints = ArgumentCaptor.forClass(Map.class);
+    verify(upgrade, atLeastOnce())
+        .setUpgradeResult(any(), any(), any(), any(), checkpoints.capture());
+    return checkpoints.getValue();
+  }
+
+  private static EbeanAspectV2 aspect(String urn, String aspect) {
+    return new EbeanAspectV2(
+        urn,
+        aspect,
+        0L,
+        "{}",
+        new Timestamp(1700000000000L),
+        "urn:li:corpuser:datahub",
+        null,
+        null);
+  }
+
+  private static Database createTestServer(String instanceId) {
+    DataSourceConfig dataSourceConfig = new DataSourceConfig();
+    dataSourceConfig.setUsername("tester");
+    dataSourceConfig.setPassword("");
+    dataSourceConfig.setUrl(
+        String.format("jdbc:h2:mem:%s;IGNORECASE=TRUE;mode=mysql;", instanceId));
+    dataSourceConfig.setDriver("org.h2.Driver");
+
+    DatabaseConfig serverConfig = new DatabaseConfig();
+    serverConfig.setName(instanceId);
+    serverConfig.setDataSourceConfig(dataSourceConfig);
+    serverConfig.setDefaultServer(false);
+    serverConfig.setRegister(false);
+    return DatabaseFactory.create(serverConfig);
+  }
+}
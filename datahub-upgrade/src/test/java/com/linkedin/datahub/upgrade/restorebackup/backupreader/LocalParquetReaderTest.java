@@ -0,0 +1,81 @@
+package com.linkedin.datahub.upgrade.restorebackup.backupreader;
+
+import static com.linkedin.datahub.upgrade.restorebackup.ParquetBackupTestUtils.aspectRow;
+import static com.linkedin.datahub.upgrade.restorebackup.ParquetBackupTestUtils.writeBackup;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.linkedin.datahub.upgrade.UpgradeContext;
+import com.linkedin.datahub.upgrade.UpgradeReport;
+import com.linkedin.metadata.entity.ebean.EbeanAspectV2;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.avro.generic.GenericRecord;
+import org.testng.annotations.Test;
+
+public class LocalParquetReaderTest {
+
+  @Test
+  public void testRowGroupReadersOfDirectoryAndList() throws Exception {
+    LocalParquetReader backupReader = new LocalParquetReader(Collections.emptyList());
+    File directory = Files.createTempDirectory("backup").toFile();
+    File other = Files.createTempDirectory("backup").toFile();
+    File large = new File(directory, "a.parquet");
+    File small = new File(directory, "b.parquet");
+    File listed = new File(other, "c.parquet");
+
+    List<String> expectedUrns = new ArrayList<>();
+    writeBackup(large, rows("a", 250, expectedUrns), 1);
+    writeBackup(small, rows("b", 10, expectedUrns), 1024 * 1024);
+    writeBackup(listed, rows("c", 10, expectedUrns), 1024 * 1024);
+
+    UpgradeContext context = mock(UpgradeContext.class);
+    when(context.report()).thenReturn(mock(UpgradeReport.class));
+    when(context.parsedArgs())
+        .thenReturn(
+            Map.of("BACKUP_FILE_PATH", Optional.of(directory.getPath() + ", " + listed.getPath())));
+
+    EbeanAspectBackupIterator<ParquetReaderWrapper> iterator =
+        backupReader.getBackupIterator(context);
+    List<String> readerNames = new ArrayList<>();
+    List<String> urns = new ArrayList<>();
+    ParquetReaderWrapper reader;
+    while ((reader = iterator.getNextReader()) != null) {
+      readerNames.add(reader.getFileName());
+      EbeanAspectV2 aspect;
+      while ((aspect = reader.next()) != null) {
+        urns.add(aspect.getKey().getUrn());
+      }
+      assertEquals(reader.getRecordsFailed(), 0);
+    }
+
+    // the large file is split in row groups, each row is read by exactly one of them
+    long largeRowGroups =
+        readerNames.stream().filter(name -> name.startsWith(large.getPath() + "#")).count();
+    assertTrue(largeRowGroups > 1, "Expected several row groups, got " + readerNames);
+    for (int i = 0; i < largeRowGroups; i++) {
+      assertEquals(readerNames.get(i), large.getPath() + "#" + i);
+    }
+    assertEquals(
+        readerNames.subList((int) largeRowGroups, readerNames.size()),
+        List.of(small.getPath() + "#0", listed.getPath() + "#0"));
+    assertEquals(urns, expectedUrns);
+  }
+
+  private static List<GenericRecord> rows(String prefix, int count, List<String> urns) {
+    List<GenericRecord> rows = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String urn = String.format("urn:li:corpuser:%s%03d", prefix, i);
+      urns.add(urn);
+      rows.add(aspectRow(urn, "{\"removed\":false}"));
+    }
+    return rows;
+  }
+}
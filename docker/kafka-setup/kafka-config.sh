@@ -3,6 +3,8 @@
 : ${PARTITIONS:=1}
 : ${REPLICATION_FACTOR:=1}
 : ${MAX_MESSAGE_BYTES:=5242880}
+# Topic level compression for the MetadataChangeLog topics, `producer` retains the producer's codec
+: ${METADATA_CHANGE_LOG_COMPRESSION_TYPE:=producer}
 
 : ${KAFKA_PROPERTIES_SECURITY_PROTOCOL:=PLAINTEXT}
 
@@ -16,6 +16,15 @@ create table if not exists metadata_aspect_v2 (
   INDEX timeIndex (createdon)
 ) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin;
 
+-- create ingestion scheduler lease table, used when ingestion.scheduler.sharded is enabled
+create table if not exists ingestion_scheduler_lease (
+  lease_key                     varchar(255) not null,
+  owner                         varchar(255) not null,
+  expires_at                    bigint(20) not null,
+  heartbeat_at                  bigint(20) not null,
+  constraint pk_ingestion_scheduler_lease primary key (lease_key)
+) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin;
+
 -- create default records for datahub user if not exists
 DROP TABLE if exists temp_metadata_aspect_v2;
 CREATE TABLE temp_metadata_aspect_v2 LIKE metadata_aspect_v2;
@@ -13,6 +13,15 @@ CREATE TABLE IF NOT EXISTS metadata_aspect_v2 (
 
 create index timeIndex ON metadata_aspect_v2 (createdon);
 
+-- create ingestion scheduler lease table, used when ingestion.scheduler.sharded is enabled
+CREATE TABLE IF NOT EXISTS ingestion_scheduler_lease (
+  lease_key                     varchar(255) not null,
+  owner                         varchar(255) not null,
+  expires_at                    bigint not null,
+  heartbeat_at                  bigint not null,
+  CONSTRAINT pk_ingestion_scheduler_lease PRIMARY KEY (lease_key)
+);
+
 -- create default records for datahub user if not exists
 CREATE TEMP TABLE temp_metadata_aspect_v2 AS TABLE metadata_aspect_v2 WITH NO DATA;
 INSERT INTO temp_metadata_aspect_v2 (urn, aspect, version, metadata, createdon, createdby) VALUES(
@@ -13,6 +13,15 @@ create table metadata_aspect_v2 (
 
 create index if not exists timeIndex ON metadata_aspect_v2 (createdon);
 
+-- create ingestion scheduler lease table, used when ingestion.scheduler.sharded is enabled
+create table if not exists ingestion_scheduler_lease (
+  lease_key                     varchar(255) not null,
+  owner                         varchar(255) not null,
+  expires_at                    bigint not null,
+  heartbeat_at                  bigint not null,
+  constraint pk_ingestion_scheduler_lease primary key (lease_key)
+);
+
 insert into metadata_aspect_v2 (urn, aspect, version, metadata, createdon, createdby) values(
   'urn:li:corpuser:datahub',
   'corpUserInfo',
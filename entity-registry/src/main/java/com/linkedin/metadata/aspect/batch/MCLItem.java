@@ -8,6 +8,8 @@ import com.linkedin.events.metadata.ChangeType;
 import com.linkedin.mxe.MetadataChangeLog;
 import com.linkedin.mxe.SystemMetadata;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -78,4 +80,42 @@ public interface MCLItem extends BatchItem {
   default boolean isNoOp() {
     return getPreviousRecordTemplate() == getRecordTemplate();
   }
+
+  /**
+   * Change detection for fields of the previous and new record template. Creates, deletes and
+   * restates are always changes.
+   *
+   * @param fieldPaths paths of record fields, i.e. /fields or /status/removed, empty for the whole
+   *     record
+   * @return true if any of the fields differs between the previous and new record template
+   */
+  default boolean isChanged(@Nonnull Collection<String> fieldPaths) {
+    if (fieldPaths.isEmpty()
+        || getPreviousRecordTemplate() == null
+        || getRecordTemplate() == null
+        || ChangeType.DELETE.equals(getChangeType())
+        || ChangeType.RESTATE.equals(getChangeType())) {
+      return true;
+    }
+    DataMap previous = getPreviousRecordTemplate().data();
+    DataMap current = getRecordTemplate().data();
+    return fieldPaths.stream()
+        .anyMatch(
+            path -> !Objects.equals(getFieldValue(previous, path), getFieldValue(current, path)));
+  }
+
+  @Nullable
+  private static Object getFieldValue(@Nonnull DataMap record, @Nonnull String fieldPath) {
+    Object value = record;
+    for (String field : fieldPath.split("/")) {
+      if (field.isEmpty()) {
+        continue;
+      }
+      if (!(value instanceof DataMap)) {
+        return null;
+      }
+      value = ((DataMap) value).get(field);
+    }
+    return value;
+  }
 }
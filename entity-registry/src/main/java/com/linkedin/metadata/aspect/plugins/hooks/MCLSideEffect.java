@@ -4,6 +4,7 @@ import com.linkedin.metadata.aspect.RetrieverContext;
 import com.linkedin.metadata.aspect.batch.MCLItem;
 import com.linkedin.metadata.aspect.plugins.PluginSpec;
 import java.util.Collection;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -25,10 +26,30 @@ public abstract class MCLSideEffect extends PluginSpec
     return applyMCLSideEffect(
         batchItems.stream()
             .filter(item -> shouldApply(item.getChangeType(), item.getUrn(), item.getAspectName()))
+            .filter(this::isDependencyChanged)
             .collect(Collectors.toList()),
         retrieverContext);
   }
 
+  /**
+   * Field paths of an aspect the side effect depends on, see {@link MCLItem#isChanged}. Items
+   * which left all of them unchanged are skipped.
+   *
+   * @param aspectName name of the aspect of the item
+   * @return field paths, empty if the side effect applies to every item of the aspect
+   */
+  protected Set<String> getDependentFieldPaths(@Nonnull String aspectName) {
+    return Set.of();
+  }
+
+  /**
+   * @param item change of an aspect the side effect supports
+   * @return true if the item changed a field the side effect depends on
+   */
+  protected boolean isDependencyChanged(@Nonnull MCLItem item) {
+    return item.isChanged(getDependentFieldPaths(item.getAspectName()));
+  }
+
   protected abstract Stream<MCLItem> applyMCLSideEffect(
       @Nonnull Collection<MCLItem> batchItems, @Nonnull RetrieverContext retrieverContext);
 }
@@ -6,6 +6,7 @@ import com.linkedin.metadata.aspect.batch.MCLItem;
 import com.linkedin.metadata.aspect.batch.MCPItem;
 import com.linkedin.metadata.aspect.plugins.PluginSpec;
 import java.util.Collection;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -42,10 +43,30 @@ public abstract class MCPSideEffect extends PluginSpec
     return postMCPSideEffect(
         mclItems.stream()
             .filter(item -> shouldApply(item.getChangeType(), item.getUrn(), item.getAspectName()))
+            .filter(this::isDependencyChanged)
             .collect(Collectors.toList()),
         retrieverContext);
   }
 
+  /**
+   * Field paths of an aspect the side effect depends on, see {@link MCLItem#isChanged}. Committed
+   * items which left all of them unchanged are skipped after the commit.
+   *
+   * @param aspectName name of the aspect of the item
+   * @return field paths, empty if the side effect applies to every item of the aspect
+   */
+  protected Set<String> getDependentFieldPaths(@Nonnull String aspectName) {
+    return Set.of();
+  }
+
+  /**
+   * @param item change of an aspect the side effect supports
+   * @return true if the item changed a field the side effect depends on
+   */
+  protected boolean isDependencyChanged(@Nonnull MCLItem item) {
+    return item.isChanged(getDependentFieldPaths(item.getAspectName()));
+  }
+
   /**
    * Generate additional MCPs during the transaction of the given MCPs
    *
@@ -2,6 +2,7 @@ package com.datahub.metadata.ingestion;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.GetMode;
 import com.linkedin.data.template.SetMode;
@@ -21,6 +22,7 @@ import com.linkedin.metadata.key.ExecutionRequestKey;
 import com.linkedin.metadata.query.ListResult;
 import com.linkedin.metadata.utils.GenericRecordUtils;
 import com.linkedin.metadata.utils.IngestionUtils;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import com.linkedin.mxe.MetadataChangeProposal;
 import com.linkedin.r2.RemoteInvocationException;
 import io.datahubproject.metadata.context.OperationContext;
@@ -35,13 +37,20 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
-import lombok.RequiredArgsConstructor;
+import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.support.CronExpression;
 
@@ -70,27 +79,104 @@ import org.springframework.scheduling.support.CronExpression;
  *
  * <p>On top of that, the component can also refresh its entire cache periodically. By default, it
  * batch loads all the latest schedules on a once-per-day cadence.
+ *
+ * <p>Triggered sources create their execution requests on a bounded pool of worker threads, so that
+ * many sources due at the same time do not delay each other.
+ *
+ * <p>When running with several replicas, the scheduler can be sharded: ingestion sources are hashed
+ * into a fixed number of shards, and each replica only schedules the sources of the shards it holds
+ * a lease on in the {@link IngestionSourceLeaseStore}. Replicas heartbeat their leases, take over
+ * the shards of replicas whose leases expired and release shards above their fair share when
+ * replicas join. A trigger only fires while the lease of its shard is held.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class IngestionScheduler {
 
+  private static final String REPLICA_LEASE_PREFIX = "replica:";
+  private static final String SHARD_LEASE_PREFIX = "shard:";
+
   private final OperationContext systemOpContext;
   private final EntityClient entityClient;
 
   // Maps a DataHubIngestionSource to a future representing the "next" scheduled execution of the
   // source
   // Visible for testing
-  final Map<Urn, ScheduledFuture<?>> nextIngestionSourceExecutionCache = new HashMap<>();
+  final Map<Urn, ScheduledFuture<?>> nextIngestionSourceExecutionCache = new ConcurrentHashMap<>();
+
+  // Latest info of every known ingestion source, used to schedule the sources of shards acquired
+  // after the sources were loaded
+  private final Map<Urn, DataHubIngestionSourceInfo> ingestionSourceInfos =
+      new ConcurrentHashMap<>();
 
   // Shared executor service used for executing an ingestion source on a schedule
   private final ScheduledExecutorService scheduledExecutorService =
-      Executors.newScheduledThreadPool(1);
+      Executors.newScheduledThreadPool(
+          2, new ThreadFactoryBuilder().setNameFormat("ingestion-scheduler-%d").build());
+  // Workers creating the execution requests of triggered ingestion sources
+  private final ThreadPoolExecutor workerExecutorService;
   private final IngestionConfiguration ingestionConfiguration;
+  private final IngestionConfiguration.SchedulerConfiguration schedulerConfiguration;
   private final int batchGetDelayIntervalSeconds;
   private final int batchGetRefreshIntervalSeconds;
 
+  // Sharding state, only used with a lease store
+  @Nullable private final IngestionSourceLeaseStore leaseStore;
+  private final String replicaId = UUID.randomUUID().toString();
+  private volatile Set<Integer> ownedShards = Collections.emptySet();
+  private volatile long ownedShardsExpireAt = 0;
+
+  public IngestionScheduler(
+      @Nonnull final OperationContext systemOpContext,
+      @Nonnull final EntityClient entityClient,
+      @Nonnull final IngestionConfiguration ingestionConfiguration,
+      final int batchGetDelayIntervalSeconds,
+      final int batchGetRefreshIntervalSeconds) {
+    this(
+        systemOpContext,
+        entityClient,
+        ingestionConfiguration,
+        batchGetDelayIntervalSeconds,
+        batchGetRefreshIntervalSeconds,
+        null);
+  }
+
+  public IngestionScheduler(
+      @Nonnull final OperationContext systemOpContext,
+      @Nonnull final EntityClient entityClient,
+      @Nonnull final IngestionConfiguration ingestionConfiguration,
+      final int batchGetDelayIntervalSeconds,
+      final int batchGetRefreshIntervalSeconds,
+      @Nullable final IngestionSourceLeaseStore leaseStore) {
+    this.systemOpContext = systemOpContext;
+    this.entityClient = entityClient;
+    this.ingestionConfiguration = ingestionConfiguration;
+    this.schedulerConfiguration =
+        ingestionConfiguration.getScheduler() != null
+            ? ingestionConfiguration.getScheduler()
+            : IngestionConfiguration.SchedulerConfiguration.DEFAULT;
+    this.batchGetDelayIntervalSeconds = batchGetDelayIntervalSeconds;
+    this.batchGetRefreshIntervalSeconds = batchGetRefreshIntervalSeconds;
+    this.leaseStore = leaseStore;
+    this.workerExecutorService =
+        new ThreadPoolExecutor(
+            schedulerConfiguration.getWorkerThreads(),
+            schedulerConfiguration.getWorkerThreads(),
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(schedulerConfiguration.getWorkerQueueSize()),
+            new ThreadFactoryBuilder().setNameFormat("ingestion-scheduler-worker-%d").build());
+  }
+
   public void init() {
+    if (leaseStore != null) {
+      // Acquire shards right away, sources loaded by the first refresh are then scheduled directly
+      scheduledExecutorService.scheduleAtFixedRate(
+          this::heartbeat,
+          0,
+          schedulerConfiguration.getHeartbeatIntervalSeconds(),
+          TimeUnit.SECONDS);
+    }
+
     final BatchRefreshSchedulesRunnable batchRefreshSchedulesRunnable =
         new BatchRefreshSchedulesRunnable(
             systemOpContext,
@@ -108,12 +194,26 @@ public class IngestionScheduler {
 
   /** Removes the next scheduled execution of a particular ingestion source, if it exists. */
   public void unscheduleNextIngestionSourceExecution(final Urn ingestionSourceUrn) {
+    log.info("Unscheduling ingestion source with urn {}", ingestionSourceUrn);
+    // Under the lock of the entry, so that a concurrent schedule of the source comes either before
+    // or after
+    nextIngestionSourceExecutionCache.compute(
+        ingestionSourceUrn,
+        (urn, future) -> {
+          ingestionSourceInfos.remove(urn);
+          if (future != null) {
+            future.cancel(false); // Do not interrupt running processes
+          }
+          return null;
+        });
+  }
+
+  private void cancelNextIngestionSourceExecution(final Urn ingestionSourceUrn) {
     log.info("Unscheduling ingestion source with urn {}", ingestionSourceUrn);
     // Deleting an ingestion source schedule. Un-schedule the next execution.
-    ScheduledFuture<?> future = nextIngestionSourceExecutionCache.get(ingestionSourceUrn);
+    ScheduledFuture<?> future = nextIngestionSourceExecutionCache.remove(ingestionSourceUrn);
     if (future != null) {
       future.cancel(false); // Do not interrupt running processes
-      nextIngestionSourceExecutionCache.remove(ingestionSourceUrn);
     }
   }
 
@@ -139,7 +239,15 @@ public class IngestionScheduler {
       final Urn ingestionSourceUrn, final DataHubIngestionSourceInfo newInfo) {
 
     // 1. Attempt to un-schedule any previous executions
-    unscheduleNextIngestionSourceExecution(ingestionSourceUrn);
+    cancelNextIngestionSourceExecution(ingestionSourceUrn);
+    ingestionSourceInfos.put(ingestionSourceUrn, newInfo);
+
+    if (!ownsIngestionSource(ingestionSourceUrn)) {
+      log.debug(
+          "Ingestion source with urn {} belongs to a shard of another replica. Not scheduling.",
+          ingestionSourceUrn);
+      return;
+    }
 
     if (newInfo.hasSchedule()) {
 
@@ -171,6 +279,7 @@ public class IngestionScheduler {
             nextExecDate.toInstant().toEpochMilli() - currentDate.toInstant().toEpochMilli();
 
         // Schedule the ingestion source to run some time in the future.
+        final AtomicReference<ScheduledFuture<?>> scheduled = new AtomicReference<>();
         final ExecutionRequestRunnable executionRequestRunnable =
             new ExecutionRequestRunnable(
                 systemOpContext,
@@ -178,14 +287,25 @@ public class IngestionScheduler {
                 ingestionConfiguration,
                 ingestionSourceUrn,
                 newInfo,
-                () -> nextIngestionSourceExecutionCache.remove(ingestionSourceUrn),
+                () -> removeNextIngestionSourceExecution(ingestionSourceUrn, scheduled),
                 this::scheduleNextIngestionSourceExecution);
 
-        // Schedule the next ingestion run
-        final ScheduledFuture<?> scheduledFuture =
-            scheduledExecutorService.schedule(
-                executionRequestRunnable, scheduleTime, TimeUnit.MILLISECONDS);
-        nextIngestionSourceExecutionCache.put(ingestionSourceUrn, scheduledFuture);
+        // Schedule the next ingestion run, the execution request is created on a worker thread.
+        // Replacing the previous execution is atomic so that concurrent schedules of the source
+        // never leave an execution which is not in the cache, and so never cancelled.
+        nextIngestionSourceExecutionCache.compute(
+            ingestionSourceUrn,
+            (urn, previous) -> {
+              if (previous != null) {
+                previous.cancel(false);
+              }
+              scheduled.set(
+                  scheduledExecutorService.schedule(
+                      () -> trigger(urn, newInfo, executionRequestRunnable, scheduled),
+                      scheduleTime,
+                      TimeUnit.MILLISECONDS));
+              return scheduled.get();
+            });
 
         log.info(
             String.format(
@@ -207,6 +327,148 @@ public class IngestionScheduler {
     }
   }
 
+  /**
+   * Removes a fired execution from the cache, unless the source was scheduled again since, in which
+   * case the newer execution is kept.
+   */
+  private void removeNextIngestionSourceExecution(
+      final Urn ingestionSourceUrn, final AtomicReference<ScheduledFuture<?>> fired) {
+    // Evaluated under the lock of the entry, after the execution was put by compute
+    nextIngestionSourceExecutionCache.computeIfPresent(
+        ingestionSourceUrn, (urn, next) -> next == fired.get() ? null : next);
+  }
+
+  /** Hand a due ingestion source over to the worker pool, if its shard is still held. */
+  private void trigger(
+      final Urn ingestionSourceUrn,
+      final DataHubIngestionSourceInfo info,
+      final ExecutionRequestRunnable executionRequestRunnable,
+      final AtomicReference<ScheduledFuture<?>> fired) {
+    if (!ownsIngestionSource(ingestionSourceUrn)) {
+      // The shard was lost since scheduling, its new owner schedules the source
+      log.info(
+          "Skipping execution of Ingestion Source with urn {}, its shard lease is not held.",
+          ingestionSourceUrn);
+      removeNextIngestionSourceExecution(ingestionSourceUrn, fired);
+      MetricUtils.counter(this.getClass(), "triggerSkippedNotOwner").inc();
+      return;
+    }
+    try {
+      workerExecutorService.execute(executionRequestRunnable);
+      MetricUtils.counter(this.getClass(), "triggered").inc();
+    } catch (RejectedExecutionException e) {
+      log.error(
+          "Ingestion scheduler workers are saturated, skipping execution of Ingestion Source with urn {}.",
+          ingestionSourceUrn);
+      MetricUtils.counter(this.getClass(), "triggerRejected").inc();
+      scheduleNextIngestionSourceExecution(ingestionSourceUrn, info);
+    }
+  }
+
+  @VisibleForTesting
+  static int shardOf(@Nonnull final Urn ingestionSourceUrn, final int shards) {
+    return Math.floorMod(ingestionSourceUrn.toString().hashCode(), shards);
+  }
+
+  private boolean ownsIngestionSource(final Urn ingestionSourceUrn) {
+    if (leaseStore == null) {
+      return true;
+    }
+    return System.currentTimeMillis() < ownedShardsExpireAt
+        && ownedShards.contains(shardOf(ingestionSourceUrn, schedulerConfiguration.getShards()));
+  }
+
+  @VisibleForTesting
+  Set<Integer> getOwnedShards() {
+    return ownedShards;
+  }
+
+  /**
+   * Renew the leases of this replica and rebalance shards. Each replica holds at most its fair
+   * share of the shards, counting the replicas which heartbeat, shards above the share are released
+   * and unowned or expired shards are acquired up to it. Sources of lost shards are unscheduled and
+   * sources of acquired shards are scheduled. After the local leases lapsed, the sources of all the
+   * held shards are scheduled again.
+   */
+  @VisibleForTesting
+  void heartbeat() {
+    final int shards = schedulerConfiguration.getShards();
+    final long leaseMillis = TimeUnit.SECONDS.toMillis(schedulerConfiguration.getLeaseSeconds());
+    final long now = System.currentTimeMillis();
+    final long expiresAt = now + leaseMillis;
+    final Set<Integer> acquired = new HashSet<>();
+    try {
+      leaseStore.tryAcquire(REPLICA_LEASE_PREFIX + replicaId, replicaId, now, expiresAt);
+      final Map<String, String> activeLeases = leaseStore.getActiveLeases(now);
+      final long replicas =
+          Math.max(
+              1,
+              activeLeases.keySet().stream()
+                  .filter(key -> key.startsWith(REPLICA_LEASE_PREFIX))
+                  .count());
+      final long fairShare = (shards + replicas - 1) / replicas;
+
+      // Renew held shards up to the fair share, release the others
+      for (int shard = 0; shard < shards; shard++) {
+        final String key = SHARD_LEASE_PREFIX + shard;
+        if (replicaId.equals(activeLeases.get(key))) {
+          if (acquired.size() < fairShare
+              && leaseStore.tryAcquire(key, replicaId, now, expiresAt)) {
+            acquired.add(shard);
+          } else {
+            leaseStore.release(key, replicaId);
+          }
+        }
+      }
+      // Acquire unowned shards up to the fair share
+      for (int shard = 0; shard < shards && acquired.size() < fairShare; shard++) {
+        final String key = SHARD_LEASE_PREFIX + shard;
+        if (!activeLeases.containsKey(key)
+            && leaseStore.tryAcquire(key, replicaId, now, expiresAt)) {
+          acquired.add(shard);
+        }
+      }
+      // Drop the leases of replicas which are gone
+      leaseStore.deleteExpired(now - leaseMillis);
+    } catch (Exception e) {
+      // Shards stop firing once their leases expire locally, retried on the next heartbeat
+      log.error("Failed to renew ingestion scheduler leases, will retry on next heartbeat.", e);
+      MetricUtils.counter(this.getClass(), "heartbeatFailed").inc();
+      return;
+    }
+    updateOwnedShards(acquired, expiresAt);
+  }
+
+  private synchronized void updateOwnedShards(final Set<Integer> shards, final long expiresAt) {
+    // Triggers skip their sources while the leases are lapsed, every held shard is then rescheduled
+    final Set<Integer> previous =
+        System.currentTimeMillis() < ownedShardsExpireAt ? ownedShards : Collections.emptySet();
+    ownedShards = Collections.unmodifiableSet(shards);
+    ownedShardsExpireAt = expiresAt;
+    if (previous.equals(shards)) {
+      return;
+    }
+    log.info("Ingestion scheduler replica {} now holds shards {}", replicaId, shards);
+
+    final int shardCount = schedulerConfiguration.getShards();
+    for (Urn urn : new HashSet<>(nextIngestionSourceExecutionCache.keySet())) {
+      if (!shards.contains(shardOf(urn, shardCount))) {
+        cancelNextIngestionSourceExecution(urn);
+      }
+    }
+    final Set<Integer> gained =
+        IntStream.range(0, shardCount)
+            .filter(shard -> shards.contains(shard) && !previous.contains(shard))
+            .boxed()
+            .collect(Collectors.toSet());
+    for (Map.Entry<Urn, DataHubIngestionSourceInfo> entry :
+        new HashMap<>(ingestionSourceInfos).entrySet()) {
+      if (gained.contains(shardOf(entry.getKey(), shardCount))) {
+        scheduleNextIngestionSourceExecution(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
   /**
    * A {@link Runnable} used to periodically re-populate the schedules cache.
    *
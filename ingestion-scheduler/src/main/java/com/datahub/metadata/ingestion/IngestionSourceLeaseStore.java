@@ -0,0 +1,115 @@
+package com.datahub.metadata.ingestion;
+
+import io.ebean.Database;
+import io.ebean.DuplicateKeyException;
+import io.ebean.SqlRow;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Leases used to partition scheduled ingestion sources across replicas, stored as rows of the SQL
+ * database. A lease is held by one owner until it expires, the owner extends it by renewing it
+ * before then. Acquiring and renewing are single conditional statements so that two replicas never
+ * hold the same lease.
+ *
+ * <p>Expiry times come from the clock of each replica, the lease duration must be well above the
+ * clock skew between replicas.
+ *
+ * <p>The table is created by the SQL setup scripts, see docker/mysql-setup/init.sql.
+ */
+@Slf4j
+public class IngestionSourceLeaseStore {
+  static final String TABLE_NAME = "ingestion_scheduler_lease";
+
+  private static final String RENEW_OR_TAKE_OVER_SQL =
+      String.format(
+          "UPDATE %s SET owner = ?, expires_at = ?, heartbeat_at = ? "
+              + "WHERE lease_key = ? AND (owner = ? OR expires_at < ?)",
+          TABLE_NAME);
+
+  private static final String INSERT_SQL =
+      String.format(
+          "INSERT INTO %s (lease_key, owner, expires_at, heartbeat_at) VALUES (?, ?, ?, ?)",
+          TABLE_NAME);
+
+  private static final String RELEASE_SQL =
+      String.format("DELETE FROM %s WHERE lease_key = ? AND owner = ?", TABLE_NAME);
+
+  private static final String DELETE_EXPIRED_SQL =
+      String.format("DELETE FROM %s WHERE expires_at < ?", TABLE_NAME);
+
+  private static final String ACTIVE_LEASES_SQL =
+      String.format("SELECT lease_key, owner FROM %s WHERE expires_at >= ?", TABLE_NAME);
+
+  private final Database server;
+
+  public IngestionSourceLeaseStore(@Nonnull final Database server) {
+    this.server = server;
+  }
+
+  /**
+   * Acquire the lease, or extend it if the owner already holds it.
+   *
+   * @param leaseKey lease to acquire
+   * @param owner replica acquiring the lease
+   * @param now current time in epoch milliseconds
+   * @param expiresAt time until which the lease is held
+   * @return true if the owner holds the lease until expiresAt
+   */
+  public boolean tryAcquire(
+      @Nonnull String leaseKey, @Nonnull String owner, long now, long expiresAt) {
+    int updated =
+        server
+            .sqlUpdate(RENEW_OR_TAKE_OVER_SQL)
+            .setParameter(owner)
+            .setParameter(expiresAt)
+            .setParameter(now)
+            .setParameter(leaseKey)
+            .setParameter(owner)
+            .setParameter(now)
+            .execute();
+    if (updated > 0) {
+      return true;
+    }
+
+    try {
+      return server
+              .sqlUpdate(INSERT_SQL)
+              .setParameter(leaseKey)
+              .setParameter(owner)
+              .setParameter(expiresAt)
+              .setParameter(now)
+              .execute()
+          > 0;
+    } catch (DuplicateKeyException e) {
+      // Held by another owner
+      log.debug("Lease {} is held by another owner", leaseKey);
+      return false;
+    }
+  }
+
+  /** Give up a lease held by the owner so that another owner can acquire it right away. */
+  public void release(@Nonnull String leaseKey, @Nonnull String owner) {
+    server.sqlUpdate(RELEASE_SQL).setParameter(leaseKey).setParameter(owner).execute();
+  }
+
+  /** Remove leases which expired before the given time. */
+  public int deleteExpired(long expiredBefore) {
+    return server.sqlUpdate(DELETE_EXPIRED_SQL).setParameter(expiredBefore).execute();
+  }
+
+  /**
+   * @param now current time in epoch milliseconds
+   * @return owner by lease key of the leases which have not expired
+   */
+  @Nonnull
+  public Map<String, String> getActiveLeases(long now) {
+    final Map<String, String> leases = new HashMap<>();
+    for (SqlRow row : server.sqlQuery(ACTIVE_LEASES_SQL).setParameter(now).findList()) {
+      leases.put(row.getString("lease_key"), row.getString("owner"));
+    }
+    return leases;
+  }
+}
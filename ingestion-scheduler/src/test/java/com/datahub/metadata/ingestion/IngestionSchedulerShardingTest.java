@@ -0,0 +1,160 @@
+package com.datahub.metadata.ingestion;
+
+import static org.testng.Assert.*;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.entity.client.EntityClient;
+import com.linkedin.ingestion.DataHubIngestionSourceConfig;
+import com.linkedin.ingestion.DataHubIngestionSourceInfo;
+import com.linkedin.ingestion.DataHubIngestionSourceSchedule;
+import com.linkedin.metadata.config.IngestionConfiguration;
+import io.datahubproject.metadata.context.OperationContext;
+import io.ebean.Database;
+import io.ebean.DatabaseFactory;
+import io.ebean.config.DatabaseConfig;
+import io.ebean.datasource.DataSourceConfig;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import org.mockito.Mockito;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class IngestionSchedulerShardingTest {
+  private static final int SHARDS = 4;
+  private static final String CREATE_TABLE_SQL =
+      "CREATE TABLE ingestion_scheduler_lease (\n"
+          + "  lease_key                     varchar(255) not null,\n"
+          + "  owner                         varchar(255) not null,\n"
+          + "  expires_at                    bigint not null,\n"
+          + "  heartbeat_at                  bigint not null,\n"
+          + "  constraint pk_ingestion_scheduler_lease primary key (lease_key)\n"
+          + ")";
+
+  private IngestionSourceLeaseStore leaseStore;
+
+  @BeforeMethod
+  public void setupTest() {
+    final Database server = createTestServer(UUID.randomUUID().toString());
+    server.sqlUpdate(CREATE_TABLE_SQL).execute();
+    leaseStore = new IngestionSourceLeaseStore(server);
+  }
+
+  @Test
+  public void testLeaseIsExclusiveUntilExpired() {
+    assertTrue(leaseStore.tryAcquire("shard:0", "a", 1000L, 2000L));
+    assertFalse(leaseStore.tryAcquire("shard:0", "b", 1500L, 2500L));
+    assertEquals(leaseStore.getActiveLeases(1500L).get("shard:0"), "a");
+
+    // Renewed by its owner, taken over by another owner once expired
+    assertTrue(leaseStore.tryAcquire("shard:0", "a", 1900L, 3000L));
+    assertFalse(leaseStore.tryAcquire("shard:0", "b", 2500L, 3500L));
+    assertTrue(leaseStore.tryAcquire("shard:0", "b", 3001L, 4000L));
+    assertEquals(leaseStore.getActiveLeases(3001L).get("shard:0"), "b");
+
+    leaseStore.release("shard:0", "a");
+    assertEquals(leaseStore.getActiveLeases(3001L).get("shard:0"), "b");
+    leaseStore.release("shard:0", "b");
+    assertTrue(leaseStore.getActiveLeases(3001L).isEmpty());
+  }
+
+  @Test
+  public void testShardsRebalanceAcrossReplicas() throws Exception {
+    final IngestionScheduler replica1 = createScheduler();
+    final IngestionScheduler replica2 = createScheduler();
+
+    replica1.heartbeat();
+    assertEquals(replica1.getOwnedShards().size(), SHARDS);
+
+    // The second replica joins, the first one releases the shards above its fair share
+    replica2.heartbeat();
+    replica1.heartbeat();
+    replica2.heartbeat();
+
+    final Set<Integer> shards1 = replica1.getOwnedShards();
+    final Set<Integer> shards2 = replica2.getOwnedShards();
+    assertEquals(shards1.size(), SHARDS / 2);
+    assertEquals(shards2.size(), SHARDS / 2);
+    final Set<Integer> allShards = new HashSet<>(shards1);
+    allShards.addAll(shards2);
+    assertEquals(allShards.size(), SHARDS);
+
+    // A source is only scheduled by the replica holding its shard
+    final Urn urn = UrnUtils.getUrn("urn:li:dataHubIngestionSource:sharded");
+    replica1.scheduleNextIngestionSourceExecution(urn, scheduledInfo());
+    replica2.scheduleNextIngestionSourceExecution(urn, scheduledInfo());
+    final IngestionScheduler owner =
+        shards1.contains(IngestionScheduler.shardOf(urn, SHARDS)) ? replica1 : replica2;
+    final IngestionScheduler other = owner == replica1 ? replica2 : replica1;
+    assertTrue(owner.nextIngestionSourceExecutionCache.containsKey(urn));
+    assertFalse(other.nextIngestionSourceExecutionCache.containsKey(urn));
+  }
+
+  @Test
+  public void testSourcesRescheduledAfterLeaseLapse() throws Exception {
+    final IngestionScheduler replica = createScheduler(1);
+    replica.heartbeat();
+    final Set<Integer> shards = replica.getOwnedShards();
+    assertEquals(shards.size(), SHARDS);
+
+    final Urn urn = UrnUtils.getUrn("urn:li:dataHubIngestionSource:lapsed");
+    replica.scheduleNextIngestionSourceExecution(urn, scheduledInfo());
+    assertTrue(replica.nextIngestionSourceExecutionCache.containsKey(urn));
+
+    // Heartbeats fail past the lease, the trigger of the source is skipped and drops it
+    Thread.sleep(1100);
+    replica.nextIngestionSourceExecutionCache.remove(urn).cancel(false);
+
+    // The same shards are acquired again, the source is scheduled again
+    replica.heartbeat();
+    assertEquals(replica.getOwnedShards(), shards);
+    assertTrue(replica.nextIngestionSourceExecutionCache.containsKey(urn));
+  }
+
+  private IngestionScheduler createScheduler() {
+    return createScheduler(60);
+  }
+
+  private IngestionScheduler createScheduler(int leaseSeconds) {
+    final IngestionConfiguration ingestionConfiguration = new IngestionConfiguration();
+    ingestionConfiguration.setScheduler(
+        new IngestionConfiguration.SchedulerConfiguration(true, SHARDS, leaseSeconds, 15, 2, 10));
+    return new IngestionScheduler(
+        Mockito.mock(OperationContext.class),
+        Mockito.mock(EntityClient.class),
+        ingestionConfiguration,
+        1,
+        1200,
+        leaseStore);
+  }
+
+  private static DataHubIngestionSourceInfo scheduledInfo() {
+    return new DataHubIngestionSourceInfo()
+        .setSchedule(
+            new DataHubIngestionSourceSchedule().setInterval("0 0 * * 1").setTimezone("UTC"))
+        .setType("mysql")
+        .setName("My Sharded Source")
+        .setConfig(
+            new DataHubIngestionSourceConfig()
+                .setExecutorId("default")
+                .setRecipe("{ type: \"type\" }")
+                .setVersion("0.8.18"));
+  }
+
+  private static Database createTestServer(String instanceId) {
+    DataSourceConfig dataSourceConfig = new DataSourceConfig();
+    dataSourceConfig.setUsername("tester");
+    dataSourceConfig.setPassword("");
+    dataSourceConfig.setUrl(
+        String.format("jdbc:h2:mem:%s;IGNORECASE=TRUE;mode=mysql;", instanceId));
+    dataSourceConfig.setDriver("org.h2.Driver");
+
+    DatabaseConfig serverConfig = new DatabaseConfig();
+    serverConfig.setName(instanceId);
+    serverConfig.setDataSourceConfig(dataSourceConfig);
+    serverConfig.setDefaultServer(false);
+    serverConfig.setRegister(false);
+    return DatabaseFactory.create(serverConfig);
+  }
+}
@@ -404,8 +404,8 @@ public class AuthUtil {
             entry -> {
               Disjunctive<Conjunctive<PoliciesConfig.Privilege>> privileges =
                   lookupAPIPrivilege(apiGroup, apiOperation, entry.getKey());
-              return entry.getValue().stream()
-                  .allMatch(entitySpec -> isAuthorized(session, privileges, entitySpec));
+              return isAuthorized(
+                  session, buildDisjunctivePrivilegeGroup(privileges), entry.getValue());
             });
   }
 
@@ -475,9 +475,28 @@ public class AuthUtil {
 
     if (resourceSpecs.isEmpty()) {
       return isAuthorized(session, privilegeGroup, (EntitySpec) null);
+    } else if (resourceSpecs.size() == 1) {
+      return isAuthorized(session, privilegeGroup, resourceSpecs.iterator().next());
     }
 
-    return resourceSpecs.stream().allMatch(spec -> isAuthorized(session, privilegeGroup, spec));
+    // Authorize all privileges and resources together, resolving each resource only once
+    final Set<String> privileges =
+        privilegeGroup.getAuthorizedPrivilegeGroups().stream()
+            .flatMap(conjunctive -> conjunctive.getRequiredPrivileges().stream())
+            .collect(Collectors.toSet());
+    final Map<String, Map<EntitySpec, AuthorizationResult>> results =
+        session.batchAuthorize(privileges, resourceSpecs);
+
+    return resourceSpecs.stream()
+        .allMatch(
+            spec ->
+                privilegeGroup.getAuthorizedPrivilegeGroups().stream()
+                    .anyMatch(
+                        conjunctive ->
+                            !conjunctive.getRequiredPrivileges().isEmpty()
+                                && conjunctive.getRequiredPrivileges().stream()
+                                    .noneMatch(
+                                        privilege -> isDenied(session, results, privilege, spec))));
   }
 
   /** Common Methods */
@@ -584,5 +603,19 @@ public class AuthUtil {
     return AuthorizationResult.Type.DENY.equals(result.getType());
   }
 
+  private static boolean isDenied(
+      @Nonnull final AuthorizationSession session,
+      @Nonnull final Map<String, Map<EntitySpec, AuthorizationResult>> batchResults,
+      @Nonnull final String privilege,
+      @Nonnull final EntitySpec resourceSpec) {
+    final AuthorizationResult result =
+        batchResults.getOrDefault(privilege, Map.of()).get(resourceSpec);
+    if (result == null) {
+      // Not part of the batch result, authorize individually
+      return isDenied(session, privilege, resourceSpec);
+    }
+    return AuthorizationResult.Type.DENY.equals(result.getType());
+  }
+
   private AuthUtil() {}
 }
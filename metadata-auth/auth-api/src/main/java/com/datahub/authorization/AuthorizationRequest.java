@@ -1,10 +1,13 @@
 package com.datahub.authorization;
 
 import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Value;
 
 /** A request to authorize a user for a specific privilege. */
 @Value
+@AllArgsConstructor
 public class AuthorizationRequest {
   /** The urn of the actor (corpuser) making the request. */
   String actorUrn;
@@ -17,4 +20,15 @@ public class AuthorizationRequest {
    * privilege this optional will be empty.
    */
   Optional<EntitySpec> resourceSpec;
+
+  /**
+   * Whether to evaluate the policies again rather than return a decision the authorizer cached for
+   * an earlier identical request. Not part of the identity of the request.
+   */
+  @EqualsAndHashCode.Exclude boolean skipCache;
+
+  public AuthorizationRequest(
+      String actorUrn, String privilege, Optional<EntitySpec> resourceSpec) {
+    this(actorUrn, privilege, resourceSpec, false);
+  }
 }
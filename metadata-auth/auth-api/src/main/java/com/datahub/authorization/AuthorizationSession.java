@@ -1,5 +1,9 @@
 package com.datahub.authorization;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -7,4 +11,27 @@ import javax.annotation.Nullable;
 public interface AuthorizationSession {
   AuthorizationResult authorize(
       @Nonnull final String privilege, @Nullable final EntitySpec resourceSpec);
+
+  /**
+   * Authorize each of the privileges against each of the resources. Implementations should resolve
+   * the resources once for the whole batch, by default each combination is authorized
+   * individually.
+   *
+   * @return results by privilege and resource
+   */
+  default Map<String, Map<EntitySpec, AuthorizationResult>> batchAuthorize(
+      @Nonnull final Collection<String> privileges,
+      @Nonnull final Collection<EntitySpec> resourceSpecs) {
+    return privileges.stream()
+        .distinct()
+        .collect(
+            Collectors.toMap(
+                Function.identity(),
+                privilege ->
+                    resourceSpecs.stream()
+                        .distinct()
+                        .collect(
+                            Collectors.toMap(
+                                Function.identity(), spec -> authorize(privilege, spec)))));
+  }
 }
@@ -1,5 +1,10 @@
 package com.datahub.authorization;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * An Entity Spec Resolver is responsible for resolving a {@link EntitySpec} to a {@link
  * ResolvedEntitySpec}.
@@ -7,4 +12,14 @@ package com.datahub.authorization;
 public interface EntitySpecResolver {
   /** Resolve a {@link EntitySpec} to a resolved entity spec. */
   ResolvedEntitySpec resolve(EntitySpec entitySpec);
+
+  /**
+   * Resolve many {@link EntitySpec}s at once. Implementations should fetch the fields of all the
+   * entities together, by default each entity spec is resolved individually.
+   */
+  default Map<EntitySpec, ResolvedEntitySpec> resolve(Collection<EntitySpec> entitySpecs) {
+    return entitySpecs.stream()
+        .distinct()
+        .collect(Collectors.toMap(Function.identity(), this::resolve));
+  }
 }
@@ -13,6 +13,7 @@ import lombok.NoArgsConstructor;
 public class ViewAuthorizationConfiguration {
   private boolean enabled;
   private ViewAuthorizationRecommendationsConfig recommendations;
+  private ViewAuthorizationSearchConfig search;
 
   @Builder(toBuilder = true)
   @Data
@@ -21,4 +22,17 @@ public class ViewAuthorizationConfiguration {
   public static class ViewAuthorizationRecommendationsConfig {
     private boolean peerGroupEnabled;
   }
+
+  @Builder(toBuilder = true)
+  @Data
+  @AllArgsConstructor(access = AccessLevel.PACKAGE)
+  @NoArgsConstructor(access = AccessLevel.PACKAGE)
+  public static class ViewAuthorizationSearchConfig {
+    /**
+     * Compile the actor's view policies into a search filter so that documents the actor cannot
+     * view are never fetched. Results are only restricted after the search for policy conditions
+     * which cannot be expressed as a filter.
+     */
+    private boolean filterEnabled;
+  }
 }
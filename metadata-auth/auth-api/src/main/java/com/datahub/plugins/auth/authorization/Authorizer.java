@@ -13,6 +13,8 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 
 /**
@@ -36,6 +38,20 @@ public interface Authorizer extends Plugin {
     return new AuthorizationResult(request, AuthorizationResult.Type.DENY, "Not Implemented.");
   }
 
+  /**
+   * Authorizes many requests at once, for example a page of resources. Implementations should
+   * resolve the resources of the requests once for the whole batch, by default each request is
+   * authorized individually.
+   *
+   * @return the result of every request
+   */
+  default Map<AuthorizationRequest, AuthorizationResult> batchAuthorize(
+      @Nonnull final Collection<AuthorizationRequest> requests) {
+    return requests.stream()
+        .distinct()
+        .collect(Collectors.toMap(Function.identity(), this::authorize));
+  }
+
   /**
    * Retrieves the current list of actors authorized to for a particular privilege against an
    * optional resource
@@ -7,12 +7,14 @@ import static io.datahubproject.openlineage.utils.DatahubUtils.*;
 import com.linkedin.common.GlobalTags;
 import com.linkedin.common.UrnArray;
 import com.linkedin.common.urn.DataJobUrn;
+import com.linkedin.data.ByteString;
 import com.linkedin.data.template.StringMap;
 import com.linkedin.dataprocess.DataProcessInstanceRelationships;
 import com.linkedin.dataprocess.RunResultType;
 import com.linkedin.domain.Domains;
 import com.linkedin.mxe.MetadataChangeProposal;
 import datahub.client.Emitter;
+import datahub.client.MetadataWriteResponse;
 import datahub.client.file.FileEmitter;
 import datahub.client.kafka.KafkaEmitter;
 import datahub.client.rest.RestEmitter;
@@ -38,17 +40,18 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
@@ -58,19 +61,29 @@ import org.apache.spark.sql.streaming.StreamingQueryProgress;
 public class DatahubEventEmitter extends EventEmitter {
   private final AtomicBoolean streaming = new AtomicBoolean(false);
 
-  private final List<DatahubJob> _datahubJobs = new LinkedList<>();
+  // Jobs are folded into the coalesced job as they are converted instead of being kept until the
+  // application ends, so memory grows with the datasets of the application, not with its events
+  private DatahubJob _coalescedJob;
+  private long _coalescedStartTime = Long.MAX_VALUE;
+  private long _coalescedEndTime = 0;
+  // Serialized aspect last emitted per entity and aspect by the coalesced emission, aspects which
+  // did not change since are not emitted again
+  private final Map<String, ByteString> _emittedAspects = new HashMap<>();
   private final Map<String, MetadataChangeProposalWrapper> schemaMap = new HashMap<>();
   private SparkLineageConf datahubConf;
   private static final int DEFAULT_TIMEOUT_SEC = 10;
 
   private final EventFormatter eventFormatter = new EventFormatter();
+  // Rest and Kafka emitters are kept for the lifetime of the application, see close()
+  private Emitter _emitter;
 
   public DatahubEventEmitter(SparkOpenLineageConfig config, String applicationJobName)
       throws URISyntaxException {
     super(config, applicationJobName);
   }
 
-  private Optional<Emitter> getEmitter() {
+  /** Creates an emitter for the configured transport. */
+  protected Optional<Emitter> getEmitter() {
     Optional<Emitter> emitter = Optional.empty();
     if (datahubConf.getDatahubEmitterConfig() != null) {
       if (datahubConf.getDatahubEmitterConfig() instanceof RestDatahubEmitterConfig) {
@@ -109,19 +122,50 @@ public class DatahubEventEmitter extends EventEmitter {
     return emitter;
   }
 
+  /**
+   * Rest and Kafka emitters hold a connection pool or a producer and are reused across emissions.
+   * File and S3 emitters write out their content on close, so a new one is used per emission.
+   */
+  private boolean isPersistentEmitter() {
+    return datahubConf.getDatahubEmitterConfig() instanceof RestDatahubEmitterConfig
+        || datahubConf.getDatahubEmitterConfig() instanceof KafkaDatahubEmitterConfig;
+  }
+
+  private synchronized Optional<Emitter> getPersistentEmitter() {
+    if (_emitter == null) {
+      _emitter = getEmitter().orElse(null);
+    }
+    return Optional.ofNullable(_emitter);
+  }
+
+  /** Close the emitter kept across emissions, called once the application has ended. */
+  public synchronized void close() {
+    if (_emitter != null) {
+      try {
+        _emitter.close();
+      } catch (IOException e) {
+        log.error("Issue while closing emitter", e);
+      }
+      _emitter = null;
+    }
+  }
+
   public Optional<DatahubJob> convertOpenLineageRunEventToDatahubJob(OpenLineage.RunEvent event) {
     Optional<DatahubJob> datahubJob = Optional.empty();
     try {
-      log.debug("Emitting lineage: {}", OpenLineageClientUtils.toJson(event));
+      if (log.isDebugEnabled()) {
+        log.debug("Emitting lineage: {}", OpenLineageClientUtils.toJson(event));
+      }
       if (!isStreaming()) {
         datahubJob =
             Optional.ofNullable(convertRunEventToJob(event, datahubConf.getOpenLineageConf()));
         if (!datahubJob.isPresent()) {
           return datahubJob;
         }
-        log.info(
-            "Converted Job: {}, from {}", datahubJob.get(), OpenLineageClientUtils.toJson(event));
-        _datahubJobs.add(datahubJob.get());
+        log.info("Converted Job: {}", datahubJob.get().getJobUrn());
+        if (datahubConf.isCoalesceEnabled()) {
+          coalesce(datahubJob.get());
+        }
         return datahubJob;
       }
     } catch (IOException | URISyntaxException e) {
@@ -132,9 +176,7 @@ public class DatahubEventEmitter extends EventEmitter {
 
   public void emit(OpenLineage.RunEvent event) {
     long startTime = System.currentTimeMillis();
-    // We have to serialize and deserialize the event to make sure the event is in the correct
-    // format
-    event = OpenLineageClientUtils.runEventFromJson(OpenLineageClientUtils.toJson(event));
+    event = normalizeRunFacets(event);
     Optional<DatahubJob> job = convertOpenLineageRunEventToDatahubJob(event);
     if (!job.isPresent()) {
       return;
@@ -162,20 +204,49 @@ public class DatahubEventEmitter extends EventEmitter {
         throw new RuntimeException(e);
       }
       log.debug(
-          "Emitting non-coalesced lineage completed successfully: {}",
-          OpenLineageClientUtils.toJson(event));
+          "Emitting non-coalesced lineage completed successfully: {}", event.getRun().getRunId());
     }
     if (datahubConf.isCoalesceEnabled() && datahubConf.isEmitCoalescePeriodically()) {
       log.info("Emitting coalesced lineage periodically");
       emitCoalesced();
       log.debug(
           "Collecting coalesced lineage periodically completed successfully: {}",
-          OpenLineageClientUtils.toJson(event));
+          event.getRun().getRunId());
     }
     long elapsedTime = System.currentTimeMillis() - startTime;
     log.info("Collecting lineage successfully in {} ms", elapsedTime);
   }
 
+  /**
+   * The converter reads the Spark run facets through their additional properties, which are only
+   * populated once the facets went through their json form. Only the run and job are serialized,
+   * the datasets with their schema and column lineage facets are used as they are.
+   */
+  private static OpenLineage.RunEvent normalizeRunFacets(OpenLineage.RunEvent event) {
+    OpenLineage openLineage = new OpenLineage(event.getProducer());
+    OpenLineage.RunEvent normalized =
+        OpenLineageClientUtils.runEventFromJson(
+            OpenLineageClientUtils.toJson(
+                openLineage
+                    .newRunEventBuilder()
+                    .eventType(event.getEventType())
+                    .eventTime(event.getEventTime())
+                    .run(event.getRun())
+                    .job(event.getJob())
+                    .inputs(new ArrayList<>())
+                    .outputs(new ArrayList<>())
+                    .build()));
+    return openLineage
+        .newRunEventBuilder()
+        .eventType(event.getEventType())
+        .eventTime(event.getEventTime())
+        .run(normalized.getRun())
+        .job(normalized.getJob())
+        .inputs(event.getInputs())
+        .outputs(event.getOutputs())
+        .build();
+  }
+
   public void emitCoalesced() {
     long startTime = System.currentTimeMillis();
 
@@ -185,78 +256,80 @@ public class DatahubEventEmitter extends EventEmitter {
     }
 
     if (datahubConf.isCoalesceEnabled()) {
-      List<MetadataChangeProposal> mcps = generateCoalescedMcps();
-      log.info("Emitting Coalesced lineage completed successfully");
-      emitMcps(mcps);
+      List<MetadataChangeProposal> mcps = changedMcps(generateCoalescedMcps());
+      log.info("Emitting {} changed coalesced aspects", mcps.size());
+      emitMcps(mcps, this::recordEmitted);
     }
     long elapsedTime = System.currentTimeMillis() - startTime;
     log.info("Emitting coalesced lineage completed in {} ms", elapsedTime);
   }
 
-  public List<MetadataChangeProposal> generateCoalescedMcps() {
-    List<MetadataChangeProposal> mcps = new ArrayList<>();
-
-    if (_datahubJobs.isEmpty()) {
-      log.warn("No lineage events to emit. Maybe the spark job finished prematurely?");
-      return mcps;
+  /** Fold a converted job into the coalesced job of the application. */
+  private synchronized void coalesce(DatahubJob storedDatahubJob) {
+    if (_coalescedJob == null) {
+      _coalescedJob = DatahubJob.builder().build();
+    }
+    DatahubJob datahubJob = _coalescedJob;
+    log.debug("Merging job {} into the coalesced job", storedDatahubJob.getJobUrn());
+    DataJobUrn jobUrn =
+        jobUrn(storedDatahubJob.getFlowUrn(), storedDatahubJob.getFlowUrn().getFlowIdEntity());
+    datahubJob.setJobUrn(jobUrn);
+    datahubJob.setFlowUrn(storedDatahubJob.getFlowUrn());
+    datahubJob.setFlowPlatformInstance(storedDatahubJob.getFlowPlatformInstance());
+    if ((datahubJob.getJobInfo() == null) && (storedDatahubJob.getJobInfo() != null)) {
+      datahubJob.setJobInfo(storedDatahubJob.getJobInfo());
+      datahubJob.getJobInfo().setName(storedDatahubJob.getFlowUrn().getFlowIdEntity());
+    }
+    if (storedDatahubJob.getJobInfo() != null
+        && storedDatahubJob.getJobInfo().getCustomProperties() != null) {
+      if (datahubJob.getJobInfo().getCustomProperties() == null) {
+        datahubJob
+            .getJobInfo()
+            .setCustomProperties(storedDatahubJob.getJobInfo().getCustomProperties());
+      } else {
+        Map<String, String> mergedProperties =
+            Stream.of(
+                    datahubJob.getJobInfo().getCustomProperties(),
+                    storedDatahubJob.getJobInfo().getCustomProperties())
+                .flatMap(map -> map.entrySet().stream())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (v1, v2) -> v1));
+        datahubJob.getJobInfo().setCustomProperties(new StringMap(mergedProperties));
+      }
+    }
+    if (datahubJob.getDataFlowInfo() == null) {
+      datahubJob.setDataFlowInfo(storedDatahubJob.getDataFlowInfo());
     }
 
-    DatahubJob datahubJob = DatahubJob.builder().build();
-    AtomicLong minStartTime = new AtomicLong(Long.MAX_VALUE);
-    AtomicLong maxEndTime = new AtomicLong();
-    _datahubJobs.forEach(
-        storedDatahubJob -> {
-          log.info("Merging job stored job {} with {}", storedDatahubJob, datahubJob);
-          DataJobUrn jobUrn =
-              jobUrn(
-                  storedDatahubJob.getFlowUrn(), storedDatahubJob.getFlowUrn().getFlowIdEntity());
-          datahubJob.setJobUrn(jobUrn);
-          datahubJob.setFlowUrn(storedDatahubJob.getFlowUrn());
-          datahubJob.setFlowPlatformInstance(storedDatahubJob.getFlowPlatformInstance());
-          if ((datahubJob.getJobInfo() == null) && (storedDatahubJob.getJobInfo() != null)) {
-            datahubJob.setJobInfo(storedDatahubJob.getJobInfo());
-            datahubJob.getJobInfo().setName(storedDatahubJob.getFlowUrn().getFlowIdEntity());
-          }
-          if (storedDatahubJob.getJobInfo() != null
-              && storedDatahubJob.getJobInfo().getCustomProperties() != null) {
-            if (datahubJob.getJobInfo().getCustomProperties() == null) {
-              datahubJob
-                  .getJobInfo()
-                  .setCustomProperties(storedDatahubJob.getJobInfo().getCustomProperties());
-            } else {
-              Map<String, String> mergedProperties =
-                  Stream.of(
-                          datahubJob.getJobInfo().getCustomProperties(),
-                          storedDatahubJob.getJobInfo().getCustomProperties())
-                      .flatMap(map -> map.entrySet().stream())
-                      .collect(
-                          Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (v1, v2) -> v1));
-              datahubJob.getJobInfo().setCustomProperties(new StringMap(mergedProperties));
-            }
-          }
-          if (datahubJob.getDataFlowInfo() == null) {
-            datahubJob.setDataFlowInfo(storedDatahubJob.getDataFlowInfo());
-          }
+    _coalescedStartTime = Math.min(_coalescedStartTime, storedDatahubJob.getStartTime());
+    _coalescedEndTime = Math.max(_coalescedEndTime, storedDatahubJob.getEndTime());
 
-          if (storedDatahubJob.getStartTime() < minStartTime.get()) {
-            minStartTime.set(storedDatahubJob.getStartTime());
-          }
+    mergeDatasets(storedDatahubJob.getOutSet(), datahubJob.getOutSet());
 
-          if (storedDatahubJob.getEndTime() > maxEndTime.get()) {
-            maxEndTime.set(storedDatahubJob.getEndTime());
-          }
+    mergeDatasets(storedDatahubJob.getInSet(), datahubJob.getInSet());
 
-          mergeDatasets(storedDatahubJob.getOutSet(), datahubJob.getOutSet());
+    mergeDataProcessInstance(datahubJob, storedDatahubJob);
 
-          mergeDatasets(storedDatahubJob.getInSet(), datahubJob.getInSet());
+    mergeCustomProperties(datahubJob, storedDatahubJob);
+  }
 
-          mergeDataProcessInstance(datahubJob, storedDatahubJob);
+  public synchronized List<MetadataChangeProposal> generateCoalescedMcps() {
+    List<MetadataChangeProposal> mcps = new ArrayList<>();
 
-          mergeCustomProperties(datahubJob, storedDatahubJob);
-        });
+    if (_coalescedJob == null) {
+      log.warn("No lineage events to emit. Maybe the spark job finished prematurely?");
+      return mcps;
+    }
 
-    datahubJob.setStartTime(minStartTime.get());
-    datahubJob.setEndTime(maxEndTime.get());
+    DatahubJob datahubJob = _coalescedJob;
+    datahubJob.setStartTime(_coalescedStartTime);
+    datahubJob.setEndTime(_coalescedEndTime);
+    if (datahubJob.getDataFlowInfo().getCustomProperties() != null
+        && datahubJob.getDataFlowInfo().getCustomProperties().containsKey("finishedAt")) {
+      datahubJob
+          .getDataFlowInfo()
+          .getCustomProperties()
+          .put("finishedAt", ZonedDateTime.now(ZoneOffset.UTC).toString());
+    }
     if (!datahubConf.getTags().isEmpty()) {
       GlobalTags tags = OpenLineageToDataHub.generateTags(datahubConf.getTags());
       datahubJob.setFlowGlobalTags(tags);
@@ -276,7 +349,7 @@ public class DatahubEventEmitter extends EventEmitter {
               + " is not a valid Datajob URN. Skipping setting up upstream job.");
     }
 
-    log.info("Generating MCPs for job: {}", datahubJob);
+    log.info("Generating MCPs for job: {}", datahubJob.getJobUrn());
     try {
       return datahubJob.toMcps(datahubConf.getOpenLineageConf());
     } catch (IOException e) {
@@ -284,17 +357,43 @@ public class DatahubEventEmitter extends EventEmitter {
     }
   }
 
+  private static String emittedAspectKey(MetadataChangeProposal mcp) {
+    return mcp.getEntityUrn() + "|" + mcp.getAspectName() + "|" + mcp.getChangeType();
+  }
+
+  /** The proposals whose aspect differs from the one last emitted for the entity. */
+  private synchronized List<MetadataChangeProposal> changedMcps(
+      List<MetadataChangeProposal> mcps) {
+    return mcps.stream()
+        .filter(
+            mcp ->
+                mcp.getAspect() == null
+                    || !Objects.equals(
+                        _emittedAspects.get(emittedAspectKey(mcp)), mcp.getAspect().getValue()))
+        .collect(Collectors.toList());
+  }
+
+  private synchronized void recordEmitted(MetadataChangeProposal mcp) {
+    if (mcp.getAspect() != null) {
+      _emittedAspects.put(emittedAspectKey(mcp), mcp.getAspect().getValue());
+    }
+  }
+
   private static void mergeDatasets(
       Set<DatahubDataset> storedDatahubJob, Set<DatahubDataset> datahubJob) {
+    Map<String, DatahubDataset> datasetsByUrn =
+        datahubJob.stream()
+            .collect(
+                Collectors.toMap(
+                    ds -> ds.getUrn().toString(), Function.identity(), (ds1, ds2) -> ds1));
     for (DatahubDataset dataset : storedDatahubJob) {
-      Optional<DatahubDataset> oldDataset =
-          datahubJob.stream().filter(ds -> ds.getUrn().equals(dataset.getUrn())).findFirst();
-      if (oldDataset.isPresent()) {
+      DatahubDataset oldDataset = datasetsByUrn.get(dataset.getUrn().toString());
+      if (oldDataset != null) {
         if (dataset.getSchemaMetadata() != null) {
-          oldDataset.get().setSchemaMetadata(dataset.getSchemaMetadata());
+          oldDataset.setSchemaMetadata(dataset.getSchemaMetadata());
         }
         if (dataset.getLineage() != null) {
-          oldDataset.get().setLineage(dataset.getLineage());
+          oldDataset.setLineage(dataset.getLineage());
         }
       } else {
         datahubJob.add(dataset);
@@ -324,7 +423,7 @@ public class DatahubEventEmitter extends EventEmitter {
       dataProcessInstanceRelationships.setUpstreamInstances(new UrnArray());
       datahubJob.setDataProcessInstanceRelationships(dataProcessInstanceRelationships);
     }
-    log.info("DataProcessInstanceRunEvent: {}", storedDatahubJob.getDataProcessInstanceRunEvent());
+    log.debug("DataProcessInstanceRunEvent: {}", storedDatahubJob.getDataProcessInstanceRunEvent());
     if ((storedDatahubJob.getDataProcessInstanceRunEvent() != null)
         && (storedDatahubJob.getDataProcessInstanceRunEvent().getResult() != null)) {
       RunResultType result =
@@ -337,7 +436,7 @@ public class DatahubEventEmitter extends EventEmitter {
             storedDatahubJob.getDataProcessInstanceRunEvent());
       }
     }
-    log.info("DataProcessInstanceRunEvent: {}", datahubJob.getDataProcessInstanceRunEvent());
+    log.debug("DataProcessInstanceRunEvent: {}", datahubJob.getDataProcessInstanceRunEvent());
   }
 
   private void mergeCustomProperties(DatahubJob datahubJob, DatahubJob storedDatahubJob) {
@@ -398,34 +497,43 @@ public class DatahubEventEmitter extends EventEmitter {
   }
 
   protected void emitMcps(List<MetadataChangeProposal> mcps) {
-    Optional<Emitter> emitter = getEmitter();
+    emitMcps(mcps, mcp -> {});
+  }
+
+  private void emitMcps(
+      List<MetadataChangeProposal> mcps, Consumer<MetadataChangeProposal> onEmitted) {
+    boolean persistent = isPersistentEmitter();
+    Optional<Emitter> emitter = persistent ? getPersistentEmitter() : getEmitter();
     if (emitter.isPresent()) {
-      mcps.stream()
-          .map(
-              mcp -> {
-                try {
-                  log.info("emitting mcpw: " + mcp);
-                  return emitter.get().emit(mcp);
-                } catch (IOException ioException) {
-                  log.error("Failed to emit metadata to DataHub", ioException);
-                  return null;
-                }
-              })
-          .filter(Objects::nonNull)
-          .collect(Collectors.toList())
-          .forEach(
-              future -> {
-                try {
-                  log.info(future.get(DEFAULT_TIMEOUT_SEC, TimeUnit.SECONDS).toString());
-                } catch (InterruptedException | ExecutionException | TimeoutException e) {
-                  // log error, but don't impact thread
-                  log.error("Failed to emit metadata to DataHub", e);
-                }
-              });
-      try {
-        emitter.get().close();
-      } catch (IOException e) {
-        log.error("Issue while closing emitter" + e);
+      List<Map.Entry<MetadataChangeProposal, Future<MetadataWriteResponse>>> futures =
+          new ArrayList<>(mcps.size());
+      for (MetadataChangeProposal mcp : mcps) {
+        try {
+          log.debug("emitting mcpw: {}", mcp);
+          futures.add(Map.entry(mcp, emitter.get().emit(mcp)));
+        } catch (IOException ioException) {
+          log.error("Failed to emit metadata to DataHub", ioException);
+        }
+      }
+      for (Map.Entry<MetadataChangeProposal, Future<MetadataWriteResponse>> future : futures) {
+        try {
+          MetadataWriteResponse response =
+              future.getValue().get(DEFAULT_TIMEOUT_SEC, TimeUnit.SECONDS);
+          log.info(response.toString());
+          if (response.isSuccess()) {
+            onEmitted.accept(future.getKey());
+          }
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+          // log error, but don't impact thread
+          log.error("Failed to emit metadata to DataHub", e);
+        }
+      }
+      if (!persistent) {
+        try {
+          emitter.get().close();
+        } catch (IOException e) {
+          log.error("Issue while closing emitter" + e);
+        }
       }
     }
   }
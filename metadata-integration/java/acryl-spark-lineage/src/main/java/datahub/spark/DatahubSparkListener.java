@@ -273,10 +273,14 @@ public class DatahubSparkListener extends SparkListener {
     log.debug("Application end called");
     listener.onApplicationEnd(applicationEnd);
     if (datahubConf.hasPath(STREAMING_JOB) && (datahubConf.getBoolean(STREAMING_JOB))) {
+      if (emitter != null) {
+        emitter.close();
+      }
       return;
     }
     if (emitter != null) {
       emitter.emitCoalesced();
+      emitter.close();
     } else {
       log.warn("Emitter is not initialized, unable to emit coalesced events");
     }
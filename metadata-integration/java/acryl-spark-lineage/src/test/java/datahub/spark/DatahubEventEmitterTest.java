@@ -0,0 +1,147 @@
+package datahub.spark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.linkedin.mxe.MetadataChangeProposal;
+import com.typesafe.config.ConfigFactory;
+import datahub.client.Emitter;
+import datahub.client.MetadataWriteResponse;
+import datahub.client.rest.RestEmitterConfig;
+import datahub.spark.conf.RestDatahubEmitterConfig;
+import datahub.spark.conf.SparkAppContext;
+import datahub.spark.conf.SparkConfigParser;
+import datahub.spark.conf.SparkLineageConf;
+import io.openlineage.client.OpenLineage;
+import io.openlineage.client.OpenLineageClientUtils;
+import io.openlineage.spark.agent.ArgumentParser;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import junit.framework.TestCase;
+import org.apache.commons.io.IOUtils;
+import org.apache.spark.SparkConf;
+
+public class DatahubEventEmitterTest extends TestCase {
+  private static final String RUN_ID = "580230ff-c2ef-47c3-bb5f-c395fc93ba56";
+  private static final String OTHER_RUN_ID = "a9c1f0a4-5a2b-4c4e-9a52-3c9f4f0c2f11";
+  private static final String OUTPUT = "spark-test/result";
+  private static final String OTHER_OUTPUT = "spark-test/other_result";
+
+  private Emitter emitter;
+  private List<MetadataChangeProposal> emitted;
+  private int emittersCreated;
+  private DatahubEventEmitter eventEmitter;
+
+  @Override
+  protected void setUp() throws Exception {
+    emitter = mock(Emitter.class);
+    emitted = new ArrayList<>();
+    emittersCreated = 0;
+    when(emitter.emit(any(MetadataChangeProposal.class)))
+        .thenAnswer(
+            invocation -> {
+              emitted.add(invocation.getArgument(0));
+              return CompletableFuture.completedFuture(MetadataWriteResponse.builder().build());
+            });
+
+    SparkConf sparkConf = new SparkConf().set("spark.openlineage.transport.type", "console");
+    eventEmitter =
+        new DatahubEventEmitter(ArgumentParser.parse(sparkConf), "test") {
+          @Override
+          protected Optional<Emitter> getEmitter() {
+            emittersCreated++;
+            return Optional.of(emitter);
+          }
+        };
+    eventEmitter.setConfig(
+        SparkLineageConf.builder()
+            .openLineageConf(
+                SparkConfigParser.sparkConfigToDatahubOpenlineageConf(
+                    ConfigFactory.empty(), new SparkAppContext()))
+            .datahubEmitterConfig(new RestDatahubEmitterConfig(RestEmitterConfig.builder().build()))
+            .build());
+  }
+
+  public void testCoalescesRunsIncrementally() throws Exception {
+    eventEmitter.emit(runEvent(RUN_ID, OUTPUT));
+    // events are only collected until the coalesced lineage is emitted
+    assertTrue(emitted.isEmpty());
+
+    eventEmitter.emitCoalesced();
+    String firstEmission = aspectValues(emitted);
+    assertTrue(firstEmission.contains(OUTPUT));
+    assertFalse(firstEmission.contains(OTHER_OUTPUT));
+
+    emitted.clear();
+    eventEmitter.emit(runEvent(OTHER_RUN_ID, OTHER_OUTPUT));
+    eventEmitter.emitCoalesced();
+    // the job keeps the outputs of the runs already emitted and gains the new one
+    String secondEmission = aspectValues(emitted);
+    assertTrue(secondEmission.contains(OUTPUT));
+    assertTrue(secondEmission.contains(OTHER_OUTPUT));
+  }
+
+  public void testUnchangedAspectsAreNotEmittedAgain() throws Exception {
+    eventEmitter.emit(runEvent(RUN_ID, OUTPUT));
+    eventEmitter.emitCoalesced();
+    List<MetadataChangeProposal> firstEmission = new ArrayList<>(emitted);
+    assertTrue(firstEmission.stream().anyMatch(mcp -> mcp.getAspectName().equals("status")));
+
+    emitted.clear();
+    eventEmitter.emitCoalesced();
+    assertTrue(emitted.size() < firstEmission.size());
+    assertTrue(emitted.stream().noneMatch(mcp -> mcp.getAspectName().equals("status")));
+    for (MetadataChangeProposal mcp : emitted) {
+      // an aspect is emitted again only if it changed since it was emitted
+      assertTrue(
+          firstEmission.stream()
+              .noneMatch(
+                  previous ->
+                      previous.getEntityUrn().equals(mcp.getEntityUrn())
+                          && previous.getAspectName().equals(mcp.getAspectName())
+                          && previous.getAspect().getValue().equals(mcp.getAspect().getValue())));
+    }
+  }
+
+  public void testEmitterIsClosedOnClose() throws Exception {
+    eventEmitter.emit(runEvent(RUN_ID, OUTPUT));
+    eventEmitter.emitCoalesced();
+    eventEmitter.emit(runEvent(OTHER_RUN_ID, OTHER_OUTPUT));
+    eventEmitter.emitCoalesced();
+
+    // the rest emitter is kept across emissions
+    assertEquals(1, emittersCreated);
+    verify(emitter, never()).close();
+
+    eventEmitter.close();
+    verify(emitter, times(1)).close();
+    eventEmitter.close();
+    verify(emitter, times(1)).close();
+  }
+
+  private OpenLineage.RunEvent runEvent(String runId, String output) throws IOException {
+    String olEvent =
+        IOUtils.toString(
+                this.getClass().getResourceAsStream("/ol_events/sample_spark.json"),
+                StandardCharsets.UTF_8)
+            .replace(RUN_ID, runId)
+            .replace(OUTPUT, output);
+    return OpenLineageClientUtils.runEventFromJson(olEvent);
+  }
+
+  private static String aspectValues(List<MetadataChangeProposal> mcps) {
+    return mcps.stream()
+        .filter(mcp -> mcp.getAspect() != null)
+        .map(mcp -> mcp.getAspect().getValue().asString(StandardCharsets.UTF_8))
+        .collect(Collectors.joining("\n"));
+  }
+}
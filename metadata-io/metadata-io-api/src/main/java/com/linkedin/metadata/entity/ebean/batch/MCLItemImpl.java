@@ -139,10 +139,8 @@ public class MCLItemImpl implements MCLItem {
 
         if (mcl.getPreviousAspectValue() != null) {
           prevAspect =
-              GenericRecordUtils.deserializeAspect(
-                  mcl.getPreviousAspectValue().getValue(),
-                  mcl.getPreviousAspectValue().getContentType(),
-                  aspectSpec);
+              GenericRecordUtils.deserializePreviousAspect(
+                  mcl.getPreviousAspectValue(), mcl.getAspect(), aspectSpec);
           ValidationApiUtils.validateOrThrow(prevAspect);
         } else {
           prevAspect = null;
@@ -274,8 +274,8 @@ public class JavaEntityClient implements EntityClient {
       @Nonnull String input,
       int start,
       int count) {
-    // TODO: cache browseV2 results
-    return entitySearchService.browseV2(opContext, entityName, path, filter, input, start, count);
+    return cachingEntitySearchService.browseV2(
+        opContext, entityName, path, filter, input, start, count);
   }
 
   /**
@@ -298,8 +298,8 @@ public class JavaEntityClient implements EntityClient {
       @Nonnull String input,
       int start,
       int count) {
-    // TODO: cache browseV2 results
-    return entitySearchService.browseV2(opContext, entityNames, path, filter, input, start, count);
+    return cachingEntitySearchService.browseV2(
+        opContext, entityNames, path, filter, input, start, count);
   }
 
   @Override
@@ -30,6 +30,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import lombok.Getter;
@@ -48,6 +49,11 @@ import lombok.extern.slf4j.Slf4j;
 public class DataProductUnsetSideEffect extends MCPSideEffect {
   @Nonnull private AspectPluginConfig config;
 
+  @Override
+  protected Set<String> getDependentFieldPaths(@Nonnull String aspectName) {
+    return Set.of("/" + DataProductPropertiesTemplate.ASSETS_FIELD_NAME);
+  }
+
   @Override
   protected Stream<ChangeMCP> applyMCPSideEffect(
       Collection<ChangeMCP> changeMCPS, @Nonnull RetrieverContext retrieverContext) {
@@ -7,6 +7,7 @@ import com.linkedin.metadata.entity.ebean.PartitionedStream;
 import com.linkedin.metadata.entity.restoreindices.RestoreIndicesArgs;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -109,6 +110,17 @@ public interface AspectDao {
 
   void deleteAspect(@Nullable TransactionContext txContext, @Nonnull final EntityAspect aspect);
 
+  /**
+   * Delete the aspects, as a single batch of statements where supported.
+   *
+   * @param txContext transaction to delete the aspects in
+   * @param aspects aspects to delete, identified by urn, aspect name and version
+   */
+  default void deleteAspects(
+      @Nullable TransactionContext txContext, @Nonnull final Collection<EntityAspect> aspects) {
+    aspects.forEach(aspect -> deleteAspect(txContext, aspect));
+  }
+
   @Nonnull
   ListResult<String> listUrns(
       @Nonnull final String entityName,
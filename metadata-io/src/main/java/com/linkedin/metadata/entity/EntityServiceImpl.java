@@ -2,6 +2,8 @@ package com.linkedin.metadata.entity;
 
 import static com.linkedin.metadata.Constants.APP_SOURCE;
 import static com.linkedin.metadata.Constants.ASPECT_LATEST_VERSION;
+import static com.linkedin.metadata.Constants.DATA_HUB_UPGRADE_ENTITY_NAME;
+import static com.linkedin.metadata.Constants.DATA_HUB_UPGRADE_RESULT_ASPECT_NAME;
 import static com.linkedin.metadata.Constants.FORCE_INDEXING_KEY;
 import static com.linkedin.metadata.Constants.STATUS_ASPECT_NAME;
 import static com.linkedin.metadata.Constants.SYSTEM_ACTOR;
@@ -20,7 +22,9 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Streams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.Status;
 import com.linkedin.common.UrnArray;
@@ -41,6 +45,7 @@ import com.linkedin.entity.EnvelopedAspect;
 import com.linkedin.events.metadata.ChangeType;
 import com.linkedin.metadata.Constants;
 import com.linkedin.metadata.aspect.Aspect;
+import com.linkedin.metadata.aspect.RetrieverContext;
 import com.linkedin.metadata.aspect.SystemAspect;
 import com.linkedin.metadata.aspect.VersionedAspect;
 import com.linkedin.metadata.aspect.batch.AspectsBatch;
@@ -82,6 +87,8 @@ import com.linkedin.mxe.MetadataChangeLog;
 import com.linkedin.mxe.MetadataChangeProposal;
 import com.linkedin.mxe.SystemMetadata;
 import com.linkedin.r2.RemoteInvocationException;
+import com.linkedin.upgrade.DataHubUpgradeResult;
+import com.linkedin.upgrade.DataHubUpgradeState;
 import com.linkedin.util.Pair;
 import io.datahubproject.metadata.context.OperationContext;
 import io.opentelemetry.extension.annotations.WithSpan;
@@ -95,24 +102,32 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -157,13 +172,24 @@ public class EntityServiceImpl implements EntityService<ChangeItemImpl> {
   private RetentionService<ChangeItemImpl> retentionService;
   private final Boolean alwaysEmitChangeLog;
   @Nullable @Getter private SearchIndicesService updateIndicesService;
+  @Nullable private UIPreProcessExecutor uiPreProcessExecutor;
   private final PreProcessHooks preProcessHooks;
   protected static final int MAX_KEYS_PER_QUERY = 500;
   protected static final int MCP_SIDE_EFFECT_KAFKA_BATCH_SIZE = 500;
+  protected static final int DEFAULT_ROLLBACK_BATCH_SIZE = 100;
 
   private final Integer ebeanMaxTransactionRetry;
   private final boolean enableBrowseV2;
 
+  /** Encode the previous aspect of produced MCLs as a JSON patch against the new aspect */
+  @Setter private boolean mclPreviousAspectAsPatch = false;
+
+  /** Number of urns rolled back in a single transaction */
+  @Setter private int rollbackBatchSize = DEFAULT_ROLLBACK_BATCH_SIZE;
+
+  /** Number of rollback batches processed concurrently */
+  @Setter private int rollbackParallelism = 1;
+
   @Getter
   private final Map<Set<ThrottleType>, ThrottleEvent> throttleEvents = new ConcurrentHashMap<>();
 
@@ -202,6 +228,11 @@ public class EntityServiceImpl implements EntityService<ChangeItemImpl> {
     this.updateIndicesService = updateIndicesService;
   }
 
+  /** Pre-process UI sourced index updates asynchronously, null to process on the caller thread */
+  public void setUiPreProcessExecutor(@Nullable UIPreProcessExecutor uiPreProcessExecutor) {
+    this.uiPreProcessExecutor = uiPreProcessExecutor;
+  }
+
   public ThrottleControl handleThrottleEvent(ThrottleEvent throttleEvent) {
     final Set<ThrottleType> activeEvents = throttleEvent.getActiveThrottles();
     // store throttle event
@@ -1159,6 +1190,20 @@ public class EntityServiceImpl implements EntityService<ChangeItemImpl> {
         .orElse(null);
   }
 
+  @Override
+  public Set<IngestResult> ingestProposals(
+      @Nonnull OperationContext opContext,
+      @Nonnull List<MetadataChangeProposal> proposals,
+      AuditStamp auditStamp,
+      final boolean async) {
+    return ingestProposal(
+        opContext,
+        AspectsBatchImpl.builder()
+            .mcps(proposals, auditStamp, opContext.getRetrieverContext().get())
+            .build(),
+        async);
+  }
+
   /**
    * Ingest a new {@link MetadataChangeProposal}. Note that this method does NOT include any
    * additional aspects or do any enrichment, instead it changes only those which are provided
@@ -1393,7 +1438,9 @@ public class EntityServiceImpl implements EntityService<ChangeItemImpl> {
   }
 
   private boolean preprocessEvent(
-      @Nonnull OperationContext opContext, MetadataChangeLog metadataChangeLog) {
+      @Nonnull OperationContext opContext,
+      @Nonnull Urn urn,
+      MetadataChangeLog metadataChangeLog) {
     if (preProcessHooks.isUiEnabled()) {
       if (metadataChangeLog.getSystemMetadata() != null) {
         if (metadataChangeLog.getSystemMetadata().getProperties() != null) {
@@ -1401,6 +1448,9 @@ public class EntityServiceImpl implements EntityService<ChangeItemImpl> {
               metadataChangeLog.getSystemMetadata().getProperties().get(APP_SOURCE))) {
             // Pre-process the update indices hook for UI updates to avoid perceived lag from Kafka
             if (updateIndicesService != null) {
+              if (uiPreProcessExecutor != null) {
+                return preprocessEventAsync(opContext, urn, metadataChangeLog);
+              }
               updateIndicesService.handleChangeEvent(opContext, metadataChangeLog);
             }
             return true;
@@ -1411,6 +1461,47 @@ public class EntityServiceImpl implements EntityService<ChangeItemImpl> {
     return false;
   }
 
+  /**
+   * Bounded wait for read-your-writes. An update which did not complete within the wait is
+   * cancelled if it has not started and the MCL is flagged for forced indexing, so that the update
+   * indices hook processes it from Kafka instead of skipping it as pre-processed.
+   *
+   * @return true if the update was indexed
+   */
+  private boolean preprocessEventAsync(
+      @Nonnull OperationContext opContext,
+      @Nonnull Urn urn,
+      @Nonnull MetadataChangeLog metadataChangeLog) {
+    final Future<?> indexUpdate;
+    try {
+      indexUpdate =
+          uiPreProcessExecutor.submit(
+              urn, () -> updateIndicesService.handleChangeEvent(opContext, metadataChangeLog));
+    } catch (IllegalStateException e) {
+      log.warn("Unable to pre-process UI index update for {}: {}", urn, e.getMessage());
+      forceIndexing(metadataChangeLog);
+      return false;
+    }
+    if (uiPreProcessExecutor.await(indexUpdate)) {
+      return true;
+    }
+    indexUpdate.cancel(false);
+    forceIndexing(metadataChangeLog);
+    return false;
+  }
+
+  private static void forceIndexing(@Nonnull MetadataChangeLog metadataChangeLog) {
+    // Copied, the system metadata of the MCL may be shared with the ingested aspect
+    final SystemMetadata systemMetadata;
+    try {
+      systemMetadata = new SystemMetadata(metadataChangeLog.getSystemMetadata().copy().data());
+    } catch (CloneNotSupportedException e) {
+      throw new RuntimeException(e);
+    }
+    systemMetadata.getProperties().put(FORCE_INDEXING_KEY, Boolean.TRUE.toString());
+    metadataChangeLog.setSystemMetadata(systemMetadata);
+  }
+
   @Override
   public Integer getCountAspect(
       @Nonnull OperationContext opContext, @Nonnull String aspectName, @Nullable String urnLike) {
@@ -1743,8 +1834,14 @@ public class EntityServiceImpl implements EntityService<ChangeItemImpl> {
       @Nonnull final Urn urn,
       @Nonnull final AspectSpec aspectSpec,
       @Nonnull final MetadataChangeLog metadataChangeLog) {
+    if (uiPreProcessExecutor != null) {
+      // Produced after pre-processing, an update which did not complete is forced on the MCL
+      boolean preprocessed = preprocessEvent(opContext, urn, metadataChangeLog);
+      Future<?> future = producer.produceMetadataChangeLog(urn, aspectSpec, metadataChangeLog);
+      return Pair.of(future, preprocessed);
+    }
     Future<?> future = producer.produceMetadataChangeLog(urn, aspectSpec, metadataChangeLog);
-    return Pair.of(future, preprocessEvent(opContext, metadataChangeLog));
+    return Pair.of(future, preprocessEvent(opContext, urn, metadataChangeLog));
   }
 
   @Override
@@ -1800,7 +1897,8 @@ public class EntityServiceImpl implements EntityService<ChangeItemImpl> {
               newAspect,
               newSystemMetadata,
               oldAspect,
-              oldSystemMetadata);
+              oldSystemMetadata,
+              mclPreviousAspectAsPatch);
 
       log.debug("Serialized MCL event: {}", metadataChangeLog);
       Pair<Future<?>, Boolean> emissionStatus =
@@ -2002,8 +2100,33 @@ public class EntityServiceImpl implements EntityService<ChangeItemImpl> {
       List<AspectRowSummary> aspectRows,
       String runId,
       boolean hardDelete) {
-    return rollbackWithConditions(
-        opContext, aspectRows, Collections.singletonMap("runId", runId), hardDelete);
+    final RollbackProgress progress =
+        getRollbackProgress(opContext, runId).orElseGet(() -> new RollbackProgress(runId));
+    final List<AspectRowSummary> rowsToRollback = progress.start(aspectRows);
+    if (rowsToRollback.size() < aspectRows.size()) {
+      log.info(
+          "Resuming rollback of run {}, skipping {} rows already rolled back",
+          runId,
+          aspectRows.size() - rowsToRollback.size());
+    }
+    saveRollbackProgress(opContext, progress);
+
+    try {
+      final RollbackRunResult result =
+          rollbackWithConditions(
+              opContext,
+              rowsToRollback,
+              Collections.singletonMap("runId", runId),
+              hardDelete,
+              progress);
+      progress.finish(DataHubUpgradeState.SUCCEEDED);
+      return result;
+    } catch (RuntimeException e) {
+      progress.finish(DataHubUpgradeState.FAILED);
+      throw e;
+    } finally {
+      saveRollbackProgress(opContext, progress);
+    }
   }
 
   @Override
@@ -2012,69 +2135,196 @@ public class EntityServiceImpl implements EntityService<ChangeItemImpl> {
       List<AspectRowSummary> aspectRows,
       Map<String, String> conditions,
       boolean hardDelete) {
-    List<AspectRowSummary> removedAspects = new ArrayList<>();
-    List<RollbackResult> removedAspectResults = new ArrayList<>();
-    AtomicInteger rowsDeletedFromEntityDeletion = new AtomicInteger(0);
+    return rollbackWithConditions(opContext, aspectRows, conditions, hardDelete, null);
+  }
 
-    List<Future<?>> futures =
-        aspectRows.stream()
-            .map(
-                aspectToRemove -> {
-                  RollbackResult result =
-                      deleteAspectWithoutMCL(
-                          opContext,
-                          aspectToRemove.getUrn(),
-                          aspectToRemove.getAspectName(),
-                          conditions,
-                          hardDelete);
-                  if (result != null) {
-                    Optional<AspectSpec> aspectSpec =
-                        opContext
-                            .getEntityRegistryContext()
-                            .getAspectSpec(result.entityName, result.aspectName);
-                    if (!aspectSpec.isPresent()) {
-                      log.error(
-                          "Issue while rolling back: unknown aspect {} for entity {}",
-                          result.entityName,
-                          result.aspectName);
-                      return null;
-                    }
+  private RollbackRunResult rollbackWithConditions(
+      @Nonnull OperationContext opContext,
+      List<AspectRowSummary> aspectRows,
+      Map<String, String> conditions,
+      boolean hardDelete,
+      @Nullable RollbackProgress progress) {
+    // The rows of an urn are always rolled back in the same batch, batches are in urn order
+    final List<List<AspectRowSummary>> batches =
+        Lists.partition(
+                new ArrayList<>(
+                    aspectRows.stream()
+                        .collect(
+                            Collectors.groupingBy(
+                                AspectRowSummary::getUrn, TreeMap::new, Collectors.toList()))
+                        .values()),
+                Math.max(1, rollbackBatchSize))
+            .stream()
+            .map(urnRows -> urnRows.stream().flatMap(List::stream).collect(Collectors.toList()))
+            .collect(Collectors.toList());
 
-                    rowsDeletedFromEntityDeletion.addAndGet(result.additionalRowsAffected);
-                    removedAspects.add(aspectToRemove);
-                    removedAspectResults.add(result);
-                    return alwaysProduceMCLAsync(
-                            opContext,
-                            result.getUrn(),
-                            result.getEntityName(),
-                            result.getAspectName(),
-                            aspectSpec.get(),
-                            result.getOldValue(),
-                            result.getNewValue(),
-                            result.getOldSystemMetadata(),
-                            result.getNewSystemMetadata(),
-                            // TODO: use properly attributed audit stamp.
-                            createSystemAuditStamp(),
-                            result.getChangeType())
-                        .getFirst();
-                  }
+    final List<Pair<AspectRowSummary, RollbackResult>> rolledBack =
+        rollbackBatches(opContext, batches, conditions, hardDelete, progress);
 
-                  return null;
-                })
-            .filter(Objects::nonNull)
+    final List<AspectRowSummary> removedAspects = new ArrayList<>();
+    final List<RollbackResult> removedAspectResults = new ArrayList<>();
+    int rowsDeletedFromEntityDeletion = 0;
+    for (Pair<AspectRowSummary, RollbackResult> removed : rolledBack) {
+      removedAspects.add(removed.getFirst());
+      removedAspectResults.add(removed.getSecond());
+      rowsDeletedFromEntityDeletion += removed.getSecond().additionalRowsAffected;
+    }
+
+    return new RollbackRunResult(
+        removedAspects, rowsDeletedFromEntityDeletion, removedAspectResults);
+  }
+
+  /**
+   * @return the progress of the last rollback of the run
+   */
+  public Optional<RollbackProgress> getRollbackProgress(
+      @Nonnull OperationContext opContext, @Nonnull String runId) {
+    return Optional.ofNullable(
+            getLatestAspect(
+                opContext,
+                RollbackProgress.getProgressUrn(runId),
+                DATA_HUB_UPGRADE_RESULT_ASPECT_NAME))
+        .map(
+            aspect ->
+                RollbackProgress.fromUpgradeResult(
+                    runId, new DataHubUpgradeResult(aspect.data())));
+  }
+
+  /** Persist the progress, in the order of its updates */
+  private void saveRollbackProgress(
+      @Nonnull OperationContext opContext, @Nonnull RollbackProgress progress) {
+    synchronized (progress) {
+      final MetadataChangeProposal proposal = new MetadataChangeProposal();
+      proposal.setEntityUrn(RollbackProgress.getProgressUrn(progress.getRunId()));
+      proposal.setEntityType(DATA_HUB_UPGRADE_ENTITY_NAME);
+      proposal.setAspectName(DATA_HUB_UPGRADE_RESULT_ASPECT_NAME);
+      proposal.setAspect(GenericRecordUtils.serializeAspect(progress.toUpgradeResult()));
+      proposal.setChangeType(ChangeType.UPSERT);
+      ingestProposal(opContext, proposal, createSystemAuditStamp(), false);
+    }
+  }
+
+  /** Roll back the batches, concurrently if configured, in batch order on the caller thread */
+  private List<Pair<AspectRowSummary, RollbackResult>> rollbackBatches(
+      @Nonnull OperationContext opContext,
+      @Nonnull List<List<AspectRowSummary>> batches,
+      @Nonnull Map<String, String> conditions,
+      boolean hardDelete,
+      @Nullable RollbackProgress progress) {
+    if (rollbackParallelism <= 1 || batches.size() <= 1) {
+      return IntStream.range(0, batches.size())
+          .mapToObj(
+              index ->
+                  rollbackBatch(
+                      opContext, index, batches.get(index), conditions, hardDelete, progress))
+          .flatMap(List::stream)
+          .collect(Collectors.toList());
+    }
+
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.min(rollbackParallelism, batches.size()),
+            new ThreadFactoryBuilder().setNameFormat("rollback-%d").setDaemon(true).build());
+    final List<CompletableFuture<List<Pair<AspectRowSummary, RollbackResult>>>> futures =
+        IntStream.range(0, batches.size())
+            .mapToObj(
+                index ->
+                    CompletableFuture.supplyAsync(
+                        () ->
+                            rollbackBatch(
+                                opContext,
+                                index,
+                                batches.get(index),
+                                conditions,
+                                hardDelete,
+                                progress),
+                        executor))
             .collect(Collectors.toList());
+    try {
+      return futures.stream()
+          .flatMap(future -> future.join().stream())
+          .collect(Collectors.toList());
+    } catch (CompletionException e) {
+      // Batches not started yet are skipped, they are rolled back when the rollback is resumed
+      futures.forEach(future -> future.cancel(false));
+      throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+    } finally {
+      executor.shutdown();
+    }
+  }
 
-    futures.forEach(
-        f -> {
-          try {
-            f.get();
-          } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException(e);
-          }
-        });
+  /**
+   * Roll back the rows of a batch of urns in a single transaction, then produce their MCLs
+   * together.
+   */
+  private List<Pair<AspectRowSummary, RollbackResult>> rollbackBatch(
+      @Nonnull OperationContext opContext,
+      int batchIndex,
+      @Nonnull List<AspectRowSummary> batch,
+      @Nonnull Map<String, String> conditions,
+      boolean hardDelete,
+      @Nullable RollbackProgress progress) {
+    Timer.Context rollbackBatchTimer = MetricUtils.timer(this.getClass(), "rollbackBatch").time();
+
+    final List<Pair<AspectRowSummary, RollbackResult>> rolledBack = new ArrayList<>();
+    final List<Future<?>> futures = new ArrayList<>();
+    for (Pair<AspectRowSummary, RollbackResult> removed :
+        deleteAspectsWithoutMCL(opContext, batch, conditions, hardDelete)) {
+      final RollbackResult result = removed.getSecond();
+      Optional<AspectSpec> aspectSpec =
+          opContext
+              .getEntityRegistryContext()
+              .getAspectSpec(result.entityName, result.aspectName);
+      if (!aspectSpec.isPresent()) {
+        log.error(
+            "Issue while rolling back: unknown aspect {} for entity {}",
+            result.entityName,
+            result.aspectName);
+        continue;
+      }
 
-    return new RollbackRunResult(
-        removedAspects, rowsDeletedFromEntityDeletion.get(), removedAspectResults);
+      rolledBack.add(removed);
+      futures.add(
+          alwaysProduceMCLAsync(
+                  opContext,
+                  result.getUrn(),
+                  result.getEntityName(),
+                  result.getAspectName(),
+                  aspectSpec.get(),
+                  result.getOldValue(),
+                  result.getNewValue(),
+                  result.getOldSystemMetadata(),
+                  result.getNewSystemMetadata(),
+                  // TODO: use properly attributed audit stamp.
+                  createSystemAuditStamp(),
+                  result.getChangeType())
+              .getFirst());
+    }
+
+    futures.stream()
+        .filter(Objects::nonNull)
+        .forEach(
+            f -> {
+              try {
+                f.get();
+              } catch (InterruptedException | ExecutionException e) {
+                throw new RuntimeException(e);
+              }
+            });
+    rollbackBatchTimer.stop();
+
+    if (progress != null) {
+      synchronized (progress) {
+        progress.complete(batchIndex, batch);
+        saveRollbackProgress(opContext, progress);
+      }
+      log.info(
+          "Rolled back {}/{} rows of run {}",
+          progress.getRowsCompleted(),
+          progress.getRowsTotal(),
+          progress.getRunId());
+    }
+    return rolledBack;
   }
 
   @Override
@@ -2210,133 +2460,207 @@ public class EntityServiceImpl implements EntityService<ChangeItemImpl> {
       String aspectName,
       @Nonnull Map<String, String> conditions,
       boolean hardDelete) {
+    final AspectRowSummary row = new AspectRowSummary().setUrn(urn).setAspectName(aspectName);
+    return deleteAspectsWithoutMCL(opContext, List.of(row), conditions, hardDelete).stream()
+        .findFirst()
+        .map(Pair::getSecond)
+        .orElse(null);
+  }
+
+  /**
+   * Roll back the aspects of the rows in a single transaction, does not emit MCL.
+   *
+   * <p>The versions are read for all the aspects at once, one query per version level, i.e. the
+   * latest versions, then the preceding versions of the aspects which still match the conditions.
+   *
+   * @return the rows rolled back, with their result
+   */
+  @Nonnull
+  private List<Pair<AspectRowSummary, RollbackResult>> deleteAspectsWithoutMCL(
+      @Nonnull OperationContext opContext,
+      @Nonnull List<AspectRowSummary> aspectRows,
+      @Nonnull Map<String, String> conditions,
+      boolean hardDelete) {
     final AuditStamp auditStamp =
         new AuditStamp()
             .setActor(UrnUtils.getUrn(Constants.SYSTEM_ACTOR))
             .setTime(System.currentTimeMillis());
-
-    // Validate pre-conditions before running queries
-    Urn entityUrn = UrnUtils.getUrn(urn);
-
-    // Runs simple validations
-    MCPItem deleteItem =
-        DeleteItemImpl.builder()
-            .urn(entityUrn)
-            .aspectName(aspectName)
-            .auditStamp(auditStamp)
-            .build(opContext.getAspectRetrieverOpt().get());
+    final RetrieverContext retrieverContext = opContext.getRetrieverContext().get();
+
+    // An aspect listed more than once is rolled back once
+    final Map<EntityAspectIdentifier, AspectRowSummary> rowsByAspect = new LinkedHashMap<>();
+    aspectRows.forEach(
+        row ->
+            rowsByAspect.putIfAbsent(
+                new EntityAspectIdentifier(
+                    row.getUrn(), row.getAspectName(), ASPECT_LATEST_VERSION),
+                row));
+
+    // Validate pre-conditions before running queries, runs simple validations
+    final Map<EntityAspectIdentifier, MCPItem> deleteItems = new HashMap<>();
+    rowsByAspect
+        .keySet()
+        .forEach(
+            key ->
+                deleteItems.put(
+                    key,
+                    DeleteItemImpl.builder()
+                        .urn(UrnUtils.getUrn(key.getUrn()))
+                        .aspectName(key.getAspect())
+                        .auditStamp(auditStamp)
+                        .build(opContext.getAspectRetrieverOpt().get())));
 
     // Delete validation hooks
     ValidationExceptionCollection exceptions =
-        AspectsBatch.validateProposed(List.of(deleteItem), opContext.getRetrieverContext().get());
+        AspectsBatch.validateProposed(new ArrayList<>(deleteItems.values()), retrieverContext);
     if (!exceptions.isEmpty()) {
       throw new ValidationException(collectMetrics(exceptions).toString());
     }
 
-    final RollbackResult result =
+    final List<Pair<AspectRowSummary, RollbackResult>> results =
         aspectDao.runInTransactionWithRetry(
             (txContext) -> {
-              Integer additionalRowsDeleted = 0;
-
-              // 1. Fetch the latest existing version of the aspect.
-              final EntityAspect.EntitySystemAspect latest =
-                  (EntityAspect.EntitySystemAspect)
-                      EntityUtils.toSystemAspect(
-                              opContext.getRetrieverContext().get(),
-                              aspectDao.getLatestAspect(urn, aspectName, false))
-                          .orElse(null);
-
-              // 1.1 If no latest exists, skip this aspect
-              if (latest == null) {
-                return null;
-              }
+              // 1. Fetch the latest existing versions of the aspects, skip the missing ones
+              final Map<String, Map<String, SystemAspect>> latestAspects =
+                  EntityUtils.toSystemAspects(
+                      retrieverContext,
+                      aspectDao.getLatestAspects(toUrnAspects(rowsByAspect.keySet()), false));
 
               // 2. Compare the match conditions, if they don't match, ignore.
-              SystemMetadata latestSystemMetadata = latest.getSystemMetadata();
-              if (!filterMatch(latestSystemMetadata, conditions)) {
-                return null;
+              final Map<EntityAspectIdentifier, EntityAspect.EntitySystemAspect> matching =
+                  new LinkedHashMap<>();
+              // kept as read, the latest rows are updated with their surviving version
+              final Map<EntityAspectIdentifier, SystemMetadata> latestSystemMetadata =
+                  new HashMap<>();
+              for (EntityAspectIdentifier key : rowsByAspect.keySet()) {
+                final EntityAspect.EntitySystemAspect latest =
+                    (EntityAspect.EntitySystemAspect)
+                        latestAspects.getOrDefault(key.getUrn(), Map.of()).get(key.getAspect());
+                if (latest == null) {
+                  continue;
+                }
+                final SystemMetadata systemMetadata = latest.getSystemMetadata();
+                if (filterMatch(systemMetadata, conditions)) {
+                  matching.put(key, latest);
+                  latestSystemMetadata.put(key, systemMetadata);
+                }
+              }
+              if (matching.isEmpty()) {
+                return List.of();
               }
 
-              // 3. Check if this is a key aspect
-              Boolean isKeyAspect = opContext.getKeyAspectName(entityUrn).equals(aspectName);
-
-              // 4. Fetch all preceding aspects, that match
-              List<EntityAspect> aspectsToDelete = new ArrayList<>();
-              long maxVersion = aspectDao.getMaxVersion(urn, aspectName);
-              EntityAspect.EntitySystemAspect survivingAspect = null;
-              String previousMetadata = null;
-              boolean filterMatch = true;
-              while (maxVersion > 0 && filterMatch) {
-                EntityAspect.EntitySystemAspect candidateAspect =
-                    (EntityAspect.EntitySystemAspect)
-                        EntityUtils.toSystemAspect(
-                                opContext.getRetrieverContext().get(),
-                                aspectDao.getAspect(urn, aspectName, maxVersion))
-                            .orElse(null);
-                SystemMetadata previousSysMetadata =
-                    candidateAspect != null ? candidateAspect.getSystemMetadata() : null;
-                filterMatch =
-                    previousSysMetadata != null && filterMatch(previousSysMetadata, conditions);
-                if (filterMatch) {
-                  aspectsToDelete.add(candidateAspect.getEntityAspect());
-                  maxVersion = maxVersion - 1;
-                } else {
-                  survivingAspect = candidateAspect;
-                  previousMetadata = survivingAspect.getMetadataRaw();
+              // 3. Fetch all preceding versions that match, one level at a time, keyed by the
+              // version to fetch with the latest version of the aspect as value
+              final Map<String, Map<String, Long>> nextVersions =
+                  aspectDao.getNextVersions(toUrnAspects(matching.keySet()));
+              final Map<EntityAspectIdentifier, List<EntityAspect>> aspectsToDelete =
+                  new HashMap<>();
+              final Map<EntityAspectIdentifier, EntityAspect.EntitySystemAspect>
+                  survivingAspects = new HashMap<>();
+              Map<EntityAspectIdentifier, EntityAspectIdentifier> candidates = new HashMap<>();
+              for (EntityAspectIdentifier key : matching.keySet()) {
+                aspectsToDelete.put(key, new ArrayList<>());
+                long maxVersion = nextVersions.get(key.getUrn()).get(key.getAspect()) - 1;
+                if (maxVersion > 0) {
+                  candidates.put(
+                      new EntityAspectIdentifier(key.getUrn(), key.getAspect(), maxVersion), key);
+                }
+              }
+              while (!candidates.isEmpty()) {
+                final Map<EntityAspectIdentifier, EntityAspect> candidateAspects =
+                    aspectDao.batchGet(candidates.keySet());
+                final Map<EntityAspectIdentifier, EntityAspectIdentifier> precedingCandidates =
+                    new HashMap<>();
+                for (Map.Entry<EntityAspectIdentifier, EntityAspectIdentifier> candidate :
+                    candidates.entrySet()) {
+                  final EntityAspect.EntitySystemAspect candidateAspect =
+                      (EntityAspect.EntitySystemAspect)
+                          EntityUtils.toSystemAspect(
+                                  retrieverContext, candidateAspects.get(candidate.getKey()))
+                              .orElse(null);
+                  if (candidateAspect == null) {
+                    continue;
+                  }
+                  SystemMetadata previousSysMetadata = candidateAspect.getSystemMetadata();
+                  if (previousSysMetadata != null && filterMatch(previousSysMetadata, conditions)) {
+                    aspectsToDelete
+                        .get(candidate.getValue())
+                        .add(candidateAspect.getEntityAspect());
+                    long version = candidate.getKey().getVersion() - 1;
+                    if (version > 0) {
+                      precedingCandidates.put(
+                          new EntityAspectIdentifier(
+                              candidate.getKey().getUrn(), candidate.getKey().getAspect(), version),
+                          candidate.getValue());
+                    }
+                  } else {
+                    survivingAspects.put(candidate.getValue(), candidateAspect);
+                  }
                 }
+                candidates = precedingCandidates;
               }
 
               // Delete validation hooks
               ValidationExceptionCollection preCommitExceptions =
                   AspectsBatch.validatePreCommit(
-                      aspectsToDelete.stream()
+                      aspectsToDelete.values().stream()
+                          .flatMap(List::stream)
                           .map(
                               toDelete ->
                                   DeleteItemImpl.builder()
                                       .urn(UrnUtils.getUrn(toDelete.getUrn()))
                                       .aspectName(toDelete.getAspect())
                                       .auditStamp(auditStamp)
-                                      .build(
-                                          opContext
-                                              .getRetrieverContext()
-                                              .get()
-                                              .getAspectRetriever()))
+                                      .build(retrieverContext.getAspectRetriever()))
                           .collect(Collectors.toList()),
-                      opContext.getRetrieverContext().get());
+                      retrieverContext);
               if (!preCommitExceptions.isEmpty()) {
                 throw new ValidationException(collectMetrics(preCommitExceptions).toString());
               }
 
-              // 5. Apply deletes and fix up latest row
-              aspectsToDelete.forEach(aspect -> aspectDao.deleteAspect(txContext, aspect));
-
-              if (survivingAspect != null) {
-                // if there was a surviving aspect, copy its information into the latest row
-                // eBean does not like us updating a pkey column (version) for the surviving aspect
-                // as a result we copy information from survivingAspect to latest and delete
-                // survivingAspect
-                latest
-                    .getEntityAspect()
-                    .setMetadata(survivingAspect.getEntityAspect().getMetadata());
-                latest
-                    .getEntityAspect()
-                    .setSystemMetadata(survivingAspect.getEntityAspect().getSystemMetadata());
-                latest.getEntityAspect().setCreatedOn(survivingAspect.getCreatedOn());
-                latest.getEntityAspect().setCreatedBy(survivingAspect.getCreatedBy());
-                latest
-                    .getEntityAspect()
-                    .setCreatedFor(survivingAspect.getEntityAspect().getCreatedFor());
-                aspectDao.saveAspect(txContext, latest.getEntityAspect(), false);
-                // metrics
-                aspectDao.incrementWriteMetrics(
-                    aspectName, 1, latest.getMetadataRaw().getBytes(StandardCharsets.UTF_8).length);
-                aspectDao.deleteAspect(txContext, survivingAspect.getEntityAspect());
-              } else {
-                if (isKeyAspect) {
+              // 4. Fix up the latest rows, then apply the deletes together
+              final List<EntityAspect> rowsToDelete = new ArrayList<>();
+              final Set<String> urnsToDelete = new LinkedHashSet<>();
+              for (Map.Entry<EntityAspectIdentifier, EntityAspect.EntitySystemAspect> entry :
+                  matching.entrySet()) {
+                final EntityAspectIdentifier key = entry.getKey();
+                final EntityAspect.EntitySystemAspect latest = entry.getValue();
+                final EntityAspect.EntitySystemAspect survivingAspect =
+                    survivingAspects.get(key);
+                final Urn entityUrn = UrnUtils.getUrn(key.getUrn());
+                rowsToDelete.addAll(aspectsToDelete.get(key));
+
+                if (survivingAspect != null) {
+                  // if there was a surviving aspect, copy its information into the latest row
+                  // eBean does not like us updating a pkey column (version) for the surviving
+                  // aspect as a result we copy information from survivingAspect to latest and
+                  // delete survivingAspect
+                  latest
+                      .getEntityAspect()
+                      .setMetadata(survivingAspect.getEntityAspect().getMetadata());
+                  latest
+                      .getEntityAspect()
+                      .setSystemMetadata(survivingAspect.getEntityAspect().getSystemMetadata());
+                  latest.getEntityAspect().setCreatedOn(survivingAspect.getCreatedOn());
+                  latest.getEntityAspect().setCreatedBy(survivingAspect.getCreatedBy());
+                  latest
+                      .getEntityAspect()
+                      .setCreatedFor(survivingAspect.getEntityAspect().getCreatedFor());
+                  aspectDao.saveAspect(txContext, latest.getEntityAspect(), false);
+                  // metrics
+                  aspectDao.incrementWriteMetrics(
+                      key.getAspect(),
+                      1,
+                      latest.getMetadataRaw().getBytes(StandardCharsets.UTF_8).length);
+                  rowsToDelete.add(survivingAspect.getEntityAspect());
+                } else if (opContext.getKeyAspectName(entityUrn).equals(key.getAspect())) {
                   if (hardDelete) {
                     // If this is the key aspect, delete the entity entirely.
-                    additionalRowsDeleted = aspectDao.deleteUrn(txContext, urn);
-                  } else if (deleteItem.getEntitySpec().hasAspect(Constants.STATUS_ASPECT_NAME)) {
+                    urnsToDelete.add(key.getUrn());
+                  } else if (deleteItems
+                      .get(key)
+                      .getEntitySpec()
+                      .hasAspect(Constants.STATUS_ASPECT_NAME)) {
                     // soft delete by setting status.removed=true (if applicable)
                     final Status statusAspect = new Status();
                     statusAspect.setRemoved(true);
@@ -2352,51 +2676,78 @@ public class EntityServiceImpl implements EntityService<ChangeItemImpl> {
                   }
                 } else {
                   // Else, only delete the specific aspect.
-                  aspectDao.deleteAspect(txContext, latest.getEntityAspect());
+                  rowsToDelete.add(latest.getEntityAspect());
                 }
               }
 
-              // 6. Emit the Update
-              try {
-                final RecordTemplate latestValue =
-                    latest == null ? null : latest.getRecordTemplate();
-                final RecordTemplate previousValue =
-                    survivingAspect == null ? null : latest.getRecordTemplate();
-
-                final Urn urnObj = Urn.createFromString(urn);
-                // We are not deleting key aspect if hardDelete has not been set so do not return a
-                // rollback result
+              aspectDao.deleteAspects(txContext, rowsToDelete);
+              final Map<String, Integer> additionalRowsDeleted = new HashMap<>();
+              urnsToDelete.forEach(
+                  urn -> additionalRowsDeleted.put(urn, aspectDao.deleteUrn(txContext, urn)));
+
+              // 5. Emit the Updates
+              final List<Pair<AspectRowSummary, RollbackResult>> rolledBack = new ArrayList<>();
+              for (Map.Entry<EntityAspectIdentifier, EntityAspect.EntitySystemAspect> entry :
+                  matching.entrySet()) {
+                final EntityAspectIdentifier key = entry.getKey();
+                final EntityAspect.EntitySystemAspect latest = entry.getValue();
+                final EntityAspect.EntitySystemAspect survivingAspect =
+                    survivingAspects.get(key);
+                final Urn entityUrn = UrnUtils.getUrn(key.getUrn());
+                final boolean isKeyAspect =
+                    opContext.getKeyAspectName(entityUrn).equals(key.getAspect());
+                // We are not deleting key aspect if hardDelete has not been set so do not return
+                // a rollback result
                 if (isKeyAspect && !hardDelete) {
-                  return null;
+                  continue;
+                }
+                try {
+                  final RecordTemplate latestValue = latest.getRecordTemplate();
+                  final RecordTemplate previousValue =
+                      survivingAspect == null ? null : latest.getRecordTemplate();
+
+                  rolledBack.add(
+                      Pair.of(
+                          rowsByAspect.get(key),
+                          new RollbackResult(
+                              entityUrn,
+                              entityUrn.getEntityType(),
+                              latest.getAspectName(),
+                              latestValue,
+                              previousValue,
+                              latestSystemMetadata.get(key),
+                              previousValue == null ? null : survivingAspect.getSystemMetadata(),
+                              survivingAspect == null ? ChangeType.DELETE : ChangeType.UPSERT,
+                              isKeyAspect,
+                              additionalRowsDeleted.getOrDefault(key.getUrn(), 0))));
+                } catch (IllegalStateException e) {
+                  log.warn(
+                      "Unable to find aspect, rollback result will not be sent. Error: {}",
+                      e.getMessage());
                 }
-                return new RollbackResult(
-                    urnObj,
-                    urnObj.getEntityType(),
-                    latest.getAspectName(),
-                    latestValue,
-                    previousValue,
-                    latestSystemMetadata,
-                    previousValue == null ? null : survivingAspect.getSystemMetadata(),
-                    survivingAspect == null ? ChangeType.DELETE : ChangeType.UPSERT,
-                    isKeyAspect,
-                    additionalRowsDeleted);
-              } catch (URISyntaxException e) {
-                throw new RuntimeException(
-                    String.format("Failed to emit the update for urn %s", urn));
-              } catch (IllegalStateException e) {
-                log.warn(
-                    "Unable to find aspect, rollback result will not be sent. Error: {}",
-                    e.getMessage());
-                return null;
               }
+              return rolledBack;
             },
             DEFAULT_MAX_TRANSACTION_RETRY);
 
-    if (result != null) {
-      processPostCommitMCLSideEffects(opContext, List.of(result.toMCL(auditStamp)));
+    if (!results.isEmpty()) {
+      processPostCommitMCLSideEffects(
+          opContext,
+          results.stream()
+              .map(result -> result.getSecond().toMCL(auditStamp))
+              .collect(Collectors.toList()));
     }
 
-    return result;
+    return results;
+  }
+
+  private static Map<String, Set<String>> toUrnAspects(
+      @Nonnull Collection<EntityAspectIdentifier> keys) {
+    return keys.stream()
+        .collect(
+            Collectors.groupingBy(
+                EntityAspectIdentifier::getUrn,
+                Collectors.mapping(EntityAspectIdentifier::getAspect, Collectors.toSet())));
   }
 
   protected boolean filterMatch(
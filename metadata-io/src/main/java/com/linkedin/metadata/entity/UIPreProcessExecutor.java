@@ -0,0 +1,140 @@
+package com.linkedin.metadata.entity;
+
+import com.codahale.metrics.Gauge;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Low latency lane for index updates of UI sourced writes. Updates are processed by a fixed number
+ * of single threaded lanes with bounded queues. An urn is always assigned to the same lane so that
+ * updates to the same entity are applied in order. When a lane's queue is full the submitting
+ * thread blocks until space is available.
+ *
+ * <p>Callers may wait up to a configured amount of time for their update to be indexed in order to
+ * preserve read-your-writes for the common case, without tying request latency to the latency of
+ * the search and graph backends. Updates which did not complete within that time are left to the
+ * caller to recover, the lanes are drained on {@link #close()} but are not durable.
+ */
+@Slf4j
+public class UIPreProcessExecutor implements AutoCloseable {
+
+  private static final RejectedExecutionHandler BLOCK_ON_FULL_QUEUE =
+      (runnable, executor) -> {
+        if (executor.isShutdown()) {
+          throw new IllegalStateException("UI pre-process executor is shut down");
+        }
+        try {
+          MetricUtils.counter(UIPreProcessExecutor.class, "queueFull").inc();
+          executor.getQueue().put(runnable);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("Interrupted while waiting for queue capacity", e);
+        }
+      };
+
+  private static final long CLOSE_DRAIN_MILLIS = 10000;
+
+  private final List<ThreadPoolExecutor> lanes;
+  private final long waitMillis;
+
+  /**
+   * @param workers number of lanes, each with a single worker thread
+   * @param queueSize maximum number of pending updates per lane
+   * @param waitMillis maximum time {@link #await(Future)} waits for an update, 0 to not wait
+   */
+  public UIPreProcessExecutor(int workers, int queueSize, long waitMillis) {
+    this.waitMillis = waitMillis;
+    this.lanes =
+        IntStream.range(0, Math.max(1, workers))
+            .mapToObj(
+                i ->
+                    new ThreadPoolExecutor(
+                        1,
+                        1,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(Math.max(1, queueSize)),
+                        new ThreadFactoryBuilder()
+                            .setNameFormat("ui-pre-process-" + i + "-%d")
+                            .setDaemon(true)
+                            .build(),
+                        BLOCK_ON_FULL_QUEUE))
+            .collect(Collectors.toList());
+
+    MetricUtils.gauge(
+        UIPreProcessExecutor.class,
+        "queueDepth",
+        () -> (Gauge<Integer>) () -> lanes.stream().mapToInt(lane -> lane.getQueue().size()).sum());
+  }
+
+  /** Submit an index update for the given urn to its lane. */
+  @Nonnull
+  public Future<?> submit(@Nonnull Urn urn, @Nonnull Runnable indexUpdate) {
+    ThreadPoolExecutor lane = lanes.get(Math.floorMod(urn.toString().hashCode(), lanes.size()));
+    return lane.submit(
+        () -> {
+          try {
+            indexUpdate.run();
+          } catch (RuntimeException e) {
+            MetricUtils.exceptionCounter(UIPreProcessExecutor.class, "indexUpdateFailed", e);
+            log.error("Failed to pre-process UI index update for {}", urn, e);
+            throw e;
+          }
+        });
+  }
+
+  /**
+   * Wait up to the configured amount of time for the update to complete.
+   *
+   * @return true if the update completed successfully within the wait time
+   */
+  public boolean await(@Nonnull Future<?> future) {
+    if (waitMillis <= 0) {
+      return future.isDone();
+    }
+    try {
+      future.get(waitMillis, TimeUnit.MILLISECONDS);
+      return true;
+    } catch (TimeoutException e) {
+      MetricUtils.counter(UIPreProcessExecutor.class, "awaitTimeout").inc();
+      return false;
+    } catch (ExecutionException e) {
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /** Stop accepting updates and wait a bounded amount of time for the queued ones to drain */
+  @Override
+  public void close() {
+    lanes.forEach(ThreadPoolExecutor::shutdown);
+    long drainUntil = System.currentTimeMillis() + CLOSE_DRAIN_MILLIS;
+    try {
+      for (ThreadPoolExecutor lane : lanes) {
+        long remaining = Math.max(0, drainUntil - System.currentTimeMillis());
+        if (!lane.awaitTermination(remaining, TimeUnit.MILLISECONDS)) {
+          log.warn("UI pre-process lane not drained, {} updates pending", lane.getQueue().size());
+          lane.shutdownNow();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      lanes.forEach(ThreadPoolExecutor::shutdownNow);
+    }
+  }
+}
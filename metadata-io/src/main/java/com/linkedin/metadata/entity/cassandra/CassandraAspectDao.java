@@ -7,11 +7,16 @@ import com.datahub.util.exception.ModelConversionException;
 import com.datahub.util.exception.RetryLimitReached;
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.DriverException;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
 import com.datastax.oss.driver.api.core.cql.BatchStatement;
 import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.datastax.oss.driver.api.core.paging.OffsetPager;
 import com.datastax.oss.driver.api.core.paging.OffsetPager.Page;
 import com.datastax.oss.driver.api.querybuilder.QueryBuilder;
@@ -22,6 +27,8 @@ import com.datastax.oss.driver.api.querybuilder.update.Update;
 import com.datastax.oss.driver.api.querybuilder.update.UpdateWithAssignments;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Streams;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.metadata.entity.AspectDao;
@@ -39,12 +46,22 @@ import com.linkedin.metadata.query.ListResultMetadata;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -54,12 +71,64 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
 
+  private static final int DEFAULT_MAX_IN_FLIGHT_READS = 32;
+
+  // Latest or specific versions of aspects of one urn, a single partition
+  private static final String SELECT_URN_ASPECTS_CQL =
+      selectFrom(CassandraAspect.TABLE_NAME)
+          .all()
+          .whereColumn(CassandraAspect.URN_COLUMN)
+          .isEqualTo(bindMarker())
+          .whereColumn(CassandraAspect.ASPECT_COLUMN)
+          .in(bindMarker())
+          .whereColumn(CassandraAspect.VERSION_COLUMN)
+          .in(bindMarker())
+          .asCql();
+  private static final String SELECT_URN_CQL =
+      selectFrom(CassandraAspect.TABLE_NAME)
+          .all()
+          .whereColumn(CassandraAspect.URN_COLUMN)
+          .isEqualTo(bindMarker())
+          .asCql();
+  private static final String SELECT_TOKEN_RANGE_CQL =
+      selectFrom(CassandraAspect.TABLE_NAME)
+          .all()
+          .whereToken(CassandraAspect.URN_COLUMN)
+          .isGreaterThan(bindMarker())
+          .whereToken(CassandraAspect.URN_COLUMN)
+          .isLessThanOrEqualTo(bindMarker())
+          .asCql();
+  private static final String SELECT_TOKEN_ABOVE_CQL =
+      selectFrom(CassandraAspect.TABLE_NAME)
+          .all()
+          .whereToken(CassandraAspect.URN_COLUMN)
+          .isGreaterThan(bindMarker())
+          .asCql();
+  private static final String SELECT_TOKEN_BELOW_CQL =
+      selectFrom(CassandraAspect.TABLE_NAME)
+          .all()
+          .whereToken(CassandraAspect.URN_COLUMN)
+          .isLessThanOrEqualTo(bindMarker())
+          .asCql();
+  private static final String SELECT_ALL_CQL =
+      selectFrom(CassandraAspect.TABLE_NAME).all().asCql();
+
   private final CqlSession _cqlSession;
+  private final int _maxInFlightReads;
+  private final Map<String, PreparedStatement> _preparedStatements = new ConcurrentHashMap<>();
   private boolean _canWrite = true;
   private boolean _connectionValidated = false;
 
   public CassandraAspectDao(@Nonnull final CqlSession cqlSession) {
+    this(cqlSession, DEFAULT_MAX_IN_FLIGHT_READS);
+  }
+
+  /**
+   * @param maxInFlightReads maximum number of concurrent queries issued by a batch read
+   */
+  public CassandraAspectDao(@Nonnull final CqlSession cqlSession, int maxInFlightReads) {
     _cqlSession = cqlSession;
+    _maxInFlightReads = Math.max(1, maxInFlightReads);
   }
 
   public void setConnectionValidated(boolean validated) {
@@ -90,21 +159,26 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
   @Override
   public Map<String, Map<String, EntityAspect>> getLatestAspects(
       Map<String, Set<String>> urnAspects, boolean forUpdate) {
-    return urnAspects.entrySet().stream()
-        .map(
-            entry ->
-                Map.entry(
-                    entry.getKey(),
-                    entry.getValue().stream()
-                        .map(
-                            aspectName -> {
-                              EntityAspect aspect =
-                                  getLatestAspect(entry.getKey(), aspectName, forUpdate);
-                              return aspect != null ? Map.entry(aspectName, aspect) : null;
-                            })
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))))
-        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    validateConnection();
+    final Map<String, Map<String, EntityAspect>> result = new HashMap<>();
+    urnAspects.keySet().forEach(urn -> result.put(urn, new HashMap<>()));
+
+    final List<BoundStatement> statements =
+        urnAspects.entrySet().stream()
+            .filter(entry -> !entry.getValue().isEmpty())
+            .map(
+                entry ->
+                    prepare(SELECT_URN_ASPECTS_CQL)
+                        .bind(
+                            entry.getKey(),
+                            List.copyOf(entry.getValue()),
+                            List.of(ASPECT_LATEST_VERSION)))
+            .collect(Collectors.toList());
+    for (Row row : executeAll(statements)) {
+      final EntityAspect aspect = CassandraAspect.rowToEntityAspect(row);
+      result.get(aspect.getUrn()).put(aspect.getAspect(), aspect);
+    }
+    return result;
   }
 
   @Override
@@ -193,17 +267,45 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
     _cqlSession.execute(statement);
   }
 
-  // TODO: can further improve by running the sub queries in parallel
-  // TODO: look into supporting pagination
+  /**
+   * Reads the aspects with one query per urn, the partition key, selecting the requested aspects
+   * and versions. The queries are executed concurrently, bounded by the in flight reads.
+   */
   @Override
   @Nonnull
   public Map<EntityAspectIdentifier, EntityAspect> batchGet(
       @Nonnull final Set<EntityAspectIdentifier> keys) {
     validateConnection();
-    return keys.stream()
-        .map(this::getAspect)
-        .filter(Objects::nonNull)
-        .collect(Collectors.toMap(EntityAspectIdentifier::fromEntityAspect, aspect -> aspect));
+    final Map<String, List<EntityAspectIdentifier>> keysByUrn =
+        keys.stream().collect(Collectors.groupingBy(EntityAspectIdentifier::getUrn));
+
+    final List<BoundStatement> statements =
+        keysByUrn.entrySet().stream()
+            .map(
+                entry ->
+                    prepare(SELECT_URN_ASPECTS_CQL)
+                        .bind(
+                            entry.getKey(),
+                            entry.getValue().stream()
+                                .map(EntityAspectIdentifier::getAspect)
+                                .distinct()
+                                .collect(Collectors.toList()),
+                            entry.getValue().stream()
+                                .map(EntityAspectIdentifier::getVersion)
+                                .distinct()
+                                .collect(Collectors.toList())))
+            .collect(Collectors.toList());
+
+    // IN restrictions select every aspect and version combination, keep the requested ones
+    final Map<EntityAspectIdentifier, EntityAspect> result = new HashMap<>();
+    for (Row row : executeAll(statements)) {
+      final EntityAspect aspect = CassandraAspect.rowToEntityAspect(row);
+      final EntityAspectIdentifier key = EntityAspectIdentifier.fromEntityAspect(aspect);
+      if (keys.contains(key)) {
+        result.put(key, aspect);
+      }
+    }
+    return result;
   }
 
   @Override
@@ -492,10 +594,106 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
     return -1;
   }
 
+  /**
+   * Streams the latest aspects matching the arguments. Rows are read range by range of the token
+   * ring, the token of the urn partition key, paged by the batch size so a scan does not hold more
+   * than a page in memory. The aspects are therefore ordered by token and not by urn, urn based
+   * pagination is not supported.
+   */
   @Nonnull
+  @Override
   public PartitionedStream<EbeanAspectV2> streamAspectBatches(final RestoreIndicesArgs args) {
-    // Not implemented
-    return null;
+    validateConnection();
+    if (args.urnBasedPagination) {
+      log.warn("Urn based pagination is not supported by Cassandra, streaming in token order");
+    }
+
+    final List<BoundStatement> statements;
+    if (args.urn != null) {
+      statements = List.of(prepare(SELECT_URN_CQL).bind(args.urn));
+    } else {
+      statements = tokenRangeStatements();
+    }
+    final int pageSize =
+        args.batchSize > 0 ? args.batchSize : RestoreIndicesArgs.DEFAULT_BATCH_SIZE;
+
+    // Each range is queried once the previous one is consumed
+    final Iterator<Row> rows =
+        Iterators.concat(
+            Iterators.transform(
+                statements.iterator(),
+                statement -> _cqlSession.execute(statement.setPageSize(pageSize)).iterator()));
+
+    final Predicate<EntityAspect> filter = restoreIndicesFilter(args);
+    Stream<EbeanAspectV2> stream =
+        Streams.stream(rows)
+            .map(CassandraAspect::rowToEntityAspect)
+            .filter(filter)
+            .map(EbeanAspectV2::fromEntityAspect)
+            .skip(Math.max(0, args.start));
+    if (args.limit > 0) {
+      stream = stream.limit(args.limit);
+    }
+    return PartitionedStream.<EbeanAspectV2>builder().delegateStream(stream).build();
+  }
+
+  private List<BoundStatement> tokenRangeStatements() {
+    final Optional<TokenMap> tokenMap = _cqlSession.getMetadata().getTokenMap();
+    if (tokenMap.isEmpty() || tokenMap.get().getTokenRanges().isEmpty()) {
+      log.warn("Cassandra token metadata is not available, scanning the aspect table at once");
+      return List.of(prepare(SELECT_ALL_CQL).bind());
+    }
+
+    final List<BoundStatement> statements = new ArrayList<>();
+    for (TokenRange range : tokenMap.get().getTokenRanges()) {
+      if (range.isWrappedAround() || range.isFullRing()) {
+        // ]start, end of ring] and [start of ring, end]
+        statements.add(prepare(SELECT_TOKEN_ABOVE_CQL).bind().setToken(0, range.getStart()));
+        statements.add(prepare(SELECT_TOKEN_BELOW_CQL).bind().setToken(0, range.getEnd()));
+      } else {
+        statements.add(
+            prepare(SELECT_TOKEN_RANGE_CQL)
+                .bind()
+                .setToken(0, range.getStart())
+                .setToken(1, range.getEnd()));
+      }
+    }
+    return statements;
+  }
+
+  private static Predicate<EntityAspect> restoreIndicesFilter(final RestoreIndicesArgs args) {
+    final Set<String> aspectNames = new HashSet<>();
+    if (args.aspectName != null) {
+      aspectNames.add(args.aspectName);
+    }
+    if (args.aspectNames != null) {
+      aspectNames.addAll(args.aspectNames);
+    }
+    final Pattern urnLike = args.urnLike != null ? likeToPattern(args.urnLike) : null;
+
+    return aspect ->
+        aspect.getVersion() == ASPECT_LATEST_VERSION
+            && (aspectNames.isEmpty() || aspectNames.contains(aspect.getAspect()))
+            && (urnLike == null || urnLike.matcher(aspect.getUrn()).matches())
+            && (args.gePitEpochMs <= 0
+                || (aspect.getCreatedOn() != null
+                    && aspect.getCreatedOn().getTime() >= args.gePitEpochMs
+                    && aspect.getCreatedOn().getTime() <= args.lePitEpochMs));
+  }
+
+  /** Converts a SQL LIKE pattern, as accepted by the SQL aspect dao, to a regular expression. */
+  private static Pattern likeToPattern(@Nonnull String like) {
+    final StringBuilder regex = new StringBuilder();
+    for (char c : like.toCharArray()) {
+      if (c == '%') {
+        regex.append(".*");
+      } else if (c == '_') {
+        regex.append('.');
+      } else {
+        regex.append(Pattern.quote(String.valueOf(c)));
+      }
+    }
+    return Pattern.compile(regex.toString(), Pattern.DOTALL);
   }
 
   @Nonnull
@@ -727,6 +925,63 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
     return rs.all().stream().map(CassandraAspect::rowToEntityAspect).collect(Collectors.toList());
   }
 
+  @Nonnull
+  private PreparedStatement prepare(@Nonnull String cql) {
+    return _preparedStatements.computeIfAbsent(cql, _cqlSession::prepare);
+  }
+
+  /**
+   * Executes the statements asynchronously, at most the max in flight reads at a time, and
+   * returns the rows of all their pages.
+   */
+  @Nonnull
+  private List<Row> executeAll(@Nonnull List<BoundStatement> statements) {
+    if (statements.isEmpty()) {
+      return List.of();
+    }
+    final Semaphore inFlight = new Semaphore(_maxInFlightReads);
+    final List<CompletableFuture<List<Row>>> futures = new ArrayList<>(statements.size());
+    for (BoundStatement statement : statements) {
+      inFlight.acquireUninterruptibly();
+      final CompletableFuture<List<Row>> future = new CompletableFuture<>();
+      future.whenComplete((rows, e) -> inFlight.release());
+      fetchAllPages(_cqlSession.executeAsync(statement), new ArrayList<>(), future);
+      futures.add(future);
+    }
+
+    final List<Row> rows = new ArrayList<>();
+    try {
+      for (CompletableFuture<List<Row>> future : futures) {
+        rows.addAll(future.join());
+      }
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+    return rows;
+  }
+
+  private static void fetchAllPages(
+      @Nonnull CompletionStage<AsyncResultSet> stage,
+      @Nonnull List<Row> rows,
+      @Nonnull CompletableFuture<List<Row>> result) {
+    stage.whenComplete(
+        (resultSet, e) -> {
+          if (e != null) {
+            result.completeExceptionally(e);
+            return;
+          }
+          resultSet.currentPage().forEach(rows::add);
+          if (resultSet.hasMorePages()) {
+            fetchAllPages(resultSet.fetchNextPage(), rows, result);
+          } else {
+            result.complete(rows);
+          }
+        });
+  }
+
   private Iterable<Term> aspectNamesToLiterals(Set<String> aspectNames) {
     return aspectNames.stream().map(QueryBuilder::literal).collect(Collectors.toSet());
   }
@@ -51,6 +51,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -90,8 +91,36 @@ public class EbeanAspectDao implements AspectDao, AspectMigrationsDao {
    */
   private final LoadingCache<String, Lock> locks;
 
+  /**
+   * When enabled, the previous latest version is archived server side (INSERT ... SELECT) and
+   * version 0 is updated in place with a plain UPDATE statement. Both statements are JDBC batched
+   * by the transaction.
+   */
+  private final boolean serverSideVersionShift;
+
+  // Transaction user object holding the (urn, aspect) keys written by the version shift
+  private static final String SHIFTED_KEYS_TX_KEY = "datahub.shiftedAspectKeys";
+
+  private static final String TABLE_NAME = EbeanAspectV2.class.getAnnotation(Table.class).name();
+
+  private static final String ARCHIVE_LATEST_VERSION_SQL =
+      String.format(
+          "INSERT INTO %s "
+              + "(urn, aspect, version, metadata, systemmetadata, createdon, createdby, createdfor) "
+              + "SELECT urn, aspect, ?, metadata, systemmetadata, createdon, createdby, createdfor "
+              + "FROM %s WHERE urn = ? AND aspect = ? AND version = %d",
+          TABLE_NAME, TABLE_NAME, ASPECT_LATEST_VERSION);
+
+  private static final String UPDATE_LATEST_VERSION_SQL =
+      String.format(
+          "UPDATE %s SET metadata = ?, systemmetadata = ?, "
+              + "createdon = ?, createdby = ?, createdfor = ? "
+              + "WHERE urn = ? AND aspect = ? AND version = %d",
+          TABLE_NAME, ASPECT_LATEST_VERSION);
+
   public EbeanAspectDao(@Nonnull final Database server, EbeanConfiguration ebeanConfiguration) {
     _server = server;
+    this.serverSideVersionShift = ebeanConfiguration.isServerSideVersionShift();
     if (ebeanConfiguration.getLocking().isEnabled()) {
       this.locks =
           CacheBuilder.newBuilder()
@@ -163,6 +192,21 @@ public class EbeanAspectDao implements AspectDao, AspectMigrationsDao {
     if (!_canWrite) {
       return 0;
     }
+
+    if (serverSideVersionShift && txContext != null && txContext.tx() != null) {
+      return shiftLatestAspect(
+          txContext.tx(),
+          urn,
+          aspectName,
+          oldAspectMetadata != null && oldTime != null,
+          newAspectMetadata,
+          newActor,
+          newImpersonator,
+          newTime,
+          newSystemMetadata,
+          nextVersion);
+    }
+
     // Save oldValue as the largest version + 1
     long largestVersion = ASPECT_LATEST_VERSION;
     if (oldAspectMetadata != null && oldTime != null) {
@@ -196,6 +240,75 @@ public class EbeanAspectDao implements AspectDao, AspectMigrationsDao {
     return largestVersion;
   }
 
+  /**
+   * Archive the current latest version as `nextVersion` and overwrite version 0 without sending the
+   * previous payload back to the database. Statements are queued on the transaction's JDBC batch;
+   * the batch is flushed when the same (urn, aspect) is written twice within the transaction so
+   * that the archive always copies the preceding write.
+   */
+  private long shiftLatestAspect(
+      @Nonnull final Transaction tx,
+      @Nonnull final String urn,
+      @Nonnull final String aspectName,
+      final boolean hasPrevious,
+      @Nonnull final String newAspectMetadata,
+      @Nonnull final String newActor,
+      @Nullable final String newImpersonator,
+      @Nonnull final Timestamp newTime,
+      @Nullable final String newSystemMetadata,
+      final Long nextVersion) {
+
+    @SuppressWarnings("unchecked")
+    Set<String> shiftedKeys = (Set<String>) tx.getUserObject(SHIFTED_KEYS_TX_KEY);
+    if (shiftedKeys == null) {
+      shiftedKeys = new HashSet<>();
+      tx.putUserObject(SHIFTED_KEYS_TX_KEY, shiftedKeys);
+    }
+    if (!shiftedKeys.add(urn + "|" + aspectName)) {
+      tx.flush();
+      shiftedKeys.clear();
+      shiftedKeys.add(urn + "|" + aspectName);
+    }
+
+    if (!hasPrevious) {
+      saveAspect(
+          TransactionContext.empty(tx, 0),
+          urn,
+          aspectName,
+          newAspectMetadata,
+          newActor,
+          newImpersonator,
+          newTime,
+          newSystemMetadata,
+          ASPECT_LATEST_VERSION,
+          true);
+      return ASPECT_LATEST_VERSION;
+    }
+
+    _server.execute(
+        _server
+            .sqlUpdate(ARCHIVE_LATEST_VERSION_SQL)
+            .setParameter(nextVersion)
+            .setParameter(urn)
+            .setParameter(aspectName),
+        tx);
+
+    _server.execute(
+        _server
+            .sqlUpdate(UPDATE_LATEST_VERSION_SQL)
+            .setParameter(newAspectMetadata)
+            .setParameter(newSystemMetadata)
+            .setParameter(newTime)
+            .setParameter(newActor)
+            .setParameter(newImpersonator)
+            .setParameter(urn)
+            .setParameter(aspectName),
+        tx);
+
+    MetricUtils.counter(MetricRegistry.name(this.getClass(), "serverSideVersionShift")).inc();
+    return nextVersion;
+  }
+
   @Override
   public void saveAspect(
       @Nullable TransactionContext txContext,
@@ -316,6 +429,18 @@ public class EbeanAspectDao implements AspectDao, AspectMigrationsDao {
     _server.delete(ebeanAspect, txContext.tx());
   }
 
+  @Override
+  public void deleteAspects(
+      @Nullable TransactionContext txContext, @Nonnull final Collection<EntityAspect> aspects) {
+    validateConnection();
+    if (aspects.isEmpty()) {
+      return;
+    }
+    _server.deleteAll(
+        aspects.stream().map(EbeanAspectV2::fromEntityAspect).collect(Collectors.toList()),
+        txContext.tx());
+  }
+
   @Override
   public int deleteUrn(@Nullable TransactionContext txContext, @Nonnull final String urn) {
     validateConnection();
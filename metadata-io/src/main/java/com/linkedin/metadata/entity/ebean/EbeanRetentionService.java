@@ -1,6 +1,10 @@
 package com.linkedin.metadata.entity.ebean;
 
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
 import com.datahub.util.RecordUtils;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.metadata.Constants;
@@ -11,6 +15,7 @@ import com.linkedin.metadata.entity.RetentionService;
 import com.linkedin.metadata.entity.ebean.batch.AspectsBatchImpl;
 import com.linkedin.metadata.entity.retention.BulkApplyRetentionArgs;
 import com.linkedin.metadata.entity.retention.BulkApplyRetentionResult;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import com.linkedin.mxe.MetadataChangeProposal;
 import com.linkedin.retention.DataHubRetentionConfig;
 import com.linkedin.retention.Retention;
@@ -22,6 +27,7 @@ import io.ebean.Expression;
 import io.ebean.ExpressionList;
 import io.ebean.PagedList;
 import io.ebean.Query;
+import io.ebean.SqlQuery;
 import io.ebean.Transaction;
 import io.ebean.TxScope;
 import io.ebeaninternal.server.expression.Op;
@@ -29,25 +35,70 @@ import io.ebeaninternal.server.expression.SimpleExpression;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.sql.Timestamp;
 import java.time.Clock;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @RequiredArgsConstructor
 public class EbeanRetentionService<U extends ChangeMCP> extends RetentionService<U> {
+  private static final String TABLE_NAME = "metadata_aspect_v2";
+
+  // Deletes the versions of an aspect older than the policy's max versions for a range of urns,
+  // joined against the max version of each urn. The nested select lets MySQL read the table
+  // being deleted from.
+  private static final String DELETE_EXPIRED_VERSIONS_SQL =
+      String.format(
+          "DELETE FROM %1$s WHERE aspect = ? AND urn >= ? AND urn <= ? AND version <> %2$d "
+              + "AND (urn, version) IN (SELECT urn, version FROM ("
+              + "SELECT v.urn, v.version FROM %1$s v JOIN ("
+              + "SELECT urn, MAX(version) AS max_version FROM %1$s "
+              + "WHERE aspect = ? AND urn >= ? AND urn <= ? GROUP BY urn) m ON v.urn = m.urn "
+              + "WHERE v.aspect = ? AND v.version <> %2$d "
+              + "AND v.version <= m.max_version - ?) expired)",
+          TABLE_NAME, Constants.ASPECT_LATEST_VERSION);
+
+  private static final String DELETE_EXPIRED_TIME_SQL =
+      String.format(
+          "DELETE FROM %s WHERE aspect = ? AND urn >= ? AND urn <= ? AND version <> %d "
+              + "AND createdon < ?",
+          TABLE_NAME, Constants.ASPECT_LATEST_VERSION);
+
+  private static final Meter ROWS_RECLAIMED =
+      MetricUtils.get().meter(MetricRegistry.name(EbeanRetentionService.class, "rowsReclaimed"));
+
   private final EntityService<U> _entityService;
   private final Database _server;
   private final int _batchSize;
 
   private final Clock _clock = Clock.systemUTC();
 
+  /**
+   * Apply retention to all records with a delete statement per aspect and chunk of urns, rather
+   * than per (urn, aspect) pair
+   */
+  @Setter private boolean setBasedRetention = false;
+
+  /** Number of chunks of urns retention is applied to concurrently in set based mode */
+  @Setter private int setBasedParallelism = 1;
+
+  /** Rate limit of the chunks of urns retention is applied to in set based mode, 0 is unlimited */
+  @Setter private double setBasedChunksPerSecond = 0;
+
   @Override
   public EntityService<U> getEntityService() {
     return _entityService;
@@ -218,6 +269,11 @@ public class EbeanRetentionService<U extends ChangeMCP> extends RetentionService
   @Override
   @WithSpan
   public void batchApplyRetention(@Nullable String entityName, @Nullable String aspectName) {
+    if (setBasedRetention) {
+      setBasedApplyRetention(entityName, aspectName);
+      return;
+    }
+
     log.debug("Applying retention to all records");
     int numCandidates = queryCandidates(null, entityName, aspectName).findCount();
     log.info("Found {} urn, aspect pair with more than 1 version", numCandidates);
@@ -234,6 +290,222 @@ public class EbeanRetentionService<U extends ChangeMCP> extends RetentionService
     log.info("Finished applying retention to all records");
   }
 
+  /**
+   * Apply retention to all records in chunks of urns, each chunk with a single delete per aspect
+   * instead of a max version lookup and a delete per (urn, aspect) pair. The chunks are read in urn
+   * order and applied concurrently, at most {@link #setBasedChunksPerSecond} a second.
+   */
+  private void setBasedApplyRetention(@Nullable String entityName, @Nullable String aspectName) {
+    log.info("Applying set based retention to all records");
+    final long startTime = System.currentTimeMillis();
+    final Map<String, DataHubRetentionConfig> retentionPolicyMap = getAllRetentionPolicies();
+    final RateLimiter rateLimiter =
+        setBasedChunksPerSecond > 0 ? RateLimiter.create(setBasedChunksPerSecond) : null;
+    final AtomicLong rowsReclaimed = new AtomicLong();
+    final AtomicInteger chunksFailed = new AtomicInteger();
+
+    // Bounded, so that the chunks are not read faster than they are applied
+    final ExecutorService executor =
+        new ThreadPoolExecutor(
+            setBasedParallelism,
+            setBasedParallelism,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(setBasedParallelism),
+            new ThreadFactoryBuilder().setNameFormat("retention-%d").build(),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    int chunks = 0;
+    try {
+      String lastUrn = "";
+      List<String> urns;
+      do {
+        urns = getUrnsWithVersions(entityName, aspectName, lastUrn);
+        for (UrnRange chunk : toChunks(urns)) {
+          if (rateLimiter != null) {
+            rateLimiter.acquire();
+          }
+          executor.execute(
+              () -> {
+                try {
+                  rowsReclaimed.addAndGet(applyRetention(chunk, aspectName, retentionPolicyMap));
+                } catch (RuntimeException e) {
+                  chunksFailed.incrementAndGet();
+                  log.error(
+                      "Failed to apply retention to urns {} through {}",
+                      chunk.firstUrn,
+                      chunk.lastUrn,
+                      e);
+                }
+              });
+          chunks++;
+        }
+        if (!urns.isEmpty()) {
+          lastUrn = urns.get(urns.size() - 1);
+        }
+      } while (urns.size() == _batchSize);
+    } finally {
+      executor.shutdown();
+      try {
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    final long elapsedMs = Math.max(System.currentTimeMillis() - startTime, 1);
+    log.info(
+        "Finished applying set based retention to {} chunks of urns, {} failed. Reclaimed {} rows"
+            + " in {} ms, {} rows/s",
+        chunks,
+        chunksFailed.get(),
+        rowsReclaimed.get(),
+        elapsedMs,
+        rowsReclaimed.get() * 1000 / elapsedMs);
+  }
+
+  /**
+   * @return the next page of urns with versions other than the latest, after the last urn
+   */
+  private List<String> getUrnsWithVersions(
+      @Nullable String entityName, @Nullable String aspectName, @Nonnull String lastUrn) {
+    final StringBuilder sql =
+        new StringBuilder("SELECT DISTINCT urn FROM ")
+            .append(TABLE_NAME)
+            .append(" WHERE version <> ")
+            .append(Constants.ASPECT_LATEST_VERSION)
+            .append(" AND urn > ?");
+    if (entityName != null) {
+      sql.append(" AND urn LIKE ?");
+    }
+    if (aspectName != null) {
+      sql.append(" AND aspect = ?");
+    }
+    sql.append(" ORDER BY urn");
+
+    final SqlQuery query = _server.sqlQuery(sql.toString()).setParameter(lastUrn);
+    if (entityName != null) {
+      query.setParameter(String.format("urn:li:%s:%%", entityName));
+    }
+    if (aspectName != null) {
+      query.setParameter(aspectName);
+    }
+    return query.setMaxRows(_batchSize).findList().stream()
+        .map(row -> row.getString(EbeanAspectV2.URN_COLUMN))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Split a page of urns, in urn order, into ranges of urns of the same entity type, since the
+   * retention policy depends on the entity type.
+   */
+  private static List<UrnRange> toChunks(@Nonnull List<String> urns) {
+    final List<UrnRange> chunks = new ArrayList<>();
+    UrnRange current = null;
+    for (String urnStr : urns) {
+      final String entityType;
+      try {
+        entityType = Urn.createFromString(urnStr).getEntityType();
+      } catch (Exception e) {
+        log.error("Failed to serialize urn {}", urnStr, e);
+        continue;
+      }
+      if (current != null && current.entityType.equals(entityType)) {
+        current.lastUrn = urnStr;
+      } else {
+        current = new UrnRange(entityType, urnStr);
+        chunks.add(current);
+      }
+    }
+    return chunks;
+  }
+
+  /**
+   * Apply the retention policies of the aspects of a range of urns.
+   *
+   * @return the number of rows deleted
+   */
+  private int applyRetention(
+      @Nonnull UrnRange chunk,
+      @Nullable String aspectName,
+      @Nonnull Map<String, DataHubRetentionConfig> retentionPolicyMap) {
+    final List<String> aspectNames =
+        aspectName != null ? List.of(aspectName) : getAspectsWithVersions(chunk);
+
+    int rowsDeleted = 0;
+    for (String aspect : aspectNames) {
+      final Optional<Retention> retentionPolicy =
+          getRetentionKeys(chunk.entityType, aspect).stream()
+              .map(key -> retentionPolicyMap.get(key.toString()))
+              .filter(Objects::nonNull)
+              .findFirst()
+              .map(DataHubRetentionConfig::getRetention);
+      if (retentionPolicy.isEmpty()) {
+        continue;
+      }
+
+      if (retentionPolicy.get().hasVersion()) {
+        rowsDeleted +=
+            _server
+                .sqlUpdate(DELETE_EXPIRED_VERSIONS_SQL)
+                .setParameter(aspect)
+                .setParameter(chunk.firstUrn)
+                .setParameter(chunk.lastUrn)
+                .setParameter(aspect)
+                .setParameter(chunk.firstUrn)
+                .setParameter(chunk.lastUrn)
+                .setParameter(aspect)
+                .setParameter(retentionPolicy.get().getVersion().getMaxVersions())
+                .execute();
+      }
+
+      if (retentionPolicy.get().hasTime()) {
+        rowsDeleted +=
+            _server
+                .sqlUpdate(DELETE_EXPIRED_TIME_SQL)
+                .setParameter(aspect)
+                .setParameter(chunk.firstUrn)
+                .setParameter(chunk.lastUrn)
+                .setParameter(
+                    new Timestamp(
+                        _clock.millis()
+                            - retentionPolicy.get().getTime().getMaxAgeInSeconds() * 1000L))
+                .execute();
+      }
+    }
+
+    ROWS_RECLAIMED.mark(rowsDeleted);
+    log.debug(
+        "Reclaimed {} rows of urns {} through {}", rowsDeleted, chunk.firstUrn, chunk.lastUrn);
+    return rowsDeleted;
+  }
+
+  private List<String> getAspectsWithVersions(@Nonnull UrnRange chunk) {
+    return _server
+        .sqlQuery(
+            String.format(
+                "SELECT DISTINCT aspect FROM %s WHERE urn >= ? AND urn <= ? AND version <> %d",
+                TABLE_NAME, Constants.ASPECT_LATEST_VERSION))
+        .setParameter(chunk.firstUrn)
+        .setParameter(chunk.lastUrn)
+        .findList()
+        .stream()
+        .map(row -> row.getString(EbeanAspectV2.ASPECT_COLUMN))
+        .collect(Collectors.toList());
+  }
+
+  /** Range of urns of an entity type, inclusive */
+  private static class UrnRange {
+    private final String entityType;
+    private final String firstUrn;
+    private String lastUrn;
+
+    private UrnRange(@Nonnull String entityType, @Nonnull String urn) {
+      this.entityType = entityType;
+      this.firstUrn = urn;
+      this.lastUrn = urn;
+    }
+  }
+
   @Override
   public BulkApplyRetentionResult batchApplyRetentionEntities(
       @Nonnull BulkApplyRetentionArgs args) {
@@ -875,8 +875,9 @@ public class ESGraphQueryDAO {
 
   // Given set of edges and the search response, extract all valid edges that originate from the
   // input entityUrns
+  @VisibleForTesting
   @WithSpan
-  private static List<LineageRelationship> extractRelationships(
+  static List<LineageRelationship> extractRelationships(
       @Nonnull Set<Urn> entityUrns,
       @Nonnull SearchResponse searchResponse,
       Set<Pair<String, EdgeInfo>> validEdges,
@@ -4,7 +4,6 @@ import com.codahale.metrics.Timer;
 import com.datahub.util.Statement;
 import com.datahub.util.exception.RetryLimitReached;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.linkedin.common.UrnArray;
 import com.linkedin.common.UrnArrayArray;
@@ -35,15 +34,18 @@ import com.linkedin.util.Pair;
 import io.datahubproject.metadata.context.OperationContext;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import javax.annotation.Nonnull;
@@ -52,7 +54,6 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.time.StopWatch;
-import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.Record;
@@ -66,6 +67,23 @@ import org.neo4j.driver.types.Relationship;
 public class Neo4jGraphService implements GraphService {
 
   private static final int MAX_TRANSACTION_RETRY = 3;
+  private static final int MAX_EDGES_PER_STATEMENT = 1000;
+  private static final Set<String> PRESERVED_PROPERTY_KEYS =
+      Set.of("createdOn", "createdActor", "updatedOn", "updatedActor", "startUrn", "endUrn");
+  private static final String MERGE_EDGES_TEMPLATE =
+      "UNWIND $edges AS e "
+          + "MERGE (source:%s {urn: e.sourceUrn}) "
+          + "MERGE (destination:%s {urn: e.destinationUrn}) "
+          + "MERGE (source)-[:%s]->(destination) "
+          + "MERGE (source)-[r:%s]->(destination) "
+          + "SET r += e.properties";
+  private static final String MERGE_REVERSED_EDGES_TEMPLATE =
+      "UNWIND $edges AS e "
+          + "MERGE (source:%s {urn: e.sourceUrn}) "
+          + "MERGE (destination:%s {urn: e.destinationUrn}) "
+          + "MERGE (source)-[:%s]->(destination) "
+          + "MERGE (destination)-[r:%s]->(source) "
+          + "SET r += e.properties";
   private final LineageRegistry _lineageRegistry;
   private final Driver _driver;
   private SessionConfig _sessionConfig;
@@ -90,78 +108,85 @@ public class Neo4jGraphService implements GraphService {
 
   @Override
   public void addEdge(@Nonnull final Edge edge) {
+    addEdges(List.of(edge));
+  }
 
-    log.debug(
-        String.format(
-            "Adding Edge source: %s, destination: %s, type: %s",
-            edge.getSource(), edge.getDestination(), edge.getRelationshipType()));
-
-    final String sourceType = edge.getSource().getEntityType();
-    final String destinationType = edge.getDestination().getEntityType();
-    final String sourceUrn = edge.getSource().toString();
-    final String destinationUrn = edge.getDestination().toString();
+  /**
+   * Adds the edges in a single write transaction. Labels and relationship types cannot be
+   * parameters of a Cypher statement, the edges are grouped by source label, destination label,
+   * relationship type and direction, and each group is merged by one UNWIND statement taking the
+   * urns and properties of its edges as parameters. The statement text of a group is constant so
+   * its plan is cached by Neo4j across calls.
+   */
+  @Override
+  public void addEdges(@Nonnull final Collection<Edge> edges) {
+    if (edges.isEmpty()) {
+      return;
+    }
 
-    // Introduce startUrn, endUrn for real source node and destination node without consider direct
-    // or indirect pattern match
-    String endUrn = destinationUrn;
-    String startUrn = sourceUrn;
-    // Extra relationship typename start with r_ for
-    // direct-outgoing-downstream/indirect-incoming-upstream relationships
-    String reverseRelationshipType = "r_" + edge.getRelationshipType();
+    final Map<String, List<Map<String, Object>>> edgesByStatement = new LinkedHashMap<>();
+    for (Edge edge : edges) {
+      log.debug(
+          String.format(
+              "Adding Edge source: %s, destination: %s, type: %s",
+              edge.getSource(), edge.getDestination(), edge.getRelationshipType()));
+
+      final String sourceType = edge.getSource().getEntityType();
+      final boolean reversed = isSourceDestReversed(sourceType, edge.getRelationshipType());
+      // Extra relationship typename start with r_ for
+      // direct-outgoing-downstream/indirect-incoming-upstream relationships
+      final String statement =
+          String.format(
+              reversed ? MERGE_REVERSED_EDGES_TEMPLATE : MERGE_EDGES_TEMPLATE,
+              sourceType,
+              edge.getDestination().getEntityType(),
+              edge.getRelationshipType(),
+              "r_" + edge.getRelationshipType());
+      edgesByStatement
+          .computeIfAbsent(statement, k -> new ArrayList<>())
+          .add(toEdgeParameters(edge, reversed));
+    }
 
-    final String createOrFindSourceNode =
-        String.format("MERGE (source:%s {urn: '%s'})", sourceType, sourceUrn);
-    final String createOrFindDestinationNode =
-        String.format("MERGE (destination:%s {urn: '%s'})", destinationType, destinationUrn);
-    final String createSourceToDestinationRelationShip =
-        String.format("MERGE (source)-[:%s]->(destination)", edge.getRelationshipType());
-    String createReverseRelationShip =
-        String.format("MERGE (source)-[r:%s]->(destination)", reverseRelationshipType);
+    final List<Statement> statements = new ArrayList<>();
+    edgesByStatement.forEach(
+        (statement, edgeParameters) -> {
+          for (List<Map<String, Object>> batch :
+              Iterables.partition(edgeParameters, MAX_EDGES_PER_STATEMENT)) {
+            statements.add(buildStatement(statement, new HashMap<>(Map.of("edges", batch))));
+          }
+        });
+    executeStatements(statements);
+  }
 
-    if (isSourceDestReversed(sourceType, edge.getRelationshipType())) {
-      endUrn = sourceUrn;
-      startUrn = destinationUrn;
-      createReverseRelationShip =
-          String.format("MERGE (destination)-[r:%s]->(source)", reverseRelationshipType);
-    }
+  /** Urns and relationship properties of an edge, the entry of the UNWIND list. */
+  private static Map<String, Object> toEdgeParameters(@Nonnull Edge edge, boolean reversed) {
+    final String sourceUrn = edge.getSource().toString();
+    final String destinationUrn = edge.getDestination().toString();
 
-    // Add/Update relationship properties
-    String setCreatedOnTemplate;
-    String setcreatedActorTemplate;
-    String setupdatedOnTemplate;
-    String setupdatedActorTemplate;
-    String setPropertyTemplate;
-    final StringJoiner propertiesTemplateJoiner = new StringJoiner(", ");
+    final Map<String, Object> properties = new HashMap<>();
     if (edge.getCreatedOn() != null) {
-      setCreatedOnTemplate = String.format("r.createdOn = %s", edge.getCreatedOn());
-      propertiesTemplateJoiner.add(setCreatedOnTemplate);
+      properties.put("createdOn", edge.getCreatedOn());
     }
     if (edge.getCreatedActor() != null) {
-      setcreatedActorTemplate = String.format("r.createdActor = '%s'", edge.getCreatedActor());
-      propertiesTemplateJoiner.add(setcreatedActorTemplate);
+      properties.put("createdActor", edge.getCreatedActor().toString());
     }
     if (edge.getUpdatedOn() != null) {
-      setupdatedOnTemplate = String.format("r.updatedOn = %s", edge.getUpdatedOn());
-      propertiesTemplateJoiner.add(setupdatedOnTemplate);
+      properties.put("updatedOn", edge.getUpdatedOn());
     }
     if (edge.getUpdatedActor() != null) {
-      setupdatedActorTemplate = String.format("r.updatedActor = '%s'", edge.getUpdatedActor());
-      propertiesTemplateJoiner.add(setupdatedActorTemplate);
+      properties.put("updatedActor", edge.getUpdatedActor().toString());
     }
     if (edge.getProperties() != null) {
       for (Map.Entry<String, Object> entry : edge.getProperties().entrySet()) {
         // Make sure extra keys in properties are not preserved
-        final Set<String> preservedKeySet =
-            Set.of("createdOn", "createdActor", "updatedOn", "updatedActor", "startUrn", "endUrn");
-        if (preservedKeySet.contains(entry.getKey())) {
+        if (PRESERVED_PROPERTY_KEYS.contains(entry.getKey())) {
           throw new UnsupportedOperationException(
               String.format(
                   "Tried setting properties on graph edge but property key is preserved. Key: %s",
                   entry.getKey()));
         }
         if (entry.getValue() instanceof String) {
-          setPropertyTemplate = String.format("r.%s = '%s'", entry.getKey(), entry.getValue());
-          propertiesTemplateJoiner.add(setPropertyTemplate);
+          properties.put(entry.getKey(), entry.getValue());
         } else {
           throw new UnsupportedOperationException(
               String.format(
@@ -170,26 +195,21 @@ public class Neo4jGraphService implements GraphService {
         }
       }
     }
-    final String setStartEndUrnTemplate =
-        String.format("r.startUrn = '%s', r.endUrn = '%s'", startUrn, endUrn);
-    propertiesTemplateJoiner.add(setStartEndUrnTemplate);
-
-    StringBuilder finalStatement = new StringBuilder();
-    finalStatement
-        .append(createOrFindSourceNode)
-        .append(" ")
-        .append(createOrFindDestinationNode)
-        .append(" ")
-        .append(createSourceToDestinationRelationShip)
-        .append(" ")
-        .append(createReverseRelationShip)
-        .append(" ");
-    if (!StringUtils.isEmpty(propertiesTemplateJoiner.toString())) {
-      finalStatement.append("SET ").append(propertiesTemplateJoiner);
-    }
-    final List<Statement> statements = new ArrayList<>();
-    statements.add(buildStatement(finalStatement.toString(), new HashMap<>()));
-    executeStatements(statements);
+    // startUrn, endUrn for real source node and destination node without consider direct or
+    // indirect pattern match
+    properties.put("startUrn", reversed ? destinationUrn : sourceUrn);
+    properties.put("endUrn", reversed ? sourceUrn : destinationUrn);
+
+    final Map<String, Object> parameters = new HashMap<>();
+    parameters.put("sourceUrn", sourceUrn);
+    parameters.put("destinationUrn", destinationUrn);
+    parameters.put("properties", properties);
+    return parameters;
+  }
+
+  @Override
+  public void upsertEdges(@Nonnull final Collection<Edge> edges) {
+    addEdges(edges);
   }
 
   @Override
@@ -226,26 +246,21 @@ public class Neo4jGraphService implements GraphService {
 
     // DELETE relationship
     final String mergeRelationshipTemplate =
-        "MATCH (source:%s {urn: '%s'})-[r:%s]->(destination:%s {urn: '%s'}) DELETE r";
+        "MATCH (source:%s {urn: $sourceUrn})-[r:%s]->(destination:%s {urn: $destinationUrn}) "
+            + "DELETE r";
     final String statement =
         String.format(
-            mergeRelationshipTemplate,
-            sourceType,
-            sourceUrn,
-            edge.getRelationshipType(),
-            destinationType,
-            destinationUrn);
+            mergeRelationshipTemplate, sourceType, edge.getRelationshipType(), destinationType);
     final String statementR =
-        String.format(
-            mergeRelationshipTemplate,
-            startType,
-            startUrn,
-            reverseRelationshipType,
-            endType,
-            endUrn);
-
-    statements.add(buildStatement(statement, new HashMap<>()));
-    statements.add(buildStatement(statementR, new HashMap<>()));
+        String.format(mergeRelationshipTemplate, startType, reverseRelationshipType, endType);
+
+    statements.add(
+        buildStatement(
+            statement,
+            new HashMap<>(Map.of("sourceUrn", sourceUrn, "destinationUrn", destinationUrn))));
+    statements.add(
+        buildStatement(
+            statementR, new HashMap<>(Map.of("sourceUrn", startUrn, "destinationUrn", endUrn))));
     executeStatements(statements);
   }
 
@@ -274,7 +289,7 @@ public class Neo4jGraphService implements GraphService {
 
     List<Record> neo4jResult =
         statement != null
-            ? runQuery(buildStatement(statement, parameters)).list()
+            ? runQuery(buildStatement(statement, parameters), Result::list)
             : new ArrayList<>();
 
     LineageRelationshipArray relations = new LineageRelationshipArray();
@@ -472,9 +487,12 @@ public class Neo4jGraphService implements GraphService {
       return new RelatedEntitiesResult(offset, 0, 0, Collections.emptyList());
     }
 
-    final String srcCriteria = filterToCriteria(sourceEntityFilter).trim();
-    final String destCriteria = filterToCriteria(destinationEntityFilter).trim();
-    final String edgeCriteria = relationshipFilterToCriteria(relationshipFilter);
+    final Map<String, Object> criteriaParams = new HashMap<>();
+    final String srcCriteria = filterToCriteria(sourceEntityFilter, "src", criteriaParams).trim();
+    final String destCriteria =
+        filterToCriteria(destinationEntityFilter, "dest", criteriaParams).trim();
+    final String edgeCriteria =
+        relationshipFilterToCriteria(relationshipFilter, "r", criteriaParams);
 
     final RelationshipDirection relationshipDirection = relationshipFilter.getDirection();
 
@@ -540,25 +558,29 @@ public class Neo4jGraphService implements GraphService {
     final String countStatementString = String.format("%s %s", baseStatementString, returnCount);
 
     // Build Statements
-    final Statement resultStatement =
-        new Statement(resultStatementString, ImmutableMap.of("offset", offset, "count", count));
-    final Statement countStatement = new Statement(countStatementString, Collections.emptyMap());
+    final Map<String, Object> resultParams = new HashMap<>(criteriaParams);
+    resultParams.put("offset", offset);
+    resultParams.put("count", count);
+    final Statement resultStatement = new Statement(resultStatementString, resultParams);
+    final Statement countStatement = new Statement(countStatementString, criteriaParams);
 
     // Execute Queries
     final List<RelatedEntity> relatedEntities =
-        runQuery(resultStatement)
-            .list(
-                record ->
-                    new RelatedEntity(
-                        record.values().get(1).asString(), // Relationship Type
-                        record
-                            .values()
-                            .get(0)
-                            .asNode()
-                            .get("urn")
-                            .asString(), // Urn TODO: Validate this works against Neo4j.
-                        null));
-    final int totalCount = runQuery(countStatement).single().get(0).asInt();
+        runQuery(
+            resultStatement,
+            result ->
+                result.list(
+                    record ->
+                        new RelatedEntity(
+                            record.values().get(1).asString(), // Relationship Type
+                            record
+                                .values()
+                                .get(0)
+                                .asNode()
+                                .get("urn")
+                                .asString(), // Urn TODO: Validate this works against Neo4j.
+                            null)));
+    final int totalCount = runQuery(countStatement, result -> result.single().get(0).asInt());
     return new RelatedEntitiesResult(offset, relatedEntities.size(), totalCount, relatedEntities);
   }
 
@@ -604,7 +626,7 @@ public class Neo4jGraphService implements GraphService {
     final Map<String, Object> params = new HashMap<>();
     params.put("urn", urn.toString());
 
-    runQuery(buildStatement(statement, params)).consume();
+    runQuery(buildStatement(statement, params), Result::consume);
   }
 
   /**
@@ -649,7 +671,9 @@ public class Neo4jGraphService implements GraphService {
     final Map<String, Object> params = new HashMap<>();
     params.put("urn", urn.toString());
     List<Record> neo4jResult =
-        statement != null ? runQuery(buildStatement(statement, params)).list() : new ArrayList<>();
+        statement != null
+            ? runQuery(buildStatement(statement, params), Result::list)
+            : new ArrayList<>();
     if (!neo4jResult.isEmpty()) {
       String removeMode = neo4jResult.get(0).values().get(2).toString();
       if (removeMode.equals("2")) {
@@ -664,7 +688,7 @@ public class Neo4jGraphService implements GraphService {
         }
         final String statementNoDirection =
             String.format(matchDeleteTemplate, srcNodeLabel, relationshipTypeFilter);
-        runQuery(buildStatement(statementNoDirection, params)).consume();
+        runQuery(buildStatement(statementNoDirection, params), Result::consume);
       } else {
         for (Record typeDest : neo4jResult) {
           String relationshipType = typeDest.values().get(0).asString();
@@ -688,7 +712,7 @@ public class Neo4jGraphService implements GraphService {
 
     final Map<String, Object> params = new HashMap<>();
 
-    runQuery(buildStatement(statement, params)).consume();
+    runQuery(buildStatement(statement, params), Result::consume);
   }
 
   @Override
@@ -698,7 +722,7 @@ public class Neo4jGraphService implements GraphService {
 
   @VisibleForTesting
   public void wipe() {
-    runQuery(new Statement("MATCH (n) DETACH DELETE n", Map.of())).consume();
+    runQuery(new Statement("MATCH (n) DETACH DELETE n", Map.of()), Result::consume);
   }
 
   // visible for testing
@@ -765,39 +789,36 @@ public class Neo4jGraphService implements GraphService {
   }
 
   /**
-   * Runs a query statement with parameters and return StatementResult.
+   * Runs a query statement with parameters and maps its result. The session is closed once the
+   * result is mapped, returning its connection to the pool of the driver.
    *
    * @param statement a statement with parameters to be executed
-   * @return list of elements in the query result
+   * @param resultMapper consumes the result, called before the session is closed
+   * @return the mapped result
    */
-  @Nonnull
-  private Result runQuery(@Nonnull Statement statement) {
+  private <T> T runQuery(@Nonnull Statement statement, @Nonnull Function<Result, T> resultMapper) {
     log.debug(String.format("Running Neo4j query %s", statement.toString()));
-    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "runQuery").time()) {
-      return _driver.session(_sessionConfig).run(statement.getCommandText(), statement.getParams());
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "runQuery").time();
+        Session session = _driver.session(_sessionConfig)) {
+      return resultMapper.apply(session.run(statement.getCommandText(), statement.getParams()));
     }
   }
 
-  // Returns "key:value" String, if value is not primitive, then use toString() and double quote it
-  @Nonnull
-  private static String toCriterionString(@Nonnull String key, @Nonnull Object value) {
-    if (ClassUtils.isPrimitiveOrWrapper(value.getClass())) {
-      return key + ":" + value;
-    }
-
-    return key + ":\"" + value.toString() + "\"";
-  }
-
   /**
    * Converts {@link RelationshipFilter} to neo4j query criteria, filter criterion condition
    * requires to be EQUAL.
    *
    * @param filter Query relationship filter
+   * @param paramPrefix prefix of the parameters bound to the criterion values
+   * @param params parameters of the statement, the criterion values are added to
    * @return Neo4j criteria string
    */
   @Nonnull
-  private static String relationshipFilterToCriteria(@Nonnull RelationshipFilter filter) {
-    return disjunctionToCriteria(filter.getOr());
+  private static String relationshipFilterToCriteria(
+      @Nonnull RelationshipFilter filter,
+      @Nonnull String paramPrefix,
+      @Nonnull Map<String, Object> params) {
+    return disjunctionToCriteria(filter.getOr(), paramPrefix, params);
   }
 
   /**
@@ -805,14 +826,20 @@ public class Neo4jGraphService implements GraphService {
    * EQUAL.
    *
    * @param filter Query Filter
+   * @param paramPrefix prefix of the parameters bound to the criterion values
+   * @param params parameters of the statement, the criterion values are added to
    * @return Neo4j criteria string
    */
   @Nonnull
-  private static String filterToCriteria(@Nonnull Filter filter) {
-    return disjunctionToCriteria(filter.getOr());
+  private static String filterToCriteria(
+      @Nonnull Filter filter, @Nonnull String paramPrefix, @Nonnull Map<String, Object> params) {
+    return disjunctionToCriteria(filter.getOr(), paramPrefix, params);
   }
 
-  private static String disjunctionToCriteria(final ConjunctiveCriterionArray disjunction) {
+  private static String disjunctionToCriteria(
+      final ConjunctiveCriterionArray disjunction,
+      @Nonnull String paramPrefix,
+      @Nonnull Map<String, Object> params) {
     if (disjunction.size() > 1) {
       // TODO: Support disjunctions (ORs).
       throw new UnsupportedOperationException(
@@ -820,17 +847,23 @@ public class Neo4jGraphService implements GraphService {
     }
     final CriterionArray criterionArray =
         disjunction.size() > 0 ? disjunction.get(0).getAnd() : new CriterionArray();
-    return criterionToString(criterionArray);
+    return criterionToString(criterionArray, paramPrefix, params);
   }
 
   /**
-   * Converts {@link CriterionArray} to neo4j query string.
+   * Converts {@link CriterionArray} to neo4j query string. The values are bound as parameters, so
+   * the statement text does not depend on them.
    *
    * @param criterionArray CriterionArray in a Filter
+   * @param paramPrefix prefix of the parameters bound to the criterion values
+   * @param params parameters of the statement, the criterion values are added to
    * @return Neo4j criteria string
    */
   @Nonnull
-  private static String criterionToString(@Nonnull CriterionArray criterionArray) {
+  private static String criterionToString(
+      @Nonnull CriterionArray criterionArray,
+      @Nonnull String paramPrefix,
+      @Nonnull Map<String, Object> params) {
     if (!criterionArray.stream()
         .allMatch(criterion -> Condition.EQUAL.equals(criterion.getCondition()))) {
       throw new RuntimeException(
@@ -839,9 +872,11 @@ public class Neo4jGraphService implements GraphService {
 
     final StringJoiner joiner = new StringJoiner(",", "{", "}");
 
-    criterionArray.forEach(
-        criterion ->
-            joiner.add(toCriterionString(criterion.getField(), criterion.getValues().get(0))));
+    for (int i = 0; i < criterionArray.size(); i++) {
+      final String paramName = paramPrefix + "_" + i;
+      joiner.add(criterionArray.get(i).getField() + ":$" + paramName);
+      params.put(paramName, criterionArray.get(i).getValues().get(0));
+    }
 
     return joiner.length() <= 2 ? "" : joiner.toString();
   }
@@ -927,9 +962,12 @@ public class Neo4jGraphService implements GraphService {
       return new RelatedEntitiesScrollResult(0, 0, null, Collections.emptyList());
     }
 
-    final String srcCriteria = filterToCriteria(sourceEntityFilter).trim();
-    final String destCriteria = filterToCriteria(destinationEntityFilter).trim();
-    final String edgeCriteria = relationshipFilterToCriteria(relationshipFilter);
+    final Map<String, Object> criteriaParams = new HashMap<>();
+    final String srcCriteria = filterToCriteria(sourceEntityFilter, "src", criteriaParams).trim();
+    final String destCriteria =
+        filterToCriteria(destinationEntityFilter, "dest", criteriaParams).trim();
+    final String edgeCriteria =
+        relationshipFilterToCriteria(relationshipFilter, "r", criteriaParams);
 
     final RelationshipDirection relationshipDirection = relationshipFilter.getDirection();
 
@@ -1000,22 +1038,26 @@ public class Neo4jGraphService implements GraphService {
     }
 
     // Build Statements
-    final Statement resultStatement =
-        new Statement(resultStatementString, ImmutableMap.of("offset", offset, "count", count));
-    final Statement countStatement = new Statement(countStatementString, Collections.emptyMap());
+    final Map<String, Object> resultParams = new HashMap<>(criteriaParams);
+    resultParams.put("offset", offset);
+    resultParams.put("count", count);
+    final Statement resultStatement = new Statement(resultStatementString, resultParams);
+    final Statement countStatement = new Statement(countStatementString, criteriaParams);
 
     // Execute Queries
     final List<RelatedEntities> relatedEntities =
-        runQuery(resultStatement)
-            .list(
-                record ->
-                    new RelatedEntities(
-                        record.values().get(2).asString(), // Relationship Type
-                        record.values().get(0).asNode().get("urn").asString(),
-                        record.values().get(1).asNode().get("urn").asString(),
-                        relationshipDirection,
-                        null));
-    final int totalCount = runQuery(countStatement).single().get(0).asInt();
+        runQuery(
+            resultStatement,
+            result ->
+                result.list(
+                    record ->
+                        new RelatedEntities(
+                            record.values().get(2).asString(), // Relationship Type
+                            record.values().get(0).asNode().get("urn").asString(),
+                            record.values().get(1).asNode().get("urn").asString(),
+                            relationshipDirection,
+                            null)));
+    final int totalCount = runQuery(countStatement, result -> result.single().get(0).asInt());
     log.info("Total Related Entities: {}", totalCount);
     // return new RelatedEntitiesResult(0, relatedEntities.size(), totalCount, relatedEntities);
     String nextScrollId = null;
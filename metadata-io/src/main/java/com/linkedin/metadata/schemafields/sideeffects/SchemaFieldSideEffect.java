@@ -66,6 +66,21 @@ public class SchemaFieldSideEffect extends MCPSideEffect {
   private static final Set<String> REQUIRED_ASPECTS =
       Set.of(SCHEMA_METADATA_ASPECT_NAME, STATUS_ASPECT_NAME);
 
+  private static final Map<String, Set<String>> DEPENDENT_FIELD_PATHS =
+      Map.of(
+          SCHEMA_METADATA_ASPECT_NAME, Set.of("/fields"), STATUS_ASPECT_NAME, Set.of("/removed"));
+
+  @Override
+  protected Set<String> getDependentFieldPaths(@Nonnull String aspectName) {
+    return DEPENDENT_FIELD_PATHS.getOrDefault(aspectName, Set.of());
+  }
+
+  /** System updates regenerate the schema field aspects even if the fields did not change */
+  @Override
+  protected boolean isDependencyChanged(@Nonnull MCLItem item) {
+    return isSystemUpdate(item.getSystemMetadata()) || super.isDependencyChanged(item);
+  }
+
   @Override
   protected Stream<ChangeMCP> applyMCPSideEffect(
       Collection<ChangeMCP> changeMCPs, @Nonnull RetrieverContext retrieverContext) {
@@ -0,0 +1,66 @@
+package com.linkedin.metadata.search;
+
+import static com.linkedin.metadata.aspect.patch.template.TemplateUtil.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Position of a scroll across lineage. Lineage urns are searched in batches of term filters, the
+ * cursor records the batch to resume from and the scroll id of the entity search within that batch,
+ * i.e. the point in time and search_after values of {@link
+ * com.linkedin.metadata.search.elasticsearch.query.request.SearchAfterWrapper}. Later pages only
+ * search the batches from the cursor onwards instead of every batch again.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LineageScrollCursor implements Serializable {
+  private static final String BATCH_FIELD = "batch";
+
+  /** Index of the batch of lineage urns to resume from. */
+  private int batch;
+
+  /** Scroll id within the batch, null to start the batch from its first result. */
+  @Nullable private String scrollId;
+
+  /** Total of the matches in the batches before this one. */
+  private int numEntitiesBefore;
+
+  /**
+   * Decode a lineage scroll id. Scroll ids of a plain entity scroll, as returned before lineage
+   * cursors, resume the first batch.
+   */
+  @Nonnull
+  public static LineageScrollCursor fromScrollId(@Nonnull String scrollId) {
+    final JsonNode node;
+    try {
+      node =
+          OBJECT_MAPPER.readTree(
+              Base64.getDecoder().decode(scrollId.getBytes(StandardCharsets.UTF_8)));
+    } catch (IOException | IllegalArgumentException e) {
+      throw new IllegalStateException("Invalid scroll Id cannot be mapped: " + scrollId, e);
+    }
+    if (node == null || !node.has(BATCH_FIELD)) {
+      return new LineageScrollCursor(0, scrollId, 0);
+    }
+    return OBJECT_MAPPER.convertValue(node, LineageScrollCursor.class);
+  }
+
+  @Nonnull
+  public String toScrollId() {
+    try {
+      return Base64.getEncoder().encodeToString(OBJECT_MAPPER.writeValueAsBytes(this));
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to encode LineageScrollCursor as scrollId: " + this);
+    }
+  }
+}
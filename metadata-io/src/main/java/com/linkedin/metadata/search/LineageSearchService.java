@@ -794,7 +794,9 @@ public class LineageSearchService {
         size);
   }
 
-  // Search service can only take up to 50K term filter, so query search service in batches
+  // Search service can only take up to 50K term filter, so query search service in batches. The
+  // returned scroll id is a LineageScrollCursor so that the next page resumes within its batch,
+  // reusing the point in time of that batch, rather than searching the earlier batches again.
   private LineageScrollResult getScrollResultInBatches(
       @Nonnull OperationContext opContext,
       List<LineageRelationship> lineageRelationships,
@@ -809,16 +811,24 @@ public class LineageSearchService {
         opContext.withSearchFlags(
             flags -> applyDefaultSearchFlags(flags, input, DEFAULT_SERVICE_SEARCH_FLAGS));
 
+    LineageScrollCursor cursor =
+        scrollId != null
+            ? LineageScrollCursor.fromScrollId(scrollId)
+            : new LineageScrollCursor(0, null, 0);
     LineageScrollResult finalResult =
         new LineageScrollResult()
             .setEntities(new LineageSearchEntityArray(Collections.emptyList()))
             .setMetadata(new SearchResultMetadata().setAggregations(new AggregationMetadataArray()))
             .setPageSize(size)
-            .setNumEntities(0);
+            .setNumEntities(cursor.getNumEntitiesBefore());
     List<List<LineageRelationship>> batchedRelationships =
         Lists.partition(lineageRelationships, MAX_TERMS);
+    int numEntitiesBefore = cursor.getNumEntitiesBefore();
+    String batchScrollId = cursor.getScrollId();
+    String nextScrollId = null;
     int querySize = size;
-    for (List<LineageRelationship> batch : batchedRelationships) {
+    for (int i = cursor.getBatch(); i < batchedRelationships.size(); i++) {
+      List<LineageRelationship> batch = batchedRelationships.get(i);
       List<String> entitiesToQuery =
           batch.stream()
               .map(relationship -> relationship.getEntity().getEntityType())
@@ -836,18 +846,36 @@ public class LineageSearchService {
                   input,
                   finalFilter,
                   sortCriteria,
-                  scrollId,
+                  batchScrollId,
                   keepAlive,
                   querySize),
               urnToRelationship);
-      querySize = Math.max(0, size - resultForBatch.getEntities().size());
+      // only the batch the cursor points to resumes from a scroll id, the following ones start over
+      batchScrollId = null;
+      String resultScrollId = resultForBatch.getScrollId();
+      resultForBatch.removeScrollId();
+      querySize = Math.max(0, querySize - resultForBatch.getEntities().size());
       finalResult = mergeScrollResult(finalResult, resultForBatch);
 
       if (querySize == 0) {
+        if (resultScrollId != null) {
+          nextScrollId = new LineageScrollCursor(i, resultScrollId, numEntitiesBefore).toScrollId();
+        } else if (i + 1 < batchedRelationships.size()) {
+          nextScrollId =
+              new LineageScrollCursor(
+                      i + 1, null, numEntitiesBefore + resultForBatch.getNumEntities())
+                  .toScrollId();
+        }
         break;
       }
+      numEntitiesBefore += resultForBatch.getNumEntities();
     }
 
+    if (nextScrollId != null) {
+      finalResult.setScrollId(nextScrollId);
+    } else {
+      finalResult.removeScrollId();
+    }
     finalResult.getMetadata().getAggregations().add(0, DEGREE_FILTER_GROUP);
     return finalResult.setPageSize(size);
   }
@@ -2,6 +2,7 @@ package com.linkedin.metadata.search.cache;
 
 import static com.datahub.util.RecordUtils.*;
 
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.Timer;
 import com.linkedin.metadata.search.SearchEntity;
 import com.linkedin.metadata.search.SearchEntityArray;
@@ -20,6 +21,18 @@ import org.springframework.cache.Cache;
 /** Wrapper class to allow searching in batches and caching the results. */
 @RequiredArgsConstructor
 public class CacheableSearcher<K> {
+  private static final Timer SEARCH_RESULTS_TIMER =
+      MetricUtils.timer(CacheableSearcher.class, "getSearchResults");
+  private static final Timer BATCH_TIMER = MetricUtils.timer(CacheableSearcher.class, "getBatch");
+  private static final Timer BATCH_CACHE_TIMER =
+      MetricUtils.timer(CacheableSearcher.class, "getBatch_cache");
+  private static final Timer BATCH_CACHE_ACCESS_TIMER =
+      MetricUtils.timer(CacheableSearcher.class, "getBatch_cache_access");
+  private static final Timer BATCH_CACHE_MISS_TIMER =
+      MetricUtils.timer(CacheableSearcher.class, "getBatch_cache_miss");
+  private static final Counter BATCH_CACHE_MISS_COUNTER =
+      MetricUtils.counter(CacheableSearcher.class, "getBatch_cache_miss_count");
+
   @Nonnull private final Cache cache;
   private final int batchSize;
   // Function that executes search and retrieves the search result given the query batch (from,
@@ -42,7 +55,7 @@ public class CacheableSearcher<K> {
    * corresponds to)
    */
   public SearchResult getSearchResults(@Nonnull OperationContext opContext, int from, int size) {
-    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "getSearchResults").time()) {
+    try (Timer.Context ignored = SEARCH_RESULTS_TIMER.time()) {
       int resultsSoFar = 0;
       int batchId = 0;
       boolean foundStart = false;
@@ -84,27 +97,24 @@ public class CacheableSearcher<K> {
   }
 
   private SearchResult getBatch(@Nonnull OperationContext opContext, int batchId) {
-    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "getBatch").time()) {
+    try (Timer.Context ignored = BATCH_TIMER.time()) {
       QueryPagination batch = getBatchQuerySize(batchId);
       SearchResult result;
       if (enableCache) {
         K cacheKey = cacheKeyGenerator.apply(batch);
         if ((opContext.getSearchContext().getSearchFlags().isSkipCache() == null
             || !opContext.getSearchContext().getSearchFlags().isSkipCache())) {
-          try (Timer.Context ignored2 =
-              MetricUtils.timer(this.getClass(), "getBatch_cache").time()) {
-            Timer.Context cacheAccess =
-                MetricUtils.timer(this.getClass(), "getBatch_cache_access").time();
+          try (Timer.Context ignored2 = BATCH_CACHE_TIMER.time()) {
+            Timer.Context cacheAccess = BATCH_CACHE_ACCESS_TIMER.time();
             String json = cache.get(cacheKey, String.class);
             result = json != null ? toRecordTemplate(SearchResult.class, json) : null;
             cacheAccess.stop();
             if (result == null) {
-              Timer.Context cacheMiss =
-                  MetricUtils.timer(this.getClass(), "getBatch_cache_miss").time();
+              Timer.Context cacheMiss = BATCH_CACHE_MISS_TIMER.time();
               result = searcher.apply(batch);
               cache.put(cacheKey, toJsonString(result));
               cacheMiss.stop();
-              MetricUtils.counter(this.getClass(), "getBatch_cache_miss_count").inc();
+              BATCH_CACHE_MISS_COUNTER.inc();
             }
           }
         } else {
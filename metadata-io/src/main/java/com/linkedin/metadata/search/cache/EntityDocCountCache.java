@@ -5,11 +5,11 @@ import com.linkedin.metadata.config.cache.EntityDocCountCacheConfiguration;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.search.EntitySearchService;
-import com.linkedin.metadata.utils.ConcurrencyUtils;
 import io.datahubproject.metadata.context.OperationContext;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
@@ -45,11 +45,16 @@ public class EntityDocCountCache {
 
   private Map<String, Long> fetchEntityDocCount(
       @Nonnull OperationContext opContext, @Nullable Filter filter) {
-    return ConcurrencyUtils.transformAndCollectAsync(
-        entityRegistry.getEntitySpecs().keySet(),
-        Function.identity(),
-        Collectors.toMap(
-            Function.identity(), v -> entitySearchService.docCount(opContext, v, filter)));
+    // counts are issued asynchronously, the search service batches them instead of a thread each
+    final Map<String, CompletableFuture<Long>> counts =
+        entityRegistry.getEntitySpecs().keySet().stream()
+            .collect(
+                Collectors.toMap(
+                    Function.identity(),
+                    entityName ->
+                        entitySearchService.docCountAsync(opContext, entityName, filter)));
+    return counts.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().join()));
   }
 
   @WithSpan
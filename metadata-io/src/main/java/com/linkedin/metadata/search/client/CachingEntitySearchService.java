@@ -5,6 +5,7 @@ import static com.datahub.util.RecordUtils.toRecordTemplate;
 
 import com.codahale.metrics.Timer;
 import com.linkedin.metadata.browse.BrowseResult;
+import com.linkedin.metadata.browse.BrowseResultV2;
 import com.linkedin.metadata.query.AutoCompleteResult;
 import com.linkedin.metadata.query.SearchFlags;
 import com.linkedin.metadata.query.filter.Filter;
@@ -17,6 +18,7 @@ import com.linkedin.metadata.utils.metrics.MetricUtils;
 import io.datahubproject.metadata.context.OperationContext;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
@@ -32,6 +34,8 @@ public class CachingEntitySearchService {
   private static final String ENTITY_SEARCH_SERVICE_AUTOCOMPLETE_CACHE_NAME =
       "entitySearchServiceAutoComplete";
   private static final String ENTITY_SEARCH_SERVICE_BROWSE_CACHE_NAME = "entitySearchServiceBrowse";
+  private static final String ENTITY_SEARCH_SERVICE_BROWSE_V2_CACHE_NAME =
+      "entitySearchServiceBrowseV2";
   public static final String ENTITY_SEARCH_SERVICE_SCROLL_CACHE_NAME = "entitySearchServiceScroll";
 
   private final CacheManager cacheManager;
@@ -108,6 +112,71 @@ public class CachingEntitySearchService {
     return getCachedBrowseResults(opContext, entityName, path, filters, from, size);
   }
 
+  /**
+   * Retrieves cached browse V2 results. The top levels of the browse tree are requested by every
+   * user, if the path has been cached this will return without running the aggregation again.
+   *
+   * @param opContext the operation's context
+   * @param entityName type of entity to query
+   * @param path the path to be browsed
+   * @param filter browse filter
+   * @param input search query
+   * @param start start offset of first group
+   * @param count max number of results requested
+   * @return a {@link BrowseResultV2} containing the requested groups
+   */
+  public BrowseResultV2 browseV2(
+      @Nonnull OperationContext opContext,
+      @Nonnull String entityName,
+      @Nonnull String path,
+      @Nullable Filter filter,
+      @Nonnull String input,
+      int start,
+      int count) {
+    return getCachedBrowseV2Results(
+        opContext,
+        entityName,
+        path,
+        filter,
+        input,
+        start,
+        count,
+        () ->
+            entitySearchService.browseV2(opContext, entityName, path, filter, input, start, count));
+  }
+
+  /**
+   * Retrieves cached browse V2 results across entities.
+   *
+   * @param opContext the operation's context
+   * @param entityNames types of entities to query
+   * @param path the path to be browsed
+   * @param filter browse filter
+   * @param input search query
+   * @param start start offset of first group
+   * @param count max number of results requested
+   * @return a {@link BrowseResultV2} containing the requested groups
+   */
+  public BrowseResultV2 browseV2(
+      @Nonnull OperationContext opContext,
+      @Nonnull List<String> entityNames,
+      @Nonnull String path,
+      @Nullable Filter filter,
+      @Nonnull String input,
+      int start,
+      int count) {
+    return getCachedBrowseV2Results(
+        opContext,
+        entityNames,
+        path,
+        filter,
+        input,
+        start,
+        count,
+        () ->
+            entitySearchService.browseV2(opContext, entityNames, path, filter, input, start, count));
+  }
+
   /**
    * Retrieves cached scroll results. If the query has been cached, this will return quickly. If
    * not, a full scroll request will be made.
@@ -264,6 +333,52 @@ public class CachingEntitySearchService {
     }
   }
 
+  /**
+   * Returns cached browse V2 results.
+   *
+   * @param entities the entity type, or the list of entity types when browsing across entities
+   * @param rawResults runs the browse aggregation on a cache miss
+   */
+  private BrowseResultV2 getCachedBrowseV2Results(
+      @Nonnull OperationContext opContext,
+      @Nonnull Object entities,
+      @Nonnull String path,
+      @Nullable Filter filter,
+      @Nonnull String input,
+      int start,
+      int count,
+      @Nonnull Supplier<BrowseResultV2> rawResults) {
+    try (Timer.Context ignored =
+        MetricUtils.timer(this.getClass(), "getCachedBrowseV2Results").time()) {
+      if (!enableCache(opContext.getSearchContext().getSearchFlags())) {
+        return rawResults.get();
+      }
+      Cache cache = cacheManager.getCache(ENTITY_SEARCH_SERVICE_BROWSE_V2_CACHE_NAME);
+      Timer.Context cacheAccess =
+          MetricUtils.timer(this.getClass(), "browseV2_cache_access").time();
+      Object cacheKey =
+          Septet.with(
+              opContext.getSearchContextId(),
+              entities,
+              path,
+              filter != null ? toJsonString(filter) : null,
+              input,
+              start,
+              count);
+      String json = cache.get(cacheKey, String.class);
+      BrowseResultV2 result = json != null ? toRecordTemplate(BrowseResultV2.class, json) : null;
+      cacheAccess.stop();
+      if (result == null) {
+        Timer.Context cacheMiss = MetricUtils.timer(this.getClass(), "browseV2_cache_miss").time();
+        result = rawResults.get();
+        cache.put(cacheKey, toJsonString(result));
+        cacheMiss.stop();
+        MetricUtils.counter(this.getClass(), "browseV2_cache_miss_count").inc();
+      }
+      return result;
+    }
+  }
+
   /** Returns cached scroll results. */
   public ScrollResult getCachedScrollResults(
       @Nonnull OperationContext opContext,
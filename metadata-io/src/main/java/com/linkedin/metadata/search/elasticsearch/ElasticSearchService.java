@@ -29,6 +29,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.Getter;
@@ -83,6 +84,17 @@ public class ElasticSearchService implements EntitySearchService, ElasticSearchI
         filter);
   }
 
+  @Nonnull
+  @Override
+  public CompletableFuture<Long> docCountAsync(
+      @Nonnull OperationContext opContext, @Nonnull String entityName, @Nullable Filter filter) {
+    return esSearchDAO.docCountAsync(
+        opContext.withSearchFlags(
+            flags -> applyDefaultSearchFlags(flags, null, DEFAULT_SERVICE_SEARCH_FLAGS)),
+        entityName,
+        filter);
+  }
+
   @Override
   public void upsertDocument(
       @Nonnull OperationContext opContext,
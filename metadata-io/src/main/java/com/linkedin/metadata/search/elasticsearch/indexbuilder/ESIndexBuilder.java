@@ -4,6 +4,7 @@ import static com.linkedin.metadata.Constants.*;
 import static com.linkedin.metadata.search.elasticsearch.indexbuilder.MappingsBuilder.PROPERTIES;
 
 import com.google.common.collect.ImmutableMap;
+import com.linkedin.metadata.config.search.BuildIndicesConfiguration;
 import com.linkedin.metadata.config.search.ElasticSearchConfiguration;
 import com.linkedin.metadata.search.utils.ESUtils;
 import com.linkedin.metadata.timeseries.BatchWriteOperationsOptions;
@@ -16,10 +17,12 @@ import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +30,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.Getter;
@@ -40,18 +44,23 @@ import org.opensearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.opensearch.action.admin.indices.settings.get.GetSettingsRequest;
 import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.opensearch.action.search.ClearScrollRequest;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.client.GetAliasesResponse;
 import org.opensearch.client.RequestOptions;
 import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.client.RethrottleRequest;
 import org.opensearch.client.core.CountRequest;
 import org.opensearch.client.indices.CreateIndexRequest;
 import org.opensearch.client.indices.GetIndexRequest;
 import org.opensearch.client.indices.GetIndexResponse;
 import org.opensearch.client.indices.GetMappingsRequest;
 import org.opensearch.client.indices.PutMappingRequest;
+import org.opensearch.client.tasks.GetTaskRequest;
+import org.opensearch.client.tasks.GetTaskResponse;
 import org.opensearch.client.tasks.TaskSubmissionResponse;
+import org.opensearch.cluster.metadata.MappingMetadata;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.index.query.QueryBuilder;
@@ -59,8 +68,11 @@ import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.index.reindex.ReindexRequest;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.slice.SliceBuilder;
 import org.opensearch.search.sort.SortBuilders;
 import org.opensearch.search.sort.SortOrder;
+import org.opensearch.tasks.RawTaskStatus;
+import org.opensearch.tasks.TaskId;
 import org.opensearch.tasks.TaskInfo;
 
 @Slf4j
@@ -96,6 +108,16 @@ public class ESIndexBuilder {
 
   private final RetryRegistry retryRegistry;
 
+  private static final int DEFAULT_REINDEX_BATCH_SIZE = 2500;
+
+  // Progress of a sliced reindex, stored in the _meta of the destination index
+  private static final String REINDEX_META = "datahubReindex";
+  private static final String REINDEX_META_SOURCE = "source";
+  private static final String REINDEX_META_VERSION = "version";
+  private static final String REINDEX_META_SLICES = "slices";
+  // Verified source document count of each completed slice, keyed by slice id
+  private static final String REINDEX_META_COMPLETED = "completedSlices";
+
   public ESIndexBuilder(
       RestHighLevelClient searchClient,
       int numShards,
@@ -385,9 +407,12 @@ public class ESIndexBuilder {
         maxReindexHours > 0 ? startTime + (1000L * 60 * 60 * maxReindexHours) : Long.MAX_VALUE;
 
     String tempIndexName = getNextIndexName(indexState.name(), startTime);
+    final boolean sliced = getBuildIndicesConfiguration().isReindexSlicingEnabled();
 
     try {
       Optional<TaskInfo> previousTaskInfo = getTaskInfoByHeader(indexState.name());
+      Optional<String> resumableIndex =
+          previousTaskInfo.isEmpty() && sliced ? getResumableIndex(indexState) : Optional.empty();
 
       String parentTaskId;
       if (previousTaskInfo.isPresent()) {
@@ -399,20 +424,33 @@ public class ESIndexBuilder {
         tempIndexName =
             ESUtils.extractTargetIndex(
                 previousTaskInfo.get().getHeaders().get(ESUtils.OPAQUE_ID_HEADER));
+      } else if (resumableIndex.isPresent()) {
+        log.info("Resuming sliced reindex of {} to {}", indexState.name(), resumableIndex.get());
+        parentTaskId = null;
+        tempIndexName = resumableIndex.get();
       } else {
         // Create new index
         createIndex(tempIndexName, indexState);
 
-        parentTaskId = submitReindex(indexState.name(), tempIndexName);
+        parentTaskId = sliced ? null : submitReindex(indexState.name(), tempIndexName);
       }
 
+      // Slices are verified individually, the whole index is only compared as a fallback
+      boolean reindexTaskCompleted =
+          sliced
+              && reindexSlices(
+                  indexState.name(),
+                  tempIndexName,
+                  previousTaskInfo.map(info -> info.getTaskId().toString()).orElse(null),
+                  timeoutAt);
+
       int reindexCount = 1;
       int count = 0;
-      boolean reindexTaskCompleted = false;
-      Pair<Long, Long> documentCounts = getDocumentCounts(indexState.name(), tempIndexName);
+      Pair<Long, Long> documentCounts =
+          reindexTaskCompleted ? null : getDocumentCounts(indexState.name(), tempIndexName);
       long documentCountsLastUpdated = System.currentTimeMillis();
 
-      while (System.currentTimeMillis() < timeoutAt) {
+      while (!reindexTaskCompleted && System.currentTimeMillis() < timeoutAt) {
         log.info(
             "Task: {} - Reindexing from {} to {} in progress...",
             parentTaskId,
@@ -496,9 +534,13 @@ public class ESIndexBuilder {
           indexState.name(),
           tempIndexName,
           e.toString());
-      _searchClient
-          .indices()
-          .delete(new DeleteIndexRequest().indices(tempIndexName), RequestOptions.DEFAULT);
+      if (sliced) {
+        log.warn("Keeping {} to resume the sliced reindex from completed slices", tempIndexName);
+      } else {
+        _searchClient
+            .indices()
+            .delete(new DeleteIndexRequest().indices(tempIndexName), RequestOptions.DEFAULT);
+      }
       throw e;
     }
 
@@ -551,19 +593,43 @@ public class ESIndexBuilder {
       @Nullable TimeValue timeout,
       @Nullable QueryBuilder sourceFilterQuery)
       throws IOException {
+    return submitReindex(
+        sourceIndices,
+        destinationIndex,
+        batchSize,
+        timeout,
+        sourceFilterQuery,
+        null,
+        Float.POSITIVE_INFINITY);
+  }
+
+  private String submitReindex(
+      String[] sourceIndices,
+      String destinationIndex,
+      int batchSize,
+      @Nullable TimeValue timeout,
+      @Nullable QueryBuilder sourceFilterQuery,
+      @Nullable SliceBuilder slice,
+      float requestsPerSecond)
+      throws IOException {
     ReindexRequest reindexRequest =
         new ReindexRequest()
             .setSourceIndices(sourceIndices)
             .setDestIndex(destinationIndex)
             .setMaxRetries(numRetries)
             .setAbortOnVersionConflict(false)
-            .setSourceBatchSize(batchSize);
+            .setSourceBatchSize(batchSize)
+            .setRequestsPerSecond(requestsPerSecond);
     if (timeout != null) {
       reindexRequest.setTimeout(timeout);
     }
     if (sourceFilterQuery != null) {
       reindexRequest.setSourceQuery(sourceFilterQuery);
     }
+    if (slice != null) {
+      // Sent as the slice of the reindex source, the same slice as a sliced scroll of the source
+      reindexRequest.getSearchRequest().source().slice(slice);
+    }
 
     RequestOptions requestOptions =
         ESUtils.buildReindexTaskRequestOptions(
@@ -574,7 +640,319 @@ public class ESIndexBuilder {
   }
 
   private String submitReindex(String sourceIndex, String destinationIndex) throws IOException {
-    return submitReindex(new String[] {sourceIndex}, destinationIndex, 2500, null, null);
+    return submitReindex(
+        new String[] {sourceIndex}, destinationIndex, getReindexBatchSize(), null, null);
+  }
+
+  private BuildIndicesConfiguration getBuildIndicesConfiguration() {
+    return Optional.ofNullable(elasticSearchConfiguration.getBuildIndices())
+        .orElseGet(BuildIndicesConfiguration::new);
+  }
+
+  private int getReindexBatchSize() {
+    int batchSize = getBuildIndicesConfiguration().getReindexBatchSize();
+    return batchSize > 0 ? batchSize : DEFAULT_REINDEX_BATCH_SIZE;
+  }
+
+  /**
+   * Reindex the source index in one manual slice per source shard, each submitted as its own task
+   * with the slice in the reindex source. Slices run concurrently up to the configured limit, the
+   * document count of each slice is verified once its task completes and failed slices are retried
+   * on their own. Completed slices are recorded in the destination index metadata so that an
+   * interrupted reindex resumes from the slices which were not completed.
+   *
+   * <p>The throttle of the slices is read back from the running tasks, rethrottling a running slice
+   * (see {@link #rethrottleReindex(String, float)}) applies to the slices submitted afterwards.
+   *
+   * @param runningTaskId a reindex task left running by a previous attempt, awaited before resuming
+   * @return true if every slice completed with a verified document count
+   */
+  private boolean reindexSlices(
+      String sourceIndex, String destinationIndex, @Nullable String runningTaskId, long timeoutAt)
+      throws Throwable {
+    if (runningTaskId != null) {
+      awaitTask(runningTaskId, timeoutAt);
+    }
+
+    final BuildIndicesConfiguration config = getBuildIndicesConfiguration();
+    final int sliceCount = getShardCount(sourceIndex);
+    final int maxConcurrentSlices = Math.max(1, config.getReindexMaxConcurrentSlices());
+    final Map<Integer, Long> completedSlices =
+        getCompletedSlices(sourceIndex, destinationIndex, sliceCount);
+    final Deque<Integer> pendingSlices =
+        IntStream.range(0, sliceCount)
+            .filter(slice -> !completedSlices.containsKey(slice))
+            .boxed()
+            .collect(Collectors.toCollection(ArrayDeque::new));
+    final Map<Integer, Pair<String, Long>> runningSlices = new HashMap<>();
+    final Map<Integer, Integer> sliceAttempts = new HashMap<>();
+    float requestsPerSecond = toRequestsPerSecond(config.getReindexRequestsPerSecond());
+
+    log.info(
+        "Reindexing {} to {} in {} slices, {} already completed",
+        sourceIndex,
+        destinationIndex,
+        sliceCount,
+        completedSlices.size());
+
+    int count = 0;
+    while ((!pendingSlices.isEmpty() || !runningSlices.isEmpty())
+        && System.currentTimeMillis() < timeoutAt) {
+      while (!pendingSlices.isEmpty() && runningSlices.size() < maxConcurrentSlices) {
+        int slice = pendingSlices.poll();
+        long expectedCount = getCount(sourceIndex, sliceBuilder(slice, sliceCount));
+        String taskId =
+            submitReindex(
+                new String[] {sourceIndex},
+                destinationIndex,
+                getReindexBatchSize(),
+                null,
+                null,
+                sliceBuilder(slice, sliceCount),
+                requestsPerSecond);
+        log.info(
+            "Task: {} - Reindexing slice {}/{} of {} ({} documents)",
+            taskId,
+            slice + 1,
+            sliceCount,
+            sourceIndex,
+            expectedCount);
+        runningSlices.put(slice, Pair.of(taskId, expectedCount));
+      }
+
+      count = count + 1;
+      Thread.sleep(Math.min(60000, 1000L * count));
+
+      for (Map.Entry<Integer, Pair<String, Long>> entry :
+          new ArrayList<>(runningSlices.entrySet())) {
+        int slice = entry.getKey();
+        Optional<GetTaskResponse> task = getTask(entry.getValue().getFirst());
+        if (task.isEmpty()) {
+          continue;
+        }
+        Map<String, Object> status = getTaskStatus(task.get());
+        if (status.get("requests_per_second") instanceof Number) {
+          requestsPerSecond =
+              toRequestsPerSecond(((Number) status.get("requests_per_second")).floatValue());
+        }
+        if (!task.get().isCompleted()) {
+          continue;
+        }
+
+        runningSlices.remove(slice);
+        if (isSliceVerified(sourceIndex, slice, entry.getValue().getSecond(), status)) {
+          completedSlices.put(slice, entry.getValue().getSecond());
+          putCompletedSlices(sourceIndex, destinationIndex, sliceCount, completedSlices);
+        } else if (sliceAttempts.merge(slice, 1, Integer::sum) <= numRetries) {
+          log.warn("Retrying slice {}/{} of {}", slice + 1, sliceCount, sourceIndex);
+          pendingSlices.add(slice);
+        } else {
+          log.error(
+              "Slice {}/{} of {} failed verification after {} retries",
+              slice + 1,
+              sliceCount,
+              sourceIndex,
+              numRetries);
+        }
+      }
+    }
+
+    if (completedSlices.size() < sliceCount) {
+      log.warn(
+          "Sliced reindex of {} to {} incomplete, {}/{} slices completed",
+          sourceIndex,
+          destinationIndex,
+          completedSlices.size(),
+          sliceCount);
+      return false;
+    }
+    return true;
+  }
+
+  private boolean isSliceVerified(
+      String sourceIndex, int slice, long expectedCount, Map<String, Object> status) {
+    long total = getStatusCount(status, "total");
+    long written = getStatusCount(status, "created") + getStatusCount(status, "updated");
+    if (total == expectedCount && written == total) {
+      log.info("Slice {} of {} verified, {} documents", slice + 1, sourceIndex, total);
+      return true;
+    }
+
+    BuildIndicesConfiguration config = getBuildIndicesConfiguration();
+    log.warn(
+        "Slice {} of {} document count mismatch, expected: {} total: {} written: {}",
+        slice + 1,
+        sourceIndex,
+        expectedCount,
+        total,
+        written);
+    return config.isAllowDocCountMismatch() && config.isCloneIndices() && written == total;
+  }
+
+  /**
+   * Change the throttle of the running reindex tasks of an index, slices which are submitted
+   * afterwards inherit the new throttle.
+   *
+   * @param indexName index being reindexed
+   * @param requestsPerSecond new throttle, less than or equal to 0 for unthrottled
+   */
+  public void rethrottleReindex(String indexName, float requestsPerSecond) throws IOException {
+    List<TaskInfo> taskInfos =
+        _searchClient
+            .tasks()
+            .list(new ListTasksRequest().setDetailed(true), REQUEST_OPTIONS)
+            .getTasks()
+            .stream()
+            .filter(
+                info ->
+                    ESUtils.prefixMatch(
+                        info.getHeaders().get(ESUtils.OPAQUE_ID_HEADER),
+                        gitVersion.getVersion(),
+                        indexName))
+            .collect(Collectors.toList());
+    for (TaskInfo taskInfo : taskInfos) {
+      _searchClient.reindexRethrottle(
+          new RethrottleRequest(taskInfo.getTaskId(), toRequestsPerSecond(requestsPerSecond)),
+          RequestOptions.DEFAULT);
+      log.info("Rethrottled reindex task {} to {}/s", taskInfo.getTaskId(), requestsPerSecond);
+    }
+  }
+
+  private static float toRequestsPerSecond(float requestsPerSecond) {
+    return requestsPerSecond > 0 ? requestsPerSecond : Float.POSITIVE_INFINITY;
+  }
+
+  /** A single slice reindexes the whole index, SliceBuilder requires at least two slices */
+  @Nullable
+  private static SliceBuilder sliceBuilder(int slice, int sliceCount) {
+    return sliceCount > 1 ? new SliceBuilder(slice, sliceCount) : null;
+  }
+
+  private static long getStatusCount(Map<String, Object> status, String field) {
+    Object value = status.get(field);
+    return value instanceof Number ? ((Number) value).longValue() : -1;
+  }
+
+  private static Map<String, Object> getTaskStatus(GetTaskResponse response) {
+    if (response.getTaskInfo().getStatus() instanceof RawTaskStatus) {
+      return ((RawTaskStatus) response.getTaskInfo().getStatus()).toMap();
+    }
+    return Map.of();
+  }
+
+  private Optional<GetTaskResponse> getTask(String taskId) throws Throwable {
+    TaskId id = new TaskId(taskId);
+    return retryRegistry
+        .retry("getTask")
+        .executeCheckedSupplier(
+            () ->
+                _searchClient
+                    .tasks()
+                    .get(new GetTaskRequest(id.getNodeId(), id.getId()), REQUEST_OPTIONS));
+  }
+
+  private void awaitTask(String taskId, long timeoutAt) throws Throwable {
+    log.info("Task: {} - Waiting for the previous reindex task to complete", taskId);
+    int count = 0;
+    while (System.currentTimeMillis() < timeoutAt) {
+      Optional<GetTaskResponse> task = getTask(taskId);
+      if (task.isEmpty() || task.get().isCompleted()) {
+        return;
+      }
+      count = count + 1;
+      Thread.sleep(Math.min(60000, 1000L * count));
+    }
+  }
+
+  private int getShardCount(String indexName) throws IOException {
+    return _searchClient
+        .indices()
+        .getSettings(new GetSettingsRequest().indices(indexName), RequestOptions.DEFAULT)
+        .getIndexToSettings()
+        .values()
+        .iterator()
+        .next()
+        .getAsInt("index.number_of_shards", 1);
+  }
+
+  /** Find a temporary index left by an interrupted sliced reindex of the same version */
+  private Optional<String> getResumableIndex(ReindexConfig indexState) {
+    try {
+      GetIndexResponse response =
+          _searchClient
+              .indices()
+              .get(new GetIndexRequest(indexState.indexCleanPattern()), RequestOptions.DEFAULT);
+      return Arrays.stream(response.getIndices())
+          .filter(
+              index ->
+                  !response.getAliases().containsKey(index)
+                      || response.getAliases().get(index).isEmpty())
+          .filter(
+              index -> {
+                Map<String, Object> progress =
+                    getReindexProgress(response.getMappings().get(index));
+                return indexState.name().equals(progress.get(REINDEX_META_SOURCE))
+                    && gitVersion.getVersion().equals(progress.get(REINDEX_META_VERSION));
+              })
+          .max(String::compareTo);
+    } catch (IOException | OpenSearchException e) {
+      log.warn("Unable to find a resumable index for {}: {}", indexState.name(), e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private Map<Integer, Long> getCompletedSlices(
+      String sourceIndex, String destinationIndex, int sliceCount) throws IOException {
+    Map<String, Object> progress =
+        getReindexProgress(
+            _searchClient
+                .indices()
+                .getMapping(
+                    new GetMappingsRequest().indices(destinationIndex), RequestOptions.DEFAULT)
+                .mappings()
+                .get(destinationIndex));
+    if (!sourceIndex.equals(progress.get(REINDEX_META_SOURCE))
+        || !Integer.valueOf(sliceCount).equals(progress.get(REINDEX_META_SLICES))) {
+      return new HashMap<>();
+    }
+    Map<Integer, Long> completedSlices = new HashMap<>();
+    ((Map<String, Object>) progress.getOrDefault(REINDEX_META_COMPLETED, Map.of()))
+        .forEach(
+            (slice, documents) ->
+                completedSlices.put(Integer.parseInt(slice), ((Number) documents).longValue()));
+    return completedSlices;
+  }
+
+  private void putCompletedSlices(
+      String sourceIndex,
+      String destinationIndex,
+      int sliceCount,
+      Map<Integer, Long> completedSlices)
+      throws IOException {
+    Map<String, Object> progress = new HashMap<>();
+    progress.put(REINDEX_META_SOURCE, sourceIndex);
+    progress.put(REINDEX_META_VERSION, gitVersion.getVersion());
+    progress.put(REINDEX_META_SLICES, sliceCount);
+    Map<String, Long> completed = new TreeMap<>();
+    completedSlices.forEach((slice, documents) -> completed.put(String.valueOf(slice), documents));
+    progress.put(REINDEX_META_COMPLETED, completed);
+    _searchClient
+        .indices()
+        .putMapping(
+            new PutMappingRequest(destinationIndex)
+                .source(Map.of("_meta", Map.of(REINDEX_META, progress))),
+            RequestOptions.DEFAULT);
+  }
+
+  private static Map<String, Object> getReindexProgress(@Nullable MappingMetadata mapping) {
+    if (mapping == null) {
+      return Map.of();
+    }
+    Object meta = mapping.getSourceAsMap().get("_meta");
+    if (meta instanceof Map && ((Map<String, Object>) meta).get(REINDEX_META) instanceof Map) {
+      return (Map<String, Object>) ((Map<String, Object>) meta).get(REINDEX_META);
+    }
+    return Map.of();
   }
 
   private Pair<Long, Long> getDocumentCounts(String sourceIndex, String destinationIndex)
@@ -667,6 +1045,35 @@ public class ESIndexBuilder {
         .getCount();
   }
 
+  /**
+   * Count the documents of a slice. The count API does not accept a slice, so a sliced scroll is
+   * opened instead, reindex reads its source with the same sliced scroll.
+   */
+  private long getCount(@Nonnull String indexName, @Nullable SliceBuilder slice)
+      throws IOException {
+    if (slice == null) {
+      return getCount(indexName);
+    }
+    SearchResponse response =
+        _searchClient.search(
+            new SearchRequest(indexName)
+                .scroll(TimeValue.timeValueMinutes(1))
+                .source(
+                    new SearchSourceBuilder()
+                        .query(QueryBuilders.matchAllQuery())
+                        .slice(slice)
+                        .size(1)
+                        .fetchSource(false)
+                        .trackTotalHits(true)),
+            RequestOptions.DEFAULT);
+    if (response.getScrollId() != null) {
+      ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+      clearScrollRequest.addScrollId(response.getScrollId());
+      _searchClient.clearScroll(clearScrollRequest, RequestOptions.DEFAULT);
+    }
+    return response.getHits().getTotalHits().value;
+  }
+
   private void createIndex(String indexName, ReindexConfig state) throws IOException {
     log.info("Index {} does not exist. Creating", indexName);
     CreateIndexRequest createIndexRequest = new CreateIndexRequest(indexName);
@@ -0,0 +1,188 @@
+package com.linkedin.metadata.search.elasticsearch.query;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.linkedin.metadata.config.search.MultiSearchConfiguration;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.MultiSearchResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.core.action.ActionListener;
+
+/**
+ * Executes search requests without blocking the calling thread. The responses are completed by the
+ * threads of the async http client, so many concurrent reads, i.e. the per entity doc counts of a
+ * search page, do not hold a thread each while waiting on the search cluster.
+ *
+ * <p>When enabled, the requests issued within a short window are combined into a single msearch
+ * request, the batch is sent once the window elapses or the maximum batch size is reached.
+ */
+@Slf4j
+public class ESMultiSearchBatcher {
+  private final RestHighLevelClient client;
+  private final boolean enabled;
+  private final long windowMillis;
+  private final int maxBatchSize;
+  @Nullable private final ScheduledExecutorService flushExecutor;
+
+  private final Object lock = new Object();
+  private List<PendingSearch> pending = new ArrayList<>();
+
+  private static final class PendingSearch {
+    private final SearchRequest request;
+    private final CompletableFuture<SearchResponse> future = new CompletableFuture<>();
+
+    private PendingSearch(SearchRequest request) {
+      this.request = request;
+    }
+  }
+
+  public ESMultiSearchBatcher(
+      @Nonnull RestHighLevelClient client, @Nullable MultiSearchConfiguration config) {
+    this.client = client;
+    this.enabled = config != null && config.isEnabled() && config.getMaxBatchSize() > 1;
+    this.windowMillis = config != null ? Math.max(0, config.getWindowMillis()) : 0;
+    this.maxBatchSize = config != null ? config.getMaxBatchSize() : 1;
+    this.flushExecutor =
+        enabled
+            ? Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder()
+                    .setNameFormat("es-msearch-batcher-%d")
+                    .setDaemon(true)
+                    .build())
+            : null;
+  }
+
+  /**
+   * Execute the search request asynchronously.
+   *
+   * @param searchRequest request with its indices set
+   * @return the response, completed exceptionally if the request or its batch failed
+   */
+  @Nonnull
+  public CompletableFuture<SearchResponse> search(@Nonnull SearchRequest searchRequest) {
+    if (!enabled) {
+      return searchAsync(searchRequest);
+    }
+
+    final PendingSearch pendingSearch = new PendingSearch(searchRequest);
+    List<PendingSearch> batch = null;
+    synchronized (lock) {
+      pending.add(pendingSearch);
+      if (pending.size() >= maxBatchSize) {
+        batch = takePending();
+      } else if (pending.size() == 1) {
+        flushExecutor.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+      }
+    }
+    if (batch != null) {
+      send(batch);
+    }
+    return pendingSearch.future;
+  }
+
+  private void flush() {
+    final List<PendingSearch> batch;
+    synchronized (lock) {
+      batch = takePending();
+    }
+    send(batch);
+  }
+
+  private List<PendingSearch> takePending() {
+    final List<PendingSearch> batch = pending;
+    pending = new ArrayList<>();
+    return batch;
+  }
+
+  private void send(@Nonnull List<PendingSearch> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    MetricUtils.get()
+        .histogram(MetricRegistry.name(this.getClass(), "batchSize"))
+        .update(batch.size());
+    if (batch.size() == 1) {
+      PendingSearch single = batch.get(0);
+      searchAsync(single.request)
+          .whenComplete(
+              (response, error) -> {
+                if (error != null) {
+                  single.future.completeExceptionally(error);
+                } else {
+                  single.future.complete(response);
+                }
+              });
+      return;
+    }
+
+    final MultiSearchRequest multiSearchRequest = new MultiSearchRequest();
+    batch.forEach(pendingSearch -> multiSearchRequest.add(pendingSearch.request));
+    try {
+      client.msearchAsync(
+          multiSearchRequest,
+          RequestOptions.DEFAULT,
+          new ActionListener<>() {
+            @Override
+            public void onResponse(MultiSearchResponse multiSearchResponse) {
+              MultiSearchResponse.Item[] items = multiSearchResponse.getResponses();
+              for (int i = 0; i < batch.size(); i++) {
+                CompletableFuture<SearchResponse> future = batch.get(i).future;
+                if (i >= items.length) {
+                  future.completeExceptionally(
+                      new IllegalStateException("Missing response from msearch batch"));
+                } else if (items[i].isFailure()) {
+                  future.completeExceptionally(items[i].getFailure());
+                } else {
+                  future.complete(items[i].getResponse());
+                }
+              }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+              log.error("Multi search of {} requests failed", batch.size(), e);
+              MetricUtils.counter(ESMultiSearchBatcher.class, "batchFailure").inc();
+              batch.forEach(pendingSearch -> pendingSearch.future.completeExceptionally(e));
+            }
+          });
+    } catch (RuntimeException e) {
+      batch.forEach(pendingSearch -> pendingSearch.future.completeExceptionally(e));
+    }
+  }
+
+  private CompletableFuture<SearchResponse> searchAsync(@Nonnull SearchRequest searchRequest) {
+    final CompletableFuture<SearchResponse> future = new CompletableFuture<>();
+    try {
+      client.searchAsync(
+          searchRequest,
+          RequestOptions.DEFAULT,
+          new ActionListener<>() {
+            @Override
+            public void onResponse(SearchResponse searchResponse) {
+              future.complete(searchResponse);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+              future.completeExceptionally(e);
+            }
+          });
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+}
@@ -10,6 +10,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Suppliers;
 import com.linkedin.data.template.LongMap;
 import com.linkedin.metadata.config.search.SearchConfiguration;
 import com.linkedin.metadata.config.search.custom.CustomSearchConfiguration;
@@ -38,11 +39,14 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 import org.opensearch.action.explain.ExplainRequest;
@@ -82,6 +86,12 @@ public class ESSearchDAO {
   @Nonnull private final QueryFilterRewriteChain queryFilterRewriteChain;
   private final boolean testLoggingEnabled;
 
+  /** Executes the async reads, reads are sent one request each when not set */
+  @Setter @Nullable private ESMultiSearchBatcher multiSearchBatcher;
+
+  private final Supplier<ESMultiSearchBatcher> passThroughBatcher =
+      Suppliers.memoize(() -> new ESMultiSearchBatcher(client, null));
+
   public ESSearchDAO(
       RestHighLevelClient client,
       boolean pointInTimeCreationEnabled,
@@ -122,6 +132,48 @@ public class ESSearchDAO {
     }
   }
 
+  /**
+   * Same as {@link #docCount(OperationContext, String, Filter)} without blocking the calling
+   * thread. The count is read from the total hits of an empty search, so that concurrent counts
+   * can be combined into a single msearch request.
+   */
+  @Nonnull
+  public CompletableFuture<Long> docCountAsync(
+      @Nonnull OperationContext opContext, @Nonnull String entityName, @Nullable Filter filter) {
+    EntitySpec entitySpec = opContext.getEntityRegistry().getEntitySpec(entityName);
+    String indexName = opContext.getSearchContext().getIndexConvention().getIndexName(entitySpec);
+    SearchRequest searchRequest =
+        new SearchRequest(indexName)
+            .source(
+                new SearchSourceBuilder()
+                    .query(
+                        SearchRequestHandler.getFilterQuery(
+                            opContext,
+                            filter,
+                            entitySpec.getSearchableFieldTypes(),
+                            queryFilterRewriteChain))
+                    .size(0)
+                    .trackTotalHits(true));
+    Timer.Context timer = MetricUtils.timer(this.getClass(), "docCountAsync").time();
+    return executeAsync(searchRequest)
+        .handle(
+            (searchResponse, error) -> {
+              timer.stop();
+              if (error != null) {
+                log.error("Count query failed:" + error.getMessage());
+                throw new ESQueryException("Count query failed:", error);
+              }
+              return searchResponse.getHits().getTotalHits().value;
+            });
+  }
+
+  private CompletableFuture<SearchResponse> executeAsync(@Nonnull SearchRequest searchRequest) {
+    if (multiSearchBatcher != null) {
+      return multiSearchBatcher.search(searchRequest);
+    }
+    return passThroughBatcher.get().search(searchRequest);
+  }
+
   @Nonnull
   @WithSpan
   private SearchResult executeAndExtract(
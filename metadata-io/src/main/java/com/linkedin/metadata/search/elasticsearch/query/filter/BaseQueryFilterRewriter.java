@@ -20,6 +20,7 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.QueryBuilder;
@@ -29,6 +30,12 @@ import org.opensearch.index.query.TermsQueryBuilder;
 @Slf4j
 public abstract class BaseQueryFilterRewriter implements QueryFilterRewriter {
 
+  /** Cache of graph expansions, when absent every expansion walks the graph */
+  @Nullable
+  protected HierarchyExpansionCache getHierarchyExpansionCache() {
+    return null;
+  }
+
   protected <T extends QueryBuilder> T expandUrnsByGraph(
       @Nonnull OperationContext opContext,
       T queryBuilder,
@@ -130,7 +137,7 @@ public abstract class BaseQueryFilterRewriter implements QueryFilterRewriter {
    * @param limit max results
    * @return updated query builder with expanded terms
    */
-  private static QueryBuilder expandTerms(
+  private QueryBuilder expandTerms(
       OperationContext opContext,
       TermsQueryBuilder termsQueryBuilder,
       List<String> relationshipTypes,
@@ -141,18 +148,30 @@ public abstract class BaseQueryFilterRewriter implements QueryFilterRewriter {
         termsQueryBuilder.values().stream()
             .map(urnObj -> UrnUtils.getUrn(urnObj.toString()))
             .collect(Collectors.toSet());
-    Set<Urn> expandedUrns = new HashSet<>(queryUrns);
 
     if (!queryUrns.isEmpty()) {
+      Supplier<Set<Urn>> graphExpansion =
+          () -> {
+            Set<Urn> expandedUrns = new HashSet<>(queryUrns);
+            scrollGraph(
+                opContext.getRetrieverContext().get().getGraphRetriever(),
+                queryUrns,
+                relationshipTypes,
+                relationshipDirection,
+                expandedUrns,
+                pageSize,
+                limit);
+            return expandedUrns;
+          };
 
-      scrollGraph(
-          opContext.getRetrieverContext().get().getGraphRetriever(),
-          queryUrns,
-          relationshipTypes,
-          relationshipDirection,
-          expandedUrns,
-          pageSize,
-          limit);
+      HierarchyExpansionCache cache = getHierarchyExpansionCache();
+      Set<Urn> expandedUrns =
+          cache == null
+              ? graphExpansion.get()
+              : cache.expand(
+                  new HierarchyExpansionCache.Key(
+                      relationshipTypes, relationshipDirection, Set.copyOf(queryUrns), limit),
+                  graphExpansion);
 
       return expandTermsQueryUrnValues(termsQueryBuilder, expandedUrns);
     }
@@ -27,6 +27,8 @@ public class ContainerExpansionRewriter extends BaseQueryFilterRewriter {
 
   @Nonnull private final QueryFilterRewriterConfiguration.ExpansionRewriterConfiguration config;
 
+  @Getter @Nullable private final HierarchyExpansionCache hierarchyExpansionCache;
+
   @Nonnull
   @Override
   public Set<String> getRewriterFieldNames() {
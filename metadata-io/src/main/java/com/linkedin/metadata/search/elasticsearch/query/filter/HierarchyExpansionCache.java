@@ -0,0 +1,245 @@
+package com.linkedin.metadata.search.elasticsearch.query.filter;
+
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.aspect.models.graph.Edge;
+import com.linkedin.metadata.config.search.QueryFilterRewriterConfiguration;
+import com.linkedin.metadata.query.filter.RelationshipDirection;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of the urns reachable from a set of urns by walking hierarchy relationships, i.e. child
+ * containers and sub-domains. Used by the expansion rewriters so that a repeated filter on the same
+ * container or domain does not walk the graph index again.
+ *
+ * <p>Entries are invalidated as hierarchy edges are written through {@link
+ * com.linkedin.metadata.service.UpdateGraphIndicesService}: any entry containing either end of a
+ * changed edge is dropped. Entries are indexed by the urns of their expansion so that an edge only
+ * visits the entries containing it. Edges are written to the graph index before they are
+ * searchable, so the entries are invalidated again once the index is refreshed, and an expansion
+ * loaded while an edge was invalidated is not cached. Edges written by another process are only
+ * picked up once the entry expires, so the configured ttl bounds the staleness of an expansion.
+ */
+@Slf4j
+public class HierarchyExpansionCache {
+
+  @Value
+  public static class Key {
+    @Nonnull List<String> relationshipTypes;
+    @Nonnull RelationshipDirection relationshipDirection;
+    @Nonnull Set<Urn> urns;
+    int limit;
+  }
+
+  @Value
+  private static class Expansion {
+    Set<Urn> urns;
+    long loadedAtMillis;
+  }
+
+  private final boolean enabled;
+  private final Cache<Key, Expansion> cache;
+  // keys of the cached expansions containing each urn
+  private final Map<Urn, Set<Key>> keysByUrn = new ConcurrentHashMap<>();
+  // relationship types of the cached expansions, other edges never invalidate an entry
+  private final Set<String> relationshipTypes = ConcurrentHashMap.newKeySet();
+  // incremented on each invalidation, an expansion loaded across one may be stale and is not cached
+  private final AtomicLong generation = new AtomicLong();
+  private final long invalidationDelaySeconds;
+  @Nullable private final ScheduledExecutorService invalidationExecutor;
+
+  public HierarchyExpansionCache(
+      @Nonnull QueryFilterRewriterConfiguration.HierarchyCacheConfiguration config) {
+    this.enabled = config.isEnabled();
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(config.getMaxSize())
+            .expireAfterWrite(Duration.ofSeconds(config.getTtlSeconds()))
+            .<Key, Expansion>evictionListener(
+                (key, expansion, cause) -> {
+                  if (key != null && expansion != null) {
+                    unindex(key, expansion.getUrns());
+                  }
+                })
+            .build();
+    this.invalidationDelaySeconds = config.getInvalidationDelaySeconds();
+    this.invalidationExecutor =
+        enabled && invalidationDelaySeconds > 0
+            ? Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder()
+                    .setNameFormat("hierarchy-cache-invalidation-%d")
+                    .setDaemon(true)
+                    .build())
+            : null;
+  }
+
+  /**
+   * Return the cached expansion for the key, loading it if absent.
+   *
+   * @param key urns and relationships to expand
+   * @param loader walks the graph, the result includes the key urns
+   * @return the expanded urns
+   */
+  @Nonnull
+  public Set<Urn> expand(@Nonnull Key key, @Nonnull Supplier<Set<Urn>> loader) {
+    if (!enabled) {
+      return loader.get();
+    }
+
+    Expansion cached = cache.getIfPresent(key);
+    if (cached != null) {
+      MetricUtils.counter(this.getClass(), "hit").inc();
+      MetricUtils.get()
+          .histogram(MetricRegistry.name(this.getClass(), "stalenessMs"))
+          .update(System.currentTimeMillis() - cached.getLoadedAtMillis());
+      return cached.getUrns();
+    }
+
+    MetricUtils.counter(this.getClass(), "miss").inc();
+    relationshipTypes.addAll(key.getRelationshipTypes());
+    long loadGeneration = generation.get();
+    Set<Urn> urns = Set.copyOf(loader.get());
+    // indexed before it is cached so that an invalidation never misses a cached expansion
+    index(key, urns);
+    if (generation.get() != loadGeneration) {
+      // the graph may have been read before an invalidated edge was searchable
+      MetricUtils.counter(this.getClass(), "notCached").inc();
+      unindex(key, urns);
+      return urns;
+    }
+    Expansion expansion = new Expansion(urns, System.currentTimeMillis());
+    Expansion existing = cache.asMap().putIfAbsent(key, expansion);
+    if (existing == null && generation.get() != loadGeneration) {
+      // invalidated between the check and the put
+      if (cache.asMap().remove(key, expansion)) {
+        unindex(key, urns);
+      }
+    } else if (existing != null) {
+      // loaded concurrently, the expansion cached first is kept
+      Set<Urn> notCached =
+          urns.stream().filter(urn -> !existing.getUrns().contains(urn)).collect(Collectors.toSet());
+      unindex(key, notCached);
+    }
+    return urns;
+  }
+
+  /** Drop the expansions affected by hierarchy edges which were added, removed or updated. */
+  public void invalidateEdges(@Nonnull Collection<Edge> edges) {
+    if (!enabled
+        || edges.stream()
+            .noneMatch(edge -> relationshipTypes.contains(edge.getRelationshipType()))) {
+      return;
+    }
+    List<Edge> written = List.copyOf(edges);
+    invalidateEdgesNow(written);
+    scheduleInvalidation(() -> invalidateEdgesNow(written));
+  }
+
+  private void invalidateEdgesNow(@Nonnull Collection<Edge> edges) {
+    generation.incrementAndGet();
+    Set<Key> affected = new HashSet<>();
+    for (Edge edge : edges) {
+      if (relationshipTypes.contains(edge.getRelationshipType())) {
+        for (Urn urn : List.of(edge.getSource(), edge.getDestination())) {
+          for (Key key : keysByUrn.getOrDefault(urn, Set.of())) {
+            if (key.getRelationshipTypes().contains(edge.getRelationshipType())) {
+              affected.add(key);
+            }
+          }
+        }
+      }
+    }
+    invalidate(affected);
+  }
+
+  /**
+   * Drop the expansions which include the urn, used when edges of the urn change without the
+   * individual edges being known, i.e. the node is removed or all of its edges are replaced.
+   */
+  public void invalidateUrn(@Nonnull Urn urn) {
+    if (!enabled || relationshipTypes.isEmpty()) {
+      return;
+    }
+    invalidateUrnNow(urn);
+    scheduleInvalidation(() -> invalidateUrnNow(urn));
+  }
+
+  private void invalidateUrnNow(@Nonnull Urn urn) {
+    generation.incrementAndGet();
+    invalidate(new HashSet<>(keysByUrn.getOrDefault(urn, Set.of())));
+  }
+
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    cache.invalidateAll();
+    keysByUrn.clear();
+  }
+
+  /**
+   * Invalidate again once the written edges are searchable, an expansion loaded in between read the
+   * graph index before its refresh.
+   */
+  private void scheduleInvalidation(@Nonnull Runnable invalidation) {
+    if (invalidationExecutor != null) {
+      invalidationExecutor.schedule(invalidation, invalidationDelaySeconds, TimeUnit.SECONDS);
+    }
+  }
+
+  private void invalidate(@Nonnull Set<Key> keys) {
+    int invalidated = 0;
+    for (Key key : keys) {
+      Expansion expansion = cache.asMap().remove(key);
+      if (expansion != null) {
+        unindex(key, expansion.getUrns());
+        invalidated++;
+      }
+    }
+    if (invalidated > 0) {
+      MetricUtils.counter(this.getClass(), "invalidated").inc(invalidated);
+      log.debug("Invalidated {} hierarchy expansions", invalidated);
+    }
+  }
+
+  private void index(@Nonnull Key key, @Nonnull Set<Urn> urns) {
+    for (Urn urn : urns) {
+      keysByUrn.compute(
+          urn,
+          (u, keys) -> {
+            Set<Key> indexed = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+            indexed.add(key);
+            return indexed;
+          });
+    }
+  }
+
+  private void unindex(@Nonnull Key key, @Nonnull Set<Urn> urns) {
+    for (Urn urn : urns) {
+      keysByUrn.computeIfPresent(
+          urn,
+          (u, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+          });
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.linkedin.metadata.search.elasticsearch.query.filter;
 import io.datahubproject.metadata.context.OperationContext;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -29,4 +30,11 @@ public class QueryFilterRewriteChain {
     }
     return filterQuery;
   }
+
+  /**
+   * @return the first rewriter of the type in the chain, empty if it is not enabled
+   */
+  public <R extends QueryFilterRewriter> Optional<R> getRewriter(@Nonnull Class<R> type) {
+    return filterRewriters.stream().filter(type::isInstance).map(type::cast).findFirst();
+  }
 }
@@ -198,6 +198,8 @@ public class SearchRequestHandler {
     BoolQueryBuilder filterQuery =
         ESUtils.buildFilterQuery(
             filter, false, searchableFieldTypes, opContext, queryFilterRewriteChain);
+    ESAccessControlUtil.buildAccessControlFilter(opContext, queryFilterRewriteChain)
+        .ifPresent(filterQuery::filter);
     return applyDefaultSearchFilters(opContext, filter, filterQuery);
   }
 
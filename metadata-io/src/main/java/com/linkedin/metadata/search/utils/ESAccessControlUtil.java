@@ -3,18 +3,23 @@ package com.linkedin.metadata.search.utils;
 import static com.datahub.authorization.AuthUtil.VIEW_RESTRICTED_ENTITY_TYPES;
 
 import com.datahub.authorization.AuthUtil;
+import com.datahub.authorization.config.ViewAuthorizationConfiguration;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.StringArray;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.search.SearchEntity;
 import com.linkedin.metadata.search.SearchResult;
+import com.linkedin.metadata.search.elasticsearch.query.filter.QueryFilterRewriteChain;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import io.datahubproject.metadata.context.OperationContext;
 import io.datahubproject.metadata.services.RestrictedService;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import javax.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
+import org.opensearch.index.query.QueryBuilder;
 
 @Slf4j
 public class ESAccessControlUtil {
@@ -39,6 +44,13 @@ public class ESAccessControlUtil {
       final RestrictedService restrictedService =
           Objects.requireNonNull(opContext.getServicesRegistryContext()).getRestrictedService();
 
+      if (isSearchFilterEnabled(opContext)
+          && ViewPolicyQueryCompiler.compile(opContext.getSessionActorContext()).isExact()) {
+        // Unauthorized documents were excluded by the search filter
+        MetricUtils.counter(ESAccessControlUtil.class, "searchFilterExact").inc();
+        return searchEntities;
+      }
+
       if (opContext.getSearchContext().isRestrictedSearch()) {
         for (SearchEntity searchEntity : searchEntities) {
           final String entityType = searchEntity.getEntity().getEntityType();
@@ -64,6 +76,36 @@ public class ESAccessControlUtil {
     return searchEntities;
   }
 
+  /**
+   * Build a search filter which excludes the documents the session actor is not authorized to
+   * view.
+   *
+   * @return the filter, empty if view authorization search filtering is disabled or nothing is
+   *     restricted
+   */
+  public static Optional<QueryBuilder> buildAccessControlFilter(
+      @Nonnull OperationContext opContext,
+      @Nonnull QueryFilterRewriteChain queryFilterRewriteChain) {
+    if (!isSearchFilterEnabled(opContext)) {
+      return Optional.empty();
+    }
+    ViewPolicyQueryCompiler.CompiledViewPolicies compiled =
+        ViewPolicyQueryCompiler.compile(opContext.getSessionActorContext());
+    if (!compiled.isExact()) {
+      MetricUtils.counter(ESAccessControlUtil.class, "searchFilterFallback").inc();
+    }
+    return ViewPolicyQueryCompiler.toQuery(opContext, compiled, queryFilterRewriteChain);
+  }
+
+  private static boolean isSearchFilterEnabled(@Nonnull OperationContext opContext) {
+    final ViewAuthorizationConfiguration config =
+        opContext.getOperationContextConfig().getViewAuthorizationConfiguration();
+    return config.isEnabled()
+        && config.getSearch() != null
+        && config.getSearch().isFilterEnabled()
+        && !opContext.isSystemAuth();
+  }
+
   public static boolean restrictUrn(@Nonnull OperationContext opContext, @Nonnull Urn urn) {
     if (opContext.getOperationContextConfig().getViewAuthorizationConfiguration().isEnabled()
         && !opContext.isSystemAuth()) {
@@ -0,0 +1,399 @@
+package com.linkedin.metadata.search.utils;
+
+import static com.datahub.authorization.AuthUtil.VIEW_RESTRICTED_ENTITY_TYPES;
+
+import com.datahub.authorization.AuthUtil;
+import com.datahub.authorization.EntityFieldType;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.metadata.authorization.ApiGroup;
+import com.linkedin.metadata.authorization.ApiOperation;
+import com.linkedin.metadata.authorization.Conjunctive;
+import com.linkedin.metadata.authorization.PoliciesConfig;
+import com.linkedin.metadata.config.search.QueryFilterRewriterConfiguration;
+import com.linkedin.metadata.query.filter.Condition;
+import com.linkedin.metadata.search.elasticsearch.query.filter.DomainExpansionRewriter;
+import com.linkedin.metadata.search.elasticsearch.query.filter.QueryFilterRewriteChain;
+import com.linkedin.metadata.search.elasticsearch.query.filter.QueryFilterRewriterContext;
+import com.linkedin.metadata.search.elasticsearch.query.filter.QueryFilterRewriterSearchType;
+import com.linkedin.policy.DataHubActorFilter;
+import com.linkedin.policy.DataHubPolicyInfo;
+import com.linkedin.policy.DataHubResourceFilter;
+import com.linkedin.policy.PolicyMatchCondition;
+import com.linkedin.policy.PolicyMatchCriterion;
+import com.linkedin.policy.PolicyMatchCriterionArray;
+import com.linkedin.policy.PolicyMatchFilter;
+import io.datahubproject.metadata.context.ActorContext;
+import io.datahubproject.metadata.context.OperationContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+
+/**
+ * Compiles the view policies of the session actor into a search filter, mirroring the evaluation
+ * of the {@code PolicyEngine} for the entity READ privileges of the view restricted entity types.
+ *
+ * <p>Conditions which can be evaluated without the resource (actor users/groups, resource types)
+ * are evaluated up front, resource conditions are translated to clauses on the corresponding
+ * search document fields. Conditions which cannot be expressed exactly are over-approximated, so
+ * that the filter never hides a document the actor can view, and mark the result as inexact in
+ * which case the search results must still be restricted after the search.
+ */
+public class ViewPolicyQueryCompiler {
+
+  private static final String URN_FIELD = "urn";
+
+  private static final Map<EntityFieldType, String> SEARCH_FIELDS =
+      Map.of(
+          EntityFieldType.URN, URN_FIELD,
+          EntityFieldType.RESOURCE_URN, URN_FIELD,
+          EntityFieldType.OWNER, "owners",
+          EntityFieldType.DOMAIN, "domains",
+          EntityFieldType.TAG, "tags",
+          EntityFieldType.DATA_PLATFORM_INSTANCE, "platformInstance");
+
+  /** A single policy criterion on a search document field */
+  @Value
+  public static class Clause {
+    @Nonnull String field;
+    @Nonnull PolicyMatchCondition condition;
+    @Nonnull List<String> values;
+  }
+
+  /**
+   * Compiled view policies of an actor.
+   *
+   * <p>Restricted entity types map to a disjunction of policies, each a conjunction of clauses. An
+   * empty disjunction means no document of the type can be viewed, entity types which are absent
+   * are not restricted by the filter.
+   */
+  @Value
+  public static class CompiledViewPolicies {
+    @Nonnull Map<String, List<List<Clause>>> restrictions;
+
+    /** Whether the filter matches exactly the documents the policies allow the actor to view */
+    boolean exact;
+  }
+
+  private final Urn actorUrn;
+  private final Set<String> actorGroups;
+  private boolean exact = true;
+
+  private ViewPolicyQueryCompiler(@Nonnull ActorContext actorContext) {
+    this.actorUrn = actorContext.getActorUrn();
+    this.actorGroups =
+        actorContext.getGroupMembership().stream().map(Urn::toString).collect(Collectors.toSet());
+  }
+
+  @Nonnull
+  public static CompiledViewPolicies compile(@Nonnull ActorContext actorContext) {
+    return new ViewPolicyQueryCompiler(actorContext).compile(actorContext.getPolicyInfoSet());
+  }
+
+  /**
+   * Build the search filter for the compiled policies.
+   *
+   * @return the filter, empty if no entity type is restricted
+   */
+  @Nonnull
+  public static Optional<QueryBuilder> toQuery(
+      @Nonnull OperationContext opContext,
+      @Nonnull CompiledViewPolicies compiled,
+      @Nonnull QueryFilterRewriteChain queryFilterRewriteChain) {
+    if (compiled.getRestrictions().isEmpty()) {
+      return Optional.empty();
+    }
+
+    BoolQueryBuilder unrestrictedTypes = QueryBuilders.boolQuery();
+    BoolQueryBuilder accessFilter = QueryBuilders.boolQuery().minimumShouldMatch(1);
+    accessFilter.should(unrestrictedTypes);
+
+    for (Map.Entry<String, List<List<Clause>>> entry : compiled.getRestrictions().entrySet()) {
+      QueryBuilder typeQuery = entityTypeQuery(entry.getKey());
+      unrestrictedTypes.mustNot(typeQuery);
+
+      if (entry.getValue().isEmpty()) {
+        // No document of this type can be viewed
+        continue;
+      }
+
+      BoolQueryBuilder policiesQuery = QueryBuilders.boolQuery().minimumShouldMatch(1);
+      for (List<Clause> clauses : entry.getValue()) {
+        BoolQueryBuilder policyQuery = QueryBuilders.boolQuery();
+        clauses.forEach(
+            clause -> policyQuery.filter(clauseQuery(opContext, clause, queryFilterRewriteChain)));
+        policiesQuery.should(policyQuery);
+      }
+      accessFilter.should(QueryBuilders.boolQuery().filter(typeQuery).filter(policiesQuery));
+    }
+
+    return Optional.of(accessFilter);
+  }
+
+  private CompiledViewPolicies compile(@Nonnull Set<DataHubPolicyInfo> policies) {
+    Map<String, List<List<Clause>>> restrictions = new LinkedHashMap<>();
+
+    for (String entityType : VIEW_RESTRICTED_ENTITY_TYPES) {
+      Set<String> privileges = readPrivileges(entityType);
+      if (privileges == null) {
+        // Requires a combination of privileges, leave it to the policy engine
+        exact = false;
+        continue;
+      }
+
+      List<List<Clause>> disjunction = new ArrayList<>();
+      boolean unrestricted = false;
+      for (DataHubPolicyInfo policy : policies) {
+        if (!PoliciesConfig.ACTIVE_POLICY_STATE.equals(policy.getState())
+            || policy.getPrivileges().stream().noneMatch(privileges::contains)) {
+          continue;
+        }
+
+        List<Clause> actorClauses = compileActor(policy.getActors());
+        List<Clause> resourceClauses =
+            actorClauses == null ? null : compileResource(policy, entityType);
+        if (resourceClauses == null) {
+          continue;
+        }
+
+        if (actorClauses.isEmpty() && resourceClauses.isEmpty()) {
+          unrestricted = true;
+          break;
+        }
+        List<Clause> conjunction = new ArrayList<>(actorClauses);
+        conjunction.addAll(resourceClauses);
+        disjunction.add(conjunction);
+      }
+
+      if (!unrestricted) {
+        restrictions.put(entityType, disjunction);
+      }
+    }
+
+    return new CompiledViewPolicies(restrictions, exact);
+  }
+
+  /**
+   * @return privileges of which any one grants READ, null if a combination of privileges is
+   *     required
+   */
+  @Nullable
+  private static Set<String> readPrivileges(@Nonnull String entityType) {
+    Set<String> privileges = new HashSet<>();
+    for (Conjunctive<PoliciesConfig.Privilege> conjunction :
+        AuthUtil.lookupAPIPrivilege(ApiGroup.ENTITY, ApiOperation.READ, entityType)) {
+      if (conjunction.size() != 1) {
+        return null;
+      }
+      privileges.add(conjunction.get(0).getType());
+    }
+    return privileges;
+  }
+
+  /**
+   * @return clauses the resource must match for the actor to match, null if the actor never
+   *     matches
+   */
+  @Nullable
+  private List<Clause> compileActor(@Nullable DataHubActorFilter actorFilter) {
+    if (actorFilter == null) {
+      return null;
+    }
+    if (actorFilter.isAllUsers()
+        || (actorFilter.hasUsers() && actorFilter.getUsers().contains(actorUrn))
+        || (actorFilter.isAllGroups() && !actorGroups.isEmpty())
+        || (actorFilter.hasGroups()
+            && actorFilter.getGroups().stream()
+                .anyMatch(group -> actorGroups.contains(group.toString())))) {
+      return Collections.emptyList();
+    }
+    if (actorFilter.hasRoles() && !actorFilter.getRoles().isEmpty()) {
+      // Role membership is not part of the actor context
+      exact = false;
+      return Collections.emptyList();
+    }
+    if (actorFilter.isResourceOwners()) {
+      if (actorFilter.hasResourceOwnersTypes() && !actorFilter.getResourceOwnersTypes().isEmpty()) {
+        // Ownership types are not part of the search document
+        exact = false;
+      }
+      List<String> owners = new ArrayList<>(actorGroups.size() + 1);
+      owners.add(actorUrn.toString());
+      owners.addAll(actorGroups);
+      return List.of(
+          new Clause(
+              SEARCH_FIELDS.get(EntityFieldType.OWNER), PolicyMatchCondition.EQUALS, owners));
+    }
+    return null;
+  }
+
+  /**
+   * @return clauses the resource must match, null if the policy never matches the entity type
+   */
+  @Nullable
+  private List<Clause> compileResource(
+      @Nonnull DataHubPolicyInfo policy, @Nonnull String entityType) {
+    if (PoliciesConfig.PLATFORM_POLICY_TYPE.equals(policy.getType()) || !policy.hasResources()) {
+      return Collections.emptyList();
+    }
+
+    List<Clause> clauses = new ArrayList<>();
+    for (PolicyMatchCriterion criterion : getFilter(policy.getResources()).getCriteria()) {
+      final EntityFieldType fieldType;
+      try {
+        fieldType = EntityFieldType.valueOf(criterion.getField().toUpperCase());
+      } catch (IllegalArgumentException e) {
+        // Never matches in the policy engine
+        return null;
+      }
+      final PolicyMatchCondition condition = criterion.getCondition();
+      if (condition != PolicyMatchCondition.EQUALS
+          && condition != PolicyMatchCondition.STARTS_WITH) {
+        return null;
+      }
+
+      switch (fieldType) {
+        case TYPE:
+        case RESOURCE_TYPE:
+          if (criterion.getValues().stream()
+              .noneMatch(
+                  value ->
+                      condition == PolicyMatchCondition.EQUALS
+                          ? entityType.equals(value)
+                          : entityType.startsWith(value))) {
+            return null;
+          }
+          break;
+        case GROUP_MEMBERSHIP:
+          // Only resolved for users, which are not view restricted
+          return null;
+        case URN:
+        case RESOURCE_URN:
+          // Only urns of the entity type can match
+          final String typePrefix = urnPrefix(entityType);
+          List<String> urns =
+              criterion.getValues().stream()
+                  .filter(
+                      value ->
+                          value.startsWith(typePrefix)
+                              || (condition == PolicyMatchCondition.STARTS_WITH
+                                  && typePrefix.startsWith(value)))
+                  .collect(Collectors.toList());
+          if (urns.isEmpty()) {
+            return null;
+          }
+          clauses.add(new Clause(URN_FIELD, condition, urns));
+          break;
+        case DOMAIN:
+          if (condition == PolicyMatchCondition.STARTS_WITH) {
+            // Parent domains are matched by the policy engine and cannot be expanded by prefix
+            exact = false;
+            break;
+          }
+          // fall through
+        default:
+          if (criterion.getValues().isEmpty()) {
+            return null;
+          }
+          clauses.add(
+              new Clause(
+                  SEARCH_FIELDS.get(fieldType), condition, List.copyOf(criterion.getValues())));
+      }
+    }
+    return clauses;
+  }
+
+  /** Backwards compatible resource filter, see {@code PolicyEngine} */
+  private static PolicyMatchFilter getFilter(@Nonnull DataHubResourceFilter resourceFilter) {
+    if (resourceFilter.hasFilter()) {
+      return resourceFilter.getFilter();
+    }
+    PolicyMatchCriterionArray criteria = new PolicyMatchCriterionArray();
+    if (resourceFilter.hasType()) {
+      criteria.add(
+          new PolicyMatchCriterion()
+              .setField(EntityFieldType.TYPE.name())
+              .setValues(new StringArray(Collections.singletonList(resourceFilter.getType()))));
+    }
+    if (resourceFilter.hasType()
+        && resourceFilter.hasResources()
+        && !resourceFilter.isAllResources()) {
+      criteria.add(
+          new PolicyMatchCriterion()
+              .setField(EntityFieldType.URN.name())
+              .setValues(resourceFilter.getResources()));
+    }
+    return new PolicyMatchFilter().setCriteria(criteria);
+  }
+
+  private static QueryBuilder entityTypeQuery(@Nonnull String entityType) {
+    return QueryBuilders.prefixQuery(URN_FIELD, urnPrefix(entityType));
+  }
+
+  private static String urnPrefix(@Nonnull String entityType) {
+    return "urn:li:" + entityType + ":";
+  }
+
+  private static QueryBuilder clauseQuery(
+      @Nonnull OperationContext opContext,
+      @Nonnull Clause clause,
+      @Nonnull QueryFilterRewriteChain queryFilterRewriteChain) {
+    final String fieldName = ESUtils.toKeywordField(clause.getField(), false, null);
+
+    if (clause.getCondition() == PolicyMatchCondition.STARTS_WITH) {
+      BoolQueryBuilder prefixes = QueryBuilders.boolQuery().minimumShouldMatch(1);
+      clause
+          .getValues()
+          .forEach(value -> prefixes.should(QueryBuilders.prefixQuery(fieldName, value)));
+      return prefixes;
+    }
+
+    QueryBuilder termsQuery = QueryBuilders.termsQuery(fieldName, clause.getValues());
+    if (SEARCH_FIELDS.get(EntityFieldType.DOMAIN).equals(clause.getField())) {
+      // The policy engine matches parent domains, expand to all sub-domains independent of search
+      // flags, and of the domain expansion of search filters being enabled or limited
+      return domainExpansionRewriter(queryFilterRewriteChain)
+          .rewrite(
+              opContext,
+              QueryFilterRewriterContext.builder()
+                  .queryFilterRewriteChain(queryFilterRewriteChain)
+                  .condition(Condition.DESCENDANTS_INCL)
+                  .searchType(QueryFilterRewriterSearchType.STRUCTURED_SEARCH)
+                  .build(false),
+              termsQuery);
+    }
+    return termsQuery;
+  }
+
+  /** Uncapped domain expansion, sharing the expansion cache of the configured rewriter */
+  private static DomainExpansionRewriter domainExpansionRewriter(
+      @Nonnull QueryFilterRewriteChain queryFilterRewriteChain) {
+    Optional<DomainExpansionRewriter> configured =
+        queryFilterRewriteChain.getRewriter(DomainExpansionRewriter.class);
+    return DomainExpansionRewriter.builder()
+        .config(
+            new QueryFilterRewriterConfiguration.ExpansionRewriterConfiguration(
+                true,
+                configured
+                    .map(rewriter -> rewriter.getConfig().getPageSize())
+                    .orElse(
+                        QueryFilterRewriterConfiguration.ExpansionRewriterConfiguration.DEFAULT
+                            .getPageSize()),
+                Integer.MAX_VALUE))
+        .hierarchyExpansionCache(
+            configured.map(DomainExpansionRewriter::getHierarchyExpansionCache).orElse(null))
+        .build();
+  }
+}
@@ -33,6 +33,7 @@ import com.linkedin.metadata.models.extractor.FieldExtractor;
 import com.linkedin.metadata.query.filter.ConjunctiveCriterionArray;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.RelationshipDirection;
+import com.linkedin.metadata.search.elasticsearch.query.filter.HierarchyExpansionCache;
 import com.linkedin.metadata.utils.SchemaFieldUtils;
 import com.linkedin.mxe.MetadataChangeLog;
 import com.linkedin.mxe.SystemMetadata;
@@ -67,6 +68,9 @@ public class UpdateGraphIndicesService implements SearchIndicesService {
 
   @Getter @Setter @VisibleForTesting private boolean graphDiffMode;
 
+  /** Container and domain expansions used by search, invalidated as hierarchy edges change */
+  @Setter @Nullable private HierarchyExpansionCache hierarchyExpansionCache;
+
   private static final Set<ChangeType> UPDATE_CHANGE_TYPES =
       ImmutableSet.of(
           ChangeType.CREATE,
@@ -126,6 +130,7 @@ public class UpdateGraphIndicesService implements SearchIndicesService {
 
     if (removed != null) {
       graphService.setEdgeStatus(item.getUrn(), removed, EdgeUrnType.values());
+      invalidateHierarchyUrn(item.getUrn());
     }
   }
 
@@ -341,8 +346,10 @@ public class UpdateGraphIndicesService implements SearchIndicesService {
             newRelationshipFilter(
                 new Filter().setOr(new ConjunctiveCriterionArray()),
                 RelationshipDirection.OUTGOING));
+        invalidateHierarchyUrn(entry.getKey());
       }
-      edgesToAdd.forEach(graphService::addEdge);
+      graphService.addEdges(edgesToAdd);
+      invalidateHierarchyEdges(edgesToAdd);
     }
   }
 
@@ -385,18 +392,20 @@ public class UpdateGraphIndicesService implements SearchIndicesService {
     if (subtractiveDifference.size() > 0) {
       log.debug("Removing edges: {}", subtractiveDifference);
       subtractiveDifference.forEach(graphService::removeEdge);
+      invalidateHierarchyEdges(subtractiveDifference);
     }
 
     // Then add new edges
     if (additiveDifference.size() > 0) {
       log.debug("Adding edges: {}", additiveDifference);
-      additiveDifference.forEach(graphService::addEdge);
+      graphService.addEdges(additiveDifference);
+      invalidateHierarchyEdges(additiveDifference);
     }
 
     // Then update existing edges
     if (mergedEdges.size() > 0) {
       log.debug("Updating edges: {}", mergedEdges);
-      mergedEdges.forEach(graphService::upsertEdge);
+      graphService.upsertEdges(mergedEdges);
     }
   }
 
@@ -429,6 +438,7 @@ public class UpdateGraphIndicesService implements SearchIndicesService {
       @Nonnull final MetadataChangeLog event) {
     if (isKeyAspect) {
       graphService.removeNode(opContext, urn);
+      invalidateHierarchyUrn(urn);
       return;
     }
 
@@ -446,7 +456,20 @@ public class UpdateGraphIndicesService implements SearchIndicesService {
             createRelationshipFilter(
                 new Filter().setOr(new ConjunctiveCriterionArray()),
                 RelationshipDirection.OUTGOING));
+        invalidateHierarchyUrn(entry.getKey());
       }
     }
   }
+
+  private void invalidateHierarchyEdges(@Nonnull final List<Edge> edges) {
+    if (hierarchyExpansionCache != null) {
+      hierarchyExpansionCache.invalidateEdges(edges);
+    }
+  }
+
+  private void invalidateHierarchyUrn(@Nonnull final Urn urn) {
+    if (hierarchyExpansionCache != null) {
+      hierarchyExpansionCache.invalidateUrn(urn);
+    }
+  }
 }
@@ -33,6 +33,9 @@ import io.datahubproject.metadata.context.OperationContext;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -116,24 +119,42 @@ public class UpdateIndicesService implements SearchIndicesService {
   @Override
   public void handleChangeEvent(
       @Nonnull OperationContext opContext, @Nonnull final MetadataChangeLog event) {
+    handleChangeEvents(opContext, List.of(event));
+  }
+
+  /**
+   * Processes a batch of {@link MetadataChangeLog} events. The MCL side effects are evaluated once
+   * for the whole batch and the graph is updated once per distinct event, either of the batch or
+   * generated by a side effect.
+   *
+   * @param events the change events to be processed, in order
+   */
+  public void handleChangeEvents(
+      @Nonnull OperationContext opContext, @Nonnull final Collection<MetadataChangeLog> events) {
     try {
-      MCLItemImpl batch =
-          MCLItemImpl.builder().build(event, opContext.getAspectRetrieverOpt().get());
+      List<MCLItem> batch = new ArrayList<>(events.size());
+      for (MetadataChangeLog event : events) {
+        batch.add(MCLItemImpl.builder().build(event, opContext.getAspectRetrieverOpt().get()));
+      }
 
       Stream<MCLItem> sideEffects =
-          AspectsBatch.applyMCLSideEffects(List.of(batch), opContext.getRetrieverContext().get());
+          AspectsBatch.applyMCLSideEffects(batch, opContext.getRetrieverContext().get());
 
+      Set<MetadataChangeLog> graphUpdates = new LinkedHashSet<>();
       for (MCLItem mclItem :
-          Stream.concat(Stream.of(batch), sideEffects).collect(Collectors.toList())) {
+          Stream.concat(batch.stream(), sideEffects).collect(Collectors.toList())) {
         MetadataChangeLog hookEvent = mclItem.getMetadataChangeLog();
         if (UPDATE_CHANGE_TYPES.contains(hookEvent.getChangeType())) {
           handleUpdateChangeEvent(opContext, mclItem);
         } else if (hookEvent.getChangeType() == ChangeType.DELETE) {
           handleDeleteChangeEvent(opContext, mclItem);
         }
+        graphUpdates.add(hookEvent);
+      }
 
-        // graph update
-        updateGraphIndicesService.handleChangeEvent(opContext, event);
+      // graph update
+      for (MetadataChangeLog graphUpdate : graphUpdates) {
+        updateGraphIndicesService.handleChangeEvent(opContext, graphUpdate);
       }
     } catch (IOException e) {
       throw new RuntimeException(e);
@@ -4,6 +4,7 @@ import static com.linkedin.metadata.search.utils.QueryUtils.*;
 import static org.mockito.Mockito.*;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
 
 import com.datahub.util.RecordUtils;
@@ -13,12 +14,21 @@ import com.linkedin.common.FormAssociation;
 import com.linkedin.common.FormAssociationArray;
 import com.linkedin.common.FormVerificationAssociationArray;
 import com.linkedin.common.Forms;
+import com.linkedin.common.GlobalTags;
+import com.linkedin.common.TagAssociation;
+import com.linkedin.common.TagAssociationArray;
+import com.linkedin.common.urn.TagUrn;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.container.Container;
+import com.linkedin.entity.Aspect;
 import com.linkedin.entity.EntityResponse;
+import com.linkedin.entity.EnvelopedAspect;
+import com.linkedin.entity.EnvelopedAspectMap;
 import com.linkedin.events.metadata.ChangeType;
 import com.linkedin.metadata.Constants;
+import com.linkedin.metadata.aspect.models.graph.RelatedEntities;
+import com.linkedin.metadata.aspect.models.graph.RelatedEntitiesScrollResult;
 import com.linkedin.metadata.aspect.models.graph.RelatedEntity;
 import com.linkedin.metadata.config.PreProcessHooks;
 import com.linkedin.metadata.entity.ebean.EbeanAspectDao;
@@ -34,13 +44,21 @@ import com.linkedin.metadata.search.SearchEntity;
 import com.linkedin.metadata.search.SearchEntityArray;
 import com.linkedin.metadata.service.UpdateIndicesService;
 import com.linkedin.metadata.utils.AuditStampUtils;
+import com.linkedin.metadata.utils.GenericRecordUtils;
 import com.linkedin.metadata.utils.SystemMetadataUtils;
 import com.linkedin.mxe.MetadataChangeProposal;
+import com.linkedin.upgrade.DataHubUpgradeResult;
+import com.linkedin.upgrade.DataHubUpgradeState;
 import io.datahubproject.metadata.context.OperationContext;
 import io.datahubproject.test.metadata.context.TestOperationContexts;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.testng.annotations.Test;
 
@@ -92,6 +110,32 @@ public class DeleteEntityServiceTest {
                 eq(0),
                 eq((10000))))
         .thenReturn(mockRelatedEntities);
+    Mockito.when(
+            _graphService.scrollRelatedEntities(
+                any(OperationContext.class),
+                nullable(List.class),
+                eq(newFilter("urn", container.toString())),
+                nullable(List.class),
+                eq(EMPTY_FILTER),
+                eq(ImmutableList.of()),
+                eq(newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.INCOMING)),
+                eq(List.of()),
+                nullable(String.class),
+                eq(1000),
+                nullable(Long.class),
+                nullable(Long.class)))
+        .thenReturn(
+            new RelatedEntitiesScrollResult(
+                1,
+                1,
+                null,
+                List.of(
+                    new RelatedEntities(
+                        "IsPartOf",
+                        dataset.toString(),
+                        container.toString(),
+                        RelationshipDirection.INCOMING,
+                        null))));
 
     final EntityResponse entityResponse = new EntityResponse();
     entityResponse.setUrn(dataset);
@@ -139,7 +183,7 @@ public class DeleteEntityServiceTest {
 
   /** This test checks whether updating search references works properly (for forms only for now) */
   @Test
-  public void testDeleteSearchReferences() {
+  public void testDeleteSearchReferences() throws Exception {
     EntityService<?> mockEntityService = Mockito.mock(EntityService.class);
     DeleteEntityService deleteEntityService =
         new DeleteEntityService(mockEntityService, _graphService, _mockSearchService);
@@ -190,9 +234,18 @@ public class DeleteEntityServiceTest {
     formsAspect.setCompletedForms(new FormAssociationArray());
     formsAspect.setVerifications(new FormVerificationAssociationArray());
     Mockito.when(
-            mockEntityService.getLatestAspect(
-                Mockito.any(OperationContext.class), Mockito.eq(dataset), Mockito.eq("forms")))
-        .thenReturn(formsAspect);
+            mockEntityService.getLatestEnvelopedAspects(
+                Mockito.any(OperationContext.class),
+                Mockito.eq(Set.of(dataset)),
+                Mockito.eq(Set.of("forms")),
+                Mockito.eq(false)))
+        .thenReturn(
+            Map.of(
+                dataset,
+                List.of(
+                    new EnvelopedAspect()
+                        .setName("forms")
+                        .setValue(new Aspect(formsAspect.data())))));
 
     // no entities with relationships on forms
     final RelatedEntitiesResult mockRelatedEntities =
@@ -215,9 +268,9 @@ public class DeleteEntityServiceTest {
 
     // ensure we ingest one MCP for cleaning up forms reference
     Mockito.verify(mockEntityService, Mockito.times(1))
-        .ingestProposal(
+        .ingestProposals(
             any(),
-            Mockito.any(MetadataChangeProposal.class),
+            Mockito.argThat(mcps -> mcps.size() == 1),
             Mockito.any(AuditStamp.class),
             Mockito.eq(true));
     assertEquals(1, (int) response.getTotal());
@@ -270,11 +323,8 @@ public class DeleteEntityServiceTest {
 
     // ensure we did not ingest anything if there are no references
     Mockito.verify(mockEntityService, Mockito.times(0))
-        .ingestProposal(
-            any(),
-            Mockito.any(MetadataChangeProposal.class),
-            Mockito.any(AuditStamp.class),
-            Mockito.eq(true));
+        .ingestProposals(
+            any(), Mockito.anyList(), Mockito.any(AuditStamp.class), Mockito.eq(true));
     assertEquals(0, (int) response.getTotal());
     assertTrue(response.getRelatedAspects().isEmpty());
   }
@@ -330,12 +380,294 @@ public class DeleteEntityServiceTest {
 
     // ensure we do not ingest anything since this is dry-run, but the total returns 1
     Mockito.verify(mockEntityService, Mockito.times(0))
-        .ingestProposal(
-            any(),
-            Mockito.any(MetadataChangeProposal.class),
-            Mockito.any(AuditStamp.class),
-            Mockito.eq(true));
+        .ingestProposals(
+            any(), Mockito.anyList(), Mockito.any(AuditStamp.class), Mockito.eq(true));
     assertEquals(1, (int) response.getTotal());
     assertTrue(response.getRelatedAspects().isEmpty());
   }
+
+  /**
+   * This test checks that a removal of references which failed part way does not process the
+   * references again, even though the graph still returns them
+   */
+  @Test
+  public void testDeleteReferencesResumes() throws Exception {
+    EntityService<?> mockEntityService = Mockito.mock(EntityService.class);
+    DeleteEntityService deleteEntityService =
+        new DeleteEntityService(mockEntityService, _graphService, _mockSearchService);
+    deleteEntityService.setReferenceBatchSize(1);
+
+    final Urn dataset1 = UrnUtils.toDatasetUrn("snowflake", "test1", "DEV");
+    final Urn dataset2 = UrnUtils.toDatasetUrn("snowflake", "test2", "DEV");
+    final Urn tag = UrnUtils.getUrn("urn:li:tag:deleted");
+    final Urn otherTag = UrnUtils.getUrn("urn:li:tag:other");
+
+    Mockito.when(
+            _graphService.findRelatedEntities(
+                any(OperationContext.class),
+                nullable(List.class),
+                eq(newFilter("urn", tag.toString())),
+                nullable(List.class),
+                eq(EMPTY_FILTER),
+                eq(ImmutableList.of()),
+                eq(newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.INCOMING)),
+                eq(0),
+                eq((10000))))
+        .thenReturn(
+            new RelatedEntitiesResult(
+                0,
+                2,
+                2,
+                ImmutableList.of(
+                    new RelatedEntity("TaggedWith", dataset1.toString()),
+                    new RelatedEntity("TaggedWith", dataset2.toString()))));
+    mockScrollPage(tag, dataset1, null, "1");
+    mockScrollPage(tag, dataset2, "1", null);
+
+    final GlobalTags globalTags =
+        new GlobalTags()
+            .setTags(
+                new TagAssociationArray(
+                    new TagAssociation().setTag(TagUrn.createFromUrn(tag)),
+                    new TagAssociation().setTag(TagUrn.createFromUrn(otherTag))));
+    final Map<Urn, EntityResponse> entityResponses =
+        Map.of(
+            dataset1, globalTagsResponse(dataset1, globalTags),
+            dataset2, globalTagsResponse(dataset2, globalTags));
+    Mockito.when(
+            mockEntityService.getEntityV2(
+                any(OperationContext.class), eq("dataset"), any(Urn.class), any()))
+        .thenAnswer(invocation -> entityResponses.get(invocation.getArgument(2)));
+    Mockito.when(
+            mockEntityService.getEntitiesV2(
+                any(OperationContext.class), eq("dataset"), any(), any()))
+        .thenAnswer(
+            invocation ->
+                ((Set<Urn>) invocation.getArgument(2))
+                    .stream().collect(Collectors.toMap(urn -> urn, entityResponses::get)));
+    Mockito.when(
+            mockEntityService.ingestProposals(
+                any(), Mockito.anyList(), Mockito.any(AuditStamp.class), Mockito.eq(false)))
+        .thenReturn(Set.of())
+        .thenThrow(new IllegalStateException("Failed to ingest"))
+        .thenReturn(Set.of());
+
+    // the second page fails, the first one is not processed again on retry
+    assertThrows(
+        IllegalStateException.class,
+        () -> deleteEntityService.deleteReferencesTo(opContext, tag, false));
+    DeleteReferencesProgress progress =
+        deleteEntityService.getDeleteReferencesProgress(opContext, tag).orElseThrow();
+    assertEquals(progress.getReferencesProcessed(), 1);
+    assertEquals(progress.getAspectsUpdated(), 1);
+    assertEquals(progress.getState(), DataHubUpgradeState.FAILED);
+    final DataHubUpgradeResult failedProgress = lastSavedProgress(mockEntityService);
+    assertEquals(failedProgress.getState(), DataHubUpgradeState.FAILED);
+
+    deleteEntityService.deleteReferencesTo(opContext, tag, false);
+    assertTrue(deleteEntityService.getDeleteReferencesProgress(opContext, tag).isEmpty());
+    final DataHubUpgradeResult succeededProgress = lastSavedProgress(mockEntityService);
+    assertEquals(succeededProgress.getState(), DataHubUpgradeState.SUCCEEDED);
+    assertEquals(succeededProgress.getResult().get("referencesProcessed"), "2");
+    assertEquals(succeededProgress.getResult().get("aspectsUpdated"), "2");
+
+    // the persisted progress of the failed attempt survives a restart
+    Mockito.when(
+            mockEntityService.getLatestAspect(
+                any(OperationContext.class),
+                eq(DeleteReferencesProgress.getProgressUrn(tag)),
+                eq(Constants.DATA_HUB_UPGRADE_RESULT_ASPECT_NAME)))
+        .thenReturn(failedProgress);
+    DeleteReferencesProgress restored =
+        new DeleteEntityService(mockEntityService, _graphService, _mockSearchService)
+            .getDeleteReferencesProgress(opContext, tag)
+            .orElseThrow();
+    assertEquals(restored.getState(), DataHubUpgradeState.FAILED);
+    assertEquals(restored.getReferencesTotal(), 2);
+    assertEquals(restored.getReferencesProcessed(), 1);
+    assertEquals(restored.getAspectsUpdated(), 1);
+
+    ArgumentCaptor<List<MetadataChangeProposal>> proposalsCaptor =
+        ArgumentCaptor.forClass(List.class);
+    Mockito.verify(mockEntityService, Mockito.times(3))
+        .ingestProposals(
+            any(), proposalsCaptor.capture(), Mockito.any(AuditStamp.class), Mockito.eq(false));
+    assertEquals(
+        proposalsCaptor.getAllValues().stream()
+            .map(proposals -> proposals.get(0).getEntityUrn())
+            .collect(Collectors.toList()),
+        List.of(dataset1, dataset2, dataset2));
+    GlobalTags updatedTags =
+        GenericRecordUtils.deserializeAspect(
+            proposalsCaptor.getValue().get(0).getAspect().getValue(),
+            proposalsCaptor.getValue().get(0).getAspect().getContentType(),
+            GlobalTags.class);
+    assertEquals(updatedTags.getTags().size(), 1);
+    assertEquals(updatedTags.getTags().get(0).getTag().toString(), otherTag.toString());
+  }
+
+  /** This test checks that references are not skipped when removed ones drop out of the graph */
+  @Test
+  public void testDeleteReferencesWhileGraphShrinks() throws Exception {
+    EntityService<?> mockEntityService = Mockito.mock(EntityService.class);
+    DeleteEntityService deleteEntityService =
+        new DeleteEntityService(mockEntityService, _graphService, _mockSearchService);
+    deleteEntityService.setReferenceBatchSize(1);
+
+    final Urn tag = UrnUtils.getUrn("urn:li:tag:shrinking");
+    final List<Urn> datasets =
+        List.of(
+            UrnUtils.toDatasetUrn("snowflake", "shrink1", "DEV"),
+            UrnUtils.toDatasetUrn("snowflake", "shrink2", "DEV"),
+            UrnUtils.toDatasetUrn("snowflake", "shrink3", "DEV"));
+    final List<Urn> remaining = new ArrayList<>(datasets);
+
+    Mockito.when(
+            _graphService.findRelatedEntities(
+                any(OperationContext.class),
+                nullable(List.class),
+                eq(newFilter("urn", tag.toString())),
+                nullable(List.class),
+                eq(EMPTY_FILTER),
+                eq(ImmutableList.of()),
+                eq(newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.INCOMING)),
+                eq(0),
+                eq((10000))))
+        .thenReturn(
+            new RelatedEntitiesResult(
+                0,
+                3,
+                3,
+                datasets.stream()
+                    .map(dataset -> new RelatedEntity("TaggedWith", dataset.toString()))
+                    .collect(Collectors.toList())));
+    // Offset based pages over the references left in the graph
+    Mockito.when(
+            _graphService.scrollRelatedEntities(
+                any(OperationContext.class),
+                nullable(List.class),
+                eq(newFilter("urn", tag.toString())),
+                nullable(List.class),
+                eq(EMPTY_FILTER),
+                eq(ImmutableList.of()),
+                eq(newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.INCOMING)),
+                eq(List.of()),
+                nullable(String.class),
+                eq(1),
+                nullable(Long.class),
+                nullable(Long.class)))
+        .thenAnswer(
+            invocation -> {
+              String scrollId = invocation.getArgument(8);
+              int offset = scrollId == null ? 0 : Integer.parseInt(scrollId);
+              List<RelatedEntities> page =
+                  remaining.stream()
+                      .skip(offset)
+                      .limit(1)
+                      .map(
+                          dataset ->
+                              new RelatedEntities(
+                                  "TaggedWith",
+                                  dataset.toString(),
+                                  tag.toString(),
+                                  RelationshipDirection.INCOMING,
+                                  null))
+                      .collect(Collectors.toList());
+              return new RelatedEntitiesScrollResult(
+                  remaining.size(),
+                  1,
+                  offset + 1 < remaining.size() ? String.valueOf(offset + 1) : null,
+                  page);
+            });
+
+    final GlobalTags globalTags =
+        new GlobalTags()
+            .setTags(
+                new TagAssociationArray(
+                    new TagAssociation().setTag(TagUrn.createFromUrn(tag)),
+                    new TagAssociation()
+                        .setTag(TagUrn.createFromUrn(UrnUtils.getUrn("urn:li:tag:other")))));
+    final Map<Urn, EntityResponse> entityResponses =
+        datasets.stream()
+            .collect(Collectors.toMap(urn -> urn, urn -> globalTagsResponse(urn, globalTags)));
+    Mockito.when(
+            mockEntityService.getEntitiesV2(
+                any(OperationContext.class), eq("dataset"), any(), any()))
+        .thenAnswer(
+            invocation ->
+                ((Set<Urn>) invocation.getArgument(2))
+                    .stream().collect(Collectors.toMap(urn -> urn, entityResponses::get)));
+    // Removed references drop out of the graph as soon as they are ingested
+    Mockito.when(
+            mockEntityService.ingestProposals(
+                any(), Mockito.anyList(), Mockito.any(AuditStamp.class), Mockito.eq(false)))
+        .thenAnswer(
+            invocation -> {
+              ((List<MetadataChangeProposal>) invocation.getArgument(1))
+                  .forEach(proposal -> remaining.remove(proposal.getEntityUrn()));
+              return Set.of();
+            });
+
+    deleteEntityService.deleteReferencesTo(opContext, tag, false);
+
+    assertTrue(remaining.isEmpty(), "Expected no dangling references, left: " + remaining);
+    assertTrue(deleteEntityService.getDeleteReferencesProgress(opContext, tag).isEmpty());
+  }
+
+  private static DataHubUpgradeResult lastSavedProgress(EntityService<?> mockEntityService) {
+    ArgumentCaptor<MetadataChangeProposal> proposalCaptor =
+        ArgumentCaptor.forClass(MetadataChangeProposal.class);
+    Mockito.verify(mockEntityService, Mockito.atLeastOnce())
+        .ingestProposal(
+            any(), proposalCaptor.capture(), Mockito.any(AuditStamp.class), Mockito.eq(false));
+    MetadataChangeProposal proposal = proposalCaptor.getValue();
+    assertEquals(proposal.getAspectName(), Constants.DATA_HUB_UPGRADE_RESULT_ASPECT_NAME);
+    return GenericRecordUtils.deserializeAspect(
+        proposal.getAspect().getValue(),
+        proposal.getAspect().getContentType(),
+        DataHubUpgradeResult.class);
+  }
+
+  private void mockScrollPage(
+      Urn urn, Urn relatedUrn, @Nullable String scrollId, @Nullable String nextScrollId) {
+    Mockito.when(
+            _graphService.scrollRelatedEntities(
+                any(OperationContext.class),
+                nullable(List.class),
+                eq(newFilter("urn", urn.toString())),
+                nullable(List.class),
+                eq(EMPTY_FILTER),
+                eq(ImmutableList.of()),
+                eq(newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.INCOMING)),
+                eq(List.of()),
+                eq(scrollId),
+                eq(1),
+                nullable(Long.class),
+                nullable(Long.class)))
+        .thenReturn(
+            new RelatedEntitiesScrollResult(
+                2,
+                1,
+                nextScrollId,
+                List.of(
+                    new RelatedEntities(
+                        "TaggedWith",
+                        relatedUrn.toString(),
+                        urn.toString(),
+                        RelationshipDirection.INCOMING,
+                        null))));
+  }
+
+  private static EntityResponse globalTagsResponse(Urn urn, GlobalTags globalTags) {
+    return new EntityResponse()
+        .setUrn(urn)
+        .setEntityName(urn.getEntityType())
+        .setAspects(
+            new EnvelopedAspectMap(
+                Map.of(
+                    Constants.GLOBAL_TAGS_ASPECT_NAME,
+                    new EnvelopedAspect()
+                        .setName(Constants.GLOBAL_TAGS_ASPECT_NAME)
+                        .setValue(new Aspect(globalTags.data())))));
+  }
 }
@@ -5,6 +5,7 @@ import static com.linkedin.metadata.Constants.STATUS_ASPECT_NAME;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 import com.linkedin.common.AuditStamp;
@@ -32,6 +33,9 @@ import com.linkedin.metadata.service.UpdateIndicesService;
 import com.linkedin.metadata.utils.PegasusUtils;
 import com.linkedin.mxe.MetadataChangeProposal;
 import com.linkedin.mxe.SystemMetadata;
+import com.linkedin.retention.DataHubRetentionConfig;
+import com.linkedin.retention.Retention;
+import com.linkedin.retention.VersionBasedRetention;
 import io.datahubproject.metadata.context.OperationContext;
 import io.datahubproject.metadata.context.RetrieverContext;
 import io.datahubproject.test.DataGenerator;
@@ -432,6 +436,68 @@ public class EbeanEntityServiceTest
         "Expected 2nd item to be the latest");
   }
 
+  @Test
+  public void testSetBasedRetention() {
+    List<Urn> entityUrns =
+        List.of(
+            UrnUtils.getUrn("urn:li:corpuser:setBasedRetention1"),
+            UrnUtils.getUrn("urn:li:corpuser:setBasedRetention2"));
+    List<Status> versions =
+        List.of(
+            new Status().setRemoved(true),
+            new Status().setRemoved(false),
+            new Status().setRemoved(true),
+            new Status().setRemoved(false));
+
+    List<ChangeItemImpl> items =
+        entityUrns.stream()
+            .flatMap(
+                entityUrn ->
+                    versions.stream()
+                        .map(
+                            status ->
+                                ChangeItemImpl.builder()
+                                    .urn(entityUrn)
+                                    .aspectName(STATUS_ASPECT_NAME)
+                                    .recordTemplate(status)
+                                    .systemMetadata(AspectGenerationUtils.createSystemMetadata())
+                                    .auditStamp(TEST_AUDIT_STAMP)
+                                    .build(opContext.getAspectRetrieverOpt().get())))
+            .collect(Collectors.toList());
+    _entityServiceImpl.ingestAspects(
+        opContext,
+        AspectsBatchImpl.builder()
+            .retrieverContext(opContext.getRetrieverContext().get())
+            .items(items)
+            .build(),
+        true,
+        true);
+
+    _retentionService.setRetention(
+        opContext,
+        CORP_USER_ENTITY_NAME,
+        STATUS_ASPECT_NAME,
+        new DataHubRetentionConfig()
+            .setRetention(
+                new Retention().setVersion(new VersionBasedRetention().setMaxVersions(2))));
+    _retentionService.setSetBasedRetention(true);
+    _retentionService.setSetBasedParallelism(2);
+    _retentionService.batchApplyRetention(CORP_USER_ENTITY_NAME, null);
+
+    for (Urn entityUrn : entityUrns) {
+      assertNull(_entityServiceImpl.getAspect(opContext, entityUrn, STATUS_ASPECT_NAME, 1));
+      assertEquals(
+          _entityServiceImpl.getAspect(opContext, entityUrn, STATUS_ASPECT_NAME, 2),
+          versions.get(1));
+      assertEquals(
+          _entityServiceImpl.getAspect(opContext, entityUrn, STATUS_ASPECT_NAME, 3),
+          versions.get(2));
+      assertEquals(
+          _entityServiceImpl.getAspect(opContext, entityUrn, STATUS_ASPECT_NAME, 0),
+          versions.get(3));
+    }
+  }
+
   @Test
   public void dataGeneratorThreadingTest() {
     DataGenerator dataGenerator = new DataGenerator(opContext, _entityServiceImpl);
@@ -73,6 +73,7 @@ import com.linkedin.structured.StructuredProperties;
 import com.linkedin.structured.StructuredPropertyDefinition;
 import com.linkedin.structured.StructuredPropertyValueAssignment;
 import com.linkedin.structured.StructuredPropertyValueAssignmentArray;
+import com.linkedin.upgrade.DataHubUpgradeState;
 import com.linkedin.util.Pair;
 import io.datahubproject.metadata.context.OperationContext;
 import jakarta.annotation.Nonnull;
@@ -84,6 +85,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.Assert;
@@ -999,6 +1001,81 @@ public abstract class EntityServiceTest<T_AD extends AspectDao, T_RS extends Ret
     assertTrue(DataTemplateUtil.areEqual(writeAspect1, readNewRecentAspect));
   }
 
+  @Test
+  public void testRollbackBatches() throws AssertionError {
+    Urn entityUrn1 = UrnUtils.getUrn("urn:li:corpuser:test1");
+    Urn entityUrn2 = UrnUtils.getUrn("urn:li:corpuser:test2");
+    Urn entityUrn3 = UrnUtils.getUrn("urn:li:corpuser:test3");
+
+    SystemMetadata metadata1 = AspectGenerationUtils.createSystemMetadata(1625792689, "run-123");
+    SystemMetadata metadata2 = AspectGenerationUtils.createSystemMetadata(1635792689, "run-456");
+
+    String aspectName = AspectGenerationUtils.getAspectName(new CorpUserInfo());
+    CorpUserInfo writeAspect = AspectGenerationUtils.createCorpUserInfo("email@test.com");
+    CorpUserInfo writeAspectOverwrite =
+        AspectGenerationUtils.createCorpUserInfo("email.overwrite@test.com");
+
+    List<ChangeItemImpl> items = new ArrayList<>();
+    for (Urn urn : List.of(entityUrn1, entityUrn2, entityUrn3)) {
+      items.add(
+          ChangeItemImpl.builder()
+              .urn(urn)
+              .aspectName(aspectName)
+              .recordTemplate(writeAspect)
+              .systemMetadata(metadata1)
+              .auditStamp(TEST_AUDIT_STAMP)
+              .build(opContext.getAspectRetrieverOpt().get()));
+    }
+    for (Urn urn : List.of(entityUrn1, entityUrn2)) {
+      items.add(
+          ChangeItemImpl.builder()
+              .urn(urn)
+              .aspectName(aspectName)
+              .recordTemplate(writeAspectOverwrite)
+              .systemMetadata(metadata2)
+              .auditStamp(TEST_AUDIT_STAMP)
+              .build(opContext.getAspectRetrieverOpt().get()));
+    }
+    _entityServiceImpl.ingestAspects(
+        opContext,
+        AspectsBatchImpl.builder()
+            .retrieverContext(opContext.getRetrieverContext().get())
+            .items(items)
+            .build(),
+        true,
+        true);
+
+    // one urn per batch, rolled back concurrently, the last urn does not match the run
+    _entityServiceImpl.setRollbackBatchSize(1);
+    _entityServiceImpl.setRollbackParallelism(2);
+    List<AspectRowSummary> rows = new ArrayList<>();
+    for (Urn urn : List.of(entityUrn1, entityUrn2, entityUrn3)) {
+      AspectRowSummary row = new AspectRowSummary();
+      row.setRunId("run-456");
+      row.setAspectName(aspectName);
+      row.setUrn(urn.toString());
+      rows.add(row);
+    }
+
+    RollbackRunResult result = _entityServiceImpl.rollbackRun(opContext, rows, "run-456", true);
+
+    assertEquals(
+        result.getRowsRolledBack().stream()
+            .map(AspectRowSummary::getUrn)
+            .collect(Collectors.toList()),
+        List.of(entityUrn1.toString(), entityUrn2.toString()));
+    for (Urn urn : List.of(entityUrn1, entityUrn2, entityUrn3)) {
+      RecordTemplate readAspect = _entityServiceImpl.getAspect(opContext, urn, aspectName, 0);
+      assertTrue(DataTemplateUtil.areEqual(writeAspect, readAspect));
+    }
+    RollbackProgress progress =
+        _entityServiceImpl.getRollbackProgress(opContext, "run-456").orElseThrow();
+    assertEquals(progress.getState(), DataHubUpgradeState.SUCCEEDED);
+    assertEquals(progress.getRowsTotal(), 3);
+    assertEquals(progress.getRowsCompleted(), 3);
+    assertEquals(progress.getResumeAfterUrn(), entityUrn3.toString());
+  }
+
   @Test
   public void testRollbackKey() throws AssertionError {
     Urn entityUrn1 = UrnUtils.getUrn("urn:li:corpuser:test1");
@@ -1918,6 +1995,53 @@ public abstract class EntityServiceTest<T_AD extends AspectDao, T_RS extends Ret
             "datasetKey"));
   }
 
+  @Test
+  public void testUIPreProcessedProposalTimeout() throws Exception {
+    Urn entityUrn = UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:foo,bar,PROD)");
+    EditableDatasetProperties datasetProperties = new EditableDatasetProperties();
+    datasetProperties.setDescription("Foo Bar");
+    SystemMetadata systemMetadata = new SystemMetadata();
+    StringMap properties = new StringMap();
+    properties.put(APP_SOURCE, UI_SOURCE);
+    systemMetadata.setProperties(properties);
+    MetadataChangeProposal gmce = new MetadataChangeProposal();
+    gmce.setEntityUrn(entityUrn);
+    gmce.setChangeType(ChangeType.UPSERT);
+    gmce.setEntityType("dataset");
+    gmce.setAspectName("editableDatasetProperties");
+    gmce.setSystemMetadata(systemMetadata);
+    gmce.setAspect(GenericRecordUtils.serializeAspect(datasetProperties));
+
+    // Index updates do not complete within the wait
+    CountDownLatch indexed = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              indexed.await();
+              return null;
+            })
+        .when(_mockUpdateIndicesService)
+        .handleChangeEvent(any(), any());
+    try (UIPreProcessExecutor executor = new UIPreProcessExecutor(1, 10, 10)) {
+      _entityServiceImpl.setUiPreProcessExecutor(executor);
+      _entityServiceImpl.ingestProposal(opContext, gmce, TEST_AUDIT_STAMP, false);
+      indexed.countDown();
+    }
+
+    ArgumentCaptor<MetadataChangeLog> captor = ArgumentCaptor.forClass(MetadataChangeLog.class);
+    verify(_mockProducer, times(4))
+        .produceMetadataChangeLog(Mockito.eq(entityUrn), any(), captor.capture());
+    MetadataChangeLog mcl =
+        captor.getAllValues().stream()
+            .filter(changeLog -> changeLog.getAspectName().equals("editableDatasetProperties"))
+            .findFirst()
+            .get();
+    assertEquals(
+        mcl.getSystemMetadata().getProperties().get(FORCE_INDEXING_KEY),
+        "true",
+        "Expected the update indices hook to index the update which timed out");
+    assertNull(gmce.getSystemMetadata().getProperties().get(FORCE_INDEXING_KEY));
+  }
+
   @Test
   public void testStructuredPropertyIngestProposal() throws Exception {
     String urnStr = "urn:li:dataset:(urn:li:dataPlatform:looker,sample_dataset_unique,PROD)";
@@ -0,0 +1,61 @@
+package com.linkedin.metadata.entity;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import com.linkedin.metadata.run.AspectRowSummary;
+import com.linkedin.upgrade.DataHubUpgradeState;
+import java.util.List;
+import org.testng.annotations.Test;
+
+public class RollbackProgressTest {
+  private static final AspectRowSummary A = row("urn:li:corpuser:a");
+  private static final AspectRowSummary B = row("urn:li:corpuser:b");
+  private static final AspectRowSummary C = row("urn:li:corpuser:c");
+
+  @Test
+  public void testFailedRollbackIsResumedFromThePersistedCursor() {
+    RollbackProgress progress = new RollbackProgress("run");
+    assertEquals(progress.start(List.of(B, A, C)), List.of(B, A, C));
+
+    // the cursor only moves past the batches completed without a gap
+    progress.complete(1, List.of(B));
+    assertNull(progress.getResumeAfterUrn());
+    progress.complete(0, List.of(A));
+    assertEquals(progress.getResumeAfterUrn(), B.getUrn());
+    progress.finish(DataHubUpgradeState.FAILED);
+
+    RollbackProgress restored =
+        RollbackProgress.fromUpgradeResult("run", progress.toUpgradeResult());
+    assertEquals(restored.getState(), DataHubUpgradeState.FAILED);
+    assertEquals(restored.getRowsCompleted(), 2);
+
+    assertEquals(restored.start(List.of(C, B, A)), List.of(C));
+    assertEquals(restored.getRowsTotal(), 3);
+    assertEquals(restored.getRowsCompleted(), 2);
+    assertEquals(restored.getState(), DataHubUpgradeState.IN_PROGRESS);
+  }
+
+  @Test
+  public void testCursorIsResetForOtherRowsOrAfterSuccess() {
+    RollbackProgress progress = new RollbackProgress("run");
+    progress.start(List.of(A, B, C));
+    progress.complete(0, List.of(A));
+    progress.finish(DataHubUpgradeState.FAILED);
+
+    RollbackProgress otherRows =
+        RollbackProgress.fromUpgradeResult("run", progress.toUpgradeResult());
+    assertEquals(otherRows.start(List.of(A, B)), List.of(A, B));
+    assertNull(otherRows.getResumeAfterUrn());
+
+    progress.finish(DataHubUpgradeState.SUCCEEDED);
+    RollbackProgress succeeded =
+        RollbackProgress.fromUpgradeResult("run", progress.toUpgradeResult());
+    assertEquals(succeeded.start(List.of(A, B, C)), List.of(A, B, C));
+    assertEquals(succeeded.getRowsCompleted(), 0);
+  }
+
+  private static AspectRowSummary row(String urn) {
+    return new AspectRowSummary().setUrn(urn).setAspectName("status").setRunId("run");
+  }
+}
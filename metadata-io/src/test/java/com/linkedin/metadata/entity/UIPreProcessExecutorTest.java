@@ -0,0 +1,58 @@
+package com.linkedin.metadata.entity;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.testng.annotations.Test;
+
+public class UIPreProcessExecutorTest {
+  private static final Urn TEST_URN =
+      UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:hive,SampleHiveDataset,PROD)");
+
+  @Test
+  public void testSameUrnIsProcessedInOrder() throws Exception {
+    try (UIPreProcessExecutor executor = new UIPreProcessExecutor(4, 2, 1000)) {
+      List<Integer> processed = new CopyOnWriteArrayList<>();
+      List<Future<?>> futures =
+          IntStream.range(0, 20)
+              .mapToObj(i -> executor.submit(TEST_URN, () -> processed.add(i)))
+              .collect(Collectors.toList());
+
+      for (Future<?> future : futures) {
+        assertTrue(executor.await(future));
+      }
+      assertEquals(processed, IntStream.range(0, 20).boxed().collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  public void testAwaitIsBounded() throws Exception {
+    try (UIPreProcessExecutor executor = new UIPreProcessExecutor(1, 10, 10)) {
+      CountDownLatch latch = new CountDownLatch(1);
+      Future<?> future =
+          executor.submit(
+              TEST_URN,
+              () -> {
+                try {
+                  latch.await();
+                } catch (InterruptedException e) {
+                  throw new RuntimeException(e);
+                }
+              });
+
+      assertFalse(executor.await(future));
+      latch.countDown();
+      future.get();
+      assertTrue(executor.await(future));
+    }
+  }
+}
@@ -1,15 +1,26 @@
 package com.linkedin.metadata.entity.cassandra;
 
+import static com.linkedin.metadata.Constants.*;
 import static org.mockito.Mockito.*;
 
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.identity.CorpUserInfo;
+import com.linkedin.metadata.AspectIngestionUtils;
 import com.linkedin.metadata.CassandraTestUtils;
 import com.linkedin.metadata.config.PreProcessHooks;
 import com.linkedin.metadata.entity.AspectMigrationsDaoTest;
 import com.linkedin.metadata.entity.EntityServiceImpl;
+import com.linkedin.metadata.entity.ebean.EbeanAspectV2;
+import com.linkedin.metadata.entity.ebean.PartitionedStream;
+import com.linkedin.metadata.entity.restoreindices.RestoreIndicesArgs;
 import com.linkedin.metadata.event.EventProducer;
 import com.linkedin.metadata.models.registry.EntityRegistryException;
 import com.linkedin.metadata.service.UpdateIndicesService;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.testcontainers.containers.CassandraContainer;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
@@ -55,6 +66,32 @@ public class CassandraAspectMigrationsDaoTest extends AspectMigrationsDaoTest<Ca
     _migrationsDao = dao;
   }
 
+  @Test
+  public void testStreamAspectBatches() {
+    Map<Urn, CorpUserInfo> ingested =
+        AspectIngestionUtils.ingestCorpUserInfoAspects(_entityServiceImpl, 11);
+    AspectIngestionUtils.ingestChartInfoAspects(_entityServiceImpl, 5);
+
+    RestoreIndicesArgs args = new RestoreIndicesArgs();
+    args.aspectName = CORP_USER_INFO_ASPECT_NAME;
+    args.batchSize = 2;
+    try (PartitionedStream<EbeanAspectV2> stream = _migrationsDao.streamAspectBatches(args)) {
+      Set<String> urns =
+          stream
+              .partition(args.batchSize)
+              .flatMap(batch -> batch.map(EbeanAspectV2::getUrn))
+              .collect(Collectors.toSet());
+      Assert.assertEquals(
+          urns, ingested.keySet().stream().map(Urn::toString).collect(Collectors.toSet()));
+    }
+
+    args.aspectName = null;
+    args.urnLike = "urn:li:chart:%";
+    try (PartitionedStream<EbeanAspectV2> stream = _migrationsDao.streamAspectBatches(args)) {
+      Assert.assertEquals(stream.partition(args.batchSize).mapToLong(Stream::count).sum(), 5);
+    }
+  }
+
   /**
    * Ideally, all tests would be in the base class, so they're reused between all implementations.
    * When that's the case - test runner will ignore this class (and its base!) so we keep this dummy
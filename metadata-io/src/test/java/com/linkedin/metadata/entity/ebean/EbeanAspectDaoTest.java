@@ -11,6 +11,7 @@ import com.linkedin.metadata.aspect.batch.AspectsBatch;
 import com.linkedin.metadata.config.EbeanConfiguration;
 import io.ebean.Database;
 import io.ebean.test.LoggedSql;
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -73,4 +74,62 @@ public class EbeanAspectDaoTest {
     assertTrue(
         sql.get(0).contains("for update;"), String.format("Did not find `for update` in %s ", sql));
   }
+
+  @Test
+  public void testServerSideVersionShift() {
+    Database server =
+        EbeanTestUtils.createTestServer(
+            EbeanAspectDaoTest.class.getSimpleName() + "ServerSideVersionShift");
+    EbeanAspectDao shiftDao =
+        new EbeanAspectDao(
+            server,
+            EbeanConfiguration.builder()
+                .locking(EbeanConfiguration.LockingConfiguration.testDefault)
+                .serverSideVersionShift(true)
+                .build());
+
+    final String urn = "urn:li:corpuser:testServerSideVersionShift";
+    final String actor = "urn:li:corpuser:actor";
+    final Timestamp time = new Timestamp(1000L);
+    final String removed = "{\"removed\":true}";
+    final String notRemoved = "{\"removed\":false}";
+
+    shiftDao.runInTransactionWithRetryUnlocked(
+        (txContext) -> {
+          shiftDao.saveLatestAspect(
+              txContext, urn, "status", null, null, null, null, null, notRemoved, actor, null,
+              time, "{}", 0L);
+          // same (urn, aspect) twice within one transaction
+          shiftDao.saveLatestAspect(
+              txContext, urn, "status", notRemoved, actor, null, time, "{}", removed, actor, null,
+              time, "{}", 1L);
+          return "";
+        },
+        mock(AspectsBatch.class),
+        0);
+
+    LoggedSql.start();
+    shiftDao.runInTransactionWithRetryUnlocked(
+        (txContext) ->
+            shiftDao.saveLatestAspect(
+                txContext, urn, "status", removed, actor, null, time, "{}", notRemoved, actor,
+                null, time, "{}", 2L),
+        mock(AspectsBatch.class),
+        0);
+
+    // Get the captured SQL statements
+    List<String> sql =
+        LoggedSql.stop().stream()
+            .map(String::toLowerCase)
+            .filter(str -> str.contains("insert into metadata_aspect_v2"))
+            .toList();
+    assertTrue(
+        sql.stream().anyMatch(str -> str.contains("select")),
+        String.format("Did not find `INSERT ... SELECT` in %s ", sql));
+
+    assertEquals(shiftDao.getAspect(urn, "status", 0).getMetadata(), notRemoved);
+    assertEquals(shiftDao.getAspect(urn, "status", 1).getMetadata(), notRemoved);
+    assertEquals(shiftDao.getAspect(urn, "status", 2).getMetadata(), removed);
+    assertEquals(shiftDao.getMaxVersion(urn, "status"), 2L);
+  }
 }
@@ -28,6 +28,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -212,6 +213,58 @@ public class Neo4jGraphServiceTest extends GraphServiceTestBaseNoVia {
     assertEquals(result.getTotal(), 0);
   }
 
+  @Test
+  public void testAddEdges() throws Exception {
+    // quotes in urns and properties are bound as parameters, not inlined in the statement
+    DatasetUrn datasetUrn =
+        new DatasetUrn(new DataPlatformUrn("snowflake"), "db.schema.o'reilly", FabricType.TEST);
+    TagUrn tagUrn = new TagUrn("newTag");
+    TagUrn otherTagUrn = new TagUrn("otherTag");
+    getGraphService()
+        .addEdges(
+            List.of(
+                new Edge(datasetUrn, tagUrn, TAG_RELATIONSHIP, 1L, null, null, null, null),
+                new Edge(datasetUrn, otherTagUrn, TAG_RELATIONSHIP, 1L, null, null, null, null),
+                new Edge(
+                    dataset1Urn,
+                    datasetUrn,
+                    downstreamOf,
+                    1L,
+                    null,
+                    2L,
+                    null,
+                    Map.of("source", "it's UI"))));
+
+    RelatedEntitiesResult result =
+        getGraphService()
+            .findRelatedEntities(
+                operationContext,
+                Collections.singletonList(datasetType),
+                newFilter(Collections.singletonMap("urn", datasetUrn.toString())),
+                Collections.singletonList("tag"),
+                EMPTY_FILTER,
+                Collections.singletonList(TAG_RELATIONSHIP),
+                newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.OUTGOING),
+                0,
+                100);
+    assertEquals(result.getTotal(), 2);
+
+    result =
+        getGraphService()
+            .findRelatedEntities(
+                operationContext,
+                Collections.singletonList(datasetType),
+                newFilter(Collections.singletonMap("urn", datasetUrn.toString())),
+                Collections.singletonList(datasetType),
+                EMPTY_FILTER,
+                Collections.singletonList(downstreamOf),
+                newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.INCOMING),
+                0,
+                100);
+    assertEquals(result.getTotal(), 1);
+    assertEquals(result.getEntities().get(0).getUrn(), dataset1Urn.toString());
+  }
+
   private Set<UrnArray> getPathUrnArraysFromLineageResult(EntityLineageResult result) {
     return result.getRelationships().stream()
         .map(x -> x.getPaths().get(0))
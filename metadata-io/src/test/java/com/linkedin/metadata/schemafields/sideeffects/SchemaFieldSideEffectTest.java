@@ -396,6 +396,57 @@ public class SchemaFieldSideEffectTest {
     }
   }
 
+  @Test
+  public void unchangedFieldsSkippedTest() {
+    SchemaFieldSideEffect test = new SchemaFieldSideEffect();
+    test.setConfig(TEST_PLUGIN_CONFIG);
+    SchemaMetadata schemaMetadata = getTestSchemaMetadata();
+
+    // mock response
+    reset(mockAspectRetriever);
+    when(mockAspectRetriever.getEntityRegistry()).thenReturn(TEST_REGISTRY);
+    when(mockAspectRetriever.getLatestAspectObjects(eq(Set.of(TEST_URN)), anySet()))
+        .thenReturn(
+            Map.of(
+                TEST_URN, Map.of(SCHEMA_METADATA_ASPECT_NAME, new Aspect(schemaMetadata.data()))));
+
+    // Run test
+    MCLItem schemaMetadataChangeItem =
+        MCLItemImpl.builder()
+            .metadataChangeLog(
+                new MetadataChangeLog()
+                    .setChangeType(ChangeType.UPSERT)
+                    .setEntityUrn(TEST_URN)
+                    .setEntityType(DATASET_ENTITY_NAME)
+                    .setAspectName(SCHEMA_METADATA_ASPECT_NAME)
+                    .setAspect(GenericRecordUtils.serializeAspect(schemaMetadata))
+                    .setPreviousAspectValue(GenericRecordUtils.serializeAspect(schemaMetadata))
+                    .setCreated(AuditStampUtils.createDefaultAuditStamp()))
+            .build(retrieverContext.getAspectRetriever());
+    MCLItem statusChangeItem =
+        MCLItemImpl.builder()
+            .metadataChangeLog(
+                new MetadataChangeLog()
+                    .setChangeType(ChangeType.UPSERT)
+                    .setEntityUrn(TEST_URN)
+                    .setEntityType(DATASET_ENTITY_NAME)
+                    .setAspectName(STATUS_ASPECT_NAME)
+                    .setAspect(GenericRecordUtils.serializeAspect(new Status().setRemoved(true)))
+                    .setPreviousAspectValue(
+                        GenericRecordUtils.serializeAspect(new Status().setRemoved(false)))
+                    .setCreated(AuditStampUtils.createDefaultAuditStamp()))
+            .build(retrieverContext.getAspectRetriever());
+
+    assertEquals(
+        test.postApply(List.of(schemaMetadataChangeItem), retrieverContext).count(),
+        0,
+        "Expected no side effects of unchanged schema fields");
+    assertEquals(
+        test.postApply(List.of(statusChangeItem), retrieverContext).count(),
+        2,
+        "Expected status of each schema field");
+  }
+
   @Test
   public void schemaMetadataDeleteTest() {
     SchemaFieldSideEffect test = new SchemaFieldSideEffect();
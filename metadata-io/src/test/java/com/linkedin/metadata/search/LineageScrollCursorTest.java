@@ -0,0 +1,43 @@
+package com.linkedin.metadata.search;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+
+import com.linkedin.metadata.search.elasticsearch.query.request.SearchAfterWrapper;
+import org.testng.annotations.Test;
+
+public class LineageScrollCursorTest {
+
+  @Test
+  public void testRoundTrip() {
+    String batchScrollId =
+        new SearchAfterWrapper(new Object[] {1.0, "urn:li:dataset:1"}, "pit", 1000L).toScrollId();
+    LineageScrollCursor cursor = new LineageScrollCursor(2, batchScrollId, 100000);
+
+    LineageScrollCursor decoded = LineageScrollCursor.fromScrollId(cursor.toScrollId());
+    assertEquals(decoded.getBatch(), 2);
+    assertEquals(decoded.getScrollId(), batchScrollId);
+    assertEquals(decoded.getNumEntitiesBefore(), 100000);
+
+    decoded = LineageScrollCursor.fromScrollId(new LineageScrollCursor(1, null, 5).toScrollId());
+    assertEquals(decoded.getBatch(), 1);
+    assertNull(decoded.getScrollId());
+  }
+
+  @Test
+  public void testEntityScrollIdResumesFirstBatch() {
+    String entityScrollId =
+        new SearchAfterWrapper(new Object[] {1.0, "urn:li:dataset:1"}, "pit", 1000L).toScrollId();
+
+    LineageScrollCursor decoded = LineageScrollCursor.fromScrollId(entityScrollId);
+    assertEquals(decoded.getBatch(), 0);
+    assertEquals(decoded.getScrollId(), entityScrollId);
+    assertEquals(decoded.getNumEntitiesBefore(), 0);
+  }
+
+  @Test
+  public void testInvalidScrollId() {
+    assertThrows(IllegalStateException.class, () -> LineageScrollCursor.fromScrollId("not-base64!"));
+  }
+}
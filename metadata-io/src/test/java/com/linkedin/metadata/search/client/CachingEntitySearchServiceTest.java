@@ -0,0 +1,122 @@
+package com.linkedin.metadata.search.client;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import com.linkedin.metadata.browse.BrowseResultGroupV2;
+import com.linkedin.metadata.browse.BrowseResultGroupV2Array;
+import com.linkedin.metadata.browse.BrowseResultMetadata;
+import com.linkedin.metadata.browse.BrowseResultV2;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.query.SearchFlags;
+import com.linkedin.metadata.search.EntitySearchService;
+import io.datahubproject.metadata.context.OperationContext;
+import io.datahubproject.test.metadata.context.TestOperationContexts;
+import java.util.List;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class CachingEntitySearchServiceTest {
+  private EntitySearchService entitySearchService;
+  private CachingEntitySearchService cachingEntitySearchService;
+  private OperationContext opContext;
+
+  @BeforeMethod
+  public void setup() {
+    entitySearchService = mock(EntitySearchService.class);
+    cachingEntitySearchService =
+        new CachingEntitySearchService(
+            new ConcurrentMapCacheManager(), entitySearchService, 100, true);
+    opContext =
+        TestOperationContexts.systemContextNoSearchAuthorization(mock(EntityRegistry.class));
+  }
+
+  @Test
+  public void testBrowseV2Cached() {
+    BrowseResultV2 result = browseResult("prod");
+    when(entitySearchService.browseV2(
+            any(OperationContext.class),
+            anyString(),
+            anyString(),
+            any(),
+            anyString(),
+            anyInt(),
+            anyInt()))
+        .thenReturn(result);
+    when(entitySearchService.browseV2(
+            any(OperationContext.class),
+            anyList(),
+            anyString(),
+            any(),
+            anyString(),
+            anyInt(),
+            anyInt()))
+        .thenReturn(result);
+
+    assertEquals(
+        cachingEntitySearchService.browseV2(opContext, "dataset", "/", null, "*", 0, 10), result);
+    assertEquals(
+        cachingEntitySearchService.browseV2(opContext, "dataset", "/", null, "*", 0, 10), result);
+    verify(entitySearchService, times(1))
+        .browseV2(
+            any(OperationContext.class), eq("dataset"), eq("/"), any(), eq("*"), eq(0), eq(10));
+
+    // another page, or browsing across entities, is cached separately
+    cachingEntitySearchService.browseV2(opContext, "dataset", "/", null, "*", 10, 10);
+    cachingEntitySearchService.browseV2(opContext, List.of("dataset"), "/", null, "*", 0, 10);
+    cachingEntitySearchService.browseV2(opContext, List.of("dataset"), "/", null, "*", 0, 10);
+    verify(entitySearchService, times(1))
+        .browseV2(
+            any(OperationContext.class), eq("dataset"), eq("/"), any(), eq("*"), eq(10), eq(10));
+    verify(entitySearchService, times(1))
+        .browseV2(
+            any(OperationContext.class),
+            eq(List.of("dataset")),
+            eq("/"),
+            any(),
+            eq("*"),
+            eq(0),
+            eq(10));
+  }
+
+  @Test
+  public void testBrowseV2SkipCache() {
+    when(entitySearchService.browseV2(
+            any(OperationContext.class),
+            anyString(),
+            anyString(),
+            any(),
+            anyString(),
+            anyInt(),
+            anyInt()))
+        .thenReturn(browseResult("prod"));
+    OperationContext skipCache =
+        opContext.withSearchFlags(flags -> new SearchFlags().setSkipCache(true));
+
+    cachingEntitySearchService.browseV2(skipCache, "dataset", "/", null, "*", 0, 10);
+    cachingEntitySearchService.browseV2(skipCache, "dataset", "/", null, "*", 0, 10);
+    verify(entitySearchService, times(2))
+        .browseV2(
+            any(OperationContext.class), eq("dataset"), eq("/"), any(), eq("*"), eq(0), eq(10));
+  }
+
+  private static BrowseResultV2 browseResult(String group) {
+    return new BrowseResultV2()
+        .setGroups(
+            new BrowseResultGroupV2Array(
+                new BrowseResultGroupV2().setName(group).setCount(5L).setHasSubGroups(true)))
+        .setMetadata(new BrowseResultMetadata().setPath("/").setTotalNumEntities(5L))
+        .setFrom(0)
+        .setPageSize(10)
+        .setNumGroups(1);
+  }
+}
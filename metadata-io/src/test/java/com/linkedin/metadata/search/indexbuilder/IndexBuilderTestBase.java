@@ -4,6 +4,7 @@ import static com.linkedin.metadata.Constants.STRUCTURED_PROPERTY_MAPPING_FIELD;
 import static org.testng.Assert.*;
 
 import com.google.common.collect.ImmutableMap;
+import com.linkedin.metadata.config.search.BuildIndicesConfiguration;
 import com.linkedin.metadata.config.search.ElasticSearchConfiguration;
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.ESIndexBuilder;
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.ReindexConfig;
@@ -22,13 +23,22 @@ import javax.annotation.Nonnull;
 import org.opensearch.OpenSearchException;
 import org.opensearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.opensearch.action.admin.indices.refresh.RefreshRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.ClearScrollRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
 import org.opensearch.client.IndicesClient;
 import org.opensearch.client.RequestOptions;
 import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.client.core.CountRequest;
 import org.opensearch.client.indices.GetIndexRequest;
 import org.opensearch.client.indices.GetIndexResponse;
 import org.opensearch.cluster.metadata.AliasMetadata;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.rest.RestStatus;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.slice.SliceBuilder;
 import org.springframework.test.context.testng.AbstractTestNGSpringContextTests;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
@@ -228,6 +238,109 @@ public abstract class IndexBuilderTestBase extends AbstractTestNGSpringContextTe
         "Expected number of shards: " + expectedShards);
   }
 
+  @Test
+  public void testSlicedReindex() throws Exception {
+    GitVersion gitVersion = new GitVersion("0.0.0-test", "123456", Optional.empty());
+    new ESIndexBuilder(
+            getSearchClient(),
+            3,
+            0,
+            1,
+            0,
+            Map.of(),
+            true,
+            false,
+            false,
+            new ElasticSearchConfiguration(),
+            gitVersion)
+        .buildIndex(TEST_INDEX_NAME, Map.of(), Map.of());
+    for (int i = 0; i < 30; i++) {
+      getSearchClient()
+          .index(
+              new IndexRequest(TEST_INDEX_NAME).id("doc" + i).source(Map.of("value", i)),
+              RequestOptions.DEFAULT);
+    }
+    _indexClient.refresh(new RefreshRequest(TEST_INDEX_NAME), RequestOptions.DEFAULT);
+    Map<String, Long> expectedSliceDocuments = new HashMap<>();
+    for (int slice = 0; slice < 3; slice++) {
+      expectedSliceDocuments.put(String.valueOf(slice), getSliceCount(slice, 3));
+    }
+
+    BuildIndicesConfiguration buildIndicesConfiguration = new BuildIndicesConfiguration();
+    buildIndicesConfiguration.setReindexSlicingEnabled(true);
+    buildIndicesConfiguration.setReindexMaxConcurrentSlices(2);
+    buildIndicesConfiguration.setReindexBatchSize(10);
+    ElasticSearchConfiguration slicedConfiguration = new ElasticSearchConfiguration();
+    slicedConfiguration.setBuildIndices(buildIndicesConfiguration);
+    new ESIndexBuilder(
+            getSearchClient(),
+            2,
+            0,
+            1,
+            0,
+            Map.of(),
+            true,
+            false,
+            false,
+            slicedConfiguration,
+            gitVersion)
+        .buildIndex(TEST_INDEX_NAME, Map.of(), Map.of());
+
+    assertTrue(
+        Arrays.stream(getTestIndex().getIndices()).noneMatch(name -> name.equals(TEST_INDEX_NAME)),
+        "Expected original index to be replaced with alias");
+    _indexClient.refresh(new RefreshRequest(TEST_INDEX_NAME), RequestOptions.DEFAULT);
+    assertEquals(
+        getSearchClient()
+            .count(new CountRequest(TEST_INDEX_NAME), RequestOptions.DEFAULT)
+            .getCount(),
+        30L,
+        "Expected every slice to be reindexed");
+
+    String reindexedIndex =
+        getTestIndex().getAliases().entrySet().stream()
+            .filter(
+                entry ->
+                    entry.getValue().stream()
+                        .anyMatch(aliasMeta -> aliasMeta.alias().equals(TEST_INDEX_NAME)))
+            .map(Map.Entry::getKey)
+            .findFirst()
+            .get();
+    Map<String, Object> progress =
+        (Map<String, Object>)
+            ((Map<String, Object>)
+                    getTestIndex().getMappings().get(reindexedIndex).getSourceAsMap().get("_meta"))
+                .get("datahubReindex");
+    assertEquals(progress.get("source"), TEST_INDEX_NAME);
+    assertEquals(progress.get("slices"), 3);
+    Map<String, Long> sliceDocuments = new HashMap<>();
+    ((Map<String, Object>) progress.get("completedSlices"))
+        .forEach((slice, documents) -> sliceDocuments.put(slice, ((Number) documents).longValue()));
+    assertEquals(sliceDocuments, expectedSliceDocuments, "Expected every slice to be verified");
+    assertEquals(sliceDocuments.values().stream().mapToLong(Long::longValue).sum(), 30L);
+    assertTrue(
+        sliceDocuments.values().stream().allMatch(documents -> documents < 30),
+        "Expected each slice to copy only part of the source index");
+  }
+
+  private long getSliceCount(int slice, int sliceCount) throws IOException {
+    SearchResponse response =
+        getSearchClient()
+            .search(
+                new SearchRequest(TEST_INDEX_NAME)
+                    .scroll(TimeValue.timeValueMinutes(1))
+                    .source(
+                        new SearchSourceBuilder()
+                            .slice(new SliceBuilder(slice, sliceCount))
+                            .size(1)
+                            .trackTotalHits(true)),
+                RequestOptions.DEFAULT);
+    ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+    clearScrollRequest.addScrollId(response.getScrollId());
+    getSearchClient().clearScroll(clearScrollRequest, RequestOptions.DEFAULT);
+    return response.getHits().getTotalHits().value;
+  }
+
   @Test
   public void testSettingsNoReindex() throws Exception {
     GitVersion gitVersion = new GitVersion("0.0.0-test", "123456", Optional.empty());
@@ -0,0 +1,118 @@
+package com.linkedin.metadata.search.query;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import com.linkedin.metadata.config.search.MultiSearchConfiguration;
+import com.linkedin.metadata.search.elasticsearch.query.ESMultiSearchBatcher;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.mockito.ArgumentCaptor;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.MultiSearchResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.core.action.ActionListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ESMultiSearchBatcherTest {
+  private RestHighLevelClient mockClient;
+
+  @BeforeMethod
+  public void setup() {
+    mockClient = mock(RestHighLevelClient.class);
+  }
+
+  @Test
+  public void testConcurrentSearchesAreBatched() throws Exception {
+    SearchResponse first = mock(SearchResponse.class);
+    Exception failure = new IllegalStateException("shard failure");
+    MultiSearchResponse multiSearchResponse = mock(MultiSearchResponse.class);
+    when(multiSearchResponse.getResponses())
+        .thenReturn(
+            new MultiSearchResponse.Item[] {
+              new MultiSearchResponse.Item(first, null),
+              new MultiSearchResponse.Item(null, failure)
+            });
+    doAnswer(
+            invocation -> {
+              ActionListener<MultiSearchResponse> listener = invocation.getArgument(2);
+              listener.onResponse(multiSearchResponse);
+              return null;
+            })
+        .when(mockClient)
+        .msearchAsync(any(), eq(RequestOptions.DEFAULT), any());
+
+    ESMultiSearchBatcher batcher = new ESMultiSearchBatcher(mockClient, config(true, 10000L, 2));
+    CompletableFuture<SearchResponse> firstFuture = batcher.search(new SearchRequest("index_a"));
+    CompletableFuture<SearchResponse> secondFuture = batcher.search(new SearchRequest("index_b"));
+
+    assertSame(firstFuture.get(10, TimeUnit.SECONDS), first);
+    ExecutionException error =
+        expectThrows(ExecutionException.class, () -> secondFuture.get(10, TimeUnit.SECONDS));
+    assertSame(error.getCause(), failure);
+
+    ArgumentCaptor<MultiSearchRequest> captor = ArgumentCaptor.forClass(MultiSearchRequest.class);
+    verify(mockClient, times(1)).msearchAsync(captor.capture(), eq(RequestOptions.DEFAULT), any());
+    assertEquals(captor.getValue().requests().size(), 2);
+    verify(mockClient, never()).searchAsync(any(), any(), any());
+  }
+
+  @Test
+  public void testWindowFlushesPartialBatch() throws Exception {
+    SearchResponse response = mock(SearchResponse.class);
+    doAnswer(
+            invocation -> {
+              ActionListener<SearchResponse> listener = invocation.getArgument(2);
+              listener.onResponse(response);
+              return null;
+            })
+        .when(mockClient)
+        .searchAsync(any(), eq(RequestOptions.DEFAULT), any());
+
+    ESMultiSearchBatcher batcher = new ESMultiSearchBatcher(mockClient, config(true, 1L, 50));
+    assertSame(batcher.search(new SearchRequest("index_a")).get(10, TimeUnit.SECONDS), response);
+    verify(mockClient, never()).msearchAsync(any(), any(), any());
+  }
+
+  @Test
+  public void testDisabledSendsEachSearch() {
+    Exception failure = new IllegalStateException("unavailable");
+    doAnswer(
+            invocation -> {
+              ActionListener<SearchResponse> listener = invocation.getArgument(2);
+              listener.onFailure(failure);
+              return null;
+            })
+        .when(mockClient)
+        .searchAsync(any(), eq(RequestOptions.DEFAULT), any());
+
+    ESMultiSearchBatcher batcher = new ESMultiSearchBatcher(mockClient, config(false, 1L, 50));
+    CompletableFuture<SearchResponse> future = batcher.search(new SearchRequest("index_a"));
+    assertTrue(future.isCompletedExceptionally());
+    verify(mockClient, times(1)).searchAsync(any(), eq(RequestOptions.DEFAULT), any());
+  }
+
+  private static MultiSearchConfiguration config(
+      boolean enabled, long windowMillis, int maxBatchSize) {
+    MultiSearchConfiguration config = new MultiSearchConfiguration();
+    config.setEnabled(enabled);
+    config.setWindowMillis(windowMillis);
+    config.setMaxBatchSize(maxBatchSize);
+    return config;
+  }
+}
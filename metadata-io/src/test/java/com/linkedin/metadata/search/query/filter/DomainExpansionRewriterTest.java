@@ -4,15 +4,20 @@ import static com.linkedin.metadata.Constants.DOMAIN_ENTITY_NAME;
 import static com.linkedin.metadata.search.utils.QueryUtils.EMPTY_FILTER;
 import static com.linkedin.metadata.search.utils.QueryUtils.newRelationshipFilter;
 import static com.linkedin.metadata.utils.CriterionUtils.buildCriterion;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.metadata.aspect.AspectRetriever;
 import com.linkedin.metadata.aspect.GraphRetriever;
 import com.linkedin.metadata.aspect.RetrieverContext;
@@ -23,8 +28,10 @@ import com.linkedin.metadata.config.search.QueryFilterRewriterConfiguration;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.query.SearchFlags;
 import com.linkedin.metadata.query.filter.Condition;
+import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.RelationshipDirection;
 import com.linkedin.metadata.search.elasticsearch.query.filter.DomainExpansionRewriter;
+import com.linkedin.metadata.search.elasticsearch.query.filter.HierarchyExpansionCache;
 import com.linkedin.metadata.search.elasticsearch.query.filter.QueryFilterRewriteChain;
 import com.linkedin.metadata.search.elasticsearch.query.filter.QueryFilterRewriterContext;
 import com.linkedin.metadata.search.elasticsearch.query.filter.QueryFilterRewriterSearchType;
@@ -33,6 +40,8 @@ import com.linkedin.test.metadata.aspect.TestEntityRegistry;
 import io.datahubproject.metadata.context.OperationContext;
 import io.datahubproject.test.metadata.context.TestOperationContexts;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.index.query.TermsQueryBuilder;
@@ -385,4 +394,174 @@ public class DomainExpansionRewriterTest {
         expectedRewrite,
         "Expected rewrite of nested and pass through of other fields.");
   }
+
+  @Test
+  public void testTermsQueryRewriteCached() {
+    HierarchyExpansionCache cache =
+        new HierarchyExpansionCache(
+            new QueryFilterRewriterConfiguration.HierarchyCacheConfiguration(true, 60, 100, 0));
+    DomainExpansionRewriter test =
+        DomainExpansionRewriter.builder()
+            .config(QueryFilterRewriterConfiguration.ExpansionRewriterConfiguration.DEFAULT)
+            .hierarchyExpansionCache(cache)
+            .build();
+
+    Filter parentFilter =
+        QueryUtils.newDisjunctiveFilter(buildCriterion("urn", Condition.EQUAL, List.of(parentUrn)));
+    when(mockGraphRetriever.scrollRelatedEntities(
+            eq(List.of(DOMAIN_ENTITY_NAME)),
+            eq(parentFilter),
+            eq(List.of(DOMAIN_ENTITY_NAME)),
+            eq(EMPTY_FILTER),
+            eq(List.of("IsPartOf")),
+            eq(newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.INCOMING)),
+            eq(Edge.EDGE_SORT_CRITERION),
+            nullable(String.class),
+            anyInt(),
+            isNull(),
+            isNull()))
+        .thenReturn(
+            new RelatedEntitiesScrollResult(
+                1,
+                1,
+                null,
+                List.of(
+                    new RelatedEntities(
+                        "IsPartOf", childUrn, parentUrn, RelationshipDirection.INCOMING, null))));
+
+    QueryFilterRewriterContext rewriterContext =
+        QueryFilterRewriterContext.builder()
+            .condition(Condition.DESCENDANTS_INCL)
+            .searchType(QueryFilterRewriterSearchType.FULLTEXT_SEARCH)
+            .queryFilterRewriteChain(mock(QueryFilterRewriteChain.class))
+            .build(false);
+    TermsQueryBuilder expectedRewrite = QueryBuilders.termsQuery(FIELD_NAME, childUrn, parentUrn);
+
+    for (int i = 0; i < 2; i++) {
+      assertEquals(
+          test.rewrite(
+              opContext, rewriterContext, QueryBuilders.termsQuery(FIELD_NAME, parentUrn)),
+          expectedRewrite,
+          "Expected rewrite");
+    }
+    verify(mockGraphRetriever, times(1))
+        .scrollRelatedEntities(
+            any(),
+            eq(parentFilter),
+            any(),
+            any(),
+            any(),
+            any(),
+            any(),
+            any(),
+            anyInt(),
+            any(),
+            any());
+
+    // An edge outside of the expansion keeps it cached
+    cache.invalidateEdges(
+        List.of(
+            new Edge(
+                UrnUtils.getUrn("urn:li:domain:other"),
+                UrnUtils.getUrn("urn:li:domain:otherParent"),
+                "IsPartOf",
+                null,
+                null,
+                null,
+                null,
+                null)));
+    test.rewrite(opContext, rewriterContext, QueryBuilders.termsQuery(FIELD_NAME, parentUrn));
+    verify(mockGraphRetriever, times(1))
+        .scrollRelatedEntities(
+            any(),
+            eq(parentFilter),
+            any(),
+            any(),
+            any(),
+            any(),
+            any(),
+            any(),
+            anyInt(),
+            any(),
+            any());
+
+    // A new sub-domain of the child invalidates the expansion
+    cache.invalidateEdges(
+        List.of(
+            new Edge(
+                UrnUtils.getUrn(childUrn2),
+                UrnUtils.getUrn(childUrn),
+                "IsPartOf",
+                null,
+                null,
+                null,
+                null,
+                null)));
+    test.rewrite(opContext, rewriterContext, QueryBuilders.termsQuery(FIELD_NAME, parentUrn));
+    verify(mockGraphRetriever, times(2))
+        .scrollRelatedEntities(
+            any(),
+            eq(parentFilter),
+            any(),
+            any(),
+            any(),
+            any(),
+            any(),
+            any(),
+            anyInt(),
+            any(),
+            any());
+
+    // Removing a node of the expansion invalidates it
+    cache.invalidateUrn(UrnUtils.getUrn(childUrn));
+    test.rewrite(opContext, rewriterContext, QueryBuilders.termsQuery(FIELD_NAME, parentUrn));
+    verify(mockGraphRetriever, times(3))
+        .scrollRelatedEntities(
+            any(),
+            eq(parentFilter),
+            any(),
+            any(),
+            any(),
+            any(),
+            any(),
+            any(),
+            anyInt(),
+            any(),
+            any());
+  }
+
+  @Test
+  public void testExpansionLoadedAcrossAnInvalidationIsNotCached() {
+    HierarchyExpansionCache cache =
+        new HierarchyExpansionCache(
+            new QueryFilterRewriterConfiguration.HierarchyCacheConfiguration(true, 60, 100, 0));
+    Urn parent = UrnUtils.getUrn(parentUrn);
+    Urn child = UrnUtils.getUrn(childUrn);
+    HierarchyExpansionCache.Key key =
+        new HierarchyExpansionCache.Key(
+            List.of("IsPartOf"), RelationshipDirection.INCOMING, Set.of(parent), 100);
+    Edge edge = new Edge(child, parent, "IsPartOf", null, null, null, null, null);
+    AtomicInteger loads = new AtomicInteger();
+
+    // An edge written while the graph is read, the expansion may not include it
+    cache.expand(
+        key,
+        () -> {
+          loads.incrementAndGet();
+          cache.invalidateEdges(List.of(edge));
+          return Set.of(parent);
+        });
+    assertEquals(
+        cache.expand(
+            key,
+            () -> {
+              loads.incrementAndGet();
+              return Set.of(parent, child);
+            }),
+        Set.of(parent, child));
+    assertEquals(loads.get(), 2);
+
+    // Loaded without a concurrent invalidation, the expansion is cached
+    assertEquals(cache.expand(key, () -> Set.of(parent)), Set.of(parent, child));
+  }
 }
@@ -10,6 +10,8 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 import com.datahub.authentication.Actor;
 import com.datahub.authentication.ActorType;
@@ -33,12 +35,22 @@ import com.linkedin.entity.EnvelopedAspect;
 import com.linkedin.entity.EnvelopedAspectMap;
 import com.linkedin.entity.client.SystemEntityClient;
 import com.linkedin.identity.GroupMembership;
+import com.linkedin.metadata.aspect.GraphRetriever;
+import com.linkedin.metadata.aspect.models.graph.RelatedEntities;
+import com.linkedin.metadata.aspect.models.graph.RelatedEntitiesScrollResult;
 import com.linkedin.metadata.authorization.PoliciesConfig;
+import com.linkedin.metadata.config.search.QueryFilterRewriterConfiguration;
+import com.linkedin.metadata.query.filter.Filter;
+import com.linkedin.metadata.query.filter.RelationshipDirection;
+import com.linkedin.metadata.query.filter.RelationshipFilter;
+import com.linkedin.metadata.query.filter.SortCriterion;
 import com.linkedin.metadata.search.MatchedFieldArray;
 import com.linkedin.metadata.search.SearchEntity;
 import com.linkedin.metadata.search.SearchEntityArray;
 import com.linkedin.metadata.search.SearchResult;
 import com.linkedin.metadata.search.SearchResultMetadata;
+import com.linkedin.metadata.search.elasticsearch.query.filter.DomainExpansionRewriter;
+import com.linkedin.metadata.search.elasticsearch.query.filter.QueryFilterRewriteChain;
 import com.linkedin.policy.DataHubActorFilter;
 import com.linkedin.policy.DataHubPolicyInfo;
 import com.linkedin.policy.DataHubResourceFilter;
@@ -51,15 +63,20 @@ import com.linkedin.util.Pair;
 import io.datahubproject.metadata.context.OperationContext;
 import io.datahubproject.metadata.context.OperationContextConfig;
 import io.datahubproject.metadata.context.RequestContext;
+import io.datahubproject.metadata.context.RetrieverContext;
 import io.datahubproject.metadata.context.ServicesRegistryContext;
 import io.datahubproject.metadata.services.RestrictedService;
 import io.datahubproject.test.metadata.context.TestOperationContexts;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opensearch.index.query.QueryBuilder;
 import org.testcontainers.shaded.com.google.common.collect.ImmutableMap;
 import org.testng.annotations.Test;
 
@@ -99,6 +116,8 @@ public class ESAccessControlUtilTest {
           null,
           null);
 
+  private static final OperationContext SEARCH_FILTER_CONTEXT = searchFilterContext(null);
+
   private static final String VIEW_PRIVILEGE = "VIEW_ENTITY_PAGE";
 
   private static final Urn UNRESTRICTED_RESULT_URN =
@@ -489,6 +508,201 @@ public class ESAccessControlUtilTest {
     assertEquals(result.getEntities().get(0).getEntity(), UNRESTRICTED_RESULT_URN);
   }
 
+  @Test
+  public void testSearchFilterAllUsers() throws RemoteInvocationException, URISyntaxException {
+    OperationContext userBContext =
+        sessionWithUserGroups(
+            SEARCH_FILTER_CONTEXT, USER_B_AUTH, Set.of(TEST_POLICIES.get("allUsers")), List.of());
+
+    assertTrue(
+        ESAccessControlUtil.buildAccessControlFilter(userBContext, QueryFilterRewriteChain.EMPTY)
+            .isEmpty(),
+        "Expected no filter when every restricted entity type is viewable");
+  }
+
+  @Test
+  public void testSearchFilterUserRestrictions()
+      throws RemoteInvocationException, URISyntaxException {
+    OperationContext userBContext =
+        sessionWithUserGroups(
+            SEARCH_FILTER_CONTEXT, USER_B_AUTH, Set.of(TEST_POLICIES.get("userA")), List.of());
+
+    ViewPolicyQueryCompiler.CompiledViewPolicies compiled =
+        ViewPolicyQueryCompiler.compile(userBContext.getSessionActorContext());
+    assertTrue(compiled.isExact());
+    assertEquals(compiled.getRestrictions().get(DATASET_ENTITY_NAME), List.of());
+
+    Optional<QueryBuilder> filter =
+        ESAccessControlUtil.buildAccessControlFilter(userBContext, QueryFilterRewriteChain.EMPTY);
+    assertTrue(filter.isPresent());
+    assertTrue(filter.get().toString().contains("urn:li:dataset:"));
+
+    // Exact filter, results are not restricted after the search
+    SearchResult result = mockSearchResult();
+    ESAccessControlUtil.restrictSearchResult(
+        userBContext.withSearchFlags(flags -> flags.setIncludeRestricted(true)), result);
+    assertEquals(result.getEntities().get(0).getEntity(), UNRESTRICTED_RESULT_URN);
+
+    // System authentication is never filtered
+    assertTrue(
+        ESAccessControlUtil.buildAccessControlFilter(
+                SEARCH_FILTER_CONTEXT, QueryFilterRewriteChain.EMPTY)
+            .isEmpty());
+  }
+
+  @Test
+  public void testSearchFilterOwnerRestrictions()
+      throws RemoteInvocationException, URISyntaxException {
+    OperationContext userAContext =
+        sessionWithUserGroups(
+            SEARCH_FILTER_CONTEXT,
+            USER_A_AUTH,
+            Set.of(TEST_POLICIES.get("anyOwner")),
+            List.of(TEST_GROUP_A, TEST_GROUP_C));
+
+    ViewPolicyQueryCompiler.CompiledViewPolicies compiled =
+        ViewPolicyQueryCompiler.compile(userAContext.getSessionActorContext());
+    assertTrue(compiled.isExact());
+    List<List<ViewPolicyQueryCompiler.Clause>> datasetPolicies =
+        compiled.getRestrictions().get(DATASET_ENTITY_NAME);
+    assertEquals(datasetPolicies.size(), 1);
+    assertEquals(datasetPolicies.get(0).size(), 1);
+    assertEquals(datasetPolicies.get(0).get(0).getField(), "owners");
+    assertEquals(
+        Set.copyOf(datasetPolicies.get(0).get(0).getValues()),
+        Set.of(TEST_USER_A.toString(), TEST_GROUP_A.toString(), TEST_GROUP_C.toString()));
+
+    // Ownership types are not searchable, fall back to restricting the results
+    OperationContext businessOwnerContext =
+        sessionWithUserGroups(
+            SEARCH_FILTER_CONTEXT,
+            USER_A_AUTH,
+            Set.of(TEST_POLICIES.get("businessOwner")),
+            List.of(TEST_GROUP_A, TEST_GROUP_C));
+    assertFalse(
+        ViewPolicyQueryCompiler.compile(businessOwnerContext.getSessionActorContext()).isExact());
+
+    SearchResult result = mockSearchResult();
+    ESAccessControlUtil.restrictSearchResult(
+        businessOwnerContext.withSearchFlags(flags -> flags.setIncludeRestricted(true)), result);
+    assertEquals(result.getEntities().get(0).getEntity(), RESTRICTED_RESULT_URN);
+  }
+
+  @Test
+  public void testSearchFilterDomainRestrictions()
+      throws RemoteInvocationException, URISyntaxException {
+    OperationContext userBContext =
+        sessionWithUserGroups(
+            SEARCH_FILTER_CONTEXT, USER_B_AUTH, Set.of(TEST_POLICIES.get("domainA")), List.of());
+
+    ViewPolicyQueryCompiler.CompiledViewPolicies compiled =
+        ViewPolicyQueryCompiler.compile(userBContext.getSessionActorContext());
+    assertTrue(compiled.isExact());
+
+    String filter =
+        ESAccessControlUtil.buildAccessControlFilter(userBContext, QueryFilterRewriteChain.EMPTY)
+            .orElseThrow()
+            .toString();
+    assertTrue(filter.contains("domains.keyword"));
+    assertTrue(filter.contains(DOMAIN_A.toString()));
+    assertFalse(filter.contains(DOMAIN_B.toString()));
+  }
+
+  @Test
+  public void testSearchFilterDomainRestrictionsExpandAllSubDomains()
+      throws RemoteInvocationException, URISyntaxException {
+    // DomainA > DomainB > DomainC
+    Urn domainC = UrnUtils.getUrn("urn:li:domain:DomainC");
+    Map<Urn, Urn> parents = Map.of(DOMAIN_B, DOMAIN_A, domainC, DOMAIN_B);
+    GraphRetriever graphRetriever =
+        new TestOperationContexts.EmptyGraphRetriever() {
+          @Nonnull
+          @Override
+          public RelatedEntitiesScrollResult scrollRelatedEntities(
+              @Nullable List<String> sourceTypes,
+              @Nonnull Filter sourceEntityFilter,
+              @Nullable List<String> destinationTypes,
+              @Nonnull Filter destinationEntityFilter,
+              @Nonnull List<String> relationshipTypes,
+              @Nonnull RelationshipFilter relationshipFilter,
+              @Nonnull List<SortCriterion> sortCriterion,
+              @Nullable String scrollId,
+              int count,
+              @Nullable Long startTimeMillis,
+              @Nullable Long endTimeMillis) {
+            List<RelatedEntities> children =
+                parents.entrySet().stream()
+                    .filter(
+                        entry ->
+                            sourceEntityFilter.toString().contains(entry.getValue().toString()))
+                    .map(
+                        entry ->
+                            new RelatedEntities(
+                                "IsPartOf",
+                                entry.getKey().toString(),
+                                entry.getValue().toString(),
+                                RelationshipDirection.INCOMING,
+                                null))
+                    .collect(Collectors.toList());
+            return new RelatedEntitiesScrollResult(
+                children.size(), children.size(), null, children);
+          }
+        };
+    RetrieverContext emptyRetrieverContext = TestOperationContexts.emptyRetrieverContext(null);
+    OperationContext userBContext =
+        sessionWithUserGroups(
+            searchFilterContext(
+                () ->
+                    RetrieverContext.builder()
+                        .graphRetriever(graphRetriever)
+                        .aspectRetriever(emptyRetrieverContext.getAspectRetriever())
+                        .searchRetriever(emptyRetrieverContext.getSearchRetriever())
+                        .build()),
+            USER_B_AUTH,
+            Set.of(TEST_POLICIES.get("domainA")),
+            List.of());
+    // Search filters expand domains up to a limit of one urn
+    QueryFilterRewriteChain chain =
+        QueryFilterRewriteChain.of(
+            DomainExpansionRewriter.builder()
+                .config(
+                    new QueryFilterRewriterConfiguration.ExpansionRewriterConfiguration(
+                        true, 100, 1))
+                .build());
+
+    assertTrue(ViewPolicyQueryCompiler.compile(userBContext.getSessionActorContext()).isExact());
+    String filter =
+        ESAccessControlUtil.buildAccessControlFilter(userBContext, chain).orElseThrow().toString();
+    // The policy engine matches any parent domain, so the view filter is not limited
+    assertTrue(filter.contains(DOMAIN_A.toString()));
+    assertTrue(filter.contains(DOMAIN_B.toString()));
+    assertTrue(filter.contains(domainC.toString()));
+  }
+
+  private static OperationContext searchFilterContext(
+      @Nullable Supplier<RetrieverContext> retrieverContextSupplier) {
+    return TestOperationContexts.systemContext(
+        () ->
+            OperationContextConfig.builder()
+                .allowSystemAuthentication(true)
+                .viewAuthorizationConfiguration(
+                    ViewAuthorizationConfiguration.builder()
+                        .enabled(true)
+                        .search(
+                            ViewAuthorizationConfiguration.ViewAuthorizationSearchConfig.builder()
+                                .filterEnabled(true)
+                                .build())
+                        .build())
+                .build(),
+        () -> SYSTEM_AUTH,
+        () ->
+            ServicesRegistryContext.builder().restrictedService(mockRestrictedService()).build(),
+        null,
+        retrieverContextSupplier,
+        null,
+        null);
+  }
+
   private static RestrictedService mockRestrictedService() {
     RestrictedService mockRestrictedService = mock(RestrictedService.class);
     when(mockRestrictedService.encryptRestrictedUrn(any()))
@@ -527,11 +741,20 @@ public class ESAccessControlUtilTest {
   private static OperationContext sessionWithUserGroups(
       Authentication auth, Set<DataHubPolicyInfo> policies, List<Urn> groups)
       throws RemoteInvocationException, URISyntaxException {
+    return sessionWithUserGroups(ENABLED_CONTEXT, auth, policies, groups);
+  }
+
+  private static OperationContext sessionWithUserGroups(
+      OperationContext systemContext,
+      Authentication auth,
+      Set<DataHubPolicyInfo> policies,
+      List<Urn> groups)
+      throws RemoteInvocationException, URISyntaxException {
     Urn actorUrn = UrnUtils.getUrn(auth.getActor().toUrnStr());
     Authorizer dataHubAuthorizer =
         new TestDataHubAuthorizer(
-            ENABLED_CONTEXT, policies, Map.of(actorUrn, groups), TEST_OWNERSHIP);
-    return ENABLED_CONTEXT.asSession(RequestContext.TEST, dataHubAuthorizer, auth);
+            systemContext, policies, Map.of(actorUrn, groups), TEST_OWNERSHIP);
+    return systemContext.asSession(RequestContext.TEST, dataHubAuthorizer, auth);
   }
 
   public static class TestDataHubAuthorizer extends DataHubAuthorizer {
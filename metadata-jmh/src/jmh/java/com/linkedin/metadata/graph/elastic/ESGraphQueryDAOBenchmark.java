@@ -0,0 +1,138 @@
+package com.linkedin.metadata.graph.elastic;
+
+import com.linkedin.common.UrnArrayArray;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.metadata.graph.GraphFilters;
+import com.linkedin.metadata.graph.LineageRelationship;
+import com.linkedin.metadata.jmh.BenchmarkFixtures;
+import com.linkedin.metadata.models.registry.LineageRegistry.EdgeInfo;
+import com.linkedin.metadata.query.filter.RelationshipDirection;
+import io.datahubproject.metadata.context.OperationContext;
+import io.datahubproject.test.metadata.context.TestOperationContexts;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.lucene.search.TotalHits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchResponseSections;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+
+/**
+ * Lineage query construction and response parsing, executed once per hop of every lineage
+ * traversal.
+ *
+ * <p>Lives in the DAO package to reach the package private response parsing entry point.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ESGraphQueryDAOBenchmark {
+
+  private static final String DOWNSTREAM_OF = "DownstreamOf";
+
+  @Param({"10", "100", "1000"})
+  public int edgeCount;
+
+  private OperationContext opContext;
+  private Map<String, List<Urn>> urnsPerEntityType;
+  private Map<String, List<EdgeInfo>> edgesPerEntityType;
+  private Set<Pair<String, EdgeInfo>> validEdges;
+  private GraphFilters graphFilters;
+  private Set<Urn> entityUrns;
+  private BytesArray[] sources;
+
+  @Setup
+  public void setup() {
+    opContext = TestOperationContexts.systemContextNoSearchAuthorization();
+
+    EdgeInfo edgeInfo = new EdgeInfo(DOWNSTREAM_OF, RelationshipDirection.OUTGOING, "dataset");
+    urnsPerEntityType = Map.of("dataset", List.of(BenchmarkFixtures.DATASET_URN));
+    edgesPerEntityType = Map.of("dataset", List.of(edgeInfo));
+    validEdges = Set.of(Pair.of("dataset", edgeInfo));
+    graphFilters = new GraphFilters(List.of("dataset"));
+    entityUrns = Set.of(BenchmarkFixtures.DATASET_URN);
+
+    sources =
+        IntStream.range(0, edgeCount)
+            .mapToObj(
+                i ->
+                    edgeDocument(
+                        BenchmarkFixtures.DATASET_URN,
+                        UrnUtils.getUrn(
+                            "urn:li:dataset:(urn:li:dataPlatform:hive,upstream" + i + ",PROD)")))
+            .toArray(BytesArray[]::new);
+  }
+
+  @Benchmark
+  public QueryBuilder getLineageQuery() {
+    return ESGraphQueryDAO.getLineageQuery(
+        opContext, urnsPerEntityType, edgesPerEntityType, graphFilters);
+  }
+
+  /**
+   * Hits are rebuilt on every invocation since {@link SearchHit} caches its parsed source, the
+   * cost of parsing the source of each hit is part of what the traversal pays per hop.
+   */
+  @Benchmark
+  public List<LineageRelationship> extractRelationships() {
+    Map<Urn, UrnArrayArray> existingPaths = new HashMap<>();
+    return ESGraphQueryDAO.extractRelationships(
+        entityUrns,
+        searchResponse(),
+        validEdges,
+        new HashSet<>(),
+        new HashSet<>(),
+        1,
+        1,
+        existingPaths,
+        false);
+  }
+
+  private SearchResponse searchResponse() {
+    SearchHit[] hits =
+        IntStream.range(0, sources.length)
+            .mapToObj(
+                i -> new SearchHit(i, String.valueOf(i), Map.of(), Map.of()).sourceRef(sources[i]))
+            .toArray(SearchHit[]::new);
+    SearchHits searchHits =
+        new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 1.0f);
+    return new SearchResponse(
+        new SearchResponseSections(searchHits, null, null, false, false, null, 1),
+        null,
+        1,
+        1,
+        0,
+        1,
+        ShardSearchFailure.EMPTY_ARRAY,
+        SearchResponse.Clusters.EMPTY);
+  }
+
+  private static BytesArray edgeDocument(Urn source, Urn destination) {
+    return new BytesArray(
+        String.format(
+                "{\"source\":{\"urn\":\"%s\",\"entityType\":\"dataset\"},"
+                    + "\"destination\":{\"urn\":\"%s\",\"entityType\":\"dataset\"},"
+                    + "\"relationshipType\":\"%s\",\"createdOn\":0}",
+                source, destination, DOWNSTREAM_OF)
+            .getBytes(StandardCharsets.UTF_8));
+  }
+}
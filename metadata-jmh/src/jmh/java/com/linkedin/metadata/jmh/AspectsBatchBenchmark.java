@@ -0,0 +1,77 @@
+package com.linkedin.metadata.jmh;
+
+import com.linkedin.common.FabricType;
+import com.linkedin.common.urn.DataPlatformUrn;
+import com.linkedin.common.urn.DatasetUrn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.metadata.aspect.batch.AspectsBatch;
+import com.linkedin.metadata.entity.ebean.batch.AspectsBatchImpl;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.mxe.MetadataChangeProposal;
+import io.datahubproject.metadata.context.RetrieverContext;
+import io.datahubproject.test.metadata.context.TestOperationContexts;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Construction of an {@link AspectsBatch} from serialized proposals, which deserializes and
+ * validates every proposal ahead of the ingest transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AspectsBatchBenchmark {
+
+  /** Number of datasets in the batch, each contributing two aspects. */
+  @Param({"1", "100", "1000"})
+  public int batchSize;
+
+  private RetrieverContext retrieverContext;
+  private List<MetadataChangeProposal> mcps;
+
+  @Setup
+  public void setup() {
+    retrieverContext = TestOperationContexts.emptyRetrieverContext(null);
+    mcps =
+        IntStream.range(0, batchSize)
+            .mapToObj(
+                i ->
+                    new DatasetUrn(
+                        new DataPlatformUrn("hive"), "benchmark.table" + i, FabricType.PROD))
+            .flatMap(
+                urn ->
+                    Stream.of(
+                        mcp(urn, "datasetProperties", BenchmarkFixtures.datasetProperties(10)),
+                        mcp(urn, "schemaMetadata", BenchmarkFixtures.schemaMetadata(20))))
+            .collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public AspectsBatch build() {
+    return AspectsBatchImpl.builder()
+        .mcps(mcps, BenchmarkFixtures.AUDIT_STAMP, retrieverContext)
+        .build();
+  }
+
+  private static MetadataChangeProposal mcp(
+      DatasetUrn urn, String aspectName, RecordTemplate aspect) {
+    return new MetadataChangeProposal()
+        .setEntityType("dataset")
+        .setEntityUrn(urn)
+        .setChangeType(ChangeType.UPSERT)
+        .setAspectName(aspectName)
+        .setAspect(GenericRecordUtils.serializeAspect(aspect));
+  }
+}
@@ -0,0 +1,134 @@
+package com.linkedin.metadata.jmh;
+
+import com.datahub.test.SimpleNestedRecord1;
+import com.datahub.test.SimpleNestedRecord2;
+import com.datahub.test.SimpleNestedRecord2Array;
+import com.datahub.test.TestEntityInfo;
+import com.datahub.test.TestEntitySnapshot;
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.FabricType;
+import com.linkedin.common.GlobalTags;
+import com.linkedin.common.GlossaryTermAssociation;
+import com.linkedin.common.GlossaryTermAssociationArray;
+import com.linkedin.common.GlossaryTerms;
+import com.linkedin.common.TagAssociation;
+import com.linkedin.common.TagAssociationArray;
+import com.linkedin.common.urn.DataPlatformUrn;
+import com.linkedin.common.urn.DatasetUrn;
+import com.linkedin.common.urn.GlossaryTermUrn;
+import com.linkedin.common.urn.TagUrn;
+import com.linkedin.common.urn.TestEntityUrn;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.data.template.StringMap;
+import com.linkedin.dataset.DatasetProperties;
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.EntitySpecBuilder;
+import com.linkedin.schema.MySqlDDL;
+import com.linkedin.schema.SchemaField;
+import com.linkedin.schema.SchemaFieldArray;
+import com.linkedin.schema.SchemaFieldDataType;
+import com.linkedin.schema.SchemaMetadata;
+import com.linkedin.schema.StringType;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic aspect fixtures shared by the benchmarks. Sizes are parameterized so that the
+ * benchmarks can show how cost scales with aspect size rather than only the cost of a tiny record.
+ */
+public class BenchmarkFixtures {
+  private BenchmarkFixtures() {}
+
+  public static final DatasetUrn DATASET_URN =
+      new DatasetUrn(new DataPlatformUrn("hive"), "benchmark.table", FabricType.PROD);
+
+  public static final AuditStamp AUDIT_STAMP =
+      new AuditStamp().setActor(UrnUtils.getUrn("urn:li:corpuser:datahub")).setTime(0L);
+
+  /** Test entity spec built from the {@code test-models} snapshot, covers every annotation type. */
+  public static EntitySpec testEntitySpec() {
+    return new EntitySpecBuilder().buildEntitySpec(new TestEntitySnapshot().schema());
+  }
+
+  public static Urn testEntityUrn() {
+    return new TestEntityUrn("key", "urn", "VALUE_1");
+  }
+
+  public static TestEntityInfo testEntityInfo(int size) {
+    Map<String, String> customProperties = new HashMap<>();
+    IntStream.range(0, size).forEach(i -> customProperties.put("key" + i, "value" + i));
+
+    return new TestEntityInfo()
+        .setTextField("benchmark")
+        .setTextArrayField(
+            new StringArray(
+                IntStream.range(0, size)
+                    .mapToObj(i -> "textArray" + i)
+                    .collect(Collectors.toList())))
+        .setNestedRecordField(
+            new SimpleNestedRecord1().setNestedIntegerField(1).setNestedForeignKey(DATASET_URN))
+        .setNestedRecordArrayField(
+            new SimpleNestedRecord2Array(
+                IntStream.range(0, size)
+                    .mapToObj(
+                        i ->
+                            new SimpleNestedRecord2()
+                                .setNestedArrayStringField("nestedArray" + i)
+                                .setNestedArrayArrayField(
+                                    new StringArray("nested" + i + "a", "nested" + i + "b")))
+                    .collect(Collectors.toList())))
+        .setCustomProperties(new StringMap(customProperties))
+        .setDoubleField(100.456);
+  }
+
+  public static DatasetProperties datasetProperties(int size) {
+    Map<String, String> customProperties = new HashMap<>();
+    IntStream.range(0, size).forEach(i -> customProperties.put("property" + i, "value" + i));
+
+    return new DatasetProperties()
+        .setName("benchmark.table")
+        .setDescription("Benchmark table used to measure in-process hot paths")
+        .setCustomProperties(new StringMap(customProperties));
+  }
+
+  /** Schema with the given number of fields, every field tagged and carrying a glossary term. */
+  public static SchemaMetadata schemaMetadata(int fieldCount) {
+    return new SchemaMetadata()
+        .setSchemaName("benchmark")
+        .setPlatformSchema(SchemaMetadata.PlatformSchema.create(new MySqlDDL().setTableSchema("")))
+        .setPlatform(new DataPlatformUrn("hive"))
+        .setHash("")
+        .setVersion(0L)
+        .setDataset(DATASET_URN)
+        .setFields(
+            new SchemaFieldArray(
+                IntStream.range(0, fieldCount)
+                    .mapToObj(BenchmarkFixtures::schemaField)
+                    .collect(Collectors.toList())));
+  }
+
+  private static SchemaField schemaField(int i) {
+    return new SchemaField()
+        .setFieldPath("field_" + i)
+        .setDescription("Description of field " + i)
+        .setNativeDataType("varchar(255)")
+        .setType(
+            new SchemaFieldDataType().setType(SchemaFieldDataType.Type.create(new StringType())))
+        .setGlobalTags(
+            new GlobalTags()
+                .setTags(
+                    new TagAssociationArray(
+                        new TagAssociation().setTag(new TagUrn("tag" + (i % 10))))))
+        .setGlossaryTerms(
+            new GlossaryTerms()
+                .setAuditStamp(AUDIT_STAMP)
+                .setTerms(
+                    new GlossaryTermAssociationArray(
+                        new GlossaryTermAssociation()
+                            .setUrn(new GlossaryTermUrn("term" + (i % 10))))));
+  }
+}
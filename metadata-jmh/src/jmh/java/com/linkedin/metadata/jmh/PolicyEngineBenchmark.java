@@ -0,0 +1,163 @@
+package com.linkedin.metadata.jmh;
+
+import com.datahub.authorization.EntityFieldType;
+import com.datahub.authorization.EntitySpec;
+import com.datahub.authorization.FieldResolver;
+import com.datahub.authorization.FilterUtils;
+import com.datahub.authorization.PolicyEngine;
+import com.datahub.authorization.ResolvedEntitySpec;
+import com.linkedin.common.UrnArray;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.entity.client.EntityClient;
+import com.linkedin.policy.DataHubActorFilter;
+import com.linkedin.policy.DataHubPolicyInfo;
+import com.linkedin.policy.DataHubResourceFilter;
+import io.datahubproject.metadata.context.OperationContext;
+import io.datahubproject.test.metadata.context.TestOperationContexts;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Policy evaluation against fully resolved actor and resource specs, executed for every policy on
+ * every authorization check. Resolvers are backed by static values so that only the evaluation
+ * itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PolicyEngineBenchmark {
+
+  private static final String ACTOR = "urn:li:corpuser:benchmark";
+  private static final String GROUP = "urn:li:corpGroup:benchmark";
+  private static final String DOMAIN = "urn:li:domain:benchmark";
+  private static final String PRIVILEGE = "EDIT_ENTITY_TAGS";
+
+  /** Number of users, owners and domains, the size of the sets policies are matched against. */
+  @Param({"1", "10", "100"})
+  public int size;
+
+  private OperationContext opContext;
+  private PolicyEngine policyEngine;
+  private ResolvedEntitySpec actorSpec;
+  private Optional<ResolvedEntitySpec> resourceSpec;
+  private DataHubPolicyInfo actorPolicy;
+  private DataHubPolicyInfo ownerPolicy;
+  private DataHubPolicyInfo domainPolicy;
+
+  @Setup
+  public void setup() {
+    opContext = TestOperationContexts.systemContextNoSearchAuthorization();
+    policyEngine = new PolicyEngine(Mockito.mock(EntityClient.class));
+
+    actorSpec =
+        resolvedSpec(
+            "corpuser",
+            ACTOR,
+            Map.of(
+                EntityFieldType.GROUP_MEMBERSHIP, Set.of(GROUP), EntityFieldType.OWNER, Set.of()));
+    resourceSpec =
+        Optional.of(
+            resolvedSpec(
+                "dataset",
+                BenchmarkFixtures.DATASET_URN.toString(),
+                Map.of(
+                    EntityFieldType.OWNER,
+                    values("urn:li:corpuser:owner", size, GROUP),
+                    EntityFieldType.DOMAIN,
+                    values("urn:li:domain:other", size, DOMAIN))));
+
+    actorPolicy =
+        policy(
+            new DataHubActorFilter()
+                .setUsers(
+                    new UrnArray(
+                        values("urn:li:corpuser:other", size, ACTOR).stream()
+                            .map(UrnUtils::getUrn)
+                            .collect(Collectors.toList())))
+                .setResourceOwners(false)
+                .setAllUsers(false)
+                .setAllGroups(false),
+            new DataHubResourceFilter().setAllResources(true).setType("dataset"));
+    ownerPolicy =
+        policy(
+            new DataHubActorFilter()
+                .setResourceOwners(true)
+                .setAllUsers(false)
+                .setAllGroups(false),
+            new DataHubResourceFilter().setAllResources(true).setType("dataset"));
+    domainPolicy =
+        policy(
+            new DataHubActorFilter().setAllUsers(true).setAllGroups(false),
+            new DataHubResourceFilter()
+                .setFilter(
+                    FilterUtils.newFilter(
+                        Map.of(
+                            EntityFieldType.TYPE,
+                            List.of("dataset"),
+                            EntityFieldType.DOMAIN,
+                            List.copyOf(values("urn:li:domain:other", size, DOMAIN))))));
+  }
+
+  @Benchmark
+  public PolicyEngine.PolicyEvaluationResult evaluateActorPolicy() {
+    return policyEngine.evaluatePolicy(opContext, actorPolicy, actorSpec, PRIVILEGE, resourceSpec);
+  }
+
+  @Benchmark
+  public PolicyEngine.PolicyEvaluationResult evaluateOwnerPolicy() {
+    return policyEngine.evaluatePolicy(opContext, ownerPolicy, actorSpec, PRIVILEGE, resourceSpec);
+  }
+
+  @Benchmark
+  public PolicyEngine.PolicyEvaluationResult evaluateDomainPolicy() {
+    return policyEngine.evaluatePolicy(
+        opContext, domainPolicy, actorSpec, PRIVILEGE, resourceSpec);
+  }
+
+  private static DataHubPolicyInfo policy(
+      DataHubActorFilter actorFilter, DataHubResourceFilter resourceFilter) {
+    return new DataHubPolicyInfo()
+        .setType("METADATA")
+        .setState("ACTIVE")
+        .setPrivileges(new StringArray(PRIVILEGE))
+        .setDisplayName("Benchmark policy")
+        .setDescription("Benchmark policy")
+        .setEditable(true)
+        .setActors(actorFilter)
+        .setResources(resourceFilter);
+  }
+
+  private static ResolvedEntitySpec resolvedSpec(
+      String entityType, String urn, Map<EntityFieldType, Set<String>> fields) {
+    Map<EntityFieldType, FieldResolver> resolvers =
+        fields.entrySet().stream()
+            .collect(
+                Collectors.toMap(
+                    Map.Entry::getKey, e -> FieldResolver.getResolverFromValues(e.getValue())));
+    resolvers.put(EntityFieldType.TYPE, FieldResolver.getResolverFromValues(Set.of(entityType)));
+    resolvers.put(EntityFieldType.URN, FieldResolver.getResolverFromValues(Set.of(urn)));
+    return new ResolvedEntitySpec(new EntitySpec(entityType, urn), resolvers);
+  }
+
+  /** Set of {@code size} values, the last of which is the given match. */
+  private static Set<String> values(String prefix, int size, String match) {
+    return IntStream.range(0, size)
+        .mapToObj(i -> i == size - 1 ? match : prefix + i)
+        .collect(Collectors.toSet());
+  }
+}
@@ -0,0 +1,86 @@
+package com.linkedin.metadata.jmh;
+
+import com.datahub.test.TestEntityInfo;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.SearchableFieldSpec;
+import com.linkedin.metadata.models.extractor.FieldExtractor;
+import com.linkedin.metadata.search.transformer.SearchDocumentTransformer;
+import com.linkedin.schema.SchemaMetadata;
+import io.datahubproject.metadata.context.OperationContext;
+import io.datahubproject.test.metadata.context.TestOperationContexts;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Search document creation, executed for every aspect written to a searchable entity. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchDocumentTransformerBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int size;
+
+  private OperationContext opContext;
+  private SearchDocumentTransformer transformer;
+
+  private Urn testEntityUrn;
+  private TestEntityInfo testEntityInfo;
+  private AspectSpec testEntityInfoSpec;
+  private List<SearchableFieldSpec> testEntityInfoSearchableSpecs;
+
+  private SchemaMetadata schemaMetadata;
+  private AspectSpec schemaMetadataSpec;
+  private List<SearchableFieldSpec> schemaMetadataSearchableSpecs;
+
+  @Setup
+  public void setup() {
+    opContext = TestOperationContexts.systemContextNoSearchAuthorization();
+    transformer = new SearchDocumentTransformer(1000, 1000, 1000);
+
+    EntitySpec testEntitySpec = BenchmarkFixtures.testEntitySpec();
+    testEntityUrn = BenchmarkFixtures.testEntityUrn();
+    testEntityInfo = BenchmarkFixtures.testEntityInfo(size);
+    testEntityInfoSpec = testEntitySpec.getAspectSpec("testEntityInfo");
+    testEntityInfoSearchableSpecs = testEntityInfoSpec.getSearchableFieldSpecs();
+
+    schemaMetadata = BenchmarkFixtures.schemaMetadata(size);
+    schemaMetadataSpec =
+        opContext.getEntityRegistry().getEntitySpec("dataset").getAspectSpec("schemaMetadata");
+    schemaMetadataSearchableSpecs = schemaMetadataSpec.getSearchableFieldSpecs();
+  }
+
+  @Benchmark
+  public Optional<ObjectNode> transformTestEntityInfo() throws Exception {
+    return transformer.transformAspect(
+        opContext, testEntityUrn, testEntityInfo, testEntityInfoSpec, false);
+  }
+
+  @Benchmark
+  public Optional<ObjectNode> transformSchemaMetadata() throws Exception {
+    return transformer.transformAspect(
+        opContext, BenchmarkFixtures.DATASET_URN, schemaMetadata, schemaMetadataSpec, false);
+  }
+
+  @Benchmark
+  public Map<SearchableFieldSpec, List<Object>> extractTestEntityInfoFields() {
+    return FieldExtractor.extractFields(testEntityInfo, testEntityInfoSearchableSpecs, 1000);
+  }
+
+  @Benchmark
+  public Map<SearchableFieldSpec, List<Object>> extractSchemaMetadataFields() {
+    return FieldExtractor.extractFields(schemaMetadata, schemaMetadataSearchableSpecs, 1000);
+  }
+}
@@ -0,0 +1,76 @@
+package com.linkedin.metadata.jmh;
+
+import com.datahub.util.RecordUtils;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.mxe.MetadataChangeLog;
+import com.linkedin.mxe.SystemMetadata;
+import com.linkedin.schema.SchemaMetadata;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.generic.GenericRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Aspect (de)serialization performed on every read from the aspect table and Avro conversion
+ * performed for every MetadataChangeLog produced and consumed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int fieldCount;
+
+  private SchemaMetadata schemaMetadata;
+  private String schemaMetadataJson;
+  private MetadataChangeLog metadataChangeLog;
+  private GenericRecord metadataChangeLogAvro;
+
+  @Setup
+  public void setup() throws IOException {
+    schemaMetadata = BenchmarkFixtures.schemaMetadata(fieldCount);
+    schemaMetadataJson = RecordUtils.toJsonString(schemaMetadata);
+
+    metadataChangeLog =
+        new MetadataChangeLog()
+            .setEntityType("dataset")
+            .setEntityUrn(BenchmarkFixtures.DATASET_URN)
+            .setChangeType(ChangeType.UPSERT)
+            .setAspectName("schemaMetadata")
+            .setAspect(GenericRecordUtils.serializeAspect(schemaMetadata))
+            .setPreviousAspectValue(GenericRecordUtils.serializeAspect(schemaMetadata))
+            .setSystemMetadata(new SystemMetadata().setRunId("benchmark").setLastObserved(0L))
+            .setCreated(BenchmarkFixtures.AUDIT_STAMP);
+    metadataChangeLogAvro = EventUtils.pegasusToAvroMCL(metadataChangeLog);
+  }
+
+  @Benchmark
+  public String toJsonString() {
+    return RecordUtils.toJsonString(schemaMetadata);
+  }
+
+  @Benchmark
+  public SchemaMetadata toRecordTemplate() {
+    return RecordUtils.toRecordTemplate(SchemaMetadata.class, schemaMetadataJson);
+  }
+
+  @Benchmark
+  public GenericRecord pegasusToAvroMCL() throws IOException {
+    return EventUtils.pegasusToAvroMCL(metadataChangeLog);
+  }
+
+  @Benchmark
+  public MetadataChangeLog avroToPegasusMCL() throws IOException {
+    return EventUtils.avroToPegasusMCL(metadataChangeLogAvro);
+  }
+}
@@ -1,15 +1,19 @@
 package com.linkedin.metadata.kafka;
 
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.linkedin.metadata.EventUtils;
 import com.linkedin.metadata.kafka.hook.MetadataChangeLogHook;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.metadata.utils.metrics.TaggedMetrics;
 import com.linkedin.mxe.MetadataChangeLog;
 import io.datahubproject.metadata.context.OperationContext;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -21,17 +25,83 @@ public class MCLKafkaListener {
           .histogram(
               MetricRegistry.name(
                   "com.linkedin.metadata.kafka.MetadataChangeLogProcessor", "kafkaLag"));
+  private static final Histogram kafkaBatchSizeStats =
+      MetricUtils.get()
+          .histogram(
+              MetricRegistry.name(
+                  "com.linkedin.metadata.kafka.MetadataChangeLogProcessor", "batchSize"));
+  private static final Timer consumeTimer = MetricUtils.timer(MCLKafkaListener.class, "consume");
+  private static final Timer consumeBatchTimer =
+      MetricUtils.timer(MCLKafkaListener.class, "consumeBatch");
+
+  /** Metrics of a hook, bound once per listener, also under their untagged names */
+  private static class HookMetrics {
+    private final MetadataChangeLogHook hook;
+    private final Timer latency;
+    private final Timer batchLatency;
+    private final Counter failure;
+
+    private HookMetrics(MetadataChangeLogHook hook) {
+      final String hookName = hook.getClass().getSimpleName();
+      this.hook = hook;
+      this.latency =
+          MetricUtils.withLegacyName(
+              MetricUtils.taggedTimer(MCLKafkaListener.class, "latency", "hook", hookName),
+              MetricRegistry.name(MCLKafkaListener.class, hookName + "_latency"));
+      this.batchLatency =
+          MetricUtils.withLegacyName(
+              MetricUtils.taggedTimer(MCLKafkaListener.class, "batch_latency", "hook", hookName),
+              MetricRegistry.name(MCLKafkaListener.class, hookName + "_batch_latency"));
+      this.failure =
+          MetricUtils.withLegacyName(
+              MetricUtils.taggedCounter(MCLKafkaListener.class, "failure", "hook", hookName),
+              MetricRegistry.name(MCLKafkaListener.class, hookName + "_failure"));
+    }
+  }
 
   private final String consumerGroupId;
-  private final List<MetadataChangeLogHook> hooks;
+  private final List<HookMetrics> hookMetrics;
+  private final Counter receivedCount;
+  private final Counter conversionFailureCount;
+  private final TaggedMetrics<Counter> consumedCount;
+  // Untagged total of the consumed events, which dashboards may still use
+  private final Counter legacyConsumedCount;
 
   public MCLKafkaListener(
       OperationContext systemOperationContext,
       String consumerGroup,
       List<MetadataChangeLogHook> hooks) {
     this.consumerGroupId = consumerGroup;
-    this.hooks = hooks;
-    this.hooks.forEach(hook -> hook.init(systemOperationContext));
+    hooks.forEach(hook -> hook.init(systemOperationContext));
+    this.hookMetrics = hooks.stream().map(HookMetrics::new).collect(Collectors.toList());
+    this.receivedCount =
+        MetricUtils.withLegacyName(
+            MetricUtils.taggedCounter(
+                MCLKafkaListener.class, "received_mcl_count", "consumerGroup", consumerGroup),
+            MetricRegistry.name(MCLKafkaListener.class, consumerGroup + "_received_mcl_count"));
+    this.conversionFailureCount =
+        MetricUtils.withLegacyName(
+            MetricUtils.taggedCounter(
+                MCLKafkaListener.class,
+                "avro_to_pegasus_conversion_failure",
+                "consumerGroup",
+                consumerGroup),
+            MetricRegistry.name(
+                MCLKafkaListener.class, consumerGroup + "_avro_to_pegasus_conversion_failure"));
+    this.legacyConsumedCount =
+        MetricUtils.counter(MCLKafkaListener.class, consumerGroup + "_consumed_mcl_count");
+    this.consumedCount =
+        new TaggedMetrics<>(
+            (entityType, aspectName) ->
+                MetricUtils.taggedCounter(
+                    MCLKafkaListener.class,
+                    "consumed_mcl_count",
+                    "consumerGroup",
+                    consumerGroup,
+                    "entityType",
+                    entityType,
+                    "aspect",
+                    aspectName));
 
     log.info(
         "Enabled MCL Hooks - Group: {} Hooks: {}",
@@ -40,29 +110,9 @@ public class MCLKafkaListener {
   }
 
   public void consume(final ConsumerRecord<String, GenericRecord> consumerRecord) {
-    try (Timer.Context i = MetricUtils.timer(this.getClass(), "consume").time()) {
-      kafkaLagStats.update(System.currentTimeMillis() - consumerRecord.timestamp());
-      final GenericRecord record = consumerRecord.value();
-      log.debug(
-          "Got MCL event consumer: {} key: {}, topic: {}, partition: {}, offset: {}, value size: {}, timestamp: {}",
-          consumerGroupId,
-          consumerRecord.key(),
-          consumerRecord.topic(),
-          consumerRecord.partition(),
-          consumerRecord.offset(),
-          consumerRecord.serializedValueSize(),
-          consumerRecord.timestamp());
-      MetricUtils.counter(this.getClass(), consumerGroupId + "_received_mcl_count").inc();
-
-      MetadataChangeLog event;
-      try {
-        event = EventUtils.avroToPegasusMCL(record);
-      } catch (Exception e) {
-        MetricUtils.counter(
-                this.getClass(), consumerGroupId + "_avro_to_pegasus_conversion_failure")
-            .inc();
-        log.error("Error deserializing message due to: ", e);
-        log.error("Message: {}", record.toString());
+    try (Timer.Context i = consumeTimer.time()) {
+      final MetadataChangeLog event = toMetadataChangeLog(consumerRecord);
+      if (event == null) {
         return;
       }
 
@@ -75,29 +125,107 @@ public class MCLKafkaListener {
           event.hasChangeType() ? event.getChangeType() : null);
 
       // Here - plug in additional "custom processor hooks"
-      for (MetadataChangeLogHook hook : this.hooks) {
+      for (HookMetrics metrics : this.hookMetrics) {
+        final MetadataChangeLogHook hook = metrics.hook;
         log.info(
             "Invoking MCL hook {} for urn: {}",
             hook.getClass().getSimpleName(),
             event.getEntityUrn());
-        try (Timer.Context ignored =
-            MetricUtils.timer(this.getClass(), hook.getClass().getSimpleName() + "_latency")
-                .time()) {
+        try (Timer.Context ignored = metrics.latency.time()) {
           hook.invoke(event);
         } catch (Exception e) {
           // Just skip this hook and continue. - Note that this represents "at most once"//
           // processing.
-          MetricUtils.counter(this.getClass(), hook.getClass().getSimpleName() + "_failure").inc();
+          metrics.failure.inc();
           log.error(
               "Failed to execute MCL hook with name {}", hook.getClass().getCanonicalName(), e);
         }
       }
       // TODO: Manually commit kafka offsets after full processing.
-      MetricUtils.counter(this.getClass(), consumerGroupId + "_consumed_mcl_count").inc();
+      consumedCount(event).inc();
+      legacyConsumedCount.inc();
       log.info(
           "Successfully completed MCL hooks for consumer: {} urn: {}",
           consumerGroupId,
           event.getEntityUrn());
     }
   }
+
+  /**
+   * Batch listener variant of {@link #consume(ConsumerRecord)}, each hook is invoked once with all
+   * the events of the poll through {@link MetadataChangeLogHook#invokeBatch(List)}.
+   */
+  public void consumeBatch(final List<ConsumerRecord<String, GenericRecord>> consumerRecords) {
+    try (Timer.Context i = consumeBatchTimer.time()) {
+      final List<MetadataChangeLog> events = new ArrayList<>(consumerRecords.size());
+      for (ConsumerRecord<String, GenericRecord> consumerRecord : consumerRecords) {
+        final MetadataChangeLog event = toMetadataChangeLog(consumerRecord);
+        if (event != null) {
+          events.add(event);
+        }
+      }
+      if (events.isEmpty()) {
+        return;
+      }
+      kafkaBatchSizeStats.update(events.size());
+
+      log.info(
+          "Invoking MCL hooks for consumer: {} with {} events", consumerGroupId, events.size());
+      for (HookMetrics metrics : this.hookMetrics) {
+        final MetadataChangeLogHook hook = metrics.hook;
+        try (Timer.Context ignored = metrics.batchLatency.time()) {
+          hook.invokeBatch(events);
+        } catch (Exception e) {
+          // Just skip this hook and continue, "at most once" processing as for single events
+          metrics.failure.inc();
+          log.error(
+              "Failed to execute MCL hook with name {} on a batch of {} events",
+              hook.getClass().getCanonicalName(),
+              events.size(),
+              e);
+        }
+      }
+      events.forEach(event -> consumedCount(event).inc());
+      legacyConsumedCount.inc(events.size());
+      log.info(
+          "Successfully completed MCL hooks for consumer: {} with {} events",
+          consumerGroupId,
+          events.size());
+    }
+  }
+
+  private Counter consumedCount(final MetadataChangeLog event) {
+    return consumedCount.get(
+        event.hasEntityType() ? event.getEntityType() : "unknown",
+        event.hasAspectName() ? event.getAspectName() : "unknown");
+  }
+
+  /**
+   * @return the event of the record, null if it could not be deserialized
+   */
+  @Nullable
+  private MetadataChangeLog toMetadataChangeLog(
+      final ConsumerRecord<String, GenericRecord> consumerRecord) {
+    kafkaLagStats.update(System.currentTimeMillis() - consumerRecord.timestamp());
+    final GenericRecord record = consumerRecord.value();
+    log.debug(
+        "Got MCL event consumer: {} key: {}, topic: {}, partition: {}, offset: {}, value size: {}, timestamp: {}",
+        consumerGroupId,
+        consumerRecord.key(),
+        consumerRecord.topic(),
+        consumerRecord.partition(),
+        consumerRecord.offset(),
+        consumerRecord.serializedValueSize(),
+        consumerRecord.timestamp());
+    receivedCount.inc();
+
+    try {
+      return EventUtils.avroToPegasusMCL(record);
+    } catch (Exception e) {
+      conversionFailureCount.inc();
+      log.error("Error deserializing message due to: ", e);
+      log.error("Message: {}", record.toString());
+      return null;
+    }
+  }
 }
@@ -52,6 +52,9 @@ public class MCLKafkaListenerRegistrar implements InitializingBean {
       "${METADATA_CHANGE_LOG_TIMESERIES_TOPIC_NAME:" + Topics.METADATA_CHANGE_LOG_TIMESERIES + "}")
   private String mclTimeseriesTopicName;
 
+  @Value("${kafka.listener.mclBatch.enabled:false}")
+  private boolean batchListenerEnabled;
+
   @Autowired private List<MetadataChangeLogHook> metadataChangeLogHooks;
 
   @Override
@@ -101,8 +104,15 @@ public class MCLKafkaListenerRegistrar implements InitializingBean {
     kafkaListenerEndpoint.setBean(
         new MCLKafkaListener(systemOperationContext, consumerGroupId, hooks));
     try {
-      kafkaListenerEndpoint.setMethod(
-          MCLKafkaListener.class.getMethod("consume", ConsumerRecord.class));
+      if (batchListenerEnabled) {
+        // hooks receive the records of a poll at once, bounded by the consumer max.poll.records
+        kafkaListenerEndpoint.setBatchListener(true);
+        kafkaListenerEndpoint.setMethod(
+            MCLKafkaListener.class.getMethod("consumeBatch", List.class));
+      } else {
+        kafkaListenerEndpoint.setMethod(
+            MCLKafkaListener.class.getMethod("consume", ConsumerRecord.class));
+      }
     } catch (NoSuchMethodException e) {
       throw new RuntimeException(e);
     }
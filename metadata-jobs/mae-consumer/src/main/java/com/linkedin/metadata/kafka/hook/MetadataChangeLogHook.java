@@ -2,6 +2,7 @@ package com.linkedin.metadata.kafka.hook;
 
 import com.linkedin.mxe.MetadataChangeLog;
 import io.datahubproject.metadata.context.OperationContext;
+import java.util.List;
 import javax.annotation.Nonnull;
 
 /**
@@ -35,6 +36,32 @@ public interface MetadataChangeLogHook {
   /** Invoke the hook when a MetadataChangeLog is received */
   void invoke(@Nonnull MetadataChangeLog log) throws Exception;
 
+  /**
+   * Invoke the hook with the MetadataChangeLog events of a consumed batch, in the order they were
+   * received. Hooks may override it to share work across the events, i.e. dedupe urns, prefetch
+   * aspects in a single call or group their writes.
+   *
+   * <p>By default each event is invoked in turn, a failing event does not prevent the following
+   * ones from being invoked and the first failure is rethrown once the batch is done.
+   */
+  default void invokeBatch(@Nonnull List<MetadataChangeLog> logs) throws Exception {
+    Exception failure = null;
+    for (MetadataChangeLog log : logs) {
+      try {
+        invoke(log);
+      } catch (Exception e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
   /**
    * Controls hook execution ordering
    *
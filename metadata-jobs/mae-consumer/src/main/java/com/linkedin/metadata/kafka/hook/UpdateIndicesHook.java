@@ -11,6 +11,8 @@ import com.linkedin.gms.factory.timeseries.TimeseriesAspectServiceFactory;
 import com.linkedin.metadata.service.UpdateIndicesService;
 import com.linkedin.mxe.MetadataChangeLog;
 import io.datahubproject.metadata.context.OperationContext;
+import java.util.List;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -71,6 +73,36 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
 
   @Override
   public void invoke(@Nonnull final MetadataChangeLog event) {
+    if (isPreProcessed(event)) {
+      return;
+    }
+    updateIndicesService.handleChangeEvent(systemOperationContext, event);
+  }
+
+  /**
+   * Evaluates the MCL side effects and the graph updates of the events once for the batch. If the
+   * batch fails, its events are processed again one at a time so that a failing event does not
+   * prevent the others from being indexed.
+   */
+  @Override
+  public void invokeBatch(@Nonnull final List<MetadataChangeLog> events) throws Exception {
+    List<MetadataChangeLog> batch =
+        events.stream().filter(event -> !isPreProcessed(event)).collect(Collectors.toList());
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      updateIndicesService.handleChangeEvents(systemOperationContext, batch);
+    } catch (RuntimeException e) {
+      log.warn(
+          "Failed to update indices for a batch of {} events, processing them one at a time",
+          batch.size(),
+          e);
+      MetadataChangeLogHook.super.invokeBatch(batch);
+    }
+  }
+
+  private boolean isPreProcessed(@Nonnull final MetadataChangeLog event) {
     if (event.getSystemMetadata() != null) {
       if (event.getSystemMetadata().getProperties() != null) {
         if (!Boolean.parseBoolean(event.getSystemMetadata().getProperties().get(FORCE_INDEXING_KEY))
@@ -78,10 +110,10 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
             && !reprocessUIEvents) {
           // If coming from the UI, we pre-process the Update Indices hook as a fast path to avoid
           // Kafka lag
-          return;
+          return true;
         }
       }
     }
-    updateIndicesService.handleChangeEvent(systemOperationContext, event);
+    return false;
   }
 }
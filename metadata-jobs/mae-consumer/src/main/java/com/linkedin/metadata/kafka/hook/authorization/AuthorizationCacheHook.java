@@ -0,0 +1,104 @@
+package com.linkedin.metadata.kafka.hook.authorization;
+
+import static com.linkedin.metadata.Constants.*;
+
+import com.datahub.authorization.DataHubAuthorizer;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.GetMode;
+import com.linkedin.domain.DomainProperties;
+import com.linkedin.metadata.kafka.hook.MetadataChangeLogHook;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.mxe.GenericAspect;
+import com.linkedin.mxe.MetadataChangeLog;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * This hook drops the authorization decisions cached by the {@link DataHubAuthorizer} of this
+ * process for an entity, when an aspect resolved as a policy field of the entity changes.
+ *
+ * <p>Only the authorizer of the process running the hook is affected, each GMS replica must consume
+ * every change for its decisions to be dropped, i.e. use a distinct consumer group suffix per
+ * replica. Otherwise the decision cache ttl bounds the staleness.
+ *
+ * <p>Changes inherited by other entities drop every decision: the parent of a domain applies to the
+ * entities of its sub-domains, and the roles of a group to its members.
+ */
+@Slf4j
+@Component
+public class AuthorizationCacheHook implements MetadataChangeLogHook {
+
+  // Aspects read by the entity field resolvers of the policy engine
+  private static final Set<String> POLICY_FIELD_ASPECTS =
+      ImmutableSet.of(
+          OWNERSHIP_ASPECT_NAME,
+          DOMAINS_ASPECT_NAME,
+          GLOBAL_TAGS_ASPECT_NAME,
+          DATA_PLATFORM_INSTANCE_ASPECT_NAME,
+          GROUP_MEMBERSHIP_ASPECT_NAME,
+          NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME,
+          ROLE_MEMBERSHIP_ASPECT_NAME);
+
+  private final Optional<DataHubAuthorizer> authorizer;
+  private final boolean isEnabled;
+  @Getter private final String consumerGroupSuffix;
+
+  @Autowired
+  public AuthorizationCacheHook(
+      @Qualifier("dataHubAuthorizer") Optional<DataHubAuthorizer> authorizer,
+      @Nonnull @Value("${authorization.defaultAuthorizer.decisionCache.hook.enabled:true}")
+          Boolean isEnabled,
+      @Nonnull @Value("${authorization.defaultAuthorizer.decisionCache.hook.consumerGroupSuffix:}")
+          String consumerGroupSuffix) {
+    this.authorizer = authorizer;
+    this.isEnabled =
+        isEnabled && authorizer.map(a -> a.getDecisionCache().isEnabled()).orElse(false);
+    this.consumerGroupSuffix = consumerGroupSuffix;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return isEnabled;
+  }
+
+  @Override
+  public void invoke(@Nonnull MetadataChangeLog event) {
+    if (isInheritedChange(event)) {
+      authorizer.ifPresent(DataHubAuthorizer::invalidateAllDecisions);
+    } else if (event.getEntityUrn() != null
+        && POLICY_FIELD_ASPECTS.contains(event.getAspectName())) {
+      authorizer.ifPresent(a -> a.invalidateDecisions(event.getEntityUrn()));
+    }
+  }
+
+  private static boolean isInheritedChange(@Nonnull MetadataChangeLog event) {
+    if (CORP_GROUP_ENTITY_NAME.equals(event.getEntityType())) {
+      return ROLE_MEMBERSHIP_ASPECT_NAME.equals(event.getAspectName());
+    }
+    return DOMAIN_ENTITY_NAME.equals(event.getEntityType())
+        && DOMAIN_PROPERTIES_ASPECT_NAME.equals(event.getAspectName())
+        && !Objects.equals(
+            getParentDomain(event.getPreviousAspectValue()), getParentDomain(event.getAspect()));
+  }
+
+  @Nullable
+  private static Urn getParentDomain(@Nullable GenericAspect aspect) {
+    if (aspect == null) {
+      return null;
+    }
+    DomainProperties properties =
+        GenericRecordUtils.deserializeAspect(
+            aspect.getValue(), aspect.getContentType(), DomainProperties.class);
+    return properties.getParentDomain(GetMode.NULL);
+  }
+}
@@ -138,10 +138,8 @@ public class EntityChangeEventGeneratorHook implements MetadataChangeLogHook {
 
       final RecordTemplate fromAspect =
           logEvent.getPreviousAspectValue() != null
-              ? GenericRecordUtils.deserializeAspect(
-                  logEvent.getPreviousAspectValue().getValue(),
-                  logEvent.getPreviousAspectValue().getContentType(),
-                  aspectSpec)
+              ? GenericRecordUtils.deserializePreviousAspect(
+                  logEvent.getPreviousAspectValue(), logEvent.getAspect(), aspectSpec)
               : null;
 
       final RecordTemplate toAspect =
@@ -0,0 +1,94 @@
+package com.linkedin.metadata.kafka;
+
+import static com.linkedin.metadata.kafka.hook.MCLProcessingTestDataGenerator.createBaseChangeLog;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.expectThrows;
+
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.metadata.kafka.hook.MetadataChangeLogHook;
+import com.linkedin.mxe.MetadataChangeLog;
+import io.datahubproject.metadata.context.OperationContext;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.Test;
+
+public class MCLKafkaListenerTest {
+
+  @Test
+  public void testConsumeBatchInvokesEachHookOnce() throws Exception {
+    MetadataChangeLogHook failingHook = mock(MetadataChangeLogHook.class);
+    MetadataChangeLogHook hook = mock(MetadataChangeLogHook.class);
+    doThrow(new IllegalStateException("hook failure")).when(failingHook).invokeBatch(any());
+
+    MCLKafkaListener listener =
+        new MCLKafkaListener(
+            mock(OperationContext.class), "test-consumer", List.of(failingHook, hook));
+
+    MetadataChangeLog event = createBaseChangeLog();
+    listener.consumeBatch(List.of(toRecord(event, 0), toRecord(event, 1)));
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<MetadataChangeLog>> captor = ArgumentCaptor.forClass(List.class);
+    verify(failingHook, times(1)).invokeBatch(any());
+    verify(hook, times(1)).invokeBatch(captor.capture());
+    assertEquals(captor.getValue().size(), 2);
+    assertEquals(captor.getValue().get(1).getEntityUrn(), event.getEntityUrn());
+    verify(hook, never()).invoke(any());
+  }
+
+  @Test
+  public void testDefaultInvokeBatchContinuesAfterFailure() throws Exception {
+    MetadataChangeLog first = createBaseChangeLog().setAspectName("first");
+    MetadataChangeLog second = createBaseChangeLog().setAspectName("second");
+    Exception failure = new IllegalStateException("first failed");
+    List<MetadataChangeLog> invoked = new ArrayList<>();
+
+    MetadataChangeLogHook hook =
+        new MetadataChangeLogHook() {
+          @Nonnull
+          @Override
+          public String getConsumerGroupSuffix() {
+            return "";
+          }
+
+          @Override
+          public boolean isEnabled() {
+            return true;
+          }
+
+          @Override
+          public void invoke(@Nonnull MetadataChangeLog event) throws Exception {
+            invoked.add(event);
+            if (event == first) {
+              throw failure;
+            }
+          }
+        };
+
+    Exception thrown =
+        expectThrows(Exception.class, () -> hook.invokeBatch(List.of(first, second)));
+    assertSame(thrown, failure);
+    assertEquals(invoked, List.of(first, second));
+  }
+
+  private static ConsumerRecord<String, GenericRecord> toRecord(
+      MetadataChangeLog event, long offset) throws Exception {
+    return new ConsumerRecord<>(
+        "MetadataChangeLog_Versioned_v1",
+        0,
+        offset,
+        event.getEntityUrn().toString(),
+        EventUtils.pegasusToAvroMCL(event));
+  }
+}
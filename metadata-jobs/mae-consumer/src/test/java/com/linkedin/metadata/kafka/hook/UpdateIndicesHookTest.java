@@ -6,6 +6,7 @@ import static com.linkedin.metadata.search.utils.QueryUtils.newRelationshipFilte
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertThrows;
 
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.InputField;
@@ -63,6 +64,7 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Value;
 import org.testng.annotations.BeforeMethod;
@@ -109,6 +111,9 @@ public class UpdateIndicesHookTest {
   public void setupTest() {
     actorUrn = UrnUtils.getUrn(TEST_ACTOR_URN);
     mockGraphService = mock(ElasticSearchGraphService.class);
+    // Batched edge writes delegate to the per edge methods verified below
+    Mockito.doCallRealMethod().when(mockGraphService).addEdges(any());
+    Mockito.doCallRealMethod().when(mockGraphService).upsertEdges(any());
     mockEntitySearchService = mock(EntitySearchService.class);
     mockTimeseriesAspectService = mock(TimeseriesAspectService.class);
     mockSystemMetadataService = mock(SystemMetadataService.class);
@@ -180,6 +185,51 @@ public class UpdateIndicesHookTest {
                     RelationshipDirection.OUTGOING)));
   }
 
+  @Test
+  public void testInvokeBatchUpdatesGraphOncePerEvent() throws Exception {
+    updateIndicesService.getUpdateGraphIndicesService().setGraphDiffMode(false);
+    Urn upstreamUrn =
+        UrnUtils.getUrn(
+            "urn:li:schemaField:(urn:li:dataset:(urn:li:dataPlatform:hdfs,SampleCypressHdfsDataset,PROD),foo_info)");
+    Urn downstreamUrn =
+        UrnUtils.getUrn(
+            "urn:li:schemaField:(urn:li:dataset:(urn:li:dataPlatform:hive,SampleCypressHiveDataset,PROD),field_foo)");
+    MetadataChangeLog event = createUpstreamLineageMCL(upstreamUrn, downstreamUrn);
+    updateIndicesHook.invokeBatch(List.of(event, event.copy()));
+
+    Mockito.verify(mockGraphService, Mockito.times(1)).addEdge(any(Edge.class));
+    Mockito.verify(mockGraphService, Mockito.times(1))
+        .removeEdgesFromNode(
+            any(OperationContext.class),
+            Mockito.eq(downstreamUrn),
+            Mockito.eq(new ArrayList<>(Collections.singleton(DOWNSTREAM_OF))),
+            any());
+  }
+
+  @Test
+  public void testInvokeBatchIndexesOtherEventsWhenOneFails() throws Exception {
+    updateIndicesService.getUpdateGraphIndicesService().setGraphDiffMode(false);
+    Urn upstreamUrn =
+        UrnUtils.getUrn(
+            "urn:li:schemaField:(urn:li:dataset:(urn:li:dataPlatform:hdfs,SampleCypressHdfsDataset,PROD),foo_info)");
+    Urn downstreamUrn =
+        UrnUtils.getUrn(
+            "urn:li:schemaField:(urn:li:dataset:(urn:li:dataPlatform:hive,SampleCypressHiveDataset,PROD),field_foo)");
+    MetadataChangeLog event = createUpstreamLineageMCL(upstreamUrn, downstreamUrn);
+    MetadataChangeLog badEvent = event.copy();
+    badEvent.setAspectName("unknownAspect");
+
+    assertThrows(() -> updateIndicesHook.invokeBatch(List.of(badEvent, event)));
+
+    Mockito.verify(mockGraphService, Mockito.times(1)).addEdge(any(Edge.class));
+    Mockito.verify(mockGraphService, Mockito.times(1))
+        .removeEdgesFromNode(
+            any(OperationContext.class),
+            Mockito.eq(downstreamUrn),
+            Mockito.eq(new ArrayList<>(Collections.singleton(DOWNSTREAM_OF))),
+            any());
+  }
+
   @Test
   public void testFineGrainedLineageEdgesAreAddedRestate() throws Exception {
     updateIndicesService.getUpdateGraphIndicesService().setGraphDiffMode(false);
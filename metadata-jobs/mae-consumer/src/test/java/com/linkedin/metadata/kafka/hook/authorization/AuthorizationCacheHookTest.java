@@ -0,0 +1,111 @@
+package com.linkedin.metadata.kafka.hook.authorization;
+
+import static com.linkedin.metadata.Constants.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datahub.authorization.AuthorizationDecisionCache;
+import com.datahub.authorization.DataHubAuthorizer;
+import com.linkedin.common.UrnArray;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.domain.DomainProperties;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.identity.RoleMembership;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.mxe.MetadataChangeLog;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import org.mockito.Mockito;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class AuthorizationCacheHookTest {
+  private static final Urn DOMAIN = UrnUtils.getUrn("urn:li:domain:child");
+  private static final Urn PARENT = UrnUtils.getUrn("urn:li:domain:parent");
+
+  private DataHubAuthorizer authorizer;
+  private AuthorizationCacheHook hook;
+
+  @BeforeMethod
+  public void setupTest() {
+    authorizer = Mockito.mock(DataHubAuthorizer.class);
+    when(authorizer.getDecisionCache()).thenReturn(new AuthorizationDecisionCache(true, 10, 10));
+    hook = new AuthorizationCacheHook(Optional.of(authorizer), true, "");
+  }
+
+  @Test
+  public void testPolicyFieldChangeInvalidatesEntity() {
+    Urn user = UrnUtils.getUrn("urn:li:corpuser:test");
+    hook.invoke(
+        event(
+            CORP_USER_ENTITY_NAME,
+            user,
+            ROLE_MEMBERSHIP_ASPECT_NAME,
+            new RoleMembership().setRoles(new UrnArray()),
+            null));
+
+    verify(authorizer).invalidateDecisions(user);
+    verify(authorizer, never()).invalidateAllDecisions();
+  }
+
+  @Test
+  public void testGroupRolesChangeInvalidatesAll() {
+    hook.invoke(
+        event(
+            CORP_GROUP_ENTITY_NAME,
+            UrnUtils.getUrn("urn:li:corpGroup:test"),
+            ROLE_MEMBERSHIP_ASPECT_NAME,
+            new RoleMembership().setRoles(new UrnArray()),
+            null));
+
+    verify(authorizer).invalidateAllDecisions();
+  }
+
+  @Test
+  public void testParentDomainChangeInvalidatesAll() {
+    hook.invoke(
+        event(
+            DOMAIN_ENTITY_NAME,
+            DOMAIN,
+            DOMAIN_PROPERTIES_ASPECT_NAME,
+            new DomainProperties().setName("child").setParentDomain(PARENT),
+            new DomainProperties().setName("child")));
+
+    verify(authorizer).invalidateAllDecisions();
+  }
+
+  @Test
+  public void testDomainChangeKeepingParentIsIgnored() {
+    hook.invoke(
+        event(
+            DOMAIN_ENTITY_NAME,
+            DOMAIN,
+            DOMAIN_PROPERTIES_ASPECT_NAME,
+            new DomainProperties().setName("renamed").setParentDomain(PARENT),
+            new DomainProperties().setName("child").setParentDomain(PARENT)));
+
+    verify(authorizer, never()).invalidateAllDecisions();
+    verify(authorizer, never()).invalidateDecisions(Mockito.any());
+  }
+
+  private static MetadataChangeLog event(
+      String entityType,
+      Urn urn,
+      String aspectName,
+      RecordTemplate aspect,
+      @Nullable RecordTemplate previousAspect) {
+    MetadataChangeLog event = new MetadataChangeLog();
+    event.setEntityType(entityType);
+    event.setEntityUrn(urn);
+    event.setAspectName(aspectName);
+    event.setChangeType(ChangeType.UPSERT);
+    event.setAspect(GenericRecordUtils.serializeAspect(aspect));
+    if (previousAspect != null) {
+      event.setPreviousAspectValue(GenericRecordUtils.serializeAspect(previousAspect));
+    }
+    return event;
+  }
+}
@@ -4,6 +4,11 @@ import com.datahub.authorization.AuthorizationRequest;
 import com.datahub.authorization.AuthorizationResult;
 import com.datahub.authorization.EntitySpec;
 import com.datahub.plugins.auth.authorization.Authorizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nonnull;
@@ -24,6 +29,9 @@ public class AuthorizationContext implements ContextInterface {
   private final ConcurrentHashMap<AuthorizationRequest, AuthorizationResult>
       sessionAuthorizationCache = new ConcurrentHashMap<>();
 
+  /** Bypass the decisions cached by the authorizer across requests, see skipCache. */
+  @Builder.Default private final boolean skipDecisionCache = false;
+
   /**
    * Run authorization through the actor's session cache
    *
@@ -38,7 +46,10 @@ public class AuthorizationContext implements ContextInterface {
       @Nullable final EntitySpec resourceSpec) {
     final AuthorizationRequest request =
         new AuthorizationRequest(
-            actorContext.getActorUrn().toString(), privilege, Optional.ofNullable(resourceSpec));
+            actorContext.getActorUrn().toString(),
+            privilege,
+            Optional.ofNullable(resourceSpec),
+            skipDecisionCache);
     // Graphql CompletableFutures causes a recursive exception, we avoid computeIfAbsent and do work
     // outside a blocking function
     AuthorizationResult result = sessionAuthorizationCache.get(request);
@@ -49,6 +60,55 @@ public class AuthorizationContext implements ContextInterface {
     return result;
   }
 
+  /**
+   * Run authorization of many privileges and resources through the actor's session cache, the
+   * requests which are not cached are authorized as a single batch.
+   *
+   * @param actorContext the actor context
+   * @param privileges privileges
+   * @param resourceSpecs resources to access
+   * @return authorization results by privilege and resource
+   */
+  public Map<String, Map<EntitySpec, AuthorizationResult>> batchAuthorize(
+      @Nonnull ActorContext actorContext,
+      @Nonnull final Collection<String> privileges,
+      @Nonnull final Collection<EntitySpec> resourceSpecs) {
+    final String actorUrn = actorContext.getActorUrn().toString();
+    final Map<String, Map<EntitySpec, AuthorizationResult>> results = new HashMap<>();
+    final List<AuthorizationRequest> uncached = new ArrayList<>();
+
+    for (String privilege : privileges) {
+      final Map<EntitySpec, AuthorizationResult> privilegeResults =
+          results.computeIfAbsent(privilege, k -> new HashMap<>());
+      for (EntitySpec resourceSpec : resourceSpecs) {
+        final AuthorizationRequest request =
+            new AuthorizationRequest(
+                actorUrn, privilege, Optional.of(resourceSpec), skipDecisionCache);
+        final AuthorizationResult result = sessionAuthorizationCache.get(request);
+        if (result == null) {
+          uncached.add(request);
+        } else {
+          privilegeResults.put(resourceSpec, result);
+        }
+      }
+    }
+
+    if (!uncached.isEmpty()) {
+      final Map<AuthorizationRequest, AuthorizationResult> batchResults =
+          authorizer.batchAuthorize(uncached);
+      for (AuthorizationRequest request : uncached) {
+        AuthorizationResult result = batchResults.get(request);
+        if (result == null) {
+          result = authorizer.authorize(request);
+        }
+        sessionAuthorizationCache.putIfAbsent(request, result);
+        results.get(request.getPrivilege()).put(request.getResourceSpec().get(), result);
+      }
+    }
+
+    return results;
+  }
+
   /**
    * No need to consider the authorizer in the cache context since it is ultimately determined by
    * the underlying search context and actor context
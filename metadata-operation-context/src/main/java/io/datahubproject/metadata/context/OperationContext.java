@@ -17,6 +17,7 @@ import com.linkedin.metadata.query.SearchFlags;
 import com.linkedin.metadata.utils.AuditStampUtils;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -185,6 +186,22 @@ public class OperationContext implements AuthorizationSession {
     return OperationContext.withLineageFlags(this, flagDefaults);
   }
 
+  /**
+   * Authorize the requests of this context against the current policies and entities, bypassing
+   * the decisions cached by the authorizer across requests, i.e. right after changing ownership.
+   *
+   * @return the new context
+   */
+  public OperationContext withSkipAuthorizationCache() {
+    return this.toBuilder()
+        .authorizationContext(
+            AuthorizationContext.builder()
+                .authorizer(authorizationContext.getAuthorizer())
+                .skipDecisionCache(true)
+                .build())
+        .build(getSessionActorContext());
+  }
+
   public OperationContext asSession(
       @Nonnull RequestContext requestContext,
       @Nonnull Authorizer authorizer,
@@ -304,6 +321,20 @@ public class OperationContext implements AuthorizationSession {
     return authorizationContext.authorize(getSessionActorContext(), privilege, resourceSpec);
   }
 
+  /**
+   * Provides a cached batch authorizer interface in the context of the session user
+   *
+   * @param privileges the requested privileges
+   * @param resourceSpecs the resources that are the target of the privileges
+   * @return authorization results by privilege and resource
+   */
+  @Override
+  public Map<String, Map<EntitySpec, AuthorizationResult>> batchAuthorize(
+      @Nonnull Collection<String> privileges, @Nonnull Collection<EntitySpec> resourceSpecs) {
+    return authorizationContext.batchAuthorize(
+        getSessionActorContext(), privileges, resourceSpecs);
+  }
+
   /**
    * Return a unique id for this context. Typically useful for building cache keys. We combine the
    * different context components to create a single string representation of the hashcode across
@@ -0,0 +1,255 @@
+package com.datahub.authorization;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded cache of authorization decisions by actor, privilege and resource, shared across
+ * requests.
+ *
+ * <p>Decisions are cached for a policy generation. Installing new policies starts a new generation,
+ * a decision evaluated against the previous policies is never returned afterwards even if its
+ * evaluation completes after the switch. Decisions also depend on the resolved fields of the actor
+ * and the resource, i.e. owners, domains or group membership, the entries of an entity are dropped
+ * when those aspects change and the ttl bounds the staleness of changes made by another process.
+ * Each urn also has an invalidation epoch, a decision evaluated while its actor or resource was
+ * invalidated is not cached.
+ *
+ * <p>Disabled by default: a revoked ownership or membership is only invalidated on the replicas
+ * which consume the change, and stays granted on the others for up to the ttl.
+ */
+@Slf4j
+public class AuthorizationDecisionCache {
+
+  public static final AuthorizationDecisionCache DISABLED =
+      new AuthorizationDecisionCache(false, 0, 0);
+
+  // Urns share epochs by hash, a shared epoch only causes decisions not to be cached
+  private static final int EPOCH_STRIPES = 4096;
+
+  @Value
+  private static class Key {
+    long generation;
+    @Nonnull String actorUrn;
+    @Nonnull String privilege;
+    @Nonnull Optional<EntitySpec> resourceSpec;
+  }
+
+  /** Generation and epochs of the actor and resource of a request, read before its evaluation. */
+  @Value
+  static class Version {
+    long generation;
+    long actorEpoch;
+    long resourceEpoch;
+  }
+
+  private final boolean enabled;
+  @Nullable private final Cache<Key, AuthorizationResult> cache;
+  private final AtomicLong generation = new AtomicLong();
+  private final AtomicLongArray epochs = new AtomicLongArray(EPOCH_STRIPES);
+
+  // Keys by actor and resource urn, entries are removed with the cached decision
+  private final Map<String, Set<Key>> keysByUrn = new ConcurrentHashMap<>();
+
+  public AuthorizationDecisionCache(boolean enabled, long maxSize, long ttlSeconds) {
+    this.enabled = enabled && maxSize > 0 && ttlSeconds > 0;
+    this.cache =
+        this.enabled
+            ? Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .removalListener(
+                    (Key key, AuthorizationResult result, RemovalCause cause) -> {
+                      // A replaced decision keeps its key
+                      if (key != null && cause != RemovalCause.REPLACED) {
+                        unindex(key);
+                      }
+                    })
+                .build()
+            : null;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Return the cached decision for the request, evaluating it if absent or if the request skips the
+   * cache.
+   *
+   * @param request request to authorize
+   * @param evaluator evaluates the policies for the request
+   * @return the decision, for this request
+   */
+  @Nonnull
+  public AuthorizationResult authorize(
+      @Nonnull AuthorizationRequest request,
+      @Nonnull Function<AuthorizationRequest, AuthorizationResult> evaluator) {
+    if (!enabled) {
+      return evaluator.apply(request);
+    }
+    if (request.isSkipCache()) {
+      MetricUtils.counter(this.getClass(), "bypass").inc();
+      return evaluator.apply(request);
+    }
+
+    final Version version = currentVersion(request);
+    final Key key = toKey(version.getGeneration(), request);
+    final AuthorizationResult cached = cache.getIfPresent(key);
+    if (cached != null) {
+      MetricUtils.counter(this.getClass(), "hit").inc();
+      return new AuthorizationResult(request, cached.getType(), cached.getMessage());
+    }
+
+    MetricUtils.counter(this.getClass(), "miss").inc();
+    final AuthorizationResult result = evaluator.apply(request);
+    put(version, key, result);
+    return result;
+  }
+
+  /**
+   * @return the cached decision, empty if absent or if the request skips the cache
+   */
+  @Nonnull
+  Optional<AuthorizationResult> getIfPresent(@Nonnull AuthorizationRequest request) {
+    if (!enabled || request.isSkipCache()) {
+      return Optional.empty();
+    }
+    final AuthorizationResult cached = cache.getIfPresent(toKey(generation.get(), request));
+    if (cached == null) {
+      MetricUtils.counter(this.getClass(), "miss").inc();
+      return Optional.empty();
+    }
+    MetricUtils.counter(this.getClass(), "hit").inc();
+    return Optional.of(new AuthorizationResult(request, cached.getType(), cached.getMessage()));
+  }
+
+  /**
+   * Cache a decision, unless the policies were replaced or the actor or the resource invalidated
+   * since its evaluation started.
+   *
+   * @param version version read before the evaluation started
+   */
+  void put(
+      @Nonnull Version version, @Nonnull AuthorizationRequest request, AuthorizationResult result) {
+    if (enabled && !request.isSkipCache() && result != null) {
+      put(version, toKey(version.getGeneration(), request), result);
+    }
+  }
+
+  /**
+   * @return the version of the request, to read before evaluating it
+   */
+  @Nonnull
+  Version currentVersion(@Nonnull AuthorizationRequest request) {
+    return new Version(
+        generation.get(),
+        epochs.get(stripe(request.getActorUrn())),
+        request.getResourceSpec().map(spec -> epochs.get(stripe(spec.getEntity()))).orElse(0L));
+  }
+
+  /**
+   * Drop every decision, called once new policies are installed or a change affects the decisions
+   * of many entities.
+   */
+  public void newGeneration() {
+    long next = generation.incrementAndGet();
+    if (enabled) {
+      cache.invalidateAll();
+      keysByUrn.clear();
+      log.debug("Authorization decisions invalidated, policy generation {}", next);
+    }
+  }
+
+  /** Drop the decisions for which the urn is the actor or the resource. */
+  public void invalidateUrn(@Nonnull Urn urn) {
+    if (!enabled) {
+      return;
+    }
+    // Decisions being evaluated for the urn are not cached either
+    epochs.incrementAndGet(stripe(urn.toString()));
+    if (cache.estimatedSize() == 0) {
+      return;
+    }
+    final Set<Key> keys = keysByUrn.remove(urn.toString());
+    if (keys != null && !keys.isEmpty()) {
+      cache.invalidateAll(keys);
+      MetricUtils.counter(this.getClass(), "invalidated").inc(keys.size());
+    }
+  }
+
+  private void put(
+      @Nonnull Version version, @Nonnull Key key, @Nonnull AuthorizationResult result) {
+    if (!isCurrent(version, key)) {
+      MetricUtils.counter(this.getClass(), "notCached").inc();
+      return;
+    }
+    index(key.getActorUrn(), key);
+    key.getResourceSpec().ifPresent(spec -> index(spec.getEntity(), key));
+    cache.put(key, result);
+    // An invalidation between the check and the put may have missed the decision
+    if (!isCurrent(version, key)) {
+      cache.asMap().remove(key, result);
+      unindex(key);
+      MetricUtils.counter(this.getClass(), "notCached").inc();
+    }
+  }
+
+  private boolean isCurrent(@Nonnull Version version, @Nonnull Key key) {
+    return version.getGeneration() == generation.get()
+        && version.getActorEpoch() == epochs.get(stripe(key.getActorUrn()))
+        && version.getResourceEpoch()
+            == key.getResourceSpec().map(spec -> epochs.get(stripe(spec.getEntity()))).orElse(0L);
+  }
+
+  private static int stripe(@Nonnull String urn) {
+    return Math.floorMod(urn.hashCode(), EPOCH_STRIPES);
+  }
+
+  private void index(@Nonnull String urn, @Nonnull Key key) {
+    keysByUrn.compute(
+        urn,
+        (k, keys) -> {
+          Set<Key> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+          indexed.add(key);
+          return indexed;
+        });
+  }
+
+  private void unindex(@Nonnull Key key) {
+    unindex(key.getActorUrn(), key);
+    key.getResourceSpec().ifPresent(spec -> unindex(spec.getEntity(), key));
+  }
+
+  private void unindex(@Nonnull String urn, @Nonnull Key key) {
+    keysByUrn.computeIfPresent(
+        urn,
+        (k, keys) -> {
+          keys.remove(key);
+          return keys.isEmpty() ? null : keys;
+        });
+  }
+
+  private static Key toKey(long generation, @Nonnull AuthorizationRequest request) {
+    return new Key(
+        generation,
+        request.getActorUrn(),
+        request.getPrivilege(),
+        request.getResourceSpec());
+  }
+}
@@ -6,6 +6,7 @@ import com.linkedin.policy.DataHubPolicyInfo;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -92,6 +93,54 @@ public class AuthorizerChain implements Authorizer {
     return new AuthorizationResult(request, AuthorizationResult.Type.DENY, null);
   }
 
+  /**
+   * Executes the set of {@link Authorizer}s on a batch of requests, each authorizer only receives
+   * the requests which were not allowed by a previous authorizer.
+   */
+  @Override
+  public Map<AuthorizationRequest, AuthorizationResult> batchAuthorize(
+      @Nonnull final Collection<AuthorizationRequest> requests) {
+    Objects.requireNonNull(requests);
+    ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+    final Map<AuthorizationRequest, AuthorizationResult> results = new HashMap<>();
+    Set<AuthorizationRequest> pending = new HashSet<>(requests);
+
+    for (final Authorizer authorizer : this.authorizers) {
+      if (pending.isEmpty()) {
+        break;
+      }
+      try {
+        Thread.currentThread().setContextClassLoader(authorizer.getClass().getClassLoader());
+        final Map<AuthorizationRequest, AuthorizationResult> authorizerResults =
+            authorizer.batchAuthorize(pending);
+        Thread.currentThread().setContextClassLoader(contextClassLoader);
+
+        authorizerResults.forEach(
+            (request, result) -> {
+              if (AuthorizationResult.Type.ALLOW.equals(result.type)) {
+                results.put(request, result);
+              }
+            });
+        pending.removeAll(results.keySet());
+      } catch (Exception e) {
+        log.error(
+            "Caught exception while attempting to batch authorize requests using Authorizer {}. Skipping authorizer.",
+            authorizer.getClass().getCanonicalName(),
+            e);
+      } finally {
+        Thread.currentThread().setContextClassLoader(contextClassLoader);
+      }
+    }
+
+    // Return failed Authorization results.
+    pending.forEach(
+        request ->
+            results.put(
+                request, new AuthorizationResult(request, AuthorizationResult.Type.DENY, null)));
+    return results;
+  }
+
   @Override
   public AuthorizedActors authorizedActors(String privilege, Optional<EntitySpec> resourceSpec) {
     if (this.authorizers.isEmpty()) {
@@ -3,6 +3,8 @@ package com.datahub.authorization;
 import com.datahub.authentication.Authentication;
 import com.datahub.plugins.auth.authorization.Authorizer;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.entity.client.EntityClient;
@@ -13,6 +15,7 @@ import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -63,6 +66,7 @@ public class DataHubAuthorizer implements Authorizer {
       Executors.newScheduledThreadPool(1);
   private final PolicyRefreshRunnable policyRefreshRunnable;
   private final PolicyEngine policyEngine;
+  @Getter private final AuthorizationDecisionCache decisionCache;
   private EntitySpecResolver entitySpecResolver;
   private AuthorizationMode mode;
   @Getter private final OperationContext systemOpContext;
@@ -76,8 +80,27 @@ public class DataHubAuthorizer implements Authorizer {
       final int refreshIntervalSeconds,
       final AuthorizationMode mode,
       final int policyFetchSize) {
+    this(
+        systemOpContext,
+        entityClient,
+        delayIntervalSeconds,
+        refreshIntervalSeconds,
+        mode,
+        policyFetchSize,
+        AuthorizationDecisionCache.DISABLED);
+  }
+
+  public DataHubAuthorizer(
+      @Nonnull final OperationContext systemOpContext,
+      final EntityClient entityClient,
+      final int delayIntervalSeconds,
+      final int refreshIntervalSeconds,
+      final AuthorizationMode mode,
+      final int policyFetchSize,
+      @Nonnull final AuthorizationDecisionCache decisionCache) {
     this.systemOpContext = systemOpContext;
     this.mode = Objects.requireNonNull(mode);
+    this.decisionCache = Objects.requireNonNull(decisionCache);
     policyEngine = new PolicyEngine(Objects.requireNonNull(entityClient));
     if (refreshIntervalSeconds > 0) {
       policyRefreshRunnable =
@@ -86,7 +109,8 @@ public class DataHubAuthorizer implements Authorizer {
               new PolicyFetcher(entityClient),
               policyCache,
               readWriteLock.writeLock(),
-              policyFetchSize);
+              policyFetchSize,
+              decisionCache::newGeneration);
       refreshExecutorService.scheduleAtFixedRate(
           policyRefreshRunnable, delayIntervalSeconds, refreshIntervalSeconds, TimeUnit.SECONDS);
     } else {
@@ -107,8 +131,66 @@ public class DataHubAuthorizer implements Authorizer {
       return new AuthorizationResult(request, AuthorizationResult.Type.ALLOW, null);
     }
 
-    Optional<ResolvedEntitySpec> resolvedResourceSpec =
-        request.getResourceSpec().map(entitySpecResolver::resolve);
+    return decisionCache.authorize(
+        request,
+        r ->
+            authorize(
+                r,
+                r.getResourceSpec().map(entitySpecResolver::resolve),
+                resolveActor(r.getActorUrn())));
+  }
+
+  /**
+   * Authorizes the requests with the resources resolved together, so that their fields are fetched
+   * in batches, and each actor resolved once.
+   */
+  @Override
+  public Map<AuthorizationRequest, AuthorizationResult> batchAuthorize(
+      @Nonnull final Collection<AuthorizationRequest> requests) {
+    final Authentication systemAuthentication = systemOpContext.getAuthentication();
+
+    // Only the requests without a cached decision are evaluated, their versions are read first so
+    // that decisions evaluated against policies or entities changed in the meantime are not cached
+    final Map<AuthorizationRequest, AuthorizationResult> results = new HashMap<>();
+    final Map<AuthorizationRequest, AuthorizationDecisionCache.Version> toEvaluate =
+        new LinkedHashMap<>();
+    for (AuthorizationRequest request : requests) {
+      if (isSystemRequest(request, systemAuthentication)) {
+        results.put(
+            request, new AuthorizationResult(request, AuthorizationResult.Type.ALLOW, null));
+      } else {
+        final AuthorizationDecisionCache.Version version = decisionCache.currentVersion(request);
+        decisionCache
+            .getIfPresent(request)
+            .ifPresentOrElse(
+                result -> results.put(request, result), () -> toEvaluate.put(request, version));
+      }
+    }
+
+    final Map<EntitySpec, ResolvedEntitySpec> resolvedResourceSpecs =
+        entitySpecResolver.resolve(
+            toEvaluate.keySet().stream()
+                .map(AuthorizationRequest::getResourceSpec)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toSet()));
+    final Map<String, Supplier<Optional<ResolvedEntitySpec>>> resolvedActorSpecs = new HashMap<>();
+
+    for (AuthorizationRequest request : toEvaluate.keySet()) {
+      final AuthorizationResult result =
+          authorize(
+              request,
+              request.getResourceSpec().map(resolvedResourceSpecs::get),
+              resolvedActorSpecs.computeIfAbsent(request.getActorUrn(), this::resolveActor));
+      decisionCache.put(toEvaluate.get(request), request, result);
+      results.put(request, result);
+    }
+    return results;
+  }
+
+  private AuthorizationResult authorize(
+      @Nonnull final AuthorizationRequest request,
+      @Nonnull final Optional<ResolvedEntitySpec> resolvedResourceSpec,
+      @Nonnull final Supplier<Optional<ResolvedEntitySpec>> resolvedActorSpec) {
 
     // 1. Fetch the policies relevant to the requested privilege.
     final List<DataHubPolicyInfo> policiesToEvaluate =
@@ -118,7 +200,7 @@ public class DataHubAuthorizer implements Authorizer {
 
     // 2. Evaluate each policy.
     for (DataHubPolicyInfo policy : policiesToEvaluate) {
-      if (isRequestGranted(policy, request, resolvedResourceSpec)) {
+      if (isRequestGranted(policy, request, resolvedResourceSpec, resolvedActorSpec)) {
         // Short circuit if policy has granted privileges to this actor.
         return new AuthorizationResult(
             request,
@@ -253,6 +335,23 @@ public class DataHubAuthorizer implements Authorizer {
 
   public void setMode(final AuthorizationMode mode) {
     this.mode = mode;
+    decisionCache.newGeneration();
+  }
+
+  /**
+   * Drops the cached decisions for the entity, as actor or as resource. Should be invoked when an
+   * aspect resolved as a policy field of the entity changes, i.e. its owners or group membership.
+   */
+  public void invalidateDecisions(@Nonnull final Urn urn) {
+    decisionCache.invalidateUrn(urn);
+  }
+
+  /**
+   * Drops every cached decision. Should be invoked when a change affects the decisions of entities
+   * other than the changed one, i.e. the parent of a domain or the roles of a group.
+   */
+  public void invalidateAllDecisions() {
+    decisionCache.newGeneration();
   }
 
   /**
@@ -268,24 +367,24 @@ public class DataHubAuthorizer implements Authorizer {
   private boolean isRequestGranted(
       final DataHubPolicyInfo policy,
       final AuthorizationRequest request,
-      final Optional<ResolvedEntitySpec> resourceSpec) {
+      final Optional<ResolvedEntitySpec> resourceSpec,
+      final Supplier<Optional<ResolvedEntitySpec>> resolvedActorSpec) {
     if (AuthorizationMode.ALLOW_ALL.equals(mode())) {
       return true;
     }
 
-    Optional<Urn> actorUrn = getUrnFromRequestActor(request.getActorUrn());
-    if (actorUrn.isEmpty()) {
+    if (resolvedActorSpec.get().isEmpty()) {
       return false;
     }
 
     try {
-      final ResolvedEntitySpec resolvedActorSpec =
-          entitySpecResolver.resolve(
-              new EntitySpec(actorUrn.get().getEntityType(), request.getActorUrn()));
-
       final PolicyEngine.PolicyEvaluationResult result =
           policyEngine.evaluatePolicy(
-              systemOpContext, policy, resolvedActorSpec, request.getPrivilege(), resourceSpec);
+              systemOpContext,
+              policy,
+              resolvedActorSpec.get().get(),
+              request.getPrivilege(),
+              resourceSpec);
       return result.isGranted();
     } catch (RuntimeException e) {
       log.error("Error evaluating policy {} for request {}", policy.getDisplayName(), request);
@@ -293,6 +392,17 @@ public class DataHubAuthorizer implements Authorizer {
     }
   }
 
+  /** Lazily resolves the actor of a request, shared by the evaluation of every policy. */
+  private Supplier<Optional<ResolvedEntitySpec>> resolveActor(final String actor) {
+    return Suppliers.memoize(
+        () ->
+            getUrnFromRequestActor(actor)
+                .map(
+                    actorUrn ->
+                        entitySpecResolver.resolve(
+                            new EntitySpec(actorUrn.getEntityType(), actor))));
+  }
+
   private Optional<Urn> getUrnFromRequestActor(String actor) {
     try {
       return Optional.of(Urn.createFromString(actor));
@@ -330,6 +440,8 @@ public class DataHubAuthorizer implements Authorizer {
     private final Map<String, List<DataHubPolicyInfo>> policyCache;
     private final Lock writeLock;
     private final int count;
+    // Invoked once the new policies are installed
+    private final Runnable onRefresh;
 
     @Override
     public void run() {
@@ -362,6 +474,7 @@ public class DataHubAuthorizer implements Authorizer {
         try {
           policyCache.clear();
           policyCache.putAll(newCache);
+          onRefresh.run();
         } finally {
           // To unlock the acquired write thread
           writeLock.unlock();
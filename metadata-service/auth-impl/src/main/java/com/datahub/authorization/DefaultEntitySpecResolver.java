@@ -12,8 +12,12 @@ import com.google.common.collect.ImmutableList;
 import com.linkedin.entity.client.SystemEntityClient;
 import com.linkedin.util.Pair;
 import io.datahubproject.metadata.context.OperationContext;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 
@@ -41,6 +45,34 @@ public class DefaultEntitySpecResolver implements EntitySpecResolver {
         entitySpec, getFieldResolvers(systemOperationContext, entitySpec));
   }
 
+  /**
+   * Resolve many entity specs at once, each field resolver provider fetches the fields of all the
+   * entities together. The fields are fetched lazily, the first time a field of any of the entities
+   * is evaluated.
+   */
+  @Override
+  public Map<EntitySpec, ResolvedEntitySpec> resolve(Collection<EntitySpec> entitySpecs) {
+    final Set<EntitySpec> distinctSpecs = new HashSet<>(entitySpecs);
+    final Map<EntitySpec, Map<EntityFieldType, FieldResolver>> fieldResolvers = new HashMap<>();
+    distinctSpecs.forEach(spec -> fieldResolvers.put(spec, new HashMap<>()));
+
+    for (EntityFieldResolverProvider provider : _entityFieldResolverProviders) {
+      provider
+          .getFieldResolvers(systemOperationContext, distinctSpecs)
+          .forEach(
+              (spec, resolver) ->
+                  provider
+                      .getFieldTypes()
+                      .forEach(fieldType -> fieldResolvers.get(spec).put(fieldType, resolver)));
+    }
+
+    return fieldResolvers.entrySet().stream()
+        .collect(
+            Collectors.toMap(
+                Map.Entry::getKey,
+                entry -> new ResolvedEntitySpec(entry.getKey(), entry.getValue())));
+  }
+
   private Map<EntityFieldType, FieldResolver> getFieldResolvers(
       @Nonnull OperationContext opContext, EntitySpec entitySpec) {
     return _entityFieldResolverProviders.stream()
@@ -0,0 +1,107 @@
+package com.datahub.authorization.fieldresolverprovider;
+
+import com.datahub.authorization.EntitySpec;
+import com.datahub.authorization.FieldResolver;
+import com.google.common.base.Suppliers;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.entity.EntityResponse;
+import com.linkedin.entity.client.SystemEntityClient;
+import io.datahubproject.metadata.context.OperationContext;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+
+/** Helpers for field resolvers of many entities which share a single batch fetch. */
+@Slf4j
+public class BatchFieldResolverUtils {
+  private BatchFieldResolverUtils() {}
+
+  /**
+   * Build the field resolvers of many entities. The field values of all the entities are fetched
+   * together, the first time any of the resolvers is evaluated.
+   *
+   * @param entitySpecs entities to build resolvers for
+   * @param batchFetch fetches the field values of a set of urns, urns without a value are empty
+   * @return field resolver by entity spec
+   */
+  public static Map<EntitySpec, FieldResolver> getFieldResolvers(
+      @Nonnull Collection<EntitySpec> entitySpecs,
+      @Nonnull Function<Set<Urn>, Map<Urn, FieldResolver.FieldValue>> batchFetch) {
+    final Set<Urn> urns =
+        entitySpecs.stream()
+            .filter(spec -> !spec.getEntity().isEmpty())
+            .map(spec -> UrnUtils.getUrn(spec.getEntity()))
+            .collect(Collectors.toSet());
+
+    final Supplier<CompletableFuture<Map<Urn, FieldResolver.FieldValue>>> batch =
+        Suppliers.memoize(
+            () ->
+                CompletableFuture.supplyAsync(
+                    () -> {
+                      try {
+                        return batchFetch.apply(urns);
+                      } catch (Exception e) {
+                        log.error(
+                            "Error while batch resolving fields of {} entities", urns.size(), e);
+                        return Map.of();
+                      }
+                    }));
+
+    return entitySpecs.stream()
+        .distinct()
+        .collect(
+            Collectors.toMap(
+                Function.identity(),
+                spec -> {
+                  if (spec.getEntity().isEmpty()) {
+                    return FieldResolver.getResolverFromValues(Set.of());
+                  }
+                  final Urn urn = UrnUtils.getUrn(spec.getEntity());
+                  return new FieldResolver(
+                      () ->
+                          batch
+                              .get()
+                              .thenApply(
+                                  values ->
+                                      values.getOrDefault(urn, FieldResolver.emptyFieldValue())));
+                }));
+  }
+
+  /**
+   * Fetch the aspects of many entities, with one request per entity type.
+   *
+   * @return entity responses by urn, entities which do not exist are absent
+   */
+  public static Map<Urn, EntityResponse> batchGetAspects(
+      @Nonnull OperationContext opContext,
+      @Nonnull SystemEntityClient entityClient,
+      @Nonnull Set<Urn> urns,
+      @Nonnull Set<String> aspectNames) {
+    final Map<Urn, EntityResponse> responses = new HashMap<>();
+    for (Map.Entry<String, Set<Urn>> entry :
+        urns.stream()
+            .collect(Collectors.groupingBy(Urn::getEntityType, Collectors.toSet()))
+            .entrySet()) {
+      try {
+        responses.putAll(
+            entityClient.batchGetV2(opContext, entry.getKey(), entry.getValue(), aspectNames));
+      } catch (Exception e) {
+        log.error(
+            "Error while retrieving aspects {} for {} entities of type {}",
+            aspectNames,
+            entry.getValue().size(),
+            entry.getKey(),
+            e);
+      }
+    }
+    return responses;
+  }
+}
@@ -12,10 +12,15 @@ import com.linkedin.entity.EntityResponse;
 import com.linkedin.entity.EnvelopedAspect;
 import com.linkedin.entity.client.SystemEntityClient;
 import io.datahubproject.metadata.context.OperationContext;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,10 +43,38 @@ public class DataPlatformInstanceFieldResolverProvider implements EntityFieldRes
         entitySpec, spec -> getDataPlatformInstance(opContext, spec));
   }
 
+  @Override
+  public Map<EntitySpec, FieldResolver> getFieldResolvers(
+      @Nonnull OperationContext opContext, @Nonnull Collection<EntitySpec> entitySpecs) {
+    return BatchFieldResolverUtils.getFieldResolvers(
+        entitySpecs,
+        urns -> {
+          // A platform instance is associated with itself
+          final Map<Urn, FieldResolver.FieldValue> values =
+              urns.stream()
+                  .filter(urn -> urn.getEntityType().equals(DATA_PLATFORM_INSTANCE_ENTITY_NAME))
+                  .collect(
+                      Collectors.toMap(
+                          Function.identity(),
+                          urn ->
+                              FieldResolver.FieldValue.builder()
+                                  .values(Collections.singleton(urn.toString()))
+                                  .build()));
+          BatchFieldResolverUtils.batchGetAspects(
+                  opContext,
+                  _entityClient,
+                  urns.stream()
+                      .filter(urn -> !values.containsKey(urn))
+                      .collect(Collectors.toSet()),
+                  Collections.singleton(DATA_PLATFORM_INSTANCE_ASPECT_NAME))
+              .forEach((urn, response) -> values.put(urn, getDataPlatformInstance(response)));
+          return values;
+        });
+  }
+
   private FieldResolver.FieldValue getDataPlatformInstance(
       @Nonnull OperationContext opContext, EntitySpec entitySpec) {
 
-    EnvelopedAspect dataPlatformInstanceAspect;
     try {
       if (entitySpec.getEntity().isEmpty()) {
         return FieldResolver.emptyFieldValue();
@@ -62,15 +95,21 @@ public class DataPlatformInstanceFieldResolverProvider implements EntityFieldRes
               entityUrn.getEntityType(),
               entityUrn,
               Collections.singleton(DATA_PLATFORM_INSTANCE_ASPECT_NAME));
-      if (response == null
-          || !response.getAspects().containsKey(DATA_PLATFORM_INSTANCE_ASPECT_NAME)) {
-        return FieldResolver.emptyFieldValue();
-      }
-      dataPlatformInstanceAspect = response.getAspects().get(DATA_PLATFORM_INSTANCE_ASPECT_NAME);
+      return getDataPlatformInstance(response);
     } catch (Exception e) {
       log.error("Error while retrieving platform instance aspect for entitySpec {}", entitySpec, e);
       return FieldResolver.emptyFieldValue();
     }
+  }
+
+  private static FieldResolver.FieldValue getDataPlatformInstance(
+      @Nullable EntityResponse response) {
+    if (response == null
+        || !response.getAspects().containsKey(DATA_PLATFORM_INSTANCE_ASPECT_NAME)) {
+      return FieldResolver.emptyFieldValue();
+    }
+    EnvelopedAspect dataPlatformInstanceAspect =
+        response.getAspects().get(DATA_PLATFORM_INSTANCE_ASPECT_NAME);
     DataPlatformInstance dataPlatformInstance =
         new DataPlatformInstance(dataPlatformInstanceAspect.getValue().data());
     if (dataPlatformInstance.getInstance() == null) {
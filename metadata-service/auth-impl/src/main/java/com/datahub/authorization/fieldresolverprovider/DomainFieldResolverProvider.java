@@ -13,7 +13,9 @@ import com.linkedin.entity.EntityResponse;
 import com.linkedin.entity.EnvelopedAspect;
 import com.linkedin.entity.client.SystemEntityClient;
 import io.datahubproject.metadata.context.OperationContext;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -41,6 +43,98 @@ public class DomainFieldResolverProvider implements EntityFieldResolverProvider
     return FieldResolver.getResolverFromFunction(entitySpec, spec -> getDomains(opContext, spec));
   }
 
+  @Override
+  public Map<EntitySpec, FieldResolver> getFieldResolvers(
+      @Nonnull OperationContext opContext, @Nonnull Collection<EntitySpec> entitySpecs) {
+    return BatchFieldResolverUtils.getFieldResolvers(
+        entitySpecs, urns -> getBatchedDomains(opContext, urns));
+  }
+
+  /** Resolve the domains of many entities, walking the parents of all their domains together. */
+  private Map<Urn, FieldResolver.FieldValue> getBatchedDomains(
+      @Nonnull OperationContext opContext, @Nonnull final Set<Urn> urns) {
+    final Map<Urn, FieldResolver.FieldValue> values = new HashMap<>();
+
+    // In the case that the entity is a domain, the associated domain is the domain itself
+    urns.stream()
+        .filter(urn -> urn.getEntityType().equals(DOMAIN_ENTITY_NAME))
+        .forEach(
+            urn ->
+                values.put(
+                    urn,
+                    FieldResolver.FieldValue.builder()
+                        .values(Collections.singleton(urn.toString()))
+                        .build()));
+
+    final Map<Urn, Set<Urn>> entityDomains = new HashMap<>();
+    BatchFieldResolverUtils.batchGetAspects(
+            opContext,
+            _entityClient,
+            urns.stream().filter(urn -> !values.containsKey(urn)).collect(Collectors.toSet()),
+            Collections.singleton(DOMAINS_ASPECT_NAME))
+        .forEach(
+            (urn, response) -> {
+              if (response.getAspects().containsKey(DOMAINS_ASPECT_NAME)) {
+                final Domains domains =
+                    new Domains(response.getAspects().get(DOMAINS_ASPECT_NAME).getValue().data());
+                entityDomains.put(urn, new HashSet<>(domains.getDomains()));
+              }
+            });
+
+    // Walk up the parent domains level by level, to avoid cycles each domain is visited once
+    final Map<Urn, Urn> parentDomains = new HashMap<>();
+    final Set<Urn> visited = new HashSet<>();
+    Set<Urn> toVisit =
+        entityDomains.values().stream().flatMap(Set::stream).collect(Collectors.toSet());
+    while (!toVisit.isEmpty()) {
+      visited.addAll(toVisit);
+      final Map<Urn, Urn> batchParents = getParentDomains(opContext, toVisit);
+      parentDomains.putAll(batchParents);
+      toVisit =
+          batchParents.values().stream()
+              .filter(parent -> !visited.contains(parent))
+              .collect(Collectors.toSet());
+    }
+
+    entityDomains.forEach(
+        (urn, domains) -> {
+          final Set<Urn> domainUrns = new HashSet<>();
+          domains.forEach(
+              domain -> {
+                Urn current = domain;
+                while (current != null && domainUrns.add(current)) {
+                  current = parentDomains.get(current);
+                }
+              });
+          values.put(
+              urn,
+              FieldResolver.FieldValue.builder()
+                  .values(domainUrns.stream().map(Object::toString).collect(Collectors.toSet()))
+                  .build());
+        });
+
+    return values;
+  }
+
+  private Map<Urn, Urn> getParentDomains(
+      @Nonnull OperationContext opContext, @Nonnull final Set<Urn> urns) {
+    final Map<Urn, Urn> parentDomains = new HashMap<>();
+    BatchFieldResolverUtils.batchGetAspects(
+            opContext, _entityClient, urns, Collections.singleton(DOMAIN_PROPERTIES_ASPECT_NAME))
+        .forEach(
+            (urn, response) -> {
+              if (response.getAspects().containsKey(DOMAIN_PROPERTIES_ASPECT_NAME)) {
+                final DomainProperties properties =
+                    new DomainProperties(
+                        response.getAspects().get(DOMAIN_PROPERTIES_ASPECT_NAME).getValue().data());
+                if (properties.hasParentDomain()) {
+                  parentDomains.put(urn, properties.getParentDomain());
+                }
+              }
+            });
+    return parentDomains;
+  }
+
   private Set<Urn> getBatchedParentDomains(
       @Nonnull OperationContext opContext, @Nonnull final Set<Urn> urns) {
     final Set<Urn> parentUrns = new HashSet<>();
@@ -4,7 +4,11 @@ import com.datahub.authorization.EntityFieldType;
 import com.datahub.authorization.EntitySpec;
 import com.datahub.authorization.FieldResolver;
 import io.datahubproject.metadata.context.OperationContext;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 
 /** Base class for defining a class that provides the field resolver for the given field type */
@@ -19,4 +23,16 @@ public interface EntityFieldResolverProvider {
 
   /** Return resolver for fetching the field values given the entity */
   FieldResolver getFieldResolver(@Nonnull OperationContext opContext, EntitySpec entitySpec);
+
+  /**
+   * Return resolvers for many entities. Providers which fetch the field values should fetch them
+   * for all the entities at once, by default each entity is resolved individually.
+   */
+  default Map<EntitySpec, FieldResolver> getFieldResolvers(
+      @Nonnull OperationContext opContext, @Nonnull Collection<EntitySpec> entitySpecs) {
+    return entitySpecs.stream()
+        .distinct()
+        .collect(
+            Collectors.toMap(Function.identity(), spec -> getFieldResolver(opContext, spec)));
+  }
 }
@@ -17,10 +17,14 @@ import com.linkedin.identity.NativeGroupMembership;
 import com.linkedin.metadata.Constants;
 import io.datahubproject.metadata.context.OperationContext;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -29,6 +33,9 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class GroupMembershipFieldResolverProvider implements EntityFieldResolverProvider {
 
+  private static final Set<String> ASPECT_NAMES =
+      ImmutableSet.of(GROUP_MEMBERSHIP_ASPECT_NAME, NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME);
+
   private final SystemEntityClient _entityClient;
 
   @Override
@@ -43,12 +50,23 @@ public class GroupMembershipFieldResolverProvider implements EntityFieldResolver
         entitySpec, spec -> getGroupMembership(opContext, spec));
   }
 
+  @Override
+  public Map<EntitySpec, FieldResolver> getFieldResolvers(
+      @Nonnull OperationContext opContext, @Nonnull Collection<EntitySpec> entitySpecs) {
+    return BatchFieldResolverUtils.getFieldResolvers(
+        entitySpecs,
+        urns ->
+            BatchFieldResolverUtils.batchGetAspects(opContext, _entityClient, urns, ASPECT_NAMES)
+                .entrySet()
+                .stream()
+                .collect(
+                    Collectors.toMap(
+                        Map.Entry::getKey, entry -> getGroupMembership(entry.getValue()))));
+  }
+
   private FieldResolver.FieldValue getGroupMembership(
       @Nonnull OperationContext opContext, EntitySpec entitySpec) {
 
-    EnvelopedAspect groupMembershipAspect;
-    EnvelopedAspect nativeGroupMembershipAspect;
-    List<Urn> groups = new ArrayList<>();
     try {
       if (entitySpec.getEntity().isEmpty()) {
         return FieldResolver.emptyFieldValue();
@@ -57,35 +75,35 @@ public class GroupMembershipFieldResolverProvider implements EntityFieldResolver
       Urn entityUrn = UrnUtils.getUrn(entitySpec.getEntity());
 
       EntityResponse response =
-          _entityClient.getV2(
-              opContext,
-              entityUrn.getEntityType(),
-              entityUrn,
-              ImmutableSet.of(GROUP_MEMBERSHIP_ASPECT_NAME, NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME));
-      if (response == null
-          || !(response.getAspects().containsKey(Constants.GROUP_MEMBERSHIP_ASPECT_NAME)
-              || response
-                  .getAspects()
-                  .containsKey(Constants.NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME))) {
-        return FieldResolver.emptyFieldValue();
-      }
-      if (response.getAspects().containsKey(Constants.GROUP_MEMBERSHIP_ASPECT_NAME)) {
-        groupMembershipAspect = response.getAspects().get(Constants.GROUP_MEMBERSHIP_ASPECT_NAME);
-        GroupMembership groupMembership =
-            new GroupMembership(groupMembershipAspect.getValue().data());
-        groups.addAll(groupMembership.getGroups());
-      }
-      if (response.getAspects().containsKey(Constants.NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME)) {
-        nativeGroupMembershipAspect =
-            response.getAspects().get(Constants.NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME);
-        NativeGroupMembership nativeGroupMembership =
-            new NativeGroupMembership(nativeGroupMembershipAspect.getValue().data());
-        groups.addAll(nativeGroupMembership.getNativeGroups());
-      }
+          _entityClient.getV2(opContext, entityUrn.getEntityType(), entityUrn, ASPECT_NAMES);
+      return getGroupMembership(response);
     } catch (Exception e) {
       log.error("Error while retrieving group membership aspect for entitySpec {}", entitySpec, e);
       return FieldResolver.emptyFieldValue();
     }
+  }
+
+  private static FieldResolver.FieldValue getGroupMembership(@Nullable EntityResponse response) {
+    if (response == null
+        || !(response.getAspects().containsKey(Constants.GROUP_MEMBERSHIP_ASPECT_NAME)
+            || response.getAspects().containsKey(Constants.NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME))) {
+      return FieldResolver.emptyFieldValue();
+    }
+    List<Urn> groups = new ArrayList<>();
+    if (response.getAspects().containsKey(Constants.GROUP_MEMBERSHIP_ASPECT_NAME)) {
+      EnvelopedAspect groupMembershipAspect =
+          response.getAspects().get(Constants.GROUP_MEMBERSHIP_ASPECT_NAME);
+      GroupMembership groupMembership =
+          new GroupMembership(groupMembershipAspect.getValue().data());
+      groups.addAll(groupMembership.getGroups());
+    }
+    if (response.getAspects().containsKey(Constants.NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME)) {
+      EnvelopedAspect nativeGroupMembershipAspect =
+          response.getAspects().get(Constants.NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME);
+      NativeGroupMembership nativeGroupMembership =
+          new NativeGroupMembership(nativeGroupMembershipAspect.getValue().data());
+      groups.addAll(nativeGroupMembership.getNativeGroups());
+    }
     return FieldResolver.FieldValue.builder()
         .values(groups.stream().map(Urn::toString).collect(Collectors.toSet()))
         .build();
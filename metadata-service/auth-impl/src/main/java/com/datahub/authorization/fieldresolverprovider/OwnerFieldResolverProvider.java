@@ -11,10 +11,13 @@ import com.linkedin.entity.EnvelopedAspect;
 import com.linkedin.entity.client.SystemEntityClient;
 import com.linkedin.metadata.Constants;
 import io.datahubproject.metadata.context.OperationContext;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -36,10 +39,26 @@ public class OwnerFieldResolverProvider implements EntityFieldResolverProvider {
     return FieldResolver.getResolverFromFunction(entitySpec, spec -> getOwners(opContext, spec));
   }
 
+  @Override
+  public Map<EntitySpec, FieldResolver> getFieldResolvers(
+      @Nonnull OperationContext opContext, @Nonnull Collection<EntitySpec> entitySpecs) {
+    return BatchFieldResolverUtils.getFieldResolvers(
+        entitySpecs,
+        urns ->
+            BatchFieldResolverUtils.batchGetAspects(
+                    opContext,
+                    _entityClient,
+                    urns,
+                    Collections.singleton(Constants.OWNERSHIP_ASPECT_NAME))
+                .entrySet()
+                .stream()
+                .collect(
+                    Collectors.toMap(Map.Entry::getKey, entry -> getOwners(entry.getValue()))));
+  }
+
   private FieldResolver.FieldValue getOwners(
       @Nonnull OperationContext opContext, EntitySpec entitySpec) {
 
-    EnvelopedAspect ownershipAspect;
     try {
       if (entitySpec.getEntity().isEmpty()) {
         return FieldResolver.emptyFieldValue();
@@ -52,14 +71,18 @@ public class OwnerFieldResolverProvider implements EntityFieldResolverProvider {
               entityUrn.getEntityType(),
               entityUrn,
               Collections.singleton(Constants.OWNERSHIP_ASPECT_NAME));
-      if (response == null || !response.getAspects().containsKey(Constants.OWNERSHIP_ASPECT_NAME)) {
-        return FieldResolver.emptyFieldValue();
-      }
-      ownershipAspect = response.getAspects().get(Constants.OWNERSHIP_ASPECT_NAME);
+      return getOwners(response);
     } catch (Exception e) {
       log.error("Error while retrieving ownership aspect for entitySpec {}", entitySpec, e);
       return FieldResolver.emptyFieldValue();
     }
+  }
+
+  private static FieldResolver.FieldValue getOwners(@Nullable EntityResponse response) {
+    if (response == null || !response.getAspects().containsKey(Constants.OWNERSHIP_ASPECT_NAME)) {
+      return FieldResolver.emptyFieldValue();
+    }
+    EnvelopedAspect ownershipAspect = response.getAspects().get(Constants.OWNERSHIP_ASPECT_NAME);
     Ownership ownership = new Ownership(ownershipAspect.getValue().data());
     return FieldResolver.FieldValue.builder()
         .values(
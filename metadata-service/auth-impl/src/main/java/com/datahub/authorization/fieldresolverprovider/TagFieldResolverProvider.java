@@ -11,10 +11,13 @@ import com.linkedin.entity.EnvelopedAspect;
 import com.linkedin.entity.client.SystemEntityClient;
 import com.linkedin.metadata.Constants;
 import io.datahubproject.metadata.context.OperationContext;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -36,10 +39,25 @@ public class TagFieldResolverProvider implements EntityFieldResolverProvider {
     return FieldResolver.getResolverFromFunction(entitySpec, spec -> getTags(opContext, spec));
   }
 
+  @Override
+  public Map<EntitySpec, FieldResolver> getFieldResolvers(
+      @Nonnull OperationContext opContext, @Nonnull Collection<EntitySpec> entitySpecs) {
+    return BatchFieldResolverUtils.getFieldResolvers(
+        entitySpecs,
+        urns ->
+            BatchFieldResolverUtils.batchGetAspects(
+                    opContext,
+                    _entityClient,
+                    urns,
+                    Collections.singleton(Constants.GLOBAL_TAGS_ASPECT_NAME))
+                .entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> getTags(entry.getValue()))));
+  }
+
   private FieldResolver.FieldValue getTags(
       @Nonnull OperationContext opContext, EntitySpec entitySpec) {
 
-    EnvelopedAspect globalTagsAspect;
     try {
       if (entitySpec.getEntity().isEmpty()) {
         return FieldResolver.emptyFieldValue();
@@ -53,15 +71,18 @@ public class TagFieldResolverProvider implements EntityFieldResolverProvider {
               entityUrn.getEntityType(),
               entityUrn,
               Collections.singleton(Constants.GLOBAL_TAGS_ASPECT_NAME));
-      if (response == null
-          || !response.getAspects().containsKey(Constants.GLOBAL_TAGS_ASPECT_NAME)) {
-        return FieldResolver.emptyFieldValue();
-      }
-      globalTagsAspect = response.getAspects().get(Constants.GLOBAL_TAGS_ASPECT_NAME);
+      return getTags(response);
     } catch (Exception e) {
       log.error("Error while retrieving tags aspect for entitySpec {}", entitySpec, e);
       return FieldResolver.emptyFieldValue();
     }
+  }
+
+  private static FieldResolver.FieldValue getTags(@Nullable EntityResponse response) {
+    if (response == null || !response.getAspects().containsKey(Constants.GLOBAL_TAGS_ASPECT_NAME)) {
+      return FieldResolver.emptyFieldValue();
+    }
+    EnvelopedAspect globalTagsAspect = response.getAspects().get(Constants.GLOBAL_TAGS_ASPECT_NAME);
     GlobalTags globalTags = new GlobalTags(globalTagsAspect.getValue().data());
     return FieldResolver.FieldValue.builder()
         .values(
@@ -14,6 +14,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import com.datahub.authentication.Actor;
@@ -433,6 +434,90 @@ public class DataHubAuthorizerTest {
     assertEquals(_dataHubAuthorizer.authorize(request).getType(), AuthorizationResult.Type.DENY);
   }
 
+  @Test
+  public void testDecisionCache() throws Exception {
+    DataHubAuthorizer cachingAuthorizer =
+        new DataHubAuthorizer(
+            systemOpContext,
+            _entityClient,
+            10,
+            10,
+            DataHubAuthorizer.AuthorizationMode.DEFAULT,
+            1,
+            new AuthorizationDecisionCache(true, 1000, 60));
+    cachingAuthorizer.init(
+        Collections.emptyMap(), createAuthorizerContext(systemOpContext, _entityClient));
+    cachingAuthorizer.invalidateCache();
+    Thread.sleep(500); // Sleep so the runnable can execute. (not ideal)
+
+    EntitySpec resourceSpec = new EntitySpec("dataset", "urn:li:dataset:test");
+    AuthorizationRequest request =
+        new AuthorizationRequest(
+            "urn:li:corpuser:test", "EDIT_ENTITY_TAGS", Optional.of(resourceSpec));
+    assertEquals(cachingAuthorizer.authorize(request).getType(), AuthorizationResult.Type.ALLOW);
+
+    // Remove the policies without starting a new generation, the cached decision is returned
+    cachingAuthorizer.readWriteLock.writeLock().lock();
+    try {
+      cachingAuthorizer.policyCache.clear();
+    } finally {
+      cachingAuthorizer.readWriteLock.writeLock().unlock();
+    }
+    AuthorizationResult cached = cachingAuthorizer.authorize(request);
+    assertEquals(cached.getType(), AuthorizationResult.Type.ALLOW);
+    assertSame(cached.getRequest(), request);
+    assertEquals(
+        cachingAuthorizer.batchAuthorize(List.of(request)).get(request).getType(),
+        AuthorizationResult.Type.ALLOW);
+
+    // Skipping the cache evaluates the current policies
+    AuthorizationRequest skipCacheRequest =
+        new AuthorizationRequest(
+            "urn:li:corpuser:test", "EDIT_ENTITY_TAGS", Optional.of(resourceSpec), true);
+    assertEquals(
+        cachingAuthorizer.authorize(skipCacheRequest).getType(), AuthorizationResult.Type.DENY);
+
+    // Changes to the actor or the resource drop their decisions only
+    AuthorizationRequest otherRequest =
+        new AuthorizationRequest(
+            "urn:li:corpuser:test",
+            "EDIT_ENTITY_TAGS",
+            Optional.of(new EntitySpec("dataset", "urn:li:dataset:other")));
+    AuthorizationDecisionCache decisionCache = cachingAuthorizer.getDecisionCache();
+    decisionCache.put(
+        decisionCache.currentVersion(otherRequest),
+        otherRequest,
+        new AuthorizationResult(otherRequest, AuthorizationResult.Type.ALLOW, null));
+    cachingAuthorizer.invalidateDecisions(UrnUtils.getUrn("urn:li:dataset:test"));
+    assertEquals(cachingAuthorizer.authorize(request).getType(), AuthorizationResult.Type.DENY);
+    assertEquals(
+        cachingAuthorizer.authorize(otherRequest).getType(), AuthorizationResult.Type.ALLOW);
+    cachingAuthorizer.invalidateDecisions(UrnUtils.getUrn("urn:li:corpuser:test"));
+    assertEquals(
+        cachingAuthorizer.authorize(otherRequest).getType(), AuthorizationResult.Type.DENY);
+
+    // A decision evaluated while its resource is invalidated is not cached
+    AuthorizationDecisionCache.Version version = decisionCache.currentVersion(otherRequest);
+    cachingAuthorizer.invalidateDecisions(UrnUtils.getUrn("urn:li:dataset:other"));
+    decisionCache.put(
+        version,
+        otherRequest,
+        new AuthorizationResult(otherRequest, AuthorizationResult.Type.ALLOW, null));
+    assertEquals(
+        cachingAuthorizer.authorize(otherRequest).getType(), AuthorizationResult.Type.DENY);
+
+    // Changes affecting many entities drop every decision
+    decisionCache.put(
+        decisionCache.currentVersion(otherRequest),
+        otherRequest,
+        new AuthorizationResult(otherRequest, AuthorizationResult.Type.ALLOW, null));
+    assertEquals(
+        cachingAuthorizer.authorize(otherRequest).getType(), AuthorizationResult.Type.ALLOW);
+    cachingAuthorizer.invalidateAllDecisions();
+    assertEquals(
+        cachingAuthorizer.authorize(otherRequest).getType(), AuthorizationResult.Type.DENY);
+  }
+
   @Test
   public void testAuthorizedActorsActivePolicy() throws Exception {
     final AuthorizedActors actors =
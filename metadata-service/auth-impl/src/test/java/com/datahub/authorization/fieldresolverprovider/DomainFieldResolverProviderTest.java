@@ -1,13 +1,129 @@
 package com.datahub.authorization.fieldresolverprovider;
 
+import static com.linkedin.metadata.Constants.DATASET_ENTITY_NAME;
+import static com.linkedin.metadata.Constants.DOMAINS_ASPECT_NAME;
+import static com.linkedin.metadata.Constants.DOMAIN_ENTITY_NAME;
+import static com.linkedin.metadata.Constants.DOMAIN_PROPERTIES_ASPECT_NAME;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
+import com.datahub.authorization.EntitySpec;
+import com.datahub.authorization.FieldResolver;
+import com.linkedin.common.UrnArray;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.domain.DomainProperties;
+import com.linkedin.domain.Domains;
+import com.linkedin.entity.Aspect;
+import com.linkedin.entity.EntityResponse;
+import com.linkedin.entity.EnvelopedAspect;
+import com.linkedin.entity.EnvelopedAspectMap;
 import com.linkedin.entity.client.SystemEntityClient;
+import io.datahubproject.metadata.context.OperationContext;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.testng.annotations.Test;
 
 public class DomainFieldResolverProviderTest
     extends EntityFieldResolverProviderBaseTest<DomainFieldResolverProvider> {
+  private static final Urn DATASET_A =
+      UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:hive,a,PROD)");
+  private static final Urn DATASET_B =
+      UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:hive,b,PROD)");
+  private static final Urn DOMAIN_A = UrnUtils.getUrn("urn:li:domain:a");
+  private static final Urn DOMAIN_B = UrnUtils.getUrn("urn:li:domain:b");
+  private static final Urn DOMAIN_PARENT = UrnUtils.getUrn("urn:li:domain:parent");
+
   @Override
   protected DomainFieldResolverProvider buildFieldResolverProvider() {
     return new DomainFieldResolverProvider(mock(SystemEntityClient.class));
   }
+
+  @Test
+  public void testBatchResolveParentDomains() throws Exception {
+    SystemEntityClient entityClient = mock(SystemEntityClient.class);
+    Map<Urn, RecordTemplate> aspects =
+        Map.of(
+            DATASET_A, new Domains().setDomains(new UrnArray(DOMAIN_A)),
+            DATASET_B, new Domains().setDomains(new UrnArray(DOMAIN_B)),
+            DOMAIN_A, new DomainProperties().setName("a").setParentDomain(DOMAIN_PARENT),
+            DOMAIN_B, new DomainProperties().setName("b").setParentDomain(DOMAIN_PARENT),
+            DOMAIN_PARENT, new DomainProperties().setName("parent"));
+    when(entityClient.batchGetV2(any(OperationContext.class), any(), anySet(), anySet()))
+        .thenAnswer(
+            args -> {
+              Set<Urn> urns = args.getArgument(2);
+              String aspectName = ((Set<String>) args.getArgument(3)).iterator().next();
+              return urns.stream()
+                  .collect(
+                      Collectors.toMap(
+                          urn -> urn,
+                          urn ->
+                              new EntityResponse()
+                                  .setUrn(urn)
+                                  .setEntityName(urn.getEntityType())
+                                  .setAspects(
+                                      new EnvelopedAspectMap(
+                                          Map.of(
+                                              aspectName,
+                                              new EnvelopedAspect()
+                                                  .setName(aspectName)
+                                                  .setValue(
+                                                      new Aspect(aspects.get(urn).data())))))));
+            });
+
+    Map<EntitySpec, FieldResolver> resolvers =
+        new DomainFieldResolverProvider(entityClient)
+            .getFieldResolvers(
+                mock(OperationContext.class),
+                List.of(
+                    new EntitySpec(DATASET_ENTITY_NAME, DATASET_A.toString()),
+                    new EntitySpec(DATASET_ENTITY_NAME, DATASET_B.toString()),
+                    new EntitySpec(DOMAIN_ENTITY_NAME, DOMAIN_A.toString())));
+
+    assertEquals(
+        resolvers
+            .get(new EntitySpec(DATASET_ENTITY_NAME, DATASET_A.toString()))
+            .getFieldValuesFuture()
+            .get()
+            .getValues(),
+        Set.of(DOMAIN_A.toString(), DOMAIN_PARENT.toString()));
+    assertEquals(
+        resolvers
+            .get(new EntitySpec(DATASET_ENTITY_NAME, DATASET_B.toString()))
+            .getFieldValuesFuture()
+            .get()
+            .getValues(),
+        Set.of(DOMAIN_B.toString(), DOMAIN_PARENT.toString()));
+    assertEquals(
+        resolvers
+            .get(new EntitySpec(DOMAIN_ENTITY_NAME, DOMAIN_A.toString()))
+            .getFieldValuesFuture()
+            .get()
+            .getValues(),
+        Set.of(DOMAIN_A.toString()));
+
+    // One request for the entities' domains and one per level of parent domains
+    verify(entityClient, times(1))
+        .batchGetV2(
+            any(OperationContext.class),
+            eq(DATASET_ENTITY_NAME),
+            eq(Set.of(DATASET_A, DATASET_B)),
+            eq(Set.of(DOMAINS_ASPECT_NAME)));
+    verify(entityClient, times(2))
+        .batchGetV2(
+            any(OperationContext.class),
+            eq(DOMAIN_ENTITY_NAME),
+            anySet(),
+            eq(Set.of(DOMAIN_PROPERTIES_ASPECT_NAME)));
+  }
 }
@@ -24,6 +24,13 @@ public class EbeanConfiguration {
   private boolean postgresUseIamAuth;
   private LockingConfiguration locking;
 
+  /**
+   * When enabled, the previous latest version of an aspect is archived by the database itself
+   * (INSERT ... SELECT from version 0) and version 0 is updated in place, instead of sending the
+   * previous aspect payload back to the database.
+   */
+  private boolean serverSideVersionShift;
+
   public static final EbeanConfiguration testDefault =
       EbeanConfiguration.builder().locking(LockingConfiguration.testDefault).build();
 
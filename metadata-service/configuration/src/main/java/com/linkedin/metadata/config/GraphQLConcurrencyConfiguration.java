@@ -9,4 +9,5 @@ public class GraphQLConcurrencyConfiguration {
   int corePoolSize;
   int maxPoolSize;
   int keepAlive;
+  int maxConcurrencyPerRequest;
 }
@@ -1,6 +1,8 @@
 package com.linkedin.metadata.config;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 /** POJO representing the "ingestion" configuration block in application.yaml. */
 @Data
@@ -10,4 +12,33 @@ public class IngestionConfiguration {
 
   /** The default CLI version to use in managed ingestion */
   public String defaultCliVersion;
+
+  /** Scheduling of ingestion sources with a configured schedule */
+  public SchedulerConfiguration scheduler;
+
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Data
+  public static class SchedulerConfiguration {
+    public static final SchedulerConfiguration DEFAULT =
+        new SchedulerConfiguration(false, 32, 60, 15, 8, 1000);
+
+    /** Partition ingestion sources across replicas using leases stored in the SQL database */
+    private boolean sharded;
+
+    /** Number of partitions ingestion sources are hashed into, each one is leased separately */
+    private int shards;
+
+    /** Duration a lease is held without being renewed */
+    private int leaseSeconds;
+
+    /** Interval at which leases are renewed and rebalanced across replicas */
+    private int heartbeatIntervalSeconds;
+
+    /** Threads creating execution requests for triggered ingestion sources */
+    private int workerThreads;
+
+    /** Triggered ingestion sources waiting for a worker thread */
+    private int workerQueueSize;
+  }
 }
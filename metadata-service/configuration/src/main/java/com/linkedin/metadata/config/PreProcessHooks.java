@@ -5,4 +5,16 @@ import lombok.Data;
 @Data
 public class PreProcessHooks {
   private boolean uiEnabled;
+
+  /** Pre-process UI index updates on a bounded in-process queue instead of the request thread */
+  private boolean uiAsyncEnabled;
+
+  /** Number of single threaded lanes used for asynchronous pre-processing */
+  private int uiAsyncWorkers;
+
+  /** Maximum pending index updates per lane */
+  private int uiAsyncQueueSize;
+
+  /** Maximum time a UI write waits for its index update, 0 to return immediately */
+  private long uiAsyncWaitMillis;
 }
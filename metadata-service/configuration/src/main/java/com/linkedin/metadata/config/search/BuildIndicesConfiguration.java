@@ -9,4 +9,8 @@ public class BuildIndicesConfiguration {
   private boolean allowDocCountMismatch;
   private String retentionUnit;
   private Long retentionValue;
+  private int reindexBatchSize;
+  private boolean reindexSlicingEnabled;
+  private int reindexMaxConcurrentSlices;
+  private float reindexRequestsPerSecond;
 }
@@ -0,0 +1,16 @@
+package com.linkedin.metadata.config.search;
+
+import lombok.Data;
+
+@Data
+public class MultiSearchConfiguration {
+
+  /** Whether concurrent search reads are combined into msearch requests */
+  private boolean enabled;
+
+  /** How long the first read of a batch waits for more reads before the batch is sent */
+  private long windowMillis;
+
+  /** Number of reads which sends the batch right away */
+  private int maxBatchSize;
+}
@@ -9,6 +9,7 @@ public class QueryFilterRewriterConfiguration {
 
   private ExpansionRewriterConfiguration containerExpansion;
   private ExpansionRewriterConfiguration domainExpansion;
+  private HierarchyCacheConfiguration hierarchyCache;
 
   @NoArgsConstructor
   @AllArgsConstructor
@@ -21,4 +22,18 @@ public class QueryFilterRewriterConfiguration {
     private int pageSize;
     private int limit;
   }
+
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Data
+  public static class HierarchyCacheConfiguration {
+    public static final HierarchyCacheConfiguration DISABLED =
+        new HierarchyCacheConfiguration(false, 0, 0, 0);
+
+    private boolean enabled;
+    private int ttlSeconds;
+    private int maxSize;
+    // delay after which the expansions are invalidated again, once the written edges are searchable
+    private int invalidationDelaySeconds;
+  }
 }
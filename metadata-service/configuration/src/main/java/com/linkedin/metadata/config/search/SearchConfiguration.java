@@ -11,4 +11,5 @@ public class SearchConfiguration {
   private CustomConfiguration custom;
   private GraphQueryConfiguration graph;
   private WordGramConfiguration wordGram;
+  private MultiSearchConfiguration multiSearch;
 }
@@ -1,5 +1,6 @@
 package com.linkedin.gms.factory.auth;
 
+import com.datahub.authorization.AuthorizationDecisionCache;
 import com.datahub.authorization.DataHubAuthorizer;
 import com.linkedin.entity.client.SystemEntityClient;
 import io.datahubproject.metadata.context.OperationContext;
@@ -22,6 +23,15 @@ public class DataHubAuthorizerFactory {
   @Value("${authorization.defaultAuthorizer.enabled:true}")
   private Boolean policiesEnabled;
 
+  @Value("${authorization.defaultAuthorizer.decisionCache.enabled:false}")
+  private Boolean decisionCacheEnabled;
+
+  @Value("${authorization.defaultAuthorizer.decisionCache.maxSize:100000}")
+  private Long decisionCacheMaxSize;
+
+  @Value("${authorization.defaultAuthorizer.decisionCache.ttlSeconds:30}")
+  private Long decisionCacheTtlSeconds;
+
   @Bean(name = "dataHubAuthorizer")
   @Scope("singleton")
   @Nonnull
@@ -40,6 +50,8 @@ public class DataHubAuthorizerFactory {
         10,
         policyCacheRefreshIntervalSeconds,
         mode,
-        policyCacheFetchSize);
+        policyCacheFetchSize,
+        new AuthorizationDecisionCache(
+            decisionCacheEnabled, decisionCacheMaxSize, decisionCacheTtlSeconds));
   }
 }
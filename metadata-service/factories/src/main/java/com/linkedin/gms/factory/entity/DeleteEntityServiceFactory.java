@@ -7,6 +7,7 @@ import com.linkedin.metadata.search.EntitySearchService;
 import javax.annotation.Nonnull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -26,9 +27,19 @@ public class DeleteEntityServiceFactory {
   @Qualifier("entitySearchService")
   private EntitySearchService _entitySearchService;
 
+  @Value("${entityService.deleteReferences.batchSize:1000}")
+  private Integer _referenceBatchSize;
+
+  @Value("${entityService.deleteReferences.aspectsPerSecond:0}")
+  private Double _referenceAspectsPerSecond;
+
   @Bean(name = "deleteEntityService")
   @Nonnull
   protected DeleteEntityService createDeleteEntityService() {
-    return new DeleteEntityService(_entityService, _graphService, _entitySearchService);
+    DeleteEntityService deleteEntityService =
+        new DeleteEntityService(_entityService, _graphService, _entitySearchService);
+    deleteEntityService.setReferenceBatchSize(_referenceBatchSize);
+    deleteEntityService.setReferenceAspectsPerSecond(_referenceAspectsPerSecond);
+    return deleteEntityService;
   }
 }
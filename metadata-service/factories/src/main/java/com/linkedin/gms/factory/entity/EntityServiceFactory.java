@@ -2,17 +2,21 @@ package com.linkedin.gms.factory.entity;
 
 import com.linkedin.datahub.graphql.featureflags.FeatureFlags;
 import com.linkedin.gms.factory.config.ConfigurationProvider;
+import com.linkedin.metadata.config.PreProcessHooks;
 import com.linkedin.metadata.dao.producer.KafkaEventProducer;
 import com.linkedin.metadata.dao.throttle.ThrottleSensor;
 import com.linkedin.metadata.entity.AspectDao;
 import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.entity.EntityServiceImpl;
+import com.linkedin.metadata.entity.UIPreProcessExecutor;
 import com.linkedin.metadata.entity.ebean.batch.ChangeItemImpl;
 import java.util.List;
+import java.util.Optional;
 import javax.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
@@ -32,7 +36,12 @@ public class EntityServiceFactory {
       @Qualifier("entityAspectDao") final AspectDao aspectDao,
       @Qualifier("configurationProvider") ConfigurationProvider configurationProvider,
       @Value("${featureFlags.showBrowseV2}") final boolean enableBrowsePathV2,
-      final List<ThrottleSensor> throttleSensors) {
+      @Value("${metadataChangeLog.previousAspectAsPatch:false}")
+          final boolean mclPreviousAspectAsPatch,
+      @Value("${entityService.rollback.batchSize:100}") final int rollbackBatchSize,
+      @Value("${entityService.rollback.parallelism:1}") final int rollbackParallelism,
+      final List<ThrottleSensor> throttleSensors,
+      final Optional<UIPreProcessExecutor> uiPreProcessExecutor) {
 
     FeatureFlags featureFlags = configurationProvider.getFeatureFlags();
 
@@ -44,6 +53,14 @@ public class EntityServiceFactory {
             featureFlags.getPreProcessHooks(),
             _ebeanMaxTransactionRetry,
             enableBrowsePathV2);
+    entityService.setMclPreviousAspectAsPatch(mclPreviousAspectAsPatch);
+    entityService.setRollbackBatchSize(rollbackBatchSize);
+    entityService.setRollbackParallelism(rollbackParallelism);
+
+    if (featureFlags.getPreProcessHooks().isUiEnabled() && uiPreProcessExecutor.isPresent()) {
+      log.info("Asynchronous UI pre-processing of index updates enabled");
+      entityService.setUiPreProcessExecutor(uiPreProcessExecutor.get());
+    }
 
     if (throttleSensors != null
         && !throttleSensors.isEmpty()
@@ -61,4 +78,17 @@ public class EntityServiceFactory {
 
     return entityService;
   }
+
+  /** Drained on shutdown, updates which are still queued are also forced on their MCLs */
+  @Bean(name = "uiPreProcessExecutor", destroyMethod = "close")
+  @ConditionalOnProperty("featureFlags.preProcessHooks.uiAsyncEnabled")
+  @Nonnull
+  protected UIPreProcessExecutor uiPreProcessExecutor(
+      @Qualifier("configurationProvider") ConfigurationProvider configurationProvider) {
+    PreProcessHooks preProcessHooks = configurationProvider.getFeatureFlags().getPreProcessHooks();
+    return new UIPreProcessExecutor(
+        preProcessHooks.getUiAsyncWorkers(),
+        preProcessHooks.getUiAsyncQueueSize(),
+        preProcessHooks.getUiAsyncWaitMillis());
+  }
 }
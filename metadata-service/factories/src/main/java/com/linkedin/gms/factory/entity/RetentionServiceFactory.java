@@ -26,6 +26,15 @@ public class RetentionServiceFactory {
   @Value("${RETENTION_APPLICATION_BATCH_SIZE:1000}")
   private Integer _batchSize;
 
+  @Value("${entityService.retention.setBased.enabled:false}")
+  private boolean _setBasedRetention;
+
+  @Value("${entityService.retention.setBased.parallelism:1}")
+  private Integer _setBasedParallelism;
+
+  @Value("${entityService.retention.setBased.chunksPerSecond:0}")
+  private Double _setBasedChunksPerSecond;
+
   @Bean(name = "retentionService")
   @DependsOn({"cassandraSession", "entityService"})
   @ConditionalOnProperty(name = "entityService.impl", havingValue = "cassandra")
@@ -43,8 +52,11 @@ public class RetentionServiceFactory {
   @Nonnull
   protected RetentionService<ChangeItemImpl> createEbeanInstance(
       @Qualifier("ebeanServer") final Database server) {
-    RetentionService<ChangeItemImpl> retentionService =
+    EbeanRetentionService<ChangeItemImpl> retentionService =
         new EbeanRetentionService<>(_entityService, server, _batchSize);
+    retentionService.setSetBasedRetention(_setBasedRetention);
+    retentionService.setSetBasedParallelism(_setBasedParallelism);
+    retentionService.setSetBasedChunksPerSecond(_setBasedChunksPerSecond);
     _entityService.setRetentionService(retentionService);
     return retentionService;
   }
@@ -5,11 +5,13 @@ import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.graph.GraphService;
 import com.linkedin.metadata.search.EntitySearchService;
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.EntityIndexBuilders;
+import com.linkedin.metadata.search.elasticsearch.query.filter.HierarchyExpansionCache;
 import com.linkedin.metadata.search.transformer.SearchDocumentTransformer;
 import com.linkedin.metadata.service.UpdateGraphIndicesService;
 import com.linkedin.metadata.service.UpdateIndicesService;
 import com.linkedin.metadata.systemmetadata.SystemMetadataService;
 import com.linkedin.metadata.timeseries.TimeseriesAspectService;
+import java.util.Optional;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -48,10 +50,11 @@ public class UpdateIndicesServiceFactory {
       SystemMetadataService systemMetadataService,
       SearchDocumentTransformer searchDocumentTransformer,
       EntityIndexBuilders entityIndexBuilders,
+      final Optional<HierarchyExpansionCache> hierarchyExpansionCache,
       @Value("${elasticsearch.idHashAlgo}") final String idHashAlgo) {
 
     return new UpdateIndicesService(
-        new UpdateGraphIndicesService(graphService, graphDiffMode, graphStatusEnabled),
+        updateGraphIndicesService(graphService, hierarchyExpansionCache),
         entitySearchService,
         timeseriesAspectService,
         systemMetadataService,
@@ -73,11 +76,12 @@ public class UpdateIndicesServiceFactory {
       final SearchDocumentTransformer searchDocumentTransformer,
       final EntityIndexBuilders entityIndexBuilders,
       final EntityService<?> entityService,
+      final Optional<HierarchyExpansionCache> hierarchyExpansionCache,
       @Value("${elasticsearch.idHashAlgo}") final String idHashAlgo) {
 
     UpdateIndicesService updateIndicesService =
         new UpdateIndicesService(
-            new UpdateGraphIndicesService(graphService, graphDiffMode, graphStatusEnabled),
+            updateGraphIndicesService(graphService, hierarchyExpansionCache),
             entitySearchService,
             timeseriesAspectService,
             systemMetadataService,
@@ -92,4 +96,13 @@ public class UpdateIndicesServiceFactory {
 
     return updateIndicesService;
   }
+
+  @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+  private UpdateGraphIndicesService updateGraphIndicesService(
+      GraphService graphService, Optional<HierarchyExpansionCache> hierarchyExpansionCache) {
+    UpdateGraphIndicesService updateGraphIndicesService =
+        new UpdateGraphIndicesService(graphService, graphDiffMode, graphStatusEnabled);
+    hierarchyExpansionCache.ifPresent(updateGraphIndicesService::setHierarchyExpansionCache);
+    return updateGraphIndicesService;
+  }
 }
@@ -1,10 +1,14 @@
 package com.linkedin.gms.factory.ingestion;
 
 import com.datahub.metadata.ingestion.IngestionScheduler;
+import com.datahub.metadata.ingestion.IngestionSourceLeaseStore;
 import com.linkedin.entity.client.SystemEntityClient;
 import com.linkedin.gms.factory.auth.SystemAuthenticationFactory;
 import com.linkedin.gms.factory.config.ConfigurationProvider;
+import com.linkedin.metadata.config.IngestionConfiguration;
 import io.datahubproject.metadata.context.OperationContext;
+import io.ebean.Database;
+import java.util.Optional;
 import javax.annotation.Nonnull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -33,12 +37,25 @@ public class IngestionSchedulerFactory {
   @Nonnull
   protected IngestionScheduler getInstance(
       @Qualifier("systemOperationContext") final OperationContext systemOpContext,
-      final SystemEntityClient entityClient) {
+      final SystemEntityClient entityClient,
+      @Qualifier("ebeanServer") final Optional<Database> ebeanServer) {
+    final IngestionConfiguration.SchedulerConfiguration schedulerConfiguration =
+        _configProvider.getIngestion().getScheduler();
+    IngestionSourceLeaseStore leaseStore = null;
+    if (schedulerConfiguration != null && schedulerConfiguration.isSharded()) {
+      leaseStore =
+          new IngestionSourceLeaseStore(
+              ebeanServer.orElseThrow(
+                  () ->
+                      new IllegalStateException(
+                          "Sharded ingestion scheduling requires the ebean entity service")));
+    }
     return new IngestionScheduler(
         systemOpContext,
         entityClient,
         _configProvider.getIngestion(),
         _delayIntervalSeconds,
-        _refreshIntervalSeconds);
+        _refreshIntervalSeconds,
+        leaseStore);
   }
 }
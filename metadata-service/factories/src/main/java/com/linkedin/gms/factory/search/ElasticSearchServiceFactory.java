@@ -14,6 +14,7 @@ import com.linkedin.metadata.search.elasticsearch.ElasticSearchService;
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.EntityIndexBuilders;
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.SettingsBuilder;
 import com.linkedin.metadata.search.elasticsearch.query.ESBrowseDAO;
+import com.linkedin.metadata.search.elasticsearch.query.ESMultiSearchBatcher;
 import com.linkedin.metadata.search.elasticsearch.query.ESSearchDAO;
 import com.linkedin.metadata.search.elasticsearch.query.filter.QueryFilterRewriteChain;
 import com.linkedin.metadata.search.elasticsearch.update.ESWriteDAO;
@@ -78,6 +79,9 @@ public class ElasticSearchServiceFactory {
             searchConfiguration,
             customSearchConfiguration,
             queryFilterRewriteChain);
+    esSearchDAO.setMultiSearchBatcher(
+        new ESMultiSearchBatcher(
+            components.getSearchClient(), searchConfiguration.getMultiSearch()));
     return new ElasticSearchService(
         entityIndexBuilders,
         esSearchDAO,
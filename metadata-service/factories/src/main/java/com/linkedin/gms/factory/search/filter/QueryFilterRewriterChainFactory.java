@@ -1,8 +1,10 @@
 package com.linkedin.gms.factory.search.filter;
 
 import com.linkedin.gms.factory.config.ConfigurationProvider;
+import com.linkedin.metadata.config.search.QueryFilterRewriterConfiguration;
 import com.linkedin.metadata.search.elasticsearch.query.filter.ContainerExpansionRewriter;
 import com.linkedin.metadata.search.elasticsearch.query.filter.DomainExpansionRewriter;
+import com.linkedin.metadata.search.elasticsearch.query.filter.HierarchyExpansionCache;
 import com.linkedin.metadata.search.elasticsearch.query.filter.QueryFilterRewriteChain;
 import com.linkedin.metadata.search.elasticsearch.query.filter.QueryFilterRewriter;
 import java.util.Collections;
@@ -15,18 +17,31 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class QueryFilterRewriterChainFactory {
 
+  @Bean
+  public HierarchyExpansionCache hierarchyExpansionCache(
+      final ConfigurationProvider configurationProvider) {
+    QueryFilterRewriterConfiguration.HierarchyCacheConfiguration config =
+        configurationProvider.getSearchService().getQueryFilterRewriter().getHierarchyCache();
+    return new HierarchyExpansionCache(
+        config == null
+            ? QueryFilterRewriterConfiguration.HierarchyCacheConfiguration.DISABLED
+            : config);
+  }
+
   @Bean
   @ConditionalOnProperty(
       name = "searchService.queryFilterRewriter.containerExpansion.enabled",
       havingValue = "true")
   public QueryFilterRewriter containerExpansionRewriter(
-      final ConfigurationProvider configurationProvider) {
+      final ConfigurationProvider configurationProvider,
+      final HierarchyExpansionCache hierarchyExpansionCache) {
     return ContainerExpansionRewriter.builder()
         .config(
             configurationProvider
                 .getSearchService()
                 .getQueryFilterRewriter()
                 .getContainerExpansion())
+        .hierarchyExpansionCache(hierarchyExpansionCache)
         .build();
   }
 
@@ -35,10 +50,12 @@ public class QueryFilterRewriterChainFactory {
       name = "searchService.queryFilterRewriter.domainExpansion.enabled",
       havingValue = "true")
   public QueryFilterRewriter domainExpansionRewriter(
-      final ConfigurationProvider configurationProvider) {
+      final ConfigurationProvider configurationProvider,
+      final HierarchyExpansionCache hierarchyExpansionCache) {
     return DomainExpansionRewriter.builder()
         .config(
             configurationProvider.getSearchService().getQueryFilterRewriter().getDomainExpansion())
+        .hierarchyExpansionCache(hierarchyExpansionCache)
         .build();
   }
 
@@ -14,6 +14,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.name.Named;
 import com.linkedin.datahub.graphql.GraphQLEngine;
 import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
+import com.linkedin.datahub.graphql.concurrency.GraphQLRequestBudget;
 import com.linkedin.datahub.graphql.exception.DataHubGraphQLError;
 import com.linkedin.gms.factory.config.ConfigurationProvider;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
@@ -31,6 +32,7 @@ import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -59,6 +61,9 @@ public class GraphQLController {
   @Named("systemOperationContext")
   private OperationContext systemOperationContext;
 
+  @Value("${datahub.gms.async.request-timeout-ms:55000}")
+  private long asyncRequestTimeoutMs;
+
   private static final int MAX_LOG_WIDTH = 512;
 
   @PostMapping(value = "/graphql", produces = "application/json;charset=utf-8")
@@ -133,51 +138,65 @@ public class GraphQLController {
     Span.current().setAttribute("actor.urn", context.getActorUrn());
 
     final String threadName = Thread.currentThread().getName();
-    final String queryName = context.getQueryName();
     log.debug("Query: {}, variables: {}", query, variables);
 
-    return GraphQLConcurrencyUtils.supplyAsync(
-        () -> {
-          log.info("Executing operation {} for {}", queryName, threadName);
-
-          /*
-           * Execute GraphQL Query
-           */
-          ExecutionResult executionResult =
-              _engine.execute(query, operationName, variables, context);
-
-          if (executionResult.getErrors().size() != 0) {
-            // There were GraphQL errors. Report in error logs.
-            log.error(
-                "Errors while executing query: {}, result: {}, errors: {}",
-                StringUtils.abbreviate(query, MAX_LOG_WIDTH),
-                executionResult.toSpecification(),
-                executionResult.getErrors());
-          }
-
-          /*
-           * Format & Return Response
-           */
-          try {
-            long totalDuration = submitMetrics(executionResult);
-            String executionTook = totalDuration > 0 ? " in " + totalDuration + " ms" : "";
-            log.info("Executed operation {}" + executionTook, queryName);
-            // Remove tracing from response to reduce bulk, not used by the frontend
-            executionResult.getExtensions().remove("tracing");
-            String responseBodyStr =
-                new ObjectMapper().writeValueAsString(executionResult.toSpecification());
-            log.info("Operation {} execution result size: {}", queryName, responseBodyStr.length());
-            log.trace("Execution result: {}", responseBodyStr);
-            return new ResponseEntity<>(responseBodyStr, HttpStatus.OK);
-          } catch (IllegalArgumentException | JsonProcessingException e) {
-            log.error(
-                "Failed to convert execution result {} into a JsonNode",
-                executionResult.toSpecification());
-            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
-          }
-        },
-        this.getClass().getSimpleName(),
-        "postGraphQL");
+    // Resolver concurrency and deadline for this request, propagated to all resolver tasks
+    final GraphQLRequestBudget budget =
+        new GraphQLRequestBudget(
+            configurationProvider.getGraphQL().getConcurrency().getMaxConcurrencyPerRequest(),
+            asyncRequestTimeoutMs);
+
+    return budget.call(
+        () ->
+            GraphQLConcurrencyUtils.supplyAsync(
+                () -> executeGraphQL(context, query, operationName, variables, threadName),
+                this.getClass().getSimpleName(),
+                "postGraphQL"));
+  }
+
+  private ResponseEntity<String> executeGraphQL(
+      SpringQueryContext context,
+      String query,
+      String operationName,
+      Map<String, Object> variables,
+      String threadName) {
+    final String queryName = context.getQueryName();
+    log.info("Executing operation {} for {}", queryName, threadName);
+
+    /*
+     * Execute GraphQL Query
+     */
+    ExecutionResult executionResult = _engine.execute(query, operationName, variables, context);
+
+    if (executionResult.getErrors().size() != 0) {
+      // There were GraphQL errors. Report in error logs.
+      log.error(
+          "Errors while executing query: {}, result: {}, errors: {}",
+          StringUtils.abbreviate(query, MAX_LOG_WIDTH),
+          executionResult.toSpecification(),
+          executionResult.getErrors());
+    }
+
+    /*
+     * Format & Return Response
+     */
+    try {
+      long totalDuration = submitMetrics(executionResult);
+      String executionTook = totalDuration > 0 ? " in " + totalDuration + " ms" : "";
+      log.info("Executed operation {}" + executionTook, queryName);
+      // Remove tracing from response to reduce bulk, not used by the frontend
+      executionResult.getExtensions().remove("tracing");
+      String responseBodyStr =
+          new ObjectMapper().writeValueAsString(executionResult.toSpecification());
+      log.info("Operation {} execution result size: {}", queryName, responseBodyStr.length());
+      log.trace("Execution result: {}", responseBodyStr);
+      return new ResponseEntity<>(responseBodyStr, HttpStatus.OK);
+    } catch (IllegalArgumentException | JsonProcessingException e) {
+      log.error(
+          "Failed to convert execution result {} into a JsonNode",
+          executionResult.toSpecification());
+      return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+    }
   }
 
   @GetMapping("/graphql")
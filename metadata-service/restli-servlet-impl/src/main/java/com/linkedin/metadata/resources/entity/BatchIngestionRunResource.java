@@ -24,6 +24,7 @@ import com.linkedin.metadata.run.AspectRowSummaryArray;
 import com.linkedin.metadata.run.IngestionRunSummary;
 import com.linkedin.metadata.run.IngestionRunSummaryArray;
 import com.linkedin.metadata.run.RollbackResponse;
+import com.linkedin.metadata.run.RollbackRunProgress;
 import com.linkedin.metadata.service.RollbackService;
 import com.linkedin.metadata.systemmetadata.SystemMetadataService;
 import com.linkedin.parseq.Task;
@@ -149,6 +150,41 @@ public class BatchIngestionRunResource
         MetricRegistry.name(this.getClass(), "list"));
   }
 
+  /** Retrieves the progress of the latest rollback of an ingestion run. */
+  @Action(name = "progress")
+  @Nonnull
+  @WithSpan
+  public Task<RollbackRunProgress> progress(@ActionParam("runId") @Nonnull String runId) {
+    log.info("ROLLBACK PROGRESS runId: {}", runId);
+
+    return RestliUtils.toTask(
+        () -> {
+          Authentication auth = AuthenticationContext.getAuthentication();
+          final OperationContext opContext =
+              OperationContext.asSession(
+                  systemOperationContext,
+                  RequestContext.builder()
+                      .buildRestli(auth.getActor().toUrnStr(), getContext(), "progress", List.of()),
+                  authorizer,
+                  auth,
+                  true);
+
+          if (!AuthUtil.isAPIAuthorized(opContext, ENTITY, READ)) {
+            throw new RestLiServiceException(
+                HttpStatus.S_403_FORBIDDEN, "User is unauthorized to get entity");
+          }
+
+          return rollbackService
+              .getRollbackProgress(opContext, runId)
+              .orElseThrow(
+                  () ->
+                      new RestLiServiceException(
+                          HttpStatus.S_404_NOT_FOUND,
+                          String.format("No rollback of the run %s was found", runId)));
+        },
+        MetricRegistry.name(this.getClass(), "progress"));
+  }
+
   @Action(name = "describe")
   @Nonnull
   @WithSpan
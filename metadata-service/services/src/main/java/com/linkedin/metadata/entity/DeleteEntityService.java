@@ -4,8 +4,11 @@ import static com.linkedin.metadata.search.utils.QueryUtils.*;
 import static com.linkedin.metadata.utils.CriterionUtils.buildCriterion;
 
 import com.datahub.util.RecordUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.RateLimiter;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.FormAssociation;
 import com.linkedin.common.FormAssociationArray;
@@ -21,6 +24,8 @@ import com.linkedin.entity.EntityResponse;
 import com.linkedin.entity.EnvelopedAspect;
 import com.linkedin.events.metadata.ChangeType;
 import com.linkedin.metadata.Constants;
+import com.linkedin.metadata.aspect.models.graph.RelatedEntities;
+import com.linkedin.metadata.aspect.models.graph.RelatedEntitiesScrollResult;
 import com.linkedin.metadata.aspect.models.graph.RelatedEntity;
 import com.linkedin.metadata.graph.GraphService;
 import com.linkedin.metadata.graph.RelatedEntitiesResult;
@@ -42,15 +47,22 @@ import com.linkedin.metadata.search.ScrollResult;
 import com.linkedin.metadata.search.SearchEntity;
 import com.linkedin.metadata.utils.GenericRecordUtils;
 import com.linkedin.mxe.MetadataChangeProposal;
+import com.linkedin.upgrade.DataHubUpgradeResult;
+import com.linkedin.upgrade.DataHubUpgradeState;
 import io.datahubproject.metadata.context.OperationContext;
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -59,6 +71,7 @@ import javax.annotation.Nullable;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -69,9 +82,36 @@ public class DeleteEntityService {
   private final GraphService _graphService;
   private final EntitySearchService _searchService;
 
-  private static final Integer ELASTIC_BATCH_DELETE_SLEEP_SEC = 5;
   private static final Integer BATCH_SIZE = 1000;
 
+  /** Number of references read from the graph and removed at a time */
+  @Setter private int referenceBatchSize = BATCH_SIZE;
+
+  @Nullable private RateLimiter referenceRateLimiter;
+
+  // Progress of the removals of references which have not completed, to resume them without
+  // processing the same references again. Bounded, a removal which is not retried is eventually
+  // dropped and resumed from its persisted progress.
+  private final Cache<Urn, DeleteReferencesProgress> referencesProgress =
+      CacheBuilder.newBuilder().maximumSize(1000).expireAfterAccess(Duration.ofDays(1)).build();
+
+  /**
+   * @param aspectsPerSecond rate limit of the aspects updated by the removal of references, 0 is
+   *     unlimited
+   */
+  public void setReferenceAspectsPerSecond(double aspectsPerSecond) {
+    referenceRateLimiter = aspectsPerSecond > 0 ? RateLimiter.create(aspectsPerSecond) : null;
+  }
+
+  /**
+   * @return the progress of the latest removal of the references to the urn, if any
+   */
+  public Optional<DeleteReferencesProgress> getDeleteReferencesProgress(
+      @Nonnull OperationContext opContext, @Nonnull Urn urn) {
+    return Optional.ofNullable(referencesProgress.getIfPresent(urn))
+        .or(() -> loadDeleteReferencesProgress(opContext, urn));
+  }
+
   /**
    * Public endpoint that deletes references to a given urn across DataHub's metadata graph. This is
    * the entrypoint for addressing dangling pointers whenever a user deletes some entity.
@@ -119,19 +159,65 @@ public class DeleteEntityService {
     result.setRelatedAspects(new RelatedAspectArray(relatedAspects));
     result.setTotal(relatedEntities.getTotal() + totalSearchAssetCount);
 
-    if (dryRun) {
+    if (dryRun || relatedEntities.getTotal() == 0) {
       return result;
     }
 
-    for (int processedEntities = 0;
-        processedEntities < relatedEntities.getTotal();
-        processedEntities += relatedEntities.getCount()) {
-      log.info("Processing batch {} of {} aspects", processedEntities, relatedEntities.getTotal());
-      relatedEntities.getEntities().forEach(entity -> deleteReference(opContext, urn, entity));
-      if (processedEntities + relatedEntities.getEntities().size() < relatedEntities.getTotal()) {
-        sleep(ELASTIC_BATCH_DELETE_SLEEP_SEC);
-        relatedEntities =
-            _graphService.findRelatedEntities(
+    final DeleteReferencesProgress progress;
+    try {
+      progress =
+          referencesProgress.get(
+              urn,
+              () ->
+                  loadDeleteReferencesProgress(opContext, urn)
+                      .filter(previous -> previous.getState() != DataHubUpgradeState.SUCCEEDED)
+                      .orElseGet(() -> new DeleteReferencesProgress(urn)));
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e);
+    }
+    progress.start(relatedEntities.getTotal());
+    if (progress.isResumed()) {
+      log.info(
+          "Resuming removal of references to {} after {} references",
+          urn,
+          progress.getReferencesProcessed());
+    }
+    saveDeleteReferencesProgress(opContext, progress);
+
+    try {
+      deleteReferencesPages(opContext, urn, progress);
+    } catch (RuntimeException e) {
+      progress.finish(DataHubUpgradeState.FAILED);
+      saveDeleteReferencesProgress(opContext, progress);
+      throw e;
+    }
+    progress.finish(DataHubUpgradeState.SUCCEEDED);
+    referencesProgress.invalidate(urn);
+    saveDeleteReferencesProgress(opContext, progress);
+
+    return result;
+  }
+
+  /**
+   * Removes the references to a given {@link Urn} a page of referencing entities at a time, until
+   * no reference which was not processed yet is left.
+   *
+   * @param urn The urn for which to delete references.
+   * @param progress The progress of the removal of the references to the urn.
+   */
+  private void deleteReferencesPages(
+      @Nonnull OperationContext opContext,
+      final Urn urn,
+      final DeleteReferencesProgress progress) {
+    // Scroll offsets shift as removed references drop out of the graph, so pages are read again
+    // from the start until a pass finds no reference which was not processed yet
+    boolean processedReferences;
+    do {
+      processedReferences = false;
+      String scrollId = null;
+      do {
+        final RelatedEntitiesScrollResult page =
+            _graphService.scrollRelatedEntities(
                 opContext,
                 null,
                 newFilter("urn", urn.toString()),
@@ -139,12 +225,65 @@ public class DeleteEntityService {
                 EMPTY_FILTER,
                 ImmutableList.of(),
                 newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.INCOMING),
-                0,
-                10000);
-      }
-    }
+                Collections.emptyList(),
+                scrollId,
+                referenceBatchSize,
+                null,
+                null);
+        // References still returned once processed, i.e. before the graph is updated, are skipped
+        final List<RelatedEntities> references =
+            page.getEntities().stream()
+                .filter(reference -> !progress.isProcessed(reference))
+                .collect(Collectors.toList());
+        if (!references.isEmpty()) {
+          deleteReferences(opContext, urn, references, progress);
+          progress.completePage(references);
+          saveDeleteReferencesProgress(opContext, progress);
+          processedReferences = true;
+          log.info(
+              "Processed {} of {} references to {}, updated {} and deleted {} aspects",
+              progress.getReferencesProcessed(),
+              progress.getReferencesTotal(),
+              urn,
+              progress.getAspectsUpdated(),
+              progress.getAspectsDeleted());
+        }
+        scrollId = page.getScrollId();
+      } while (scrollId != null);
+    } while (processedReferences);
+  }
 
-    return result;
+  private Optional<DeleteReferencesProgress> loadDeleteReferencesProgress(
+      @Nonnull OperationContext opContext, @Nonnull Urn urn) {
+    return Optional.ofNullable(
+            _entityService.getLatestAspect(
+                opContext,
+                DeleteReferencesProgress.getProgressUrn(urn),
+                Constants.DATA_HUB_UPGRADE_RESULT_ASPECT_NAME))
+        .map(
+            aspect ->
+                DeleteReferencesProgress.fromUpgradeResult(
+                    urn, new DataHubUpgradeResult(aspect.data())));
+  }
+
+  /**
+   * Persists the progress of the removal of the references to an urn. The progress only serves to
+   * resume and report the removal, failing to persist it does not fail the removal.
+   */
+  private void saveDeleteReferencesProgress(
+      @Nonnull OperationContext opContext, @Nonnull DeleteReferencesProgress progress) {
+    final MetadataChangeProposal proposal = new MetadataChangeProposal();
+    proposal.setEntityUrn(DeleteReferencesProgress.getProgressUrn(progress.getUrn()));
+    proposal.setEntityType(Constants.DATA_HUB_UPGRADE_ENTITY_NAME);
+    proposal.setAspectName(Constants.DATA_HUB_UPGRADE_RESULT_ASPECT_NAME);
+    proposal.setAspect(GenericRecordUtils.serializeAspect(progress.toUpgradeResult()));
+    proposal.setChangeType(ChangeType.UPSERT);
+    try {
+      _entityService.ingestProposal(opContext, proposal, createAuditStamp(), false);
+    } catch (RuntimeException e) {
+      log.warn(
+          "Failed to save the progress of the removal of references to {}", progress.getUrn(), e);
+    }
   }
 
   /**
@@ -262,78 +401,219 @@ public class DeleteEntityService {
   }
 
   /**
-   * Utility method to sleep the thread.
+   * Removes the references to a given {@link Urn} from a page of the entities referencing it. The
+   * aspects of the page are fetched with a single read per entity type and the updated aspects are
+   * ingested as a single batch, under the rate limit of the references removal.
    *
-   * @param seconds The number of seconds to sleep.
+   * @param urn The urn to be found.
+   * @param relatedEntities The entities to be modified.
+   * @param progress The progress of the removal of the references to the urn.
    */
-  private void sleep(final Integer seconds) {
-    try {
-      TimeUnit.SECONDS.sleep(seconds);
-    } catch (InterruptedException e) {
-      log.error("Interrupted sleep", e);
+  private void deleteReferences(
+      @Nonnull OperationContext opContext,
+      final Urn urn,
+      final List<? extends RelatedEntity> relatedEntities,
+      final DeleteReferencesProgress progress) {
+    // An entity may reference the urn through several relationships
+    final Map<Urn, Set<String>> relationshipTypes = new LinkedHashMap<>();
+    relatedEntities.forEach(
+        relatedEntity ->
+            relationshipTypes
+                .computeIfAbsent(UrnUtils.getUrn(relatedEntity.getUrn()), k -> new HashSet<>())
+                .add(relatedEntity.getRelationshipType()));
+
+    final List<MetadataChangeProposal> proposals = new ArrayList<>();
+    relationshipTypes.keySet().stream()
+        .collect(Collectors.groupingBy(Urn::getEntityType, Collectors.toSet()))
+        .forEach(
+            (relatedEntityName, relatedUrns) ->
+                proposals.addAll(
+                    deleteReferences(
+                        opContext,
+                        urn,
+                        relatedEntityName,
+                        relatedUrns,
+                        relationshipTypes,
+                        progress)));
+
+    if (proposals.isEmpty()) {
+      return;
+    }
+    if (referenceRateLimiter != null) {
+      referenceRateLimiter.acquire(proposals.size());
     }
+    final Set<IngestResult> ingestResults =
+        _entityService.ingestProposals(opContext, proposals, createAuditStamp(), false);
+    ingestResults.stream()
+        .filter(ingestResult -> !ingestResult.isSqlCommitted())
+        .forEach(
+            ingestResult -> {
+              log.error(
+                  "Failed to ingest aspect with references removed for {}, please check MCP"
+                      + " processor logs for more information",
+                  ingestResult.getUrn());
+              handleError(
+                  new DeleteEntityServiceError(
+                      "Failed to ingest new aspect",
+                      DeleteEntityServiceErrorReason.MCP_PROCESSOR_FAILED,
+                      ImmutableMap.of("urn", ingestResult.getUrn())));
+            });
+    progress.aspectsUpdated(proposals.size());
   }
 
   /**
-   * Processes an aspect of a given {@link RelatedEntity} instance that references a given {@link
-   * Urn}, removes said urn from the aspects and submits an MCP with the updated aspects.
+   * Removes the references to a given {@link Urn} from the entities of an entity type referencing
+   * it. The aspects left empty are deleted, the others are returned for ingestion.
    *
    * @param urn The urn to be found.
-   * @param relatedEntity The entity to be modified.
+   * @param relatedEntityName The entity type of the entities to be modified.
+   * @param relatedUrns The entities to be modified.
+   * @param relationshipTypes The relationship types through which each entity references the urn.
+   * @param progress The progress of the removal of the references to the urn.
+   * @return The proposals of the aspects with the references removed.
    */
-  private void deleteReference(
-      @Nonnull OperationContext opContext, final Urn urn, final RelatedEntity relatedEntity) {
-    final Urn relatedUrn = UrnUtils.getUrn(relatedEntity.getUrn());
-    final String relationshipType = relatedEntity.getRelationshipType();
-    getAspects(opContext, urn, relatedUrn, relationshipType)
+  private List<MetadataChangeProposal> deleteReferences(
+      @Nonnull OperationContext opContext,
+      final Urn urn,
+      final String relatedEntityName,
+      final Set<Urn> relatedUrns,
+      final Map<Urn, Set<String>> relationshipTypes,
+      final DeleteReferencesProgress progress) {
+    final EntitySpec relatedEntitySpec =
+        opContext.getEntityRegistry().getEntitySpec(relatedEntityName);
+    final Map<String, Map<String, AspectSpec>> aspectSpecsByRelationship = new HashMap<>();
+    relatedUrns.stream()
+        .flatMap(relatedUrn -> relationshipTypes.get(relatedUrn).stream())
+        .distinct()
         .forEach(
-            enrichedAspect -> {
-              final String aspectName = enrichedAspect.getName();
-              final Aspect aspect = enrichedAspect.getAspect();
-              final AspectSpec aspectSpec = enrichedAspect.getSpec();
-
-              final AtomicReference<Aspect> updatedAspect;
-              try {
-                updatedAspect = new AtomicReference<>(aspect.copy());
-              } catch (CloneNotSupportedException e) {
-                log.error("Failed to clone aspect {}", aspect);
+            relationshipType -> {
+              final Map<String, AspectSpec> aspectSpecs =
+                  getAspectSpecsReferringTo(
+                      urn.getEntityType(), relationshipType, relatedEntitySpec);
+              if (aspectSpecs.isEmpty()) {
+                log.error(
+                    "Unable to find any aspect spec that has a {} relationship to {} entities.",
+                    relationshipType,
+                    relatedEntityName);
                 handleError(
                     new DeleteEntityServiceError(
-                        "Failed to clone aspect",
-                        DeleteEntityServiceErrorReason.CLONE_FAILED,
-                        ImmutableMap.of("aspect", aspect)));
-                return;
-              }
-
-              aspectSpec.getRelationshipFieldSpecs().stream()
-                  .filter(
-                      relationshipFieldSpec ->
-                          relationshipFieldSpec
-                              .getRelationshipAnnotation()
-                              .getName()
-                              .equals(relationshipType))
-                  .forEach(
-                      relationshipFieldSpec -> {
-                        final PathSpec path = relationshipFieldSpec.getPath();
-                        updatedAspect.set(
-                            DeleteEntityUtils.getAspectWithReferenceRemoved(
-                                urn.toString(),
-                                updatedAspect.get(),
-                                aspectSpec.getPegasusSchema(),
-                                path));
-                      });
-
-              // If there has been an update, then we produce an MCE.
-              if (!aspect.equals(updatedAspect.get())) {
-                if (updatedAspect.get() == null) {
-                  // Then we should remove the aspect.
-                  deleteAspect(opContext, relatedUrn, aspectName, aspect);
-                } else {
-                  // Then we should update the aspect.
-                  updateAspect(opContext, relatedUrn, aspectName, aspect, updatedAspect.get());
-                }
+                        "Unable to find aspect spec in entity registry",
+                        DeleteEntityServiceErrorReason.ENTITY_REGISTRY_SPEC_NOT_FOUND,
+                        ImmutableMap.of(
+                            "relatedEntityName",
+                            relatedEntityName,
+                            "relationshipType",
+                            relationshipType,
+                            "relatedEntitySpec",
+                            relatedEntitySpec)));
               }
+              aspectSpecsByRelationship.put(relationshipType, aspectSpecs);
             });
+    final Set<String> aspectNames =
+        aspectSpecsByRelationship.values().stream()
+            .flatMap(aspectSpecs -> aspectSpecs.keySet().stream())
+            .collect(Collectors.toSet());
+    if (aspectNames.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    final Map<Urn, EntityResponse> entityResponses;
+    try {
+      entityResponses =
+          _entityService.getEntitiesV2(opContext, relatedEntityName, relatedUrns, aspectNames);
+    } catch (URISyntaxException e) {
+      log.error("Unable to retrieve entity data for {} entities", relatedEntityName, e);
+      return Collections.emptyList();
+    }
+
+    final List<MetadataChangeProposal> proposals = new ArrayList<>();
+    for (Urn relatedUrn : relatedUrns) {
+      final EntityResponse entityResponse = entityResponses.get(relatedUrn);
+      if (entityResponse == null) {
+        log.error(
+            "Unable to find an aspect instance that relates {} {} in the entity service. "
+                + "This is potentially a lack of consistency between the graph and entity DBs.",
+            urn,
+            relatedUrn);
+        handleError(
+            new DeleteEntityServiceError(
+                "Unable to find aspect instance in entity service",
+                DeleteEntityServiceErrorReason.ENTITY_SERVICE_ASPECT_NOT_FOUND,
+                ImmutableMap.of("urn", urn, "relatedUrn", relatedUrn)));
+        continue;
+      }
+
+      for (EnvelopedAspect envelopedAspect : entityResponse.getAspects().values()) {
+        final String aspectName = envelopedAspect.getName();
+        final AspectSpec aspectSpec = relatedEntitySpec.getAspectSpec(aspectName);
+        final Aspect aspect = envelopedAspect.getValue();
+        Aspect updatedAspect = aspect;
+        for (String relationshipType : relationshipTypes.get(relatedUrn)) {
+          if (updatedAspect == null
+              || !aspectSpecsByRelationship.get(relationshipType).containsKey(aspectName)
+              || !hasRelationshipInstanceTo(
+                  aspect, urn.getEntityType(), relationshipType, aspectSpec)) {
+            continue;
+          }
+          try {
+            updatedAspect = removeReference(urn, updatedAspect, aspectSpec, relationshipType);
+          } catch (CloneNotSupportedException e) {
+            log.error("Failed to clone aspect {}", aspect);
+            handleError(
+                new DeleteEntityServiceError(
+                    "Failed to clone aspect",
+                    DeleteEntityServiceErrorReason.CLONE_FAILED,
+                    ImmutableMap.of("aspect", aspect)));
+            updatedAspect = aspect;
+            break;
+          }
+        }
+
+        // If there has been an update, then we produce an MCP.
+        if (!aspect.equals(updatedAspect)) {
+          if (updatedAspect == null) {
+            // Then we should remove the aspect.
+            deleteAspect(opContext, relatedUrn, aspectName, aspect);
+            progress.aspectDeleted();
+          } else {
+            // Then we should update the aspect.
+            proposals.add(
+                AspectUtils.buildMetadataChangeProposal(relatedUrn, aspectName, updatedAspect));
+          }
+        }
+      }
+    }
+    return proposals;
+  }
+
+  /**
+   * Removes the references to a given {@link Urn} of a relationship type from an aspect.
+   *
+   * @param urn The urn to be removed.
+   * @param aspect The aspect to remove the references from, left unchanged.
+   * @param aspectSpec The aspect spec of the aspect.
+   * @param relationshipType The name of the relationship type to remove.
+   * @return The aspect with the references removed, null if nothing is left of it.
+   */
+  @Nullable
+  private Aspect removeReference(
+      final Urn urn,
+      final Aspect aspect,
+      final AspectSpec aspectSpec,
+      final String relationshipType)
+      throws CloneNotSupportedException {
+    Aspect updatedAspect = aspect.copy();
+    for (RelationshipFieldSpec relationshipFieldSpec : aspectSpec.getRelationshipFieldSpecs()) {
+      final String relationshipName = relationshipFieldSpec.getRelationshipAnnotation().getName();
+      if (updatedAspect == null || !relationshipName.equals(relationshipType)) {
+        continue;
+      }
+      final PathSpec path = relationshipFieldSpec.getPath();
+      updatedAspect =
+          DeleteEntityUtils.getAspectWithReferenceRemoved(
+              urn.toString(), updatedAspect, aspectSpec.getPegasusSchema(), path);
+    }
+    return updatedAspect;
   }
 
   /**
@@ -360,48 +640,6 @@ public class DeleteEntityService {
     }
   }
 
-  /**
-   * Update an aspect for an urn.
-   *
-   * @param urn the urn of the entity to remove the aspect for
-   * @param aspectName the aspect to remove
-   * @param prevAspect the old value for the aspect
-   * @param newAspect the new value for the aspect
-   */
-  private void updateAspect(
-      @Nonnull OperationContext opContext,
-      Urn urn,
-      String aspectName,
-      RecordTemplate prevAspect,
-      RecordTemplate newAspect) {
-    final MetadataChangeProposal proposal = new MetadataChangeProposal();
-    proposal.setEntityUrn(urn);
-    proposal.setChangeType(ChangeType.UPSERT);
-    proposal.setEntityType(urn.getEntityType());
-    proposal.setAspectName(aspectName);
-    proposal.setAspect(GenericRecordUtils.serializeAspect(newAspect));
-
-    final AuditStamp auditStamp =
-        new AuditStamp()
-            .setActor(UrnUtils.getUrn(Constants.SYSTEM_ACTOR))
-            .setTime(System.currentTimeMillis());
-    final IngestResult ingestProposalResult =
-        _entityService.ingestProposal(opContext, proposal, auditStamp, false);
-
-    if (ingestProposalResult != null && !ingestProposalResult.isSqlCommitted()) {
-      log.error(
-          "Failed to ingest aspect with references removed. Before {}, after: {}, please check MCP processor"
-              + " logs for more information",
-          prevAspect,
-          newAspect);
-      handleError(
-          new DeleteEntityServiceError(
-              "Failed to ingest new aspect",
-              DeleteEntityServiceErrorReason.MCP_PROCESSOR_FAILED,
-              ImmutableMap.of("proposal", proposal)));
-    }
-  }
-
   /**
    * Utility method that attempts to find Aspect information as well as the associated path spec for
    * a given urn that has a relationship of type `relationType` to another urn.
@@ -539,13 +777,14 @@ public class DeleteEntityService {
       // if it's a dry run, exit early and stop looping over assets
       scrollId = dryRun ? null : assetScrollResult.scrollId;
       if (!dryRun) {
-        assetsReferencingUrn.forEach(
-            assetUrn -> {
-              List<MetadataChangeProposal> mcps =
-                  deleteSearchReferencesForAsset(opContext, assetUrn, deletedUrn);
-              mcps.forEach(
-                  mcp -> _entityService.ingestProposal(opContext, mcp, createAuditStamp(), true));
-            });
+        List<MetadataChangeProposal> mcps =
+            deleteSearchReferencesForAssets(opContext, assetsReferencingUrn, deletedUrn);
+        if (!mcps.isEmpty()) {
+          if (referenceRateLimiter != null) {
+            referenceRateLimiter.acquire(mcps.size());
+          }
+          _entityService.ingestProposals(opContext, mcps, createAuditStamp(), true);
+        }
       }
     } while (scrollId != null);
     return totalAssetCount;
@@ -630,34 +869,53 @@ public class DeleteEntityService {
     return result;
   }
 
-  /** Get all the aspects that need updating, then loop over and update them */
-  private List<MetadataChangeProposal> deleteSearchReferencesForAsset(
+  /**
+   * Get all the aspects that need updating for a page of assets with a single read, then loop over
+   * and update them
+   */
+  private List<MetadataChangeProposal> deleteSearchReferencesForAssets(
       @Nonnull OperationContext opContext,
-      @Nonnull final Urn assetUrn,
+      @Nonnull final List<Urn> assetUrns,
       @Nonnull final Urn deletedUrn) {
     // delete entities that should be deleted first
-    if (shouldDeleteAssetReferencingUrn(assetUrn, deletedUrn)) {
-      _entityService.deleteUrn(opContext, assetUrn);
-    }
+    assetUrns.stream()
+        .filter(assetUrn -> shouldDeleteAssetReferencingUrn(assetUrn, deletedUrn))
+        .forEach(assetUrn -> _entityService.deleteUrn(opContext, assetUrn));
 
     List<MetadataChangeProposal> mcps = new ArrayList<>();
-    List<String> aspectsToUpdate = getAspectsToUpdate(deletedUrn);
-    aspectsToUpdate.forEach(
-        aspectName -> {
-          try {
-            MetadataChangeProposal mcp =
-                updateAspectForSearchReference(opContext, assetUrn, deletedUrn, aspectName);
-            if (mcp != null) {
-              mcps.add(mcp);
-            }
-          } catch (Exception e) {
-            log.error(
-                String.format(
-                    "Error trying to update aspect %s for asset %s when deleting %s",
-                    aspectName, assetUrn, deletedUrn),
-                e);
-          }
-        });
+    Set<String> aspectsToUpdate = new HashSet<>(getAspectsToUpdate(deletedUrn));
+    if (assetUrns.isEmpty() || aspectsToUpdate.isEmpty()) {
+      return mcps;
+    }
+
+    final Map<Urn, List<EnvelopedAspect>> aspects;
+    try {
+      aspects =
+          _entityService.getLatestEnvelopedAspects(
+              opContext, new HashSet<>(assetUrns), aspectsToUpdate, false);
+    } catch (URISyntaxException e) {
+      log.error("Unable to retrieve aspects of assets referencing {}", deletedUrn, e);
+      return mcps;
+    }
+    aspects.forEach(
+        (assetUrn, assetAspects) ->
+            assetAspects.forEach(
+                aspect -> {
+                  try {
+                    MetadataChangeProposal mcp =
+                        updateAspectForSearchReference(
+                            assetUrn, deletedUrn, aspect.getName(), aspect.getValue());
+                    if (mcp != null) {
+                      mcps.add(mcp);
+                    }
+                  } catch (Exception e) {
+                    log.error(
+                        String.format(
+                            "Error trying to update aspect %s for asset %s when deleting %s",
+                            aspect.getName(), assetUrn, deletedUrn),
+                        e);
+                  }
+                }));
     return mcps;
   }
 
@@ -690,24 +948,21 @@ public class DeleteEntityService {
 
   @Nullable
   private MetadataChangeProposal updateAspectForSearchReference(
-      @Nonnull OperationContext opContext,
       @Nonnull final Urn assetUrn,
       @Nonnull final Urn deletedUrn,
-      @Nonnull final String aspectName) {
+      @Nonnull final String aspectName,
+      @Nonnull final RecordTemplate record) {
     if (aspectName.equals("forms")) {
-      return updateFormsAspect(opContext, assetUrn, deletedUrn);
+      return updateFormsAspect(assetUrn, deletedUrn, record);
     }
     return null;
   }
 
   @Nullable
   private MetadataChangeProposal updateFormsAspect(
-      @Nonnull OperationContext opContext,
       @Nonnull final Urn assetUrn,
-      @Nonnull final Urn deletedUrn) {
-    RecordTemplate record = _entityService.getLatestAspect(opContext, assetUrn, "forms");
-    if (record == null) return null;
-
+      @Nonnull final Urn deletedUrn,
+      @Nonnull final RecordTemplate record) {
     Forms formsAspect = new Forms(record.data());
     final AtomicReference<Forms> updatedAspect;
     try {
@@ -0,0 +1,162 @@
+package com.linkedin.metadata.entity;
+
+import com.google.common.hash.Hashing;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.StringMap;
+import com.linkedin.metadata.Constants;
+import com.linkedin.metadata.aspect.models.graph.RelatedEntity;
+import com.linkedin.metadata.key.DataHubUpgradeKey;
+import com.linkedin.metadata.utils.EntityKeyUtils;
+import com.linkedin.upgrade.DataHubUpgradeResult;
+import com.linkedin.upgrade.DataHubUpgradeState;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import lombok.Getter;
+
+/**
+ * Progress of the removal of the references to a deleted urn, removed a page of referencing
+ * entities at a time.
+ *
+ * <p>The references which were processed are kept until the removal completes. A removal which
+ * failed part way is resumed by reading the references from the start again, the references which
+ * were processed before the failure are skipped, even if the graph still returns them.
+ *
+ * <p>The counts and state are persisted as the upgrade result of {@link #getProgressUrn(Urn)}, so
+ * that they survive a restart. The processed references are not: after a restart, the references
+ * which were processed are those no longer returned by the graph, and a reference processed again
+ * before the graph is updated is a no-op since its aspect no longer refers to the urn.
+ */
+public class DeleteReferencesProgress {
+  private static final String REFERENCES_TOTAL = "referencesTotal";
+  private static final String REFERENCES_PROCESSED = "referencesProcessed";
+  private static final String ASPECTS_UPDATED = "aspectsUpdated";
+  private static final String ASPECTS_DELETED = "aspectsDeleted";
+
+  @Getter @Nonnull private final Urn urn;
+  @Getter @Nonnull private volatile DataHubUpgradeState state = DataHubUpgradeState.IN_PROGRESS;
+  @Getter private volatile long timestampMs;
+  @Getter private volatile int referencesTotal;
+  // references processed before a restart, which are no longer returned by the graph
+  private volatile int referencesProcessedBefore;
+  private final Set<String> processedReferences = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger aspectsUpdated = new AtomicInteger();
+  private final AtomicInteger aspectsDeleted = new AtomicInteger();
+
+  public DeleteReferencesProgress(@Nonnull Urn urn) {
+    this.urn = urn;
+  }
+
+  @Nonnull
+  public static Urn getProgressUrn(@Nonnull Urn urn) {
+    // the urn is hashed since it may not be a valid key part
+    return EntityKeyUtils.convertEntityKeyToUrn(
+        new DataHubUpgradeKey()
+            .setId(
+                "delete-references-"
+                    + Hashing.sha256().hashString(urn.toString(), StandardCharsets.UTF_8)),
+        Constants.DATA_HUB_UPGRADE_ENTITY_NAME);
+  }
+
+  @Nonnull
+  public static DeleteReferencesProgress fromUpgradeResult(
+      @Nonnull Urn urn, @Nonnull DataHubUpgradeResult upgradeResult) {
+    DeleteReferencesProgress progress = new DeleteReferencesProgress(urn);
+    Map<String, String> result = upgradeResult.hasResult() ? upgradeResult.getResult() : Map.of();
+    progress.state = upgradeResult.getState();
+    progress.timestampMs = upgradeResult.getTimestampMs();
+    progress.referencesTotal = Integer.parseInt(result.getOrDefault(REFERENCES_TOTAL, "0"));
+    progress.referencesProcessedBefore =
+        Integer.parseInt(result.getOrDefault(REFERENCES_PROCESSED, "0"));
+    progress.aspectsUpdated.set(Integer.parseInt(result.getOrDefault(ASPECTS_UPDATED, "0")));
+    progress.aspectsDeleted.set(Integer.parseInt(result.getOrDefault(ASPECTS_DELETED, "0")));
+    return progress;
+  }
+
+  @Nonnull
+  public DataHubUpgradeResult toUpgradeResult() {
+    return new DataHubUpgradeResult()
+        .setState(state)
+        .setTimestampMs(timestampMs)
+        .setResult(
+            new StringMap(
+                Map.of(
+                    REFERENCES_TOTAL, String.valueOf(referencesTotal),
+                    REFERENCES_PROCESSED, String.valueOf(getReferencesProcessed()),
+                    ASPECTS_UPDATED, String.valueOf(getAspectsUpdated()),
+                    ASPECTS_DELETED, String.valueOf(getAspectsDeleted()))));
+  }
+
+  /** References to the urn read from the graph, including those of previous attempts */
+  public int getReferencesProcessed() {
+    return referencesProcessedBefore + processedReferences.size();
+  }
+
+  /** Aspects ingested with the references to the urn removed */
+  public int getAspectsUpdated() {
+    return aspectsUpdated.get();
+  }
+
+  /** Aspects deleted since nothing was left once the references to the urn were removed */
+  public int getAspectsDeleted() {
+    return aspectsDeleted.get();
+  }
+
+  /**
+   * @return true if a previous attempt failed part way and this one resumes it
+   */
+  boolean isResumed() {
+    return getReferencesProcessed() > 0;
+  }
+
+  boolean isProcessed(@Nonnull RelatedEntity reference) {
+    return processedReferences.contains(toKey(reference));
+  }
+
+  /**
+   * Start an attempt of the removal.
+   *
+   * @param referencesInGraph references to the urn currently returned by the graph
+   */
+  synchronized void start(int referencesInGraph) {
+    if (referencesTotal == 0) {
+      referencesTotal = referencesInGraph;
+    } else if (processedReferences.isEmpty()) {
+      // restored after a restart, the references which are gone from the graph were processed
+      referencesProcessedBefore = Math.max(0, referencesTotal - referencesInGraph);
+    }
+    state = DataHubUpgradeState.IN_PROGRESS;
+    timestampMs = System.currentTimeMillis();
+  }
+
+  /**
+   * Record the completion of a page of referencing entities.
+   *
+   * @param references references of the page which were processed
+   */
+  void completePage(@Nonnull List<? extends RelatedEntity> references) {
+    references.forEach(reference -> processedReferences.add(toKey(reference)));
+    timestampMs = System.currentTimeMillis();
+  }
+
+  void finish(@Nonnull DataHubUpgradeState finalState) {
+    state = finalState;
+    timestampMs = System.currentTimeMillis();
+  }
+
+  void aspectsUpdated(int aspects) {
+    aspectsUpdated.addAndGet(aspects);
+  }
+
+  void aspectDeleted() {
+    aspectsDeleted.incrementAndGet();
+  }
+
+  private static String toKey(@Nonnull RelatedEntity reference) {
+    return reference.getRelationshipType() + " " + reference.getUrn();
+  }
+}
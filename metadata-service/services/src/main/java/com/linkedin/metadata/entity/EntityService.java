@@ -504,6 +504,21 @@ public interface EntityService<U extends ChangeMCP> {
       AuditStamp auditStamp,
       final boolean async);
 
+  /**
+   * Ingest several proposals as a single batch, rather than one by one with {@link
+   * #ingestProposal(OperationContext, MetadataChangeProposal, AuditStamp, boolean)}
+   *
+   * @param proposals the metadata proposals to ingest
+   * @param auditStamp audit information
+   * @param async async ingestion or sync ingestion
+   * @return ingestion results
+   */
+  Set<IngestResult> ingestProposals(
+      @Nonnull OperationContext opContext,
+      @Nonnull List<MetadataChangeProposal> proposals,
+      AuditStamp auditStamp,
+      final boolean async);
+
   void setWritable(boolean canWrite);
 
   RecordTemplate getLatestAspect(
@@ -0,0 +1,162 @@
+package com.linkedin.metadata.entity;
+
+import com.google.common.hash.Hashing;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.SetMode;
+import com.linkedin.data.template.StringMap;
+import com.linkedin.metadata.Constants;
+import com.linkedin.metadata.key.DataHubUpgradeKey;
+import com.linkedin.metadata.run.AspectRowSummary;
+import com.linkedin.metadata.run.RollbackRunProgress;
+import com.linkedin.metadata.utils.EntityKeyUtils;
+import com.linkedin.upgrade.DataHubUpgradeResult;
+import com.linkedin.upgrade.DataHubUpgradeState;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Getter;
+
+/**
+ * Progress of the rollback of an ingestion run, rolled back in batches of urns in urn order.
+ *
+ * <p>The progress is persisted as the upgrade result of {@link #getProgressUrn(String)}, so that it
+ * survives a restart. The resume cursor is the last urn up to which every batch is rolled back. A
+ * rollback of the same rows which failed part way is resumed by skipping the urns up to the cursor.
+ * Rows rolled back by a previous attempt are otherwise no longer listed for the run, and rolling an
+ * aspect back again for the same run is a no-op since none of its remaining versions match it.
+ */
+public class RollbackProgress {
+  private static final String ROWS_TOTAL = "rowsTotal";
+  private static final String ROWS_COMPLETED = "rowsCompleted";
+  private static final String RESUME_AFTER_URN = "resumeAfterUrn";
+  private static final String ROWS_HASH = "rowsHash";
+
+  @Getter @Nonnull private final String runId;
+  @Getter @Nonnull private DataHubUpgradeState state = DataHubUpgradeState.IN_PROGRESS;
+  @Getter private long timestampMs;
+  @Getter private int rowsTotal;
+  @Getter private int rowsCompleted;
+
+  /** Last urn up to which the rows are rolled back, in urn order */
+  @Getter @Nullable private String resumeAfterUrn;
+
+  // hash of the rows of the rollback, the cursor only applies to a rollback of the same rows
+  @Nullable private String rowsHash;
+  // last urns of the batches completed after the cursor, by batch index
+  private final TreeMap<Integer, String> completedBatches = new TreeMap<>();
+  private int nextBatch;
+
+  public RollbackProgress(@Nonnull String runId) {
+    this.runId = runId;
+  }
+
+  @Nonnull
+  public static Urn getProgressUrn(@Nonnull String runId) {
+    return EntityKeyUtils.convertEntityKeyToUrn(
+        new DataHubUpgradeKey().setId("rollback-" + runId), Constants.DATA_HUB_UPGRADE_ENTITY_NAME);
+  }
+
+  @Nonnull
+  public static RollbackProgress fromUpgradeResult(
+      @Nonnull String runId, @Nonnull DataHubUpgradeResult upgradeResult) {
+    RollbackProgress progress = new RollbackProgress(runId);
+    Map<String, String> result = upgradeResult.hasResult() ? upgradeResult.getResult() : Map.of();
+    progress.state = upgradeResult.getState();
+    progress.timestampMs = upgradeResult.getTimestampMs();
+    progress.rowsTotal = Integer.parseInt(result.getOrDefault(ROWS_TOTAL, "0"));
+    progress.rowsCompleted = Integer.parseInt(result.getOrDefault(ROWS_COMPLETED, "0"));
+    progress.resumeAfterUrn = result.get(RESUME_AFTER_URN);
+    progress.rowsHash = result.get(ROWS_HASH);
+    return progress;
+  }
+
+  @Nonnull
+  public synchronized DataHubUpgradeResult toUpgradeResult() {
+    Map<String, String> result = new HashMap<>();
+    result.put(ROWS_TOTAL, String.valueOf(rowsTotal));
+    result.put(ROWS_COMPLETED, String.valueOf(rowsCompleted));
+    Optional.ofNullable(resumeAfterUrn).ifPresent(urn -> result.put(RESUME_AFTER_URN, urn));
+    Optional.ofNullable(rowsHash).ifPresent(hash -> result.put(ROWS_HASH, hash));
+    return new DataHubUpgradeResult()
+        .setState(state)
+        .setTimestampMs(timestampMs)
+        .setResult(new StringMap(result));
+  }
+
+  @Nonnull
+  public synchronized RollbackRunProgress toRollbackRunProgress() {
+    return new RollbackRunProgress()
+        .setRunId(runId)
+        .setState(state)
+        .setTimestampMs(timestampMs)
+        .setRowsTotal(rowsTotal)
+        .setRowsCompleted(rowsCompleted)
+        .setResumeAfterUrn(resumeAfterUrn, SetMode.IGNORE_NULL);
+  }
+
+  /**
+   * Start a rollback of the run, resuming the previous one if it failed part way through the same
+   * rows.
+   *
+   * @param rows rows to roll back
+   * @return the rows which remain to be rolled back
+   */
+  synchronized List<AspectRowSummary> start(@Nonnull Collection<AspectRowSummary> rows) {
+    String hash = hash(rows);
+    if (state == DataHubUpgradeState.SUCCEEDED || !hash.equals(rowsHash)) {
+      resumeAfterUrn = null;
+    }
+    rowsHash = hash;
+    state = DataHubUpgradeState.IN_PROGRESS;
+    timestampMs = System.currentTimeMillis();
+    rowsTotal = rows.size();
+    completedBatches.clear();
+    nextBatch = 0;
+
+    List<AspectRowSummary> remaining =
+        rows.stream()
+            .filter(row -> resumeAfterUrn == null || row.getUrn().compareTo(resumeAfterUrn) > 0)
+            .collect(Collectors.toList());
+    rowsCompleted = rows.size() - remaining.size();
+    return remaining;
+  }
+
+  /**
+   * Record the completion of a batch, once its changes are committed and its MCLs produced.
+   *
+   * @param batchIndex index of the batch, in urn order
+   * @param batch rows of the batch
+   */
+  synchronized void complete(int batchIndex, @Nonnull List<AspectRowSummary> batch) {
+    rowsCompleted += batch.size();
+    timestampMs = System.currentTimeMillis();
+    completedBatches.put(batchIndex, batch.get(batch.size() - 1).getUrn());
+    while (completedBatches.containsKey(nextBatch)) {
+      resumeAfterUrn = completedBatches.remove(nextBatch);
+      nextBatch++;
+    }
+  }
+
+  synchronized void finish(@Nonnull DataHubUpgradeState finalState) {
+    state = finalState;
+    timestampMs = System.currentTimeMillis();
+  }
+
+  private static String hash(@Nonnull Collection<AspectRowSummary> rows) {
+    return Hashing.sha256()
+        .hashString(
+            rows.stream()
+                .map(row -> row.getUrn() + " " + row.getAspectName())
+                .sorted()
+                .collect(Collectors.joining("\n")),
+            StandardCharsets.UTF_8)
+        .toString();
+  }
+}
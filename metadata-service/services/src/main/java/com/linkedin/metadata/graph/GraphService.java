@@ -13,6 +13,7 @@ import com.linkedin.metadata.search.utils.QueryUtils;
 import io.datahubproject.metadata.context.OperationContext;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +38,22 @@ public interface GraphService {
    */
   void upsertEdge(final Edge edge);
 
+  /**
+   * Adds edges to the graph, see {@link #addEdge(Edge)}. Implementations may apply the edges in a
+   * single round trip.
+   */
+  default void addEdges(@Nonnull final Collection<Edge> edges) {
+    edges.forEach(this::addEdge);
+  }
+
+  /**
+   * Adds or updates edges of the graph, see {@link #upsertEdge(Edge)}. Implementations may apply
+   * the edges in a single round trip.
+   */
+  default void upsertEdges(@Nonnull final Collection<Edge> edges) {
+    edges.forEach(this::upsertEdge);
+  }
+
   /**
    * Remove an edge from the graph.
    *
@@ -10,6 +10,7 @@ import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import io.datahubproject.metadata.context.OperationContext;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.opensearch.action.explain.ExplainResponse;
@@ -34,6 +35,23 @@ public interface EntitySearchService {
     return docCount(opContext, entityName, null);
   }
 
+  /**
+   * Get the number of documents corresponding to the entity without blocking the calling thread,
+   * implementations without an async client count in the calling thread.
+   *
+   * @param entityName name of the entity
+   * @param filter optional filter
+   */
+  @Nonnull
+  default CompletableFuture<Long> docCountAsync(
+      @Nonnull OperationContext opContext, @Nonnull String entityName, @Nullable Filter filter) {
+    try {
+      return CompletableFuture.completedFuture(docCount(opContext, entityName, filter));
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
   /**
    * Updates or inserts the given search document.
    *
@@ -14,11 +14,13 @@ import com.linkedin.events.metadata.ChangeType;
 import com.linkedin.execution.ExecutionRequestResult;
 import com.linkedin.metadata.Constants;
 import com.linkedin.metadata.entity.EntityService;
+import com.linkedin.metadata.entity.RollbackProgress;
 import com.linkedin.metadata.entity.RollbackRunResult;
 import com.linkedin.metadata.key.ExecutionRequestKey;
 import com.linkedin.metadata.run.AspectRowSummary;
 import com.linkedin.metadata.run.AspectRowSummaryArray;
 import com.linkedin.metadata.run.RollbackResponse;
+import com.linkedin.metadata.run.RollbackRunProgress;
 import com.linkedin.metadata.run.UnsafeEntityInfo;
 import com.linkedin.metadata.run.UnsafeEntityInfoArray;
 import com.linkedin.metadata.systemmetadata.SystemMetadataService;
@@ -27,9 +29,11 @@ import com.linkedin.metadata.utils.EntityKeyUtils;
 import com.linkedin.metadata.utils.GenericRecordUtils;
 import com.linkedin.mxe.MetadataChangeProposal;
 import com.linkedin.timeseries.DeleteAspectValuesResult;
+import com.linkedin.upgrade.DataHubUpgradeResult;
 import io.datahubproject.metadata.context.OperationContext;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -244,6 +248,25 @@ public class RollbackService {
         .setAspectRowSummaries(rowSummaries);
   }
 
+  /**
+   * Progress of the latest rollback of an ingestion run.
+   *
+   * @return the progress, empty if the run was never rolled back
+   */
+  @Nonnull
+  public Optional<RollbackRunProgress> getRollbackProgress(
+      @Nonnull OperationContext opContext, @Nonnull String runId) {
+    return Optional.ofNullable(
+            entityService.getLatestAspect(
+                opContext,
+                RollbackProgress.getProgressUrn(runId),
+                Constants.DATA_HUB_UPGRADE_RESULT_ASPECT_NAME))
+        .map(
+            aspect ->
+                RollbackProgress.fromUpgradeResult(runId, new DataHubUpgradeResult(aspect.data()))
+                    .toRollbackRunProgress());
+  }
+
   public void updateExecutionRequestStatus(
       @Nonnull OperationContext opContext, @Nonnull String runId, @Nonnull String status) {
     try {
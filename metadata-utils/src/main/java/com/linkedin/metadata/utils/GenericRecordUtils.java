@@ -12,13 +12,19 @@ import com.linkedin.metadata.models.AspectSpec;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.mxe.GenericAspect;
 import com.linkedin.mxe.GenericPayload;
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class GenericRecordUtils {
   public static final String JSON = "application/json";
+  public static final String JSON_PATCH = "application/json-patch+json";
 
   private GenericRecordUtils() {}
 
@@ -41,6 +47,44 @@ public class GenericRecordUtils {
     return RecordUtils.toRecordTemplate(clazz, aspectValue.asString(StandardCharsets.UTF_8));
   }
 
+  /**
+   * Deserialize the previous aspect of a change log. The previous aspect is either serialized as
+   * JSON or as a JSON patch which, applied to the current aspect, yields the previous aspect.
+   */
+  @Nonnull
+  public static RecordTemplate deserializePreviousAspect(
+      @Nonnull GenericAspect previousAspect,
+      @Nullable GenericAspect currentAspect,
+      @Nonnull AspectSpec aspectSpec) {
+    return deserializePreviousAspect(
+        previousAspect, currentAspect, aspectSpec.getDataTemplateClass());
+  }
+
+  @Nonnull
+  public static <T extends RecordTemplate> T deserializePreviousAspect(
+      @Nonnull GenericAspect previousAspect,
+      @Nullable GenericAspect currentAspect,
+      @Nonnull Class<T> clazz) {
+    if (!JSON_PATCH.equals(previousAspect.getContentType())) {
+      return deserializeAspect(previousAspect.getValue(), previousAspect.getContentType(), clazz);
+    }
+    if (currentAspect == null || !JSON.equals(currentAspect.getContentType())) {
+      throw new IllegalArgumentException(
+          String.format("%s previous aspect requires a %s current aspect", JSON_PATCH, JSON));
+    }
+
+    JsonObject currentNode =
+        Json.createReader(
+                new StringReader(currentAspect.getValue().asString(StandardCharsets.UTF_8)))
+            .readObject();
+    JsonArray patch =
+        Json.createReader(
+                new StringReader(previousAspect.getValue().asString(StandardCharsets.UTF_8)))
+            .readArray();
+    return RecordUtils.toRecordTemplate(
+        clazz, Json.createPatch(patch).apply(currentNode).toString());
+  }
+
   @Nonnull
   public static <T extends RecordTemplate> T deserializePayload(
       @Nonnull ByteString payloadValue, @Nonnull String contentType, @Nonnull Class<T> clazz) {
@@ -70,6 +114,29 @@ public class GenericRecordUtils {
     return genericAspect;
   }
 
+  /**
+   * Serialize the previous aspect as a JSON patch from the current aspect to the previous aspect.
+   * The full JSON representation is used when the patch would not be smaller.
+   */
+  @Nonnull
+  public static GenericAspect serializePreviousAspectAsPatch(
+      @Nonnull RecordTemplate previousAspect, @Nonnull RecordTemplate currentAspect) {
+    final String previousJson = RecordUtils.toJsonString(previousAspect);
+    JsonObject previousNode = Json.createReader(new StringReader(previousJson)).readObject();
+    JsonObject currentNode =
+        Json.createReader(new StringReader(RecordUtils.toJsonString(currentAspect))).readObject();
+    final String patchJson = Json.createDiff(currentNode, previousNode).toJsonArray().toString();
+
+    if (patchJson.length() >= previousJson.length()) {
+      return serializeAspect(previousJson);
+    }
+
+    GenericAspect genericAspect = new GenericAspect();
+    genericAspect.setValue(ByteString.unsafeWrap(patchJson.getBytes(StandardCharsets.UTF_8)));
+    genericAspect.setContentType(JSON_PATCH);
+    return genericAspect;
+  }
+
   @Nonnull
   public static GenericPayload serializePayload(@Nonnull RecordTemplate payload) {
     GenericPayload genericPayload = new GenericPayload();
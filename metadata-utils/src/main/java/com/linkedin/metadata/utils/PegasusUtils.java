@@ -95,6 +95,36 @@ public class PegasusUtils {
       SystemMetadata newSystemMetadata,
       RecordTemplate oldAspectValue,
       SystemMetadata oldSystemMetadata) {
+    return constructMCL(
+        base,
+        entityName,
+        urn,
+        changeType,
+        aspectName,
+        auditStamp,
+        newAspectValue,
+        newSystemMetadata,
+        oldAspectValue,
+        oldSystemMetadata,
+        false);
+  }
+
+  /**
+   * Construct a change log, optionally encoding the previous aspect as a JSON patch against the new
+   * aspect to reduce the size of the event.
+   */
+  public static MetadataChangeLog constructMCL(
+      @Nullable MetadataChangeProposal base,
+      String entityName,
+      Urn urn,
+      ChangeType changeType,
+      String aspectName,
+      AuditStamp auditStamp,
+      RecordTemplate newAspectValue,
+      SystemMetadata newSystemMetadata,
+      RecordTemplate oldAspectValue,
+      SystemMetadata oldSystemMetadata,
+      boolean previousAspectAsPatch) {
     final MetadataChangeLog metadataChangeLog;
     if (base != null) {
       metadataChangeLog = new MetadataChangeLog(new DataMap(base.data()));
@@ -113,7 +143,13 @@ public class PegasusUtils {
       metadataChangeLog.setSystemMetadata(newSystemMetadata);
     }
     if (oldAspectValue != null) {
-      metadataChangeLog.setPreviousAspectValue(GenericRecordUtils.serializeAspect(oldAspectValue));
+      if (previousAspectAsPatch && newAspectValue != null) {
+        metadataChangeLog.setPreviousAspectValue(
+            GenericRecordUtils.serializePreviousAspectAsPatch(oldAspectValue, newAspectValue));
+      } else {
+        metadataChangeLog.setPreviousAspectValue(
+            GenericRecordUtils.serializeAspect(oldAspectValue));
+      }
     }
     if (oldSystemMetadata != null) {
       metadataChangeLog.setPreviousSystemMetadata(oldSystemMetadata);
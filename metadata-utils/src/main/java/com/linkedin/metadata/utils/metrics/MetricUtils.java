@@ -2,6 +2,9 @@ package com.linkedin.metadata.utils.metrics;
 
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.LockFreeExponentiallyDecayingReservoir;
+import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.SharedMetricRegistries;
 import com.codahale.metrics.Timer;
@@ -15,8 +18,17 @@ public class MetricUtils {
   public static final String NAME = "default";
   private static final MetricRegistry REGISTRY = SharedMetricRegistries.getOrCreate(NAME);
 
+  // Recording into the default reservoir takes a lock, contended on the hot paths
+  private static final MetricRegistry.MetricSupplier<Timer> TIMER_SUPPLIER =
+      () -> new Timer(LockFreeExponentiallyDecayingReservoir.builder().build());
+  private static final MetricRegistry.MetricSupplier<Histogram> HISTOGRAM_SUPPLIER =
+      () -> new Histogram(LockFreeExponentiallyDecayingReservoir.builder().build());
+
   static {
-    final JmxReporter reporter = JmxReporter.forRegistry(REGISTRY).build();
+    final JmxReporter reporter =
+        JmxReporter.forRegistry(REGISTRY)
+            .createsObjectNamesWith(new TaggedObjectNameFactory())
+            .build();
     reporter.start();
   }
 
@@ -42,15 +54,78 @@ public class MetricUtils {
   }
 
   public static Timer timer(Class<?> klass, String metricName) {
-    return REGISTRY.timer(MetricRegistry.name(klass, metricName));
+    return REGISTRY.timer(MetricRegistry.name(klass, metricName), TIMER_SUPPLIER);
   }
 
   public static Timer timer(String metricName) {
-    return REGISTRY.timer(MetricRegistry.name(metricName));
+    return REGISTRY.timer(MetricRegistry.name(metricName), TIMER_SUPPLIER);
   }
 
   public static <T extends Gauge<?>> T gauge(
       Class<?> clazz, String metricName, MetricRegistry.MetricSupplier<T> supplier) {
     return REGISTRY.gauge(MetricRegistry.name(clazz, metricName), supplier);
   }
+
+  /**
+   * Name of a metric with dimensional tags, i.e. {@code com.linkedin.Foo.latency{hook=Siblings}}.
+   * The JMX reporter exports the tags as properties of the object name, which the Prometheus JMX
+   * exporter turns into labels.
+   *
+   * <p>Building the name is not free, call sites register their metrics once, or once per
+   * combination of tag values with {@link TaggedMetrics}, rather than on every event.
+   *
+   * @param metricName base name of the metric
+   * @param tags tag keys and values, alternating
+   * @return the name of the metric
+   */
+  public static String taggedName(String metricName, String... tags) {
+    if (tags.length % 2 != 0) {
+      throw new IllegalArgumentException("Expected tag keys and values, got: " + tags.length);
+    }
+    if (tags.length == 0) {
+      return metricName;
+    }
+    final StringBuilder builder = new StringBuilder(metricName).append('{');
+    for (int i = 0; i < tags.length; i += 2) {
+      if (i > 0) {
+        builder.append(',');
+      }
+      builder.append(tags[i]).append('=').append(sanitizeTagValue(tags[i + 1]));
+    }
+    return builder.append('}').toString();
+  }
+
+  public static Counter taggedCounter(Class<?> klass, String metricName, String... tags) {
+    return REGISTRY.counter(taggedName(MetricRegistry.name(klass, metricName), tags));
+  }
+
+  public static Timer taggedTimer(Class<?> klass, String metricName, String... tags) {
+    return REGISTRY.timer(taggedName(MetricRegistry.name(klass, metricName), tags), TIMER_SUPPLIER);
+  }
+
+  public static Histogram taggedHistogram(Class<?> klass, String metricName, String... tags) {
+    return REGISTRY.histogram(
+        taggedName(MetricRegistry.name(klass, metricName), tags), HISTOGRAM_SUPPLIER);
+  }
+
+  /**
+   * Registers a metric under the name it had before it was tagged as well, so that dashboards on
+   * the previous name keep working. Both names share the metric, which is recorded once.
+   *
+   * @param metric tagged metric
+   * @param legacyName previous name of the metric
+   * @return the metric
+   */
+  public static <T extends Metric> T withLegacyName(T metric, String legacyName) {
+    try {
+      REGISTRY.register(legacyName, metric);
+    } catch (IllegalArgumentException e) {
+      // Already registered, i.e. by another listener sharing the metric
+    }
+    return metric;
+  }
+
+  private static String sanitizeTagValue(String value) {
+    return value == null || value.isEmpty() ? "unknown" : value.replaceAll("[,={}]", DELIMITER);
+  }
 }
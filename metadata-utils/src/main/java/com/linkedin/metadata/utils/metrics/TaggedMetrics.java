@@ -0,0 +1,45 @@
+package com.linkedin.metadata.utils.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import javax.annotation.Nonnull;
+
+/**
+ * Metrics of a call site by the values of up to two tags, i.e. the hook or the entity type and the
+ * aspect of an event. The metrics of a combination of tag values are registered on first use and
+ * afterwards looked up by the tag values, without building their names.
+ *
+ * @param <M> metrics of a combination of tag values, a single metric or a holder of several
+ */
+public class TaggedMetrics<M> {
+  private static final String NO_VALUE = "";
+
+  private final BiFunction<String, String, M> factory;
+  private final Map<String, Map<String, M>> metrics = new ConcurrentHashMap<>();
+
+  /**
+   * @param factory registers the metrics of the tag values, the second value is empty for metrics
+   *     with a single tag
+   */
+  public TaggedMetrics(@Nonnull BiFunction<String, String, M> factory) {
+    this.factory = factory;
+  }
+
+  @Nonnull
+  public M get(@Nonnull String value) {
+    return get(value, NO_VALUE);
+  }
+
+  @Nonnull
+  public M get(@Nonnull String firstValue, @Nonnull String secondValue) {
+    Map<String, M> bySecondValue = metrics.get(firstValue);
+    if (bySecondValue == null) {
+      bySecondValue = metrics.computeIfAbsent(firstValue, k -> new ConcurrentHashMap<>());
+    }
+    final M existing = bySecondValue.get(secondValue);
+    return existing != null
+        ? existing
+        : bySecondValue.computeIfAbsent(secondValue, k -> factory.apply(firstValue, k));
+  }
+}
@@ -0,0 +1,68 @@
+package com.linkedin.metadata.utils.metrics;
+
+import com.codahale.metrics.jmx.DefaultObjectNameFactory;
+import com.codahale.metrics.jmx.ObjectNameFactory;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Object names of the metrics named by {@link MetricUtils#taggedName(String, String...)}, the tags
+ * are added as properties after the name and the type, i.e. {@code
+ * metrics:name=com.linkedin.Foo.latency,type=timers,hook=Siblings}.
+ */
+@Slf4j
+public class TaggedObjectNameFactory implements ObjectNameFactory {
+  private static final ObjectNameFactory DEFAULT = new DefaultObjectNameFactory();
+
+  @Override
+  public ObjectName createName(String type, String domain, String name) {
+    final int tagsStart = name.indexOf('{');
+    if (tagsStart < 0 || !name.endsWith("}")) {
+      return DEFAULT.createName(type, domain, name);
+    }
+
+    final StringBuilder builder =
+        new StringBuilder(domain)
+            .append(":name=")
+            .append(quoteIfNeeded(name.substring(0, tagsStart)))
+            .append(",type=")
+            .append(quoteIfNeeded(type));
+    for (String tag : name.substring(tagsStart + 1, name.length() - 1).split(",")) {
+      final int separator = tag.indexOf('=');
+      if (separator <= 0) {
+        return DEFAULT.createName(type, domain, name);
+      }
+      builder
+          .append(',')
+          .append(tag, 0, separator)
+          .append('=')
+          .append(quoteIfNeeded(tag.substring(separator + 1)));
+    }
+
+    try {
+      return new ObjectName(builder.toString());
+    } catch (MalformedObjectNameException e) {
+      log.warn("Unable to register tagged metric {}, registering it untagged", name, e);
+      return DEFAULT.createName(type, domain, name);
+    }
+  }
+
+  private static String quoteIfNeeded(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      switch (value.charAt(i)) {
+        case ',':
+        case '=':
+        case ':':
+        case '"':
+        case '*':
+        case '?':
+        case '\n':
+          return ObjectName.quote(value);
+        default:
+          break;
+      }
+    }
+    return value;
+  }
+}
@@ -0,0 +1,59 @@
+package com.linkedin.metadata.utils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.linkedin.common.GlobalTags;
+import com.linkedin.common.TagAssociation;
+import com.linkedin.common.TagAssociationArray;
+import com.linkedin.common.urn.TagUrn;
+import com.linkedin.mxe.GenericAspect;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.testng.annotations.Test;
+
+/** Tests the capabilities of {@link GenericRecordUtils} */
+public class GenericRecordUtilsTest {
+
+  private static GlobalTags tags(int count) {
+    return new GlobalTags()
+        .setTags(
+            IntStream.range(0, count)
+                .mapToObj(i -> new TagAssociation().setTag(new TagUrn("tag" + i)))
+                .collect(Collectors.toCollection(TagAssociationArray::new)));
+  }
+
+  @Test
+  public void testPreviousAspectAsPatch() {
+    GlobalTags previous = tags(20);
+    GlobalTags current = tags(21);
+
+    GenericAspect currentAspect = GenericRecordUtils.serializeAspect(current);
+    GenericAspect previousAspect =
+        GenericRecordUtils.serializePreviousAspectAsPatch(previous, current);
+
+    assertEquals(previousAspect.getContentType(), GenericRecordUtils.JSON_PATCH);
+    assertTrue(
+        previousAspect.getValue().length()
+            < GenericRecordUtils.serializeAspect(previous).getValue().length());
+    assertEquals(
+        GenericRecordUtils.deserializePreviousAspect(
+            previousAspect, currentAspect, GlobalTags.class),
+        previous);
+  }
+
+  @Test
+  public void testPreviousAspectPatchFallsBackToJson() {
+    GlobalTags previous = tags(1);
+    GlobalTags current = new GlobalTags().setTags(new TagAssociationArray());
+
+    GenericAspect previousAspect =
+        GenericRecordUtils.serializePreviousAspectAsPatch(previous, current);
+
+    assertEquals(previousAspect.getContentType(), GenericRecordUtils.JSON);
+    assertEquals(
+        GenericRecordUtils.deserializePreviousAspect(
+            previousAspect, GenericRecordUtils.serializeAspect(current), GlobalTags.class),
+        previous);
+  }
+}
@@ -0,0 +1,85 @@
+package com.linkedin.metadata.utils.metrics;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertThrows;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.ObjectName;
+import org.testng.annotations.Test;
+
+public class MetricUtilsTest {
+
+  @Test
+  public void testTaggedName() {
+    assertEquals(MetricUtils.taggedName("latency"), "latency");
+    assertEquals(
+        MetricUtils.taggedName("latency", "hook", "SiblingsHook", "aspect", "a,b={c}"),
+        "latency{hook=SiblingsHook,aspect=a_b__c_}");
+    assertEquals(
+        MetricUtils.taggedName("latency", "entityType", null), "latency{entityType=unknown}");
+    assertThrows(IllegalArgumentException.class, () -> MetricUtils.taggedName("latency", "hook"));
+  }
+
+  @Test
+  public void testTaggedObjectName() throws Exception {
+    TaggedObjectNameFactory factory = new TaggedObjectNameFactory();
+
+    ObjectName tagged =
+        factory.createName(
+            "timers",
+            "metrics",
+            MetricUtils.taggedName("com.linkedin.Foo.latency", "hook", "SiblingsHook"));
+    assertEquals(tagged.getKeyProperty("name"), "com.linkedin.Foo.latency");
+    assertEquals(tagged.getKeyProperty("type"), "timers");
+    assertEquals(tagged.getKeyProperty("hook"), "SiblingsHook");
+    assertEquals(
+        tagged.getKeyPropertyListString(),
+        "name=com.linkedin.Foo.latency,type=timers,hook=SiblingsHook");
+
+    ObjectName untagged = factory.createName("timers", "metrics", "com.linkedin.Foo.latency");
+    assertEquals(untagged, new ObjectName("metrics:name=com.linkedin.Foo.latency,type=timers"));
+  }
+
+  @Test
+  public void testTaggedMetricsRegisterOnce() {
+    AtomicInteger registered = new AtomicInteger();
+    TaggedMetrics<Counter> counters =
+        new TaggedMetrics<>(
+            (entityType, aspect) -> {
+              registered.incrementAndGet();
+              return MetricUtils.taggedCounter(
+                  MetricUtilsTest.class, "count", "entityType", entityType, "aspect", aspect);
+            });
+
+    Counter counter = counters.get("dataset", "status");
+    assertSame(counters.get("dataset", "status"), counter);
+    assertSame(
+        MetricUtils.taggedCounter(
+            MetricUtilsTest.class, "count", "entityType", "dataset", "aspect", "status"),
+        counter);
+    counters.get("dataset", "ownership");
+    counters.get("chart");
+    assertEquals(registered.get(), 3);
+  }
+
+  @Test
+  public void testLegacyNameSharesTheMetric() {
+    Counter counter =
+        MetricUtils.withLegacyName(
+            MetricUtils.taggedCounter(MetricUtilsTest.class, "failure", "hook", "SiblingsHook"),
+            MetricRegistry.name(MetricUtilsTest.class, "SiblingsHook_failure"));
+    assertSame(MetricUtils.counter(MetricUtilsTest.class, "SiblingsHook_failure"), counter);
+
+    // registering the legacy name again keeps the shared metric
+    assertSame(
+        MetricUtils.withLegacyName(
+            MetricUtils.taggedCounter(MetricUtilsTest.class, "failure", "hook", "SiblingsHook"),
+            MetricRegistry.name(MetricUtilsTest.class, "SiblingsHook_failure")),
+        counter);
+    counter.inc();
+    assertEquals(MetricUtils.counter(MetricUtilsTest.class, "SiblingsHook_failure").getCount(), 1);
+  }
+}